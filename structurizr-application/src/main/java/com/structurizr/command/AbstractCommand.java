@@ -3,6 +3,7 @@ package com.structurizr.command;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import com.structurizr.Workspace;
+import com.structurizr.dsl.DslParseCache;
 import com.structurizr.dsl.StructurizrDslParser;
 import com.structurizr.http.HttpClient;
 import com.structurizr.inspection.DefaultInspector;
@@ -28,6 +29,8 @@ public abstract class AbstractCommand {
 
     private static final String THEMES_ENVIRONMENT_VARIABLE_NAME = "STRUCTURIZR_THEMES";
     private static final String THEMES_DIRECTORY_NAME = "themes";
+    private static final String HTTP_CACHE_ENVIRONMENT_VARIABLE_NAME = "STRUCTURIZR_HTTP_CACHE";
+    private static final String PARSE_CACHE_ENVIRONMENT_VARIABLE_NAME = "STRUCTURIZR_PARSE_CACHE";
 
     private static final String PLUGINS_DIRECTORY_NAME = "plugins";
 
@@ -49,9 +52,25 @@ public abstract class AbstractCommand {
     }
 
     protected Workspace loadWorkspace(String workspacePathAsString) throws Exception {
-        Workspace workspace;
+        Workspace workspace = null;
 
-        if (workspacePathAsString.endsWith("json")) {
+        if (workspacePathAsString.endsWith(".smile")) {
+            if (workspacePathAsString.startsWith("http://") || workspacePathAsString.startsWith("https://")) {
+                throw new StructurizrException("Smile workspaces can only be loaded from a file");
+            }
+
+            File workspaceFile = new File(workspacePathAsString);
+            if (!workspaceFile.exists()) {
+                throw new StructurizrException(workspaceFile.getAbsolutePath() + " does not exist");
+            }
+
+            if (!workspaceFile.isFile()) {
+                throw new StructurizrException(workspaceFile.getAbsolutePath() + " is not a Smile file");
+            }
+
+            installThemes(workspaceFile.getParentFile());
+            workspace = WorkspaceUtils.loadWorkspaceFromSmile(workspaceFile);
+        } else if (workspacePathAsString.endsWith("json")) {
             if (workspacePathAsString.startsWith("http://") || workspacePathAsString.startsWith("https")) {
                 String json = readFromUrl(workspacePathAsString);
                 installThemes(new File("."));
@@ -72,7 +91,7 @@ public abstract class AbstractCommand {
 
         } else {
             StructurizrDslParser structurizrDslParser = new StructurizrDslParser();
-            structurizrDslParser.getHttpClient().allow(".*");
+            configureHttpClient(structurizrDslParser.getHttpClient());
             structurizrDslParser.setCharacterEncoding(Charset.defaultCharset());
 
             if (workspacePathAsString.startsWith("http://") || workspacePathAsString.startsWith("https://")) {
@@ -90,10 +109,26 @@ public abstract class AbstractCommand {
                 }
 
                 installThemes(workspaceFile.getParentFile());
-                structurizrDslParser.parse(workspaceFile);
+
+                DslParseCache parseCache = createParseCache();
+                if (parseCache != null) {
+                    workspace = parseCache.get(workspaceFile, Charset.defaultCharset());
+                }
+
+                if (workspace != null) {
+                    log.info(" - no changes since the DSL was last parsed; using cached workspace");
+                } else {
+                    structurizrDslParser.parse(workspaceFile);
+
+                    if (parseCache != null) {
+                        parseCache.put(structurizrDslParser);
+                    }
+                }
             }
 
-            workspace = structurizrDslParser.getWorkspace();
+            if (workspace == null) {
+                workspace = structurizrDslParser.getWorkspace();
+            }
 
             if (workspace == null) {
                 throw new StructurizrException("No workspace definition was found - please check your DSL");
@@ -132,9 +167,42 @@ public abstract class AbstractCommand {
     }
 
     protected String readFromUrl(String url) {
+        return createHttpClient().get(url).getContentAsString();
+    }
+
+    protected HttpClient createHttpClient() {
         HttpClient httpClient = new HttpClient();
+        configureHttpClient(httpClient);
+
+        return httpClient;
+    }
+
+    private void configureHttpClient(HttpClient httpClient) {
         httpClient.allow(".*");
-        return httpClient.get(url).getContentAsString();
+
+        // cache remote content requested with caching enabled (e.g. imported diagrams) between runs, via the STRUCTURIZR_HTTP_CACHE environment variable
+        String httpCacheEnvironmentVariable = System.getenv(HTTP_CACHE_ENVIRONMENT_VARIABLE_NAME);
+        if (!StringUtils.isNullOrEmpty(httpCacheEnvironmentVariable)) {
+            try {
+                httpClient.setCacheDirectory(new File(httpCacheEnvironmentVariable));
+            } catch (IllegalArgumentException iae) {
+                log.warn(iae.getMessage() + " - HTTP content will not be cached");
+            }
+        }
+    }
+
+    private DslParseCache createParseCache() {
+        // cache parsed workspaces between runs, via the STRUCTURIZR_PARSE_CACHE environment variable
+        String parseCacheEnvironmentVariable = System.getenv(PARSE_CACHE_ENVIRONMENT_VARIABLE_NAME);
+        if (!StringUtils.isNullOrEmpty(parseCacheEnvironmentVariable)) {
+            try {
+                return new DslParseCache(new File(parseCacheEnvironmentVariable), new Version().getBuildNumber());
+            } catch (IllegalArgumentException iae) {
+                log.warn(iae.getMessage() + " - parsed workspaces will not be cached");
+            }
+        }
+
+        return null;
     }
 
     protected Class loadClass(String fqn, File workspaceFile) throws Exception {
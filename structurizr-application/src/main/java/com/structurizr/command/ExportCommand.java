@@ -8,6 +8,7 @@ import com.structurizr.export.plantuml.StructurizrPlantUMLExporter;
 import com.structurizr.export.websequencediagrams.WebSequenceDiagramsExporter;
 import com.structurizr.http.HttpClient;
 import com.structurizr.util.StringUtils;
+import com.structurizr.util.WorkspaceUtils;
 import com.structurizr.view.ColorScheme;
 import com.structurizr.view.ThemeUtils;
 import org.apache.commons.cli.*;
@@ -27,6 +28,7 @@ public class ExportCommand extends AbstractCommand {
     private static final Log log = LogFactory.getLog(ExportCommand.class);
 
     private static final String JSON_FORMAT = "json";
+    private static final String SMILE_FORMAT = "smile";
     private static final String THEME_FORMAT = "theme";
     private static final String LIGHT = "light";
     private static final String DARK = "dark";
@@ -74,7 +76,7 @@ public class ExportCommand extends AbstractCommand {
         option.setRequired(false);
         options.addOption(option);
 
-        option = new Option("f", "format", true, String.format("Export format: %s[/%s|%s]|%s|%s|%s|%s|%s|%s", PLANTUML_FORMAT, PLANTUML_STRUCTURIZR_SUBFORMAT, PLANTUML_C4PLANTUML_SUBFORMAT, WEBSEQUENCEDIAGRAMS_FORMAT, MERMAID_FORMAT, JSON_FORMAT, THEME_FORMAT, STATIC_FORMAT, CUSTOM_FORMAT));
+        option = new Option("f", "format", true, String.format("Export format: %s[/%s|%s]|%s|%s|%s|%s|%s|%s|%s", PLANTUML_FORMAT, PLANTUML_STRUCTURIZR_SUBFORMAT, PLANTUML_C4PLANTUML_SUBFORMAT, WEBSEQUENCEDIAGRAMS_FORMAT, MERMAID_FORMAT, JSON_FORMAT, SMILE_FORMAT, THEME_FORMAT, STATIC_FORMAT, CUSTOM_FORMAT));
         option.setRequired(true);
         options.addOption(option);
 
@@ -212,6 +214,11 @@ public class ExportCommand extends AbstractCommand {
 
         if (STATIC_FORMAT.equals(format)) {
             new StaticSiteExporter().run(workspace, outputDir);
+        } else if (SMILE_FORMAT.equals(format)) {
+            String filename = workspacePath.getName().substring(0, workspacePath.getName().lastIndexOf('.'));
+            File file = new File(outputPath, String.format("%s.%s", filename, SMILE_FORMAT));
+            log.info("Writing " + file.getCanonicalPath());
+            WorkspaceUtils.saveWorkspaceToSmile(workspace, file);
         } else {
             Exporter exporter = findExporter(format, workspacePath);
             if (exporter == null) {
@@ -220,8 +227,7 @@ public class ExportCommand extends AbstractCommand {
                 log.info("Exporting with " + exporter.getClass().getSimpleName());
 
                 if (exporter instanceof DiagramExporter) {
-                    HttpClient httpClient = new HttpClient();
-                    httpClient.allow(".*");
+                    HttpClient httpClient = createHttpClient();
 
                     // load the themes so that the styles can be applied to the diagram exports
                     ThemeUtils.loadThemes(workspace, httpClient);
@@ -54,6 +54,18 @@ public class PushCommand extends AbstractCommand {
         option.setRequired(false);
         options.addOption(option);
 
+        option = new Option("delta", "delta", true, "Whether to push only the changes made to the remote workspace, when merging from it (default=false)");
+        option.setRequired(false);
+        options.addOption(option);
+
+        option = new Option("skipUnchanged", "skipUnchanged", true, "Whether to skip pushing the workspace when it's unchanged from the remote workspace (default=false)");
+        option.setRequired(false);
+        options.addOption(option);
+
+        option = new Option("compress", "compress", true, "Whether to gzip compress the workspace when pushing it; requires a server that supports compressed requests (default=false)");
+        option.setRequired(false);
+        options.addOption(option);
+
         option = new Option("trim", "trim", true, "Whether to trim the workspace before pushing (default=false)");
         option.setRequired(false);
         options.addOption(option);
@@ -76,6 +88,9 @@ public class PushCommand extends AbstractCommand {
         String imagePath = "";
         String passphrase = "";
         boolean mergeFromRemote = true;
+        boolean delta = false;
+        boolean skipUnchanged = false;
+        boolean compress = false;
         boolean trim = false;
         boolean archive = true;
         boolean debug = false;
@@ -91,6 +106,9 @@ public class PushCommand extends AbstractCommand {
             imagePath = cmd.getOptionValue("image");
             passphrase = cmd.getOptionValue("passphrase");
             mergeFromRemote = Boolean.parseBoolean(cmd.getOptionValue("merge", "true"));
+            delta = Boolean.parseBoolean(cmd.getOptionValue("delta", "false"));
+            skipUnchanged = Boolean.parseBoolean(cmd.getOptionValue("skipUnchanged", "false"));
+            compress = Boolean.parseBoolean(cmd.getOptionValue("compress", "false"));
             trim = Boolean.parseBoolean(cmd.getOptionValue("trim", "false"));
             archive = Boolean.parseBoolean(cmd.getOptionValue("archive", "true"));
             debug = cmd.hasOption("debug");
@@ -150,6 +168,15 @@ public class PushCommand extends AbstractCommand {
             log.info(" - merge layout from remote: " + mergeFromRemote);
             client.setMergeFromRemote(mergeFromRemote);
 
+            log.info(" - push changes only: " + delta);
+            client.setDeltaUpload(delta);
+
+            log.info(" - skip unchanged workspace: " + skipUnchanged);
+            client.setSkipUnchanged(skipUnchanged);
+
+            log.info(" - compress workspace: " + compress);
+            client.setCompressRequests(compress);
+
             if (archive) {
                 client.setWorkspaceArchiveLocation(archivePath);
                 log.info(" - storing previous version of workspace in " + client.getWorkspaceArchiveLocation());
@@ -43,8 +43,7 @@ public class ValidateCommand extends AbstractCommand {
             Workspace workspace = loadWorkspace(workspacePathAsString);
             WorkspaceUtils.fromJson(WorkspaceUtils.toJson(workspace, false)); // this will trigger the deserialization validation
 
-            HttpClient httpClient = new HttpClient();
-            httpClient.allow(".*");
+            HttpClient httpClient = createHttpClient();
             ThemeUtils.loadThemes(workspace, httpClient); // this will test the themes are accessible
         } catch (Exception e) {
             // print the error and exit
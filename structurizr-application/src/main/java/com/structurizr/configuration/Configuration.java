@@ -291,6 +291,7 @@ public class Configuration {
             setDefault(URL, "");
             setDefault(API_KEY, "");
             setDefault(MAX_WORKSPACE_VERSIONS, DEFAULT_MAX_WORKSPACE_VERSIONS);
+            setDefault(WORKSPACE_FORMAT, WORKSPACE_FORMAT_JSON);
             setDefault(CACHE_EXPIRY_IN_MINUTES, DEFAULT_CACHE_EXPIRY_IN_MINUTES);
             setDefault(ADMIN_USERS_AND_ROLES, "");
 
@@ -15,6 +15,9 @@ public class StructurizrProperties {
     public static final String WORKSPACE_THREADS = "structurizr.workspace.threads";
     public static final String MAX_WORKSPACE_SIZE = "structurizr.workspace.maxsize";
     public static final String MAX_WORKSPACE_VERSIONS = "structurizr.workspace.maxversions";
+    public static final String WORKSPACE_FORMAT = "structurizr.workspace.format";
+    public static final String WORKSPACE_FORMAT_JSON = "json";
+    public static final String WORKSPACE_FORMAT_SMILE = "smile";
 
     public static final String URL = "structurizr.url";
     public static final String ENCRYPTION_PASSPHRASE = "structurizr.encryption";
@@ -1,5 +1,6 @@
 package com.structurizr.server;
 
+import com.structurizr.server.web.api.GzipRequestFilter;
 import jakarta.annotation.PreDestroy;
 import jakarta.servlet.Filter;
 import org.apache.catalina.Context;
@@ -55,6 +56,17 @@ public abstract class AbstractServer extends SpringBootServletInitializer {
 		return registrationBean;
 	}
 
+	@Bean
+	public FilterRegistrationBean<? extends Filter> gzipRequestFilterRegistration() {
+		GzipRequestFilter filter = new GzipRequestFilter();
+
+		FilterRegistrationBean<Filter> registrationBean = new FilterRegistrationBean<>();
+		registrationBean.setFilter(filter);
+		registrationBean.addUrlPatterns("/api/*");
+
+		return registrationBean;
+	}
+
 	@Bean
 	public ConfigurableServletWebServerFactory configurableServletWebServerFactory ( ) {
 		return new TomcatServletWebServerFactory() {
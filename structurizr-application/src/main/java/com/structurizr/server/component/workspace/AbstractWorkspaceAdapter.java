@@ -11,6 +11,10 @@ abstract class AbstractWorkspaceAdapter implements WorkspaceAdapter {
     static final String VERSION_TIMESTAMP_FORMAT = "yyyyMMddHHmmssSSS";
     static final String WORKSPACE_VERSION_JSON_FILENAME_REGEX = "workspace-\\d{17}\\.json";
 
+    static final String WORKSPACE_SMILE_FILENAME = "workspace.smile";
+    static final String WORKSPACE_VERSION_SMILE_FILENAME = "workspace-%s.smile";
+    static final String WORKSPACE_VERSION_FILENAME_REGEX = "workspace-\\d{17}\\.(json|smile)";
+
     static final String BRANCHES_DIRECTORY_NAME = "branches";
     static final String IMAGES_DIRECTORY_NAME = "images";
 
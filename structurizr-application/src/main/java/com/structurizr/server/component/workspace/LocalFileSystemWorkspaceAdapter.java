@@ -3,10 +3,13 @@ package com.structurizr.server.component.workspace;
 import com.structurizr.Workspace;
 import com.structurizr.configuration.Configuration;
 import com.structurizr.configuration.StructurizrProperties;
+import com.structurizr.dsl.DslDependencyGraph;
+import com.structurizr.dsl.DslParserCheckpoint;
 import com.structurizr.dsl.DslUtils;
 import com.structurizr.dsl.StructurizrDslParser;
 import com.structurizr.dsl.StructurizrDslParserException;
 import com.structurizr.inspection.DefaultInspector;
+import com.structurizr.io.json.WorkspaceDigest;
 import com.structurizr.server.domain.InputStreamAndContentLength;
 import com.structurizr.server.domain.WorkspaceMetadata;
 import com.structurizr.util.DateUtils;
@@ -23,17 +26,21 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 abstract class LocalFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspaceAdapter {
 
     private static final Log log = LogFactory.getLog(LocalFileSystemWorkspaceAdapter.class);
 
+    // allows for file systems that store last modified dates with a coarse granularity
+    private static final long LAST_MODIFIED_DATE_GRANULARITY = 2000L;
+
     private long lastModifiedDate = 0;
 
+    // the DSL files read by the last parse of each workspace, and the checkpoint (if any) to resume parsing from
+    private final Map<Long, ParsedDsl> parsedDsl = new ConcurrentHashMap<>();
+
     LocalFileSystemWorkspaceAdapter(File dataDirectory) {
         super(dataDirectory);
 
@@ -58,6 +65,16 @@ abstract class LocalFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspa
         if (dslFile.exists()) {
             // the DSL file exists, but load the JSON if nothing has changed
             if (jsonFile.exists() && jsonFile.lastModified() > lastModifiedDate) {
+                try {
+                    return loadWorkspaceFromJson(workspaceId);
+                } catch (Exception e) {
+                    throw new WorkspaceComponentException(e);
+                }
+            } else if (jsonFile.exists() && isUnchangedSinceLastParse(workspaceId)) {
+                // files have been touched (e.g. saved by an editor), but the content is the same as when the DSL
+                // was last parsed, so the JSON (which is the result of that parse) is still up to date
+                markAsUpToDate(workspaceId);
+
                 try {
                     return loadWorkspaceFromJson(workspaceId);
                 } catch (Exception e) {
@@ -108,9 +125,24 @@ abstract class LocalFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspa
         File dslFile = new File(workspaceDirectory, WORKSPACE_DSL_FILENAME);
         Workspace workspace;
 
+        long timestamp = System.currentTimeMillis();
+        ParsedDsl previouslyParsedDsl = parsedDsl.remove(workspaceId);
+
         StructurizrDslParser parser = new StructurizrDslParser();
         Configuration.getInstance().configure(parser.getHttpClient());
-        parser.parse(dslFile);
+        if (previouslyParsedDsl != null && previouslyParsedDsl.checkpoint != null && !previouslyParsedDsl.checkpoint.hasChanged()) {
+            // only the DSL after the checkpoint has changed, so there's no need to parse the DSL before it again
+            log.debug("Parsing DSL for workspace " + workspaceId + " from line " + previouslyParsedDsl.checkpoint.getLineNumber());
+            parser.resume(previouslyParsedDsl.checkpoint);
+        } else {
+            if (previouslyParsedDsl != null) {
+                // the files that have changed since the last parse are likely to change again
+                DslDependencyGraph dependencyGraph = previouslyParsedDsl.dependencyGraph;
+                parser.setCheckpointFiles(dependencyGraph.getRootIncludes(dependencyGraph.getChangedFiles()));
+            }
+
+            parser.parse(dslFile);
+        }
         workspace = parser.getWorkspace();
         workspace.setId(workspaceId);
 
@@ -125,27 +157,85 @@ abstract class LocalFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspa
             workspace.getViews().createDefaultViews();
         }
 
+        // the digest of the workspace as parsed, before the layout information is merged in
+        String parsedDigest = WorkspaceDigest.of(workspace).getDigest();
+
+        Workspace workspaceFromJson;
         try {
-            Workspace workspaceFromJson = loadWorkspaceFromJson(workspaceId);
-            if (workspaceFromJson != null) {
-                workspace.getViews().copyLayoutInformationFrom(workspaceFromJson.getViews());
-                workspace.getViews().getConfiguration().copyConfigurationFrom(workspaceFromJson.getViews().getConfiguration());
-            }
+            workspaceFromJson = loadWorkspaceFromJson(workspaceId);
         } catch (Exception e) {
             throw new WorkspaceComponentException(e);
         }
 
+        if (workspaceFromJson != null && previouslyParsedDsl != null && parsedDigest.equals(previouslyParsedDsl.digest)) {
+            // the DSL parses to the same workspace as last time, so the JSON (the result of merging that workspace
+            // with the layout information) is still up to date ... there's no need to merge and save it again
+            log.debug("Reusing workspace.json for workspace " + workspaceId + " because the parsed workspace is unchanged");
+            parsedDsl.put(workspaceId, new ParsedDsl(parser.getDependencyGraph(), parser.getCheckpoint(), timestamp, parsedDigest));
+            markAsUpToDate(workspaceId);
+
+            return workspaceFromJson;
+        }
+
+        if (workspaceFromJson != null) {
+            workspace.getViews().copyLayoutInformationFrom(workspaceFromJson.getViews());
+            workspace.getViews().getConfiguration().copyConfigurationFrom(workspaceFromJson.getViews().getConfiguration());
+        }
+
+        if (workspaceFromJson != null && WorkspaceDigest.of(workspace).equals(WorkspaceDigest.of(workspaceFromJson))) {
+            // the DSL file was touched, but the workspace hasn't changed, so there's no need to save a new version;
+            // just mark the JSON file as up to date, so that it's used next time
+            parsedDsl.put(workspaceId, new ParsedDsl(parser.getDependencyGraph(), parser.getCheckpoint(), timestamp, parsedDigest));
+            workspace.setLastModifiedDate(workspaceFromJson.getLastModifiedDate());
+            markAsUpToDate(workspaceId);
+
+            return workspace;
+        }
+
         workspace.setLastModifiedDate(DateUtils.removeMilliseconds(DateUtils.getNow()));
 
         try {
             putWorkspace(new WorkspaceMetadata(workspaceId), WorkspaceUtils.toJson(workspace, true), null);
+            parsedDsl.put(workspaceId, new ParsedDsl(parser.getDependencyGraph(), parser.getCheckpoint(), timestamp, parsedDigest));
         } catch (Exception e) {
             log.warn(e);
+
+            // the JSON isn't the result of this parse, so it can't be reused next time
+            parsedDsl.put(workspaceId, new ParsedDsl(parser.getDependencyGraph(), parser.getCheckpoint(), timestamp, null));
         }
 
         return workspace;
     }
 
+    private void markAsUpToDate(long workspaceId) {
+        File jsonFile = new File(getDataDirectory(workspaceId), WORKSPACE_JSON_FILENAME);
+        if (!jsonFile.setLastModified(System.currentTimeMillis())) {
+            log.warn("Could not update the last modified date of " + jsonFile.getAbsolutePath());
+        }
+    }
+
+    private boolean isUnchangedSinceLastParse(long workspaceId) {
+        ParsedDsl parsed = parsedDsl.get(workspaceId);
+        if (parsed == null || parsed.digest == null || !parsed.dependencyGraph.isComplete()) {
+            return false;
+        }
+
+        // any other file (e.g. documentation, decisions, images, scripts) that has been modified since the last parse
+        // could change the workspace, so the DSL needs to be parsed again
+        Set<File> dslFiles = parsed.dependencyGraph.getFiles();
+        if (findLatestLastModifiedDate(getDataDirectory(workspaceId), dslFiles) > parsed.timestamp - LAST_MODIFIED_DATE_GRANULARITY) {
+            return false;
+        }
+
+        Set<File> changedFiles = parsed.dependencyGraph.getChangedFiles();
+        if (!changedFiles.isEmpty()) {
+            log.debug("Parsing DSL for workspace " + workspaceId + " because " + changedFiles + " changed");
+            return false;
+        }
+
+        return true;
+    }
+
     @Override
     public String getWorkspace(long workspaceId, String branch, String version) {
         Workspace workspace = loadWorkspace(workspaceId);
@@ -204,6 +294,10 @@ abstract class LocalFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspa
     }
 
     private long findLatestLastModifiedDate(File directory) {
+        return findLatestLastModifiedDate(directory, Set.of());
+    }
+
+    private long findLatestLastModifiedDate(File directory, Set<File> excludedFiles) {
         long timestamp = 0;
 
         File[] files = directory.listFiles();
@@ -215,11 +309,13 @@ abstract class LocalFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspa
                     if (file.getName().equals(WORKSPACE_JSON_FILENAME) && new File(file.getParentFile(), WORKSPACE_DSL_FILENAME).exists()) {
                         // ignore JSON file updates if the DSL is being used as the authoring method
                         // e.g. ignore workspace.json if workspace.dsl exists in the same directory
+                    } else if (!excludedFiles.isEmpty() && excludedFiles.contains(file.toPath().toAbsolutePath().normalize().toFile())) {
+                        // ignore
                     } else {
                         timestamp = Math.max(timestamp, file.lastModified());
                     }
                 } else if (file.isDirectory()) {
-                    timestamp = Math.max(timestamp, findLatestLastModifiedDate(file));
+                    timestamp = Math.max(timestamp, findLatestLastModifiedDate(file, excludedFiles));
                 }
             }
         }
@@ -298,4 +394,20 @@ abstract class LocalFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspa
         // not supported
     }
 
+    private static final class ParsedDsl {
+
+        private final DslDependencyGraph dependencyGraph;
+        private final DslParserCheckpoint checkpoint;
+        private final long timestamp;
+        private final String digest;
+
+        ParsedDsl(DslDependencyGraph dependencyGraph, DslParserCheckpoint checkpoint, long timestamp, String digest) {
+            this.dependencyGraph = dependencyGraph;
+            this.checkpoint = checkpoint;
+            this.timestamp = timestamp;
+            this.digest = digest;
+        }
+
+    }
+
 }
\ No newline at end of file
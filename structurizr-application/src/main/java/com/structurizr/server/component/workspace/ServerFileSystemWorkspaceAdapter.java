@@ -2,6 +2,7 @@ package com.structurizr.server.component.workspace;
 
 import com.structurizr.configuration.Configuration;
 import com.structurizr.configuration.StructurizrProperties;
+import com.structurizr.io.json.SmileTranscoder;
 import com.structurizr.server.domain.WorkspaceMetadata;
 import com.structurizr.util.StringUtils;
 import org.apache.commons.logging.Log;
@@ -119,16 +120,21 @@ class ServerFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspaceAdapte
     public String getWorkspace(long workspaceId, String branch, String version) {
         try {
             File path = getPathToWorkspace(workspaceId, branch, false);
-            File file;
+            File jsonFile;
+            File smileFile;
 
             if (!StringUtils.isNullOrEmpty(version)) {
-                file = new File(path, String.format(WORKSPACE_VERSION_JSON_FILENAME, version));
+                jsonFile = new File(path, String.format(WORKSPACE_VERSION_JSON_FILENAME, version));
+                smileFile = new File(path, String.format(WORKSPACE_VERSION_SMILE_FILENAME, version));
             } else {
-                file = new File(path, WORKSPACE_JSON_FILENAME);
+                jsonFile = new File(path, WORKSPACE_JSON_FILENAME);
+                smileFile = new File(path, WORKSPACE_SMILE_FILENAME);
             }
 
-            if (file.exists()) {
-                return Files.readString(file.toPath());
+            if (smileFile.exists()) {
+                return SmileTranscoder.toJson(Files.readAllBytes(smileFile.toPath()));
+            } else if (jsonFile.exists()) {
+                return Files.readString(jsonFile.toPath());
             } else {
                 return null;
             }
@@ -140,28 +146,48 @@ class ServerFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspaceAdapte
     @Override
     public void putWorkspace(WorkspaceMetadata workspaceMetadata, String json, String branch) {
         try {
-            // write the latest version to workspace.json
+            // write the latest version to workspace.json (or workspace.smile)
             File path = getPathToWorkspace(workspaceMetadata.getId(), branch, true);
-            File file = new File(path, WORKSPACE_JSON_FILENAME);
+            SimpleDateFormat sdf = new SimpleDateFormat(VERSION_TIMESTAMP_FORMAT);
+            sdf.setTimeZone(TimeZone.getTimeZone(UTC_TIME_ZONE));
+            String version = sdf.format(workspaceMetadata.getLastModifiedDate());
+
+            if (isSmileFormat()) {
+                byte[] smile = SmileTranscoder.toSmile(json);
+                Files.write(new File(path, WORKSPACE_SMILE_FILENAME).toPath(), smile);
+                Files.deleteIfExists(new File(path, WORKSPACE_JSON_FILENAME).toPath());
+
+                try {
+                    // and write a versioned workspace.smile file too
+                    Files.write(new File(path, String.format(WORKSPACE_VERSION_SMILE_FILENAME, version)).toPath(), smile);
+                } catch (Exception e) {
+                    log.error(e);
+                }
+            } else {
+                File file = new File(path, WORKSPACE_JSON_FILENAME);
 
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-                writer.write(json);
-                writer.flush();
-            }
+                try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+                    writer.write(json);
+                    writer.flush();
+                }
+                Files.deleteIfExists(new File(path, WORKSPACE_SMILE_FILENAME).toPath());
 
-            try {
-                // and write a versioned workspace.json file too
-                SimpleDateFormat sdf = new SimpleDateFormat(VERSION_TIMESTAMP_FORMAT);
-                sdf.setTimeZone(TimeZone.getTimeZone(UTC_TIME_ZONE));
-                Files.writeString(new File(path, "workspace-" + sdf.format(workspaceMetadata.getLastModifiedDate()) + ".json").toPath(), json);
-            } catch (Exception e) {
-                log.error(e);
+                try {
+                    // and write a versioned workspace.json file too
+                    Files.writeString(new File(path, String.format(WORKSPACE_VERSION_JSON_FILENAME, version)).toPath(), json);
+                } catch (Exception e) {
+                    log.error(e);
+                }
             }
         } catch (Exception e) {
             throw new WorkspaceComponentException(e.getMessage(), e);
         }
     }
 
+    private boolean isSmileFormat() {
+        return StructurizrProperties.WORKSPACE_FORMAT_SMILE.equalsIgnoreCase(Configuration.getInstance().getProperty(StructurizrProperties.WORKSPACE_FORMAT));
+    }
+
     @Override
     public List<WorkspaceVersion> getWorkspaceVersions(long workspaceId, String branch, int maxVersions) {
         List<WorkspaceVersion> versions = new ArrayList<>();
@@ -171,7 +197,7 @@ class ServerFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspaceAdapte
         try {
             File workspaceDirectory = getPathToWorkspace(workspaceId, branch, false);
             if (workspaceDirectory.exists()) {
-                File[] files = workspaceDirectory.listFiles((dir, name) -> name.matches(WORKSPACE_VERSION_JSON_FILENAME_REGEX));
+                File[] files = workspaceDirectory.listFiles((dir, name) -> name.matches(WORKSPACE_VERSION_FILENAME_REGEX));
 
                 if (files != null) {
                     Arrays.sort(files, (f1, f2) -> f2.getName().compareTo(f1.getName()));
@@ -292,7 +318,7 @@ class ServerFileSystemWorkspaceAdapter extends AbstractFileSystemWorkspaceAdapte
 
             for (Long workspaceId : workspaceIds) {
                 File workspaceDirectory = getPathToWorkspace(workspaceId);
-                File[] files = workspaceDirectory.listFiles((dir, name) -> name.matches(WORKSPACE_VERSION_JSON_FILENAME_REGEX));
+                File[] files = workspaceDirectory.listFiles((dir, name) -> name.matches(WORKSPACE_VERSION_FILENAME_REGEX));
 
                 if (files != null) {
                     Arrays.sort(files, (a,b) -> b.getName().compareTo(a.getName()));
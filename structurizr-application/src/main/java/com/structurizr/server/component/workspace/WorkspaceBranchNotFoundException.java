@@ -5,7 +5,7 @@ public final class WorkspaceBranchNotFoundException extends WorkspaceComponentEx
     private final long workspaceId;
     private final String branch;
 
-    WorkspaceBranchNotFoundException(long workspaceId, String branch) {
+    public WorkspaceBranchNotFoundException(long workspaceId, String branch) {
         super("Branch \"" + branch + "\" does not exist for workspace " + workspaceId);
 
         this.workspaceId = workspaceId;
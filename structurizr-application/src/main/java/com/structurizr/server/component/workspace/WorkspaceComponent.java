@@ -29,6 +29,19 @@ public interface WorkspaceComponent {
 
     void putWorkspace(long workspaceId, String branch, String json);
 
+    /**
+     * Applies a JSON Patch document to the stored version of a workspace, and stores the result, atomically
+     * with respect to other puts/patches of the same workspace.
+     *
+     * @param workspaceId   the workspace ID
+     * @param branch        the branch (empty for the main branch)
+     * @param baseHash      the hash of the workspace JSON that the patch was created against
+     * @param patch         the JSON Patch document
+     * @return              the patched workspace JSON that was stored
+     * @throws WorkspaceConflictException   if the workspace is client-side encrypted, or the stored version doesn't match the base hash
+     */
+    String patchWorkspace(long workspaceId, String branch, String baseHash, String patch);
+
     List<WorkspaceVersion> getWorkspaceVersions(long workspaceId, String branch);
 
     List<WorkspaceBranch> getWorkspaceBranches(long workspaceId);
@@ -12,6 +12,10 @@ import com.structurizr.encryption.EncryptionLocation;
 import com.structurizr.encryption.EncryptionStrategy;
 import com.structurizr.io.json.EncryptedJsonReader;
 import com.structurizr.io.json.EncryptedJsonWriter;
+import com.structurizr.io.json.JsonPatch;
+import com.structurizr.io.json.JsonReader;
+import com.structurizr.io.json.WorkspaceDigest;
+import com.structurizr.io.json.WorkspaceSection;
 import com.structurizr.server.domain.*;
 import com.structurizr.server.domain.Image;
 import com.structurizr.server.domain.User;
@@ -29,6 +33,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -40,11 +45,17 @@ class WorkspaceComponentImpl implements WorkspaceComponent {
     private static final Log log = LogFactory.getLog(WorkspaceComponent.class);
     private static final String ENCRYPTION_STRATEGY_STRING = "encryptionStrategy";
     private static final String CIPHERTEXT_STRING = "ciphertext";
+    private static final int ENCRYPTION_KEY_SIZE = 128;
+    private static final int ENCRYPTION_ITERATION_COUNT = 1000;
 
     private final WorkspaceAdapter workspaceAdapter;
     private final String encryptionPassphrase;
 
     private WorkspaceMetadataCache workspaceMetadataCache;
+
+    // one lock per workspace, held while a workspace is stored, so that a patch (read, compare, apply, put) is atomic
+    // with respect to other puts/patches of the same workspace handled by this server
+    private final Map<Long, Object> workspaceLocks = new ConcurrentHashMap<>();
     private ExecutorService executorService;
 
     WorkspaceComponentImpl() {
@@ -306,13 +317,67 @@ class WorkspaceComponentImpl implements WorkspaceComponent {
 
     @Override
     public void putWorkspace(long workspaceId, String branch, String json) {
+        synchronized (getWorkspaceLock(workspaceId)) {
+            putWorkspaceWhileLocked(workspaceId, branch, json);
+        }
+    }
+
+    @Override
+    public String patchWorkspace(long workspaceId, String branch, String baseHash, String patch) {
+        synchronized (getWorkspaceLock(workspaceId)) {
+            String base = getWorkspace(workspaceId, branch, null);
+            if (base.contains(ENCRYPTION_STRATEGY_STRING) && base.contains(CIPHERTEXT_STRING)) {
+                throw new WorkspaceConflictException("Client-side encrypted workspaces cannot be patched");
+            }
+
+            if (StringUtils.isNullOrEmpty(baseHash) || !baseHash.equalsIgnoreCase(JsonPatch.hash(base))) {
+                throw new WorkspaceConflictException("The workspace has been modified since the patch was created");
+            }
+
+            String json;
+            try {
+                json = JsonPatch.apply(base, patch);
+            } catch (Exception e) {
+                throw new WorkspaceComponentException("The patch could not be applied: " + e.getMessage(), e);
+            }
+
+            putWorkspaceWhileLocked(workspaceId, branch, json);
+
+            return json;
+        }
+    }
+
+    private String getCurrentDigest(long workspaceId, String branch, WorkspaceMetadata workspaceMetadata) {
+        if (StringUtils.isNullOrEmpty(branch) && !StringUtils.isNullOrEmpty(workspaceMetadata.getDigest())) {
+            // the digest of the main branch is stored alongside the workspace metadata
+            return workspaceMetadata.getDigest();
+        }
+
+        // otherwise (e.g. a branch, or a workspace stored before digests were recorded) digest the current version
+        try {
+            String json = getWorkspace(workspaceId, branch, null);
+
+            return WorkspaceDigest.of(json).getDigest();
+        } catch (Exception e) {
+            // e.g. this is a new workspace/branch
+            return null;
+        }
+    }
+
+    private Object getWorkspaceLock(long workspaceId) {
+        return workspaceLocks.computeIfAbsent(workspaceId, id -> new Object());
+    }
+
+    private void putWorkspaceWhileLocked(long workspaceId, String branch, String json) {
         WorkspaceBranch.validateBranchName(branch);
         validateWorkspaceSize(workspaceId, json);
 
         try {
-            AbstractWorkspace workspaceToBeStored;
+            String name;
+            String description;
             String jsonToBeStored;
             WorkspaceConfiguration configuration;
+            boolean unchanged = false;
 
             WorkspaceMetadata workspaceMetadata = getWorkspaceMetadata(workspaceId);
             if (workspaceMetadata == null) {
@@ -324,6 +389,8 @@ class WorkspaceComponentImpl implements WorkspaceComponent {
                 StringReader stringReader = new StringReader(json);
                 EncryptedWorkspace encryptedWorkspace = jsonReader.read(stringReader);
 
+                checkWorkspaceLock(workspaceMetadata, encryptedWorkspace);
+
                 encryptedWorkspace.setId(workspaceId);
                 encryptedWorkspace.setLastModifiedDate(DateUtils.removeMilliseconds(DateUtils.getNow()));
 
@@ -343,9 +410,21 @@ class WorkspaceComponentImpl implements WorkspaceComponent {
                 encryptedJsonWriter.write(encryptedWorkspace, stringWriter);
 
                 workspaceMetadata.setClientSideEncrypted(true);
-                workspaceToBeStored = encryptedWorkspace;
+                workspaceMetadata.setDigest(null);
+                name = encryptedWorkspace.getName();
+                description = encryptedWorkspace.getDescription();
                 jsonToBeStored = stringWriter.toString();
             } else {
+                // read the name, description, configuration and last modified details without the model, views and
+                // documentation first, so that a locked workspace is rejected before the workspace is fully parsed
+                Workspace workspaceSummary = readWorkspaceSummary(json);
+                checkWorkspaceLock(workspaceMetadata, workspaceSummary);
+
+                name = workspaceSummary.getName();
+                description = workspaceSummary.getDescription();
+                configuration = workspaceSummary.getConfiguration();
+
+                // the full workspace is still needed to validate its scope, and to store it without the configuration
                 Workspace workspace = WorkspaceUtils.fromJson(json);
 
                 WorkspaceValidationUtils.validateWorkspaceScope(workspace);
@@ -354,20 +433,28 @@ class WorkspaceComponentImpl implements WorkspaceComponent {
                 workspace.setLastModifiedDate(DateUtils.removeMilliseconds(DateUtils.getNow()));
 
                 // also remove the configuration
-                configuration = workspace.getConfiguration();
                 workspace.clearConfiguration();
                 workspace.getConfiguration().setScope(configuration.getScope());
 
-                // copy the last modified details from the workspace
-                workspaceMetadata.setLastModifiedDate(workspace.getLastModifiedDate());
-                workspaceMetadata.setLastModifiedAgent(workspace.getLastModifiedAgent());
-                workspaceMetadata.setLastModifiedUser(workspace.getLastModifiedUser());
+                // don't store a new version if the workspace is semantically identical to the current version
+                String digest = WorkspaceDigest.of(workspace).getDigest();
+                unchanged = digest.equals(getCurrentDigest(workspaceId, branch, workspaceMetadata));
+
+                if (!unchanged && StringUtils.isNullOrEmpty(branch)) {
+                    workspaceMetadata.setDigest(digest);
+                }
+
+                if (!unchanged) {
+                    // copy the last modified details from the workspace
+                    workspaceMetadata.setLastModifiedDate(workspace.getLastModifiedDate());
+                    workspaceMetadata.setLastModifiedAgent(workspace.getLastModifiedAgent());
+                    workspaceMetadata.setLastModifiedUser(workspace.getLastModifiedUser());
+                }
 
                 workspaceMetadata.setClientSideEncrypted(false);
-                workspaceToBeStored = workspace;
 
                 if (!StringUtils.isNullOrEmpty(encryptionPassphrase)) {
-                    EncryptionStrategy encryptionStrategy = new AesEncryptionStrategy(128, 1000, encryptionPassphrase);
+                    EncryptionStrategy encryptionStrategy = new AesEncryptionStrategy(ENCRYPTION_KEY_SIZE, ENCRYPTION_ITERATION_COUNT, encryptionPassphrase);
                     encryptionStrategy.setLocation(EncryptionLocation.Server);
 
                     EncryptedWorkspace encryptedWorkspace = new EncryptedWorkspace(workspace, json, encryptionStrategy);
@@ -382,21 +469,21 @@ class WorkspaceComponentImpl implements WorkspaceComponent {
                 }
             }
 
-            workspaceMetadata.setSize(jsonToBeStored.length());
-
-            // check the workspace lock
-            if (workspaceMetadata.isLocked() && !workspaceMetadata.isLockedBy(workspaceToBeStored.getLastModifiedUser(), workspaceToBeStored.getLastModifiedAgent())) {
-                SimpleDateFormat sdf = new SimpleDateFormat(DateUtils.USER_FRIENDLY_DATE_FORMAT);
-                throw new WorkspaceComponentException("The workspace could not be saved because the workspace was locked by " + workspaceMetadata.getLockedUser() + " at " + sdf.format(workspaceMetadata.getLockedDate()) + ".");
+            if (!unchanged) {
+                workspaceMetadata.setSize(jsonToBeStored.length());
             }
 
-            workspaceAdapter.putWorkspace(workspaceMetadata, jsonToBeStored, branch);
+            if (unchanged) {
+                log.debug("Workspace " + workspaceId + " is unchanged, so a new version will not be stored");
+            } else {
+                workspaceAdapter.putWorkspace(workspaceMetadata, jsonToBeStored, branch);
+            }
 
             if (StringUtils.isNullOrEmpty(branch)) {
                 // only store workspace metadata for the main branch
                 try {
-                    workspaceMetadata.setName(workspaceToBeStored.getName());
-                    workspaceMetadata.setDescription(workspaceToBeStored.getDescription());
+                    workspaceMetadata.setName(name);
+                    workspaceMetadata.setDescription(description);
 
                     // configure workspace visibility and users
                     if (configuration != null) {
@@ -434,6 +521,20 @@ class WorkspaceComponentImpl implements WorkspaceComponent {
         }
     }
 
+    private Workspace readWorkspaceSummary(String json) throws Exception {
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.skip(WorkspaceSection.Model, WorkspaceSection.Documentation, WorkspaceSection.Images);
+
+        return jsonReader.read(new StringReader(json));
+    }
+
+    private void checkWorkspaceLock(WorkspaceMetadata workspaceMetadata, AbstractWorkspace workspace) {
+        if (workspaceMetadata.isLocked() && !workspaceMetadata.isLockedBy(workspace.getLastModifiedUser(), workspace.getLastModifiedAgent())) {
+            SimpleDateFormat sdf = new SimpleDateFormat(DateUtils.USER_FRIENDLY_DATE_FORMAT);
+            throw new WorkspaceComponentException("The workspace could not be saved because the workspace was locked by " + workspaceMetadata.getLockedUser() + " at " + sdf.format(workspaceMetadata.getLockedDate()) + ".");
+        }
+    }
+
     private void validateWorkspaceSize(long workspaceId, String json) {
         int maxWorkspaceSizeInBytes = SizeUtils.parse(Configuration.getInstance().getProperty(StructurizrProperties.MAX_WORKSPACE_SIZE));
 
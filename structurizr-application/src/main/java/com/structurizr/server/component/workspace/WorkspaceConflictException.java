@@ -0,0 +1,13 @@
+package com.structurizr.server.component.workspace;
+
+/**
+ * Thrown when a workspace can't be updated because it isn't in the expected state
+ * (e.g. it has been modified since a patch was created against it).
+ */
+public final class WorkspaceConflictException extends WorkspaceComponentException {
+
+    public WorkspaceConflictException(String message) {
+        super(message);
+    }
+
+}
@@ -33,6 +33,7 @@ public class WorkspaceMetadata {
     static final String READ_USERS_AND_ROLES_PROPERTY = "readUsers";
     static final String WRITE_USERS_AND_ROLES_PROPERTY = "writeUsers";
     static final String ARCHIVED_PROPERTY = "archived";
+    static final String DIGEST_PROPERTY = "digest";
 
     private final long id;
     private String name = "";
@@ -45,6 +46,7 @@ public class WorkspaceMetadata {
     private String sharingToken = "";
     private String urlPrefix = "/workspace";
     private boolean archived = false;
+    private String digest;
 
     private Date lastModifiedDate = new Date();
     private String lastModifiedUser;
@@ -179,6 +181,14 @@ public class WorkspaceMetadata {
         this.archived = archived;
     }
 
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
     public Date getLastModifiedDate() {
         return lastModifiedDate;
     }
@@ -472,6 +482,7 @@ public class WorkspaceMetadata {
         workspace.setPublicWorkspace("true".equals(properties.getProperty(PUBLIC_PROPERTY, "false")));
         workspace.setSharingToken(properties.getProperty(SHARING_TOKEN_PROPERTY, ""));
         workspace.setArchived("true".equals(properties.getProperty(ARCHIVED_PROPERTY)));
+        workspace.setDigest(properties.getProperty(DIGEST_PROPERTY, null));
 
         workspace.setLockedUser(properties.getProperty(LOCKED_USER_PROPERTY, null));
         workspace.setLockedAgent(properties.getProperty(LOCKED_AGENT_PROPERTY, null));
@@ -554,6 +565,10 @@ public class WorkspaceMetadata {
             properties.setProperty(SHARING_TOKEN_PROPERTY, this.getSharingToken());
         }
 
+        if (!StringUtils.isNullOrEmpty(getDigest())) {
+            properties.setProperty(DIGEST_PROPERTY, this.getDigest());
+        }
+
         if (this.getLockedUser() != null) {
             properties.setProperty(LOCKED_USER_PROPERTY, this.getLockedUser());
         }
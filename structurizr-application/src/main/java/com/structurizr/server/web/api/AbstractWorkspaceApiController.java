@@ -7,8 +7,10 @@ import com.structurizr.io.WorkspaceReaderException;
 import com.structurizr.io.json.JsonReader;
 import com.structurizr.server.component.search.SearchComponent;
 import com.structurizr.server.component.workspace.WorkspaceBranch;
+import com.structurizr.server.component.workspace.WorkspaceBranchNotFoundException;
 import com.structurizr.server.component.workspace.WorkspaceComponent;
 import com.structurizr.server.component.workspace.WorkspaceComponentException;
+import com.structurizr.server.component.workspace.WorkspaceConflictException;
 import com.structurizr.server.domain.Permission;
 import com.structurizr.server.domain.User;
 import com.structurizr.server.domain.WorkspaceMetadata;
@@ -19,6 +21,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 
@@ -29,6 +32,7 @@ import java.io.StringReader;
  *
  *  - GET /api/workspace/{id}
  *  - PUT /api/workspace/{id}
+ *  - PATCH /api/workspace/{id}
  */
 public class AbstractWorkspaceApiController extends AbstractController {
 
@@ -98,32 +102,7 @@ public class AbstractWorkspaceApiController extends AbstractController {
                 }
 
                 workspaceComponent.putWorkspace(workspaceId, branch, json);
-
-                if (json.contains("encryptionStrategy") && json.contains("ciphertext")) {
-                    // remove client-side encrypted workspaces from the search index
-                    try {
-                        searchComponent.delete(workspaceId);
-                    } catch (Exception e) {
-                        log.error(e);
-                    }
-                } else {
-                    try {
-                        Workspace workspace;
-                        try {
-                            JsonReader jsonReader = new JsonReader();
-                            StringReader stringReader = new StringReader(json);
-                            workspace = jsonReader.read(stringReader);
-                        } catch (WorkspaceReaderException e) {
-                            throw new ApiException(e.getMessage());
-                        }
-
-                        if (WorkspaceBranch.isMainBranch(branch)) {
-                            searchComponent.index(workspace);
-                        }
-                    } catch (Exception e) {
-                        log.error(e);
-                    }
-                }
+                updateSearchIndex(workspaceId, branch, json);
 
                 return new ApiResponse("OK");
             } else {
@@ -135,6 +114,74 @@ public class AbstractWorkspaceApiController extends AbstractController {
         }
     }
 
+    /**
+     * Applies a JSON Patch document to the stored version of the workspace, and stores the result as a new version.
+     * A ConflictApiException (409) is thrown if the stored version isn't the version that the patch was created
+     * against, in which case the client should put the full workspace instead.
+     */
+    public ApiResponse patch(long workspaceId,
+                             String branch,
+                             String baseHash,
+                             String patch,
+                             String apiKey) {
+        try {
+            if (WorkspaceBranch.isMainBranch(branch)) {
+                branch = "";
+            }
+
+            try {
+                WorkspaceBranch.validateBranchName(branch);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(e.getMessage());
+            }
+
+            authoriseRequest(workspaceId, Permission.Write, apiKey);
+
+            if (!StringUtils.isNullOrEmpty(branch) && !Configuration.getInstance().isFeatureEnabled(Features.WORKSPACE_BRANCHES)) {
+                throw new ApiException("Workspace branches are not enabled for this installation");
+            }
+
+            // the comparison against the base hash and the put happen atomically in the workspace component
+            String json = workspaceComponent.patchWorkspace(workspaceId, branch, baseHash, patch);
+            updateSearchIndex(workspaceId, branch, json);
+
+            return new ApiResponse("OK");
+        } catch (WorkspaceConflictException | WorkspaceBranchNotFoundException e) {
+            throw new ConflictApiException(e.getMessage());
+        } catch (WorkspaceComponentException e) {
+            log.error(e);
+            throw new ApiException(e.getMessage());
+        }
+    }
+
+    private void updateSearchIndex(long workspaceId, String branch, String json) {
+        if (json.contains("encryptionStrategy") && json.contains("ciphertext")) {
+            // remove client-side encrypted workspaces from the search index
+            try {
+                searchComponent.delete(workspaceId);
+            } catch (Exception e) {
+                log.error(e);
+            }
+        } else {
+            try {
+                Workspace workspace;
+                try {
+                    JsonReader jsonReader = new JsonReader();
+                    StringReader stringReader = new StringReader(json);
+                    workspace = jsonReader.read(stringReader);
+                } catch (WorkspaceReaderException e) {
+                    throw new ApiException(e.getMessage());
+                }
+
+                if (WorkspaceBranch.isMainBranch(branch)) {
+                    searchComponent.index(workspace);
+                }
+            } catch (Exception e) {
+                log.error(e);
+            }
+        }
+    }
+
     protected String getPath(HttpServletRequest request, long workspaceId, String branch) {
         String contextPath = request.getContextPath();
         if (!contextPath.endsWith("/")) {
@@ -183,6 +230,13 @@ public class AbstractWorkspaceApiController extends AbstractController {
         return new ApiResponse(exception);
     }
 
+    @ExceptionHandler(ConflictApiException.class)
+    @ResponseBody
+    public ApiResponse handleCustomException(ConflictApiException exception, HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_CONFLICT);
+        return new ApiResponse(exception);
+    }
+
     @ExceptionHandler(ApiException.class)
     @ResponseBody
     public ApiResponse handleCustomException(ApiException exception, HttpServletResponse response) {
@@ -190,6 +244,18 @@ public class AbstractWorkspaceApiController extends AbstractController {
         return new ApiResponse(exception);
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseBody
+    public ApiResponse handleCustomException(HttpMessageNotReadableException exception, HttpServletResponse response) {
+        if (exception.getCause() instanceof RequestBodyTooLargeException) {
+            // a compressed request body was too large once decompressed (see GzipRequestFilter)
+            response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return new ApiResponse(false, exception.getCause().getMessage());
+        }
+
+        return error(exception, response);
+    }
+
     @ExceptionHandler(Throwable.class)
     @ResponseBody
     public ApiResponse error(Throwable t, HttpServletResponse response) {
@@ -0,0 +1,13 @@
+package com.structurizr.server.web.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ConflictApiException extends RuntimeException {
+
+    public ConflictApiException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,251 @@
+package com.structurizr.server.web.api;
+
+import com.structurizr.configuration.Configuration;
+import com.structurizr.configuration.StructurizrProperties;
+import com.structurizr.util.SizeUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Transparently decompresses API request bodies that have been sent with a "Content-Encoding: gzip" header
+ * (e.g. workspaces uploaded by structurizr-java with request compression enabled).
+ * The decompressed body is capped at the maximum workspace size, and requests that exceed it (e.g. gzip bombs)
+ * are rejected with a 413 response as soon as the cap is reached, rather than being decompressed in full.
+ */
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String CONTENT_LENGTH_HEADER = "Content-Length";
+    private static final String GZIP_ENCODING = "gzip";
+
+    private final long maxContentLengthInBytes;
+
+    /**
+     * Creates a filter that caps decompressed request bodies at the maximum workspace size.
+     */
+    public GzipRequestFilter() {
+        this(-1);
+    }
+
+    GzipRequestFilter(long maxContentLengthInBytes) {
+        this.maxContentLengthInBytes = maxContentLengthInBytes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String contentEncoding = request.getHeader(CONTENT_ENCODING_HEADER);
+
+        if (contentEncoding != null && contentEncoding.trim().equalsIgnoreCase(GZIP_ENCODING)) {
+            try {
+                filterChain.doFilter(new GzipRequestWrapper(request, getMaxContentLengthInBytes()), response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                RequestBodyTooLargeException requestBodyTooLargeException = findRequestBodyTooLargeException(e);
+                if (requestBodyTooLargeException != null && !response.isCommitted()) {
+                    response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, requestBodyTooLargeException.getMessage());
+                } else {
+                    throw e;
+                }
+            }
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private long getMaxContentLengthInBytes() {
+        if (maxContentLengthInBytes > 0) {
+            return maxContentLengthInBytes;
+        }
+
+        return SizeUtils.parse(Configuration.getInstance().getProperty(StructurizrProperties.MAX_WORKSPACE_SIZE));
+    }
+
+    private static RequestBodyTooLargeException findRequestBodyTooLargeException(Throwable t) {
+        while (t != null) {
+            if (t instanceof RequestBodyTooLargeException requestBodyTooLargeException) {
+                return requestBodyTooLargeException;
+            }
+
+            t = t.getCause();
+        }
+
+        return null;
+    }
+
+    private static final class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+        private final long maxContentLengthInBytes;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        GzipRequestWrapper(HttpServletRequest request, long maxContentLengthInBytes) {
+            super(request);
+
+            this.maxContentLengthInBytes = maxContentLengthInBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (reader != null) {
+                throw new IllegalStateException("getReader() has already been called for this request.");
+            }
+
+            if (inputStream == null) {
+                inputStream = new GzipServletInputStream(new GZIPInputStream(super.getInputStream(), 64 * 1024), maxContentLengthInBytes);
+            }
+
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String characterEncoding = getCharacterEncoding();
+                Charset charset = characterEncoding != null ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+
+            return reader;
+        }
+
+        // the decompressed length isn't known up front, and the body is no longer encoded
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isRemovedHeader(name)) {
+                return null;
+            }
+
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isRemovedHeader(name)) {
+                return Collections.emptyEnumeration();
+            }
+
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(
+                    Collections.list(super.getHeaderNames()).stream().filter(name -> !isRemovedHeader(name)).toList()
+            );
+        }
+
+        private boolean isRemovedHeader(String name) {
+            return CONTENT_ENCODING_HEADER.equalsIgnoreCase(name) || CONTENT_LENGTH_HEADER.equalsIgnoreCase(name);
+        }
+
+    }
+
+    private static final class GzipServletInputStream extends ServletInputStream {
+
+        private final InputStream inputStream;
+        private final long maxContentLengthInBytes;
+        private long contentLengthInBytes = 0;
+        private boolean finished = false;
+
+        GzipServletInputStream(InputStream inputStream, long maxContentLengthInBytes) {
+            this.inputStream = inputStream;
+            this.maxContentLengthInBytes = maxContentLengthInBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = inputStream.read();
+            if (b == -1) {
+                finished = true;
+            } else {
+                count(1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = inputStream.read(b, off, len);
+            if (count == -1) {
+                finished = true;
+            } else {
+                count(count);
+            }
+
+            return count;
+        }
+
+        private void count(int numberOfBytes) throws RequestBodyTooLargeException {
+            contentLengthInBytes += numberOfBytes;
+            if (contentLengthInBytes > maxContentLengthInBytes) {
+                throw new RequestBodyTooLargeException(maxContentLengthInBytes);
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (readListener == null) {
+                throw new NullPointerException("A read listener must be specified.");
+            }
+
+            // reads (of the decompressed body) block rather than returning only what's available, so this stream is
+            // always ready; the listener is therefore notified immediately, and will read until isReady() returns false
+            // (i.e. never) or the stream is finished
+            try {
+                if (!finished) {
+                    readListener.onDataAvailable();
+                }
+
+                if (finished) {
+                    readListener.onAllDataRead();
+                }
+            } catch (Throwable t) {
+                readListener.onError(t);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.structurizr.server.web.api;
+
+import java.io.IOException;
+
+/**
+ * Thrown while reading a compressed request body, when the decompressed body exceeds the maximum size.
+ */
+public class RequestBodyTooLargeException extends IOException {
+
+    RequestBodyTooLargeException(long maxContentLengthInBytes) {
+        super("The decompressed request body exceeds the maximum size of " + maxContentLengthInBytes + " bytes");
+    }
+
+}
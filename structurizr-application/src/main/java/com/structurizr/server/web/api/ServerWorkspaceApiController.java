@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.api.HttpHeaders;
 import com.structurizr.configuration.Configuration;
 import com.structurizr.configuration.Features;
+import com.structurizr.io.json.JsonPatch;
+import com.structurizr.io.json.SmileTranscoder;
 import com.structurizr.server.component.workspace.WorkspaceBranch;
 import com.structurizr.server.component.workspace.WorkspaceComponentException;
 import com.structurizr.server.domain.Permission;
@@ -26,11 +28,14 @@ import java.util.stream.Collectors;
 
 /**
  * An implementation of the Structurizr workspace API.
+ * The GET and PUT endpoints also accept/produce Smile (binary JSON) via the "application/x-jackson-smile" content type.
  *
  *  - GET /api/workspace/{id}
  *  - PUT /api/workspace/{id}
+ *  - PATCH /api/workspace/{id}
  *  - GET /api/workspace/{id}/branch
  *  - PUT /api/workspace/{id}/branch
+ *  - PATCH /api/workspace/{id}/branch
  *  - PUT /api/workspace/{id}/lock
  *  - DELETE /api/workspace/{id}/lock
  */
@@ -38,6 +43,8 @@ import java.util.stream.Collectors;
 @org.springframework.context.annotation.Profile("command-server")
 public class ServerWorkspaceApiController extends AbstractWorkspaceApiController {
 
+    private static final String SMILE_CONTENT_TYPE = "application/x-jackson-smile";
+
     @CrossOrigin
     @RequestMapping(value = "/api/workspace/{workspaceId}", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
     public String getWorkspace(@PathVariable("workspaceId") long workspaceId,
@@ -56,6 +63,34 @@ public class ServerWorkspaceApiController extends AbstractWorkspaceApiController
         return put(workspaceId, WorkspaceBranch.MAIN_BRANCH, json, apiKey);
     }
 
+    @CrossOrigin
+    @RequestMapping(value = "/api/workspace/{workspaceId}", method = RequestMethod.GET, produces = SMILE_CONTENT_TYPE)
+    public byte[] getWorkspaceAsSmile(@PathVariable("workspaceId") long workspaceId,
+                                      @RequestParam(required = false) String version,
+                                      @RequestHeader(name = HttpHeaders.X_AUTHORIZATION, required = false) String apiKey) {
+
+        return toSmile(get(workspaceId, WorkspaceBranch.MAIN_BRANCH, version, apiKey));
+    }
+
+    @CrossOrigin
+    @RequestMapping(value = "/api/workspace/{workspaceId}", method = RequestMethod.PUT, consumes = SMILE_CONTENT_TYPE, produces = "application/json; charset=UTF-8")
+    public @ResponseBody ApiResponse putWorkspaceAsSmile(@PathVariable("workspaceId")long workspaceId,
+                                                         @RequestBody byte[] smile,
+                                                         @RequestHeader(name = HttpHeaders.X_AUTHORIZATION, required = false) String apiKey) {
+
+        return put(workspaceId, WorkspaceBranch.MAIN_BRANCH, toJson(smile), apiKey);
+    }
+
+    @CrossOrigin
+    @RequestMapping(value = "/api/workspace/{workspaceId}", method = RequestMethod.PATCH, consumes = JsonPatch.CONTENT_TYPE, produces = "application/json; charset=UTF-8")
+    public @ResponseBody ApiResponse patchWorkspace(@PathVariable("workspaceId")long workspaceId,
+                                                    @RequestBody String patch,
+                                                    @RequestHeader(name = HttpHeaders.X_BASE_HASH) String baseHash,
+                                                    @RequestHeader(name = HttpHeaders.X_AUTHORIZATION, required = false) String apiKey) {
+
+        return patch(workspaceId, WorkspaceBranch.MAIN_BRANCH, baseHash, patch, apiKey);
+    }
+
     @CrossOrigin
     @RequestMapping(value = "/api/workspace/{workspaceId}/branch/{branch}", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
     public String getWorkspace(@PathVariable("workspaceId") long workspaceId,
@@ -74,6 +109,51 @@ public class ServerWorkspaceApiController extends AbstractWorkspaceApiController
         return put(workspaceId, branch, json, apiKey);
     }
 
+    @CrossOrigin
+    @RequestMapping(value = "/api/workspace/{workspaceId}/branch/{branch}", method = RequestMethod.GET, produces = SMILE_CONTENT_TYPE)
+    public byte[] getWorkspaceAsSmile(@PathVariable("workspaceId") long workspaceId,
+                                      @PathVariable("branch") String branch,
+                                      @RequestParam(required = false) String version,
+                                      @RequestHeader(name = HttpHeaders.X_AUTHORIZATION, required = false) String apiKey) {
+        return toSmile(get(workspaceId, branch, version, apiKey));
+    }
+
+    @CrossOrigin
+    @RequestMapping(value = "/api/workspace/{workspaceId}/branch/{branch}", method = RequestMethod.PUT, consumes = SMILE_CONTENT_TYPE, produces = "application/json; charset=UTF-8")
+    public @ResponseBody ApiResponse putWorkspaceAsSmile(@PathVariable("workspaceId")long workspaceId,
+                                                         @PathVariable("branch") String branch,
+                                                         @RequestBody byte[] smile,
+                                                         @RequestHeader(name = HttpHeaders.X_AUTHORIZATION, required = false) String apiKey) {
+        return put(workspaceId, branch, toJson(smile), apiKey);
+    }
+
+    private byte[] toSmile(String json) {
+        try {
+            return SmileTranscoder.toSmile(json);
+        } catch (IOException e) {
+            log.error(e);
+            throw new ApiException("Could not get workspace");
+        }
+    }
+
+    private String toJson(byte[] smile) {
+        try {
+            return SmileTranscoder.toJson(smile);
+        } catch (IOException e) {
+            throw new ApiException("The Smile document could not be read");
+        }
+    }
+
+    @CrossOrigin
+    @RequestMapping(value = "/api/workspace/{workspaceId}/branch/{branch}", method = RequestMethod.PATCH, consumes = JsonPatch.CONTENT_TYPE, produces = "application/json; charset=UTF-8")
+    public @ResponseBody ApiResponse patchWorkspace(@PathVariable("workspaceId")long workspaceId,
+                                                    @PathVariable("branch") String branch,
+                                                    @RequestBody String patch,
+                                                    @RequestHeader(name = HttpHeaders.X_BASE_HASH) String baseHash,
+                                                    @RequestHeader(name = HttpHeaders.X_AUTHORIZATION, required = false) String apiKey) {
+        return patch(workspaceId, branch, baseHash, patch, apiKey);
+    }
+
     @RequestMapping(value = "/api/workspace/{workspaceId}/branch", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
     public String getBranches(@PathVariable("workspaceId") long workspaceId,
                               @RequestHeader(name = HttpHeaders.X_AUTHORIZATION, required = false) String apiKey) {
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.Properties;
 
 import static com.structurizr.configuration.StructurizrProperties.DATA_DIRECTORY;
@@ -113,6 +114,54 @@ class LocalFileSystemSingleWorkspaceAdapterTests extends AbstractWorkspaceAdapte
                 ,"model":{},"name":"DSL","properties":{"structurizr.inspection.error":"3","structurizr.dsl":"d29ya3NwYWNlICJEU0wiICJEZXNjcmlwdGlvbiIgewp9","structurizr.inspection.info":"0","structurizr.inspection.ignore":"0","structurizr.inspection.warning":"0"},"views":{"configuration":{"styles":{},"terminology":{}}}}"""));
     }
 
+    @Test
+    void getWorkspace_ReusesTheJsonFile_WhenTheParsedWorkspaceIsUnchanged() throws Exception {
+        deleteDirectory(dataDirectory);
+        dataDirectory.mkdirs();
+
+        File dslFile = new File(dataDirectory, "workspace.dsl");
+        File includedFile = new File(dataDirectory, "model.dsl");
+        File jsonFile = new File(dataDirectory, "workspace.json");
+        FileUtils.write(dslFile, """
+                workspace "DSL" "Description" {
+                    !include model.dsl
+                }""");
+        FileUtils.write(includedFile, """
+                model {
+                    a = softwareSystem "A"
+                }""");
+
+        workspaceAdapter = new LocalFileSystemSingleWorkspaceAdapter();
+        Workspace workspace = WorkspaceUtils.fromJson(workspaceAdapter.getWorkspace(1, "", ""));
+        assertEquals("Description", workspace.getDescription());
+
+        // mark the JSON as modified (this would be ignored if the DSL was merged with the JSON again), and as out of date
+        FileUtils.write(jsonFile, Files.readString(jsonFile.toPath()).replace("\"Description\"", "\"Description from JSON\""));
+        jsonFile.setLastModified(0);
+
+        // a change that doesn't change the parsed workspace
+        FileUtils.write(includedFile, """
+                model {
+                    // a comment
+                    a = softwareSystem "A"
+                }""");
+
+        workspace = WorkspaceUtils.fromJson(workspaceAdapter.getWorkspace(1, "", ""));
+        assertEquals("Description from JSON", workspace.getDescription());
+        jsonFile.setLastModified(0);
+
+        // and a change that does
+        FileUtils.write(includedFile, """
+                model {
+                    a = softwareSystem "A"
+                    b = softwareSystem "B"
+                }""");
+
+        workspace = WorkspaceUtils.fromJson(workspaceAdapter.getWorkspace(1, "", ""));
+        assertEquals("Description", workspace.getDescription());
+        assertNotNull(workspace.getModel().getSoftwareSystemWithName("B"));
+    }
+
     @Test
     void getWorkspace_WhenJsonFileExists() throws Exception {
         Workspace workspace = new Workspace("Name", "Description");
@@ -3,7 +3,10 @@ package com.structurizr.server.component.workspace;
 import com.structurizr.configuration.Configuration;
 import com.structurizr.configuration.Profile;
 import com.structurizr.configuration.StructurizrProperties;
+import com.structurizr.Workspace;
+import com.structurizr.server.domain.WorkspaceMetadata;
 import com.structurizr.util.DateUtils;
+import com.structurizr.util.WorkspaceUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,8 +16,7 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 
 import static com.structurizr.util.DateUtils.UTC_TIME_ZONE;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ServerFileSystemWorkspaceAdapterTests extends AbstractWorkspaceAdapterTests {
 
@@ -82,6 +84,60 @@ class ServerFileSystemWorkspaceAdapterTests extends AbstractWorkspaceAdapterTest
         }
     }
 
+    @Test
+    void putWorkspace_StoresTheWorkspaceAsSmile_WhenConfigured() throws Exception {
+        Properties properties = Configuration.getInstance().getProperties();
+        properties.setProperty(StructurizrProperties.WORKSPACE_FORMAT, StructurizrProperties.WORKSPACE_FORMAT_SMILE);
+        configureAsServer(properties);
+
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.getModel().addSoftwareSystem("A");
+        String json = WorkspaceUtils.toJson(workspace, false);
+
+        WorkspaceMetadata workspaceMetadata = new WorkspaceMetadata(1);
+        workspaceMetadata.setLastModifiedDate(new Date());
+        workspaceAdapter.putWorkspace(workspaceMetadata, json, "");
+
+        File workspaceDirectory = new File(dataDirectory, "1");
+        assertTrue(new File(workspaceDirectory, "workspace.smile").exists());
+        assertFalse(new File(workspaceDirectory, "workspace.json").exists());
+        assertEquals(json, workspaceAdapter.getWorkspace(1, "", ""));
+
+        List<WorkspaceVersion> versions = workspaceAdapter.getWorkspaceVersions(1, "", 10);
+        assertEquals(1, versions.size());
+
+        SimpleDateFormat sdf = new SimpleDateFormat(ServerFileSystemWorkspaceAdapter.VERSION_TIMESTAMP_FORMAT);
+        sdf.setTimeZone(TimeZone.getTimeZone(UTC_TIME_ZONE));
+        assertEquals(json, workspaceAdapter.getWorkspace(1, "", sdf.format(workspaceMetadata.getLastModifiedDate())));
+    }
+
+    @Test
+    void putWorkspace_ReplacesTheSmileFile_WhenTheFormatIsChangedBackToJson() throws Exception {
+        Properties properties = Configuration.getInstance().getProperties();
+        properties.setProperty(StructurizrProperties.WORKSPACE_FORMAT, StructurizrProperties.WORKSPACE_FORMAT_SMILE);
+        configureAsServer(properties);
+
+        WorkspaceMetadata workspaceMetadata = new WorkspaceMetadata(1);
+        workspaceMetadata.setLastModifiedDate(new Date());
+        workspaceAdapter.putWorkspace(workspaceMetadata, WorkspaceUtils.toJson(new Workspace("Smile", ""), false), "");
+
+        properties = Configuration.getInstance().getProperties();
+        properties.setProperty(StructurizrProperties.WORKSPACE_FORMAT, StructurizrProperties.WORKSPACE_FORMAT_JSON);
+        configureAsServer(properties);
+
+        String json = WorkspaceUtils.toJson(new Workspace("JSON", ""), false);
+        workspaceMetadata.setLastModifiedDate(new Date(workspaceMetadata.getLastModifiedDate().getTime() + 1000));
+        workspaceAdapter.putWorkspace(workspaceMetadata, json, "");
+
+        File workspaceDirectory = new File(dataDirectory, "1");
+        assertFalse(new File(workspaceDirectory, "workspace.smile").exists());
+        assertTrue(new File(workspaceDirectory, "workspace.json").exists());
+        assertEquals(json, workspaceAdapter.getWorkspace(1, "", ""));
+
+        // versions in both formats are listed
+        assertEquals(2, workspaceAdapter.getWorkspaceVersions(1, "", 10).size());
+    }
+
     @AfterEach
     public void tearDown() {
         deleteDirectory(dataDirectory);
@@ -7,6 +7,8 @@ import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.encryption.EncryptionLocation;
 import com.structurizr.encryption.EncryptionStrategy;
 import com.structurizr.io.json.EncryptedJsonWriter;
+import com.structurizr.io.json.JsonPatch;
+import com.structurizr.io.json.WorkspaceDigest;
 import com.structurizr.server.domain.AuthenticationMethod;
 import com.structurizr.server.domain.WorkspaceMetadata;
 import com.structurizr.server.web.AbstractTestsBase;
@@ -579,6 +581,202 @@ public class WorkspaceComponentImplTests extends AbstractTestsBase {
         assertTrue(jsonBuffer.toString().endsWith(String.format(pattern, DateUtils.formatIsoDate(workspaceMetaData.getLastModifiedDate()))));
     }
 
+    @Test
+    void putWorkspace_DoesNotStoreANewVersion_WhenTheWorkspaceIsUnchanged() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.getModel().addSoftwareSystem("Software System");
+        String currentJson = WorkspaceUtils.toJson(workspace, false);
+
+        final StringBuffer jsonBuffer = new StringBuffer();
+        final List<WorkspaceMetadata> workspaceMetadata = new ArrayList<>();
+
+        WorkspaceComponent workspaceComponent = new WorkspaceComponentImpl(new MockWorkspaceAdapter() {
+            @Override
+            public String getWorkspace(long workspaceId, String branch, String version) {
+                return currentJson;
+            }
+
+            @Override
+            public void putWorkspaceMetadata(WorkspaceMetadata wmd) {
+                workspaceMetadata.add(wmd);
+            }
+
+            @Override
+            public void putWorkspace(WorkspaceMetadata workspaceMetaData, String json, String branch) {
+                jsonBuffer.append(json);
+            }
+        });
+
+        // the same workspace, with different metadata
+        workspace.setLastModifiedUser("user@example.com");
+        workspaceComponent.putWorkspace(1, "", WorkspaceUtils.toJson(workspace, false));
+        assertEquals("", jsonBuffer.toString());
+        assertNull(workspaceMetadata.get(0).getLastModifiedUser());
+
+        // and a changed workspace
+        workspace.getModel().addPerson("User");
+        workspaceComponent.putWorkspace(1, "", WorkspaceUtils.toJson(workspace, false));
+        assertTrue(jsonBuffer.toString().contains("\"User\""));
+        assertEquals("user@example.com", workspaceMetadata.get(1).getLastModifiedUser());
+        assertEquals(WorkspaceDigest.of(workspace).getDigest(), workspaceMetadata.get(1).getDigest());
+    }
+
+    @Test
+    void putWorkspace_UsesTheDigestInTheWorkspaceMetadata_WhenCheckingWhetherTheWorkspaceIsUnchanged() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.getModel().addSoftwareSystem("Software System");
+
+        final StringBuffer jsonBuffer = new StringBuffer();
+
+        WorkspaceComponent workspaceComponent = new WorkspaceComponentImpl(new MockWorkspaceAdapter() {
+            @Override
+            public WorkspaceMetadata getWorkspaceMetadata(long workspaceId) {
+                WorkspaceMetadata wmd = new WorkspaceMetadata(1);
+                wmd.setDigest(WorkspaceDigest.of(workspace).getDigest());
+
+                return wmd;
+            }
+
+            @Override
+            public String getWorkspace(long workspaceId, String branch, String version) {
+                fail(); // the current version shouldn't be read
+
+                return null;
+            }
+
+            @Override
+            public void putWorkspaceMetadata(WorkspaceMetadata wmd) {
+            }
+
+            @Override
+            public void putWorkspace(WorkspaceMetadata workspaceMetaData, String json, String branch) {
+                jsonBuffer.append(json);
+            }
+        });
+
+        workspaceComponent.putWorkspace(1, "", WorkspaceUtils.toJson(workspace, false));
+        assertEquals("", jsonBuffer.toString());
+    }
+
+    @Test
+    void putWorkspace_ThrowsAnException_WhenTheWorkspaceIsLockedByAnotherUser() {
+        WorkspaceComponent workspaceComponent = new WorkspaceComponentImpl(new MockWorkspaceAdapter() {
+            @Override
+            public WorkspaceMetadata getWorkspaceMetadata(long workspaceId) {
+                WorkspaceMetadata wmd = new WorkspaceMetadata(1);
+                wmd.setLockedUser("user1");
+                wmd.setLockedAgent("agent");
+                wmd.setLockedDate(new Date());
+
+                return wmd;
+            }
+
+            @Override
+            public void putWorkspace(WorkspaceMetadata workspaceMetaData, String json, String branch) {
+                fail();
+            }
+        });
+
+        // the lock is checked before the model is parsed, so the invalid model (duplicate names) isn't reported
+        String json = """
+                {"name":"Name","lastModifiedUser":"user2","lastModifiedAgent":"agent","model":{"softwareSystems":[{"id":"1","name":"A"},{"id":"2","name":"A"}]}}""";
+
+        try {
+            workspaceComponent.putWorkspace(1, "", json);
+            fail();
+        } catch (WorkspaceComponentException e) {
+            assertTrue(e.getMessage().startsWith("The workspace could not be saved because the workspace was locked by user1 at "));
+        }
+    }
+
+    @Test
+    void patchWorkspace_PutsThePatchedWorkspace() throws Exception {
+        final StringBuffer jsonBuffer = new StringBuffer(WorkspaceUtils.toJson(new Workspace("Name", "Description"), false));
+        String base = jsonBuffer.toString();
+        String patch = JsonPatch.diff(base, base.replace("\"Name\"", "\"New Name\""));
+
+        WorkspaceComponent workspaceComponent = new WorkspaceComponentImpl(new MockWorkspaceAdapter() {
+            @Override
+            public String getWorkspace(long workspaceId, String branch, String version) {
+                return jsonBuffer.toString();
+            }
+
+            @Override
+            public void putWorkspace(WorkspaceMetadata workspaceMetaData, String json, String branch) {
+                jsonBuffer.setLength(0);
+                jsonBuffer.append(json);
+            }
+        });
+
+        String json = workspaceComponent.patchWorkspace(1, "", JsonPatch.hash(base), patch);
+        assertEquals("New Name", WorkspaceUtils.fromJson(json).getName());
+        assertEquals("New Name", WorkspaceUtils.fromJson(jsonBuffer.toString()).getName());
+    }
+
+    @Test
+    void patchWorkspace_ThrowsAConflictException_WhenTheWorkspaceHasBeenModifiedSinceThePatchWasCreated() throws Exception {
+        String base = WorkspaceUtils.toJson(new Workspace("Name", "Description"), false);
+        String patch = JsonPatch.diff(base, base.replace("\"Name\"", "\"New Name\""));
+
+        WorkspaceComponent workspaceComponent = new WorkspaceComponentImpl(new MockWorkspaceAdapter() {
+            @Override
+            public String getWorkspace(long workspaceId, String branch, String version) {
+                return base.replace("\"Description\"", "\"New Description\"");
+            }
+
+            @Override
+            public void putWorkspace(WorkspaceMetadata workspaceMetaData, String json, String branch) {
+                fail();
+            }
+        });
+
+        try {
+            workspaceComponent.patchWorkspace(1, "", JsonPatch.hash(base), patch);
+            fail();
+        } catch (WorkspaceConflictException e) {
+            assertEquals("The workspace has been modified since the patch was created", e.getMessage());
+        }
+    }
+
+    @Test
+    void patchWorkspace_ThrowsAConflictException_WhenTheWorkspaceIsClientSideEncrypted() throws Exception {
+        EncryptedWorkspace encryptedWorkspace = new EncryptedWorkspace(new Workspace("Name", "Description"), new AesEncryptionStrategy("passphrase"));
+        StringWriter stringWriter = new StringWriter();
+        new EncryptedJsonWriter(false).write(encryptedWorkspace, stringWriter);
+        String base = stringWriter.toString();
+
+        WorkspaceComponent workspaceComponent = new WorkspaceComponentImpl(new MockWorkspaceAdapter() {
+            @Override
+            public String getWorkspace(long workspaceId, String branch, String version) {
+                return base;
+            }
+
+            @Override
+            public void putWorkspace(WorkspaceMetadata workspaceMetaData, String json, String branch) {
+                fail();
+            }
+        });
+
+        try {
+            workspaceComponent.patchWorkspace(1, "", JsonPatch.hash(base), "[]");
+            fail();
+        } catch (WorkspaceConflictException e) {
+            assertEquals("Client-side encrypted workspaces cannot be patched", e.getMessage());
+        }
+    }
+
+    @Test
+    void patchWorkspace_ThrowsAnException_WhenTheBranchDoesNotExist() {
+        WorkspaceComponent workspaceComponent = new WorkspaceComponentImpl(new MockWorkspaceAdapter());
+
+        try {
+            workspaceComponent.patchWorkspace(1, "branch1", "hash", "[]");
+            fail();
+        } catch (WorkspaceBranchNotFoundException e) {
+            assertEquals("Branch \"branch1\" does not exist for workspace 1", e.getMessage());
+        }
+    }
+
     @Test
     void test_putWorkspace_UpdatesTheVisibility_WhenTheVisibilityIsSpecified() throws Exception {
         configureAsServerWithAuthenticationEnabled();
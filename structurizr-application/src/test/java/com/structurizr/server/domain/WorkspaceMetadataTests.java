@@ -291,6 +291,7 @@ public class WorkspaceMetadataTests extends AbstractTestsBase {
         properties.setProperty(WorkspaceMetadata.READ_USERS_AND_ROLES_PROPERTY, "user1,user2,user3");
         properties.setProperty(WorkspaceMetadata.WRITE_USERS_AND_ROLES_PROPERTY, "user4,user5,user6");
         properties.setProperty(WorkspaceMetadata.ARCHIVED_PROPERTY, "false");
+        properties.setProperty(WorkspaceMetadata.DIGEST_PROPERTY, "abcdef");
 
         WorkspaceMetadata workspace = WorkspaceMetadata.fromProperties(123, properties);
 
@@ -310,6 +311,7 @@ public class WorkspaceMetadataTests extends AbstractTestsBase {
         assertEquals(Set.of("user1", "user2", "user3"), workspace.getReadUsers());
         assertEquals(Set.of("user4", "user5", "user6"), workspace.getWriteUsers());
         assertFalse(workspace.isArchived());
+        assertEquals("abcdef", workspace.getDigest());
 
         properties.clear();
         properties = workspace.toProperties();
@@ -330,6 +332,7 @@ public class WorkspaceMetadataTests extends AbstractTestsBase {
         assertEquals("user1,user2,user3", properties.getProperty(WorkspaceMetadata.READ_USERS_AND_ROLES_PROPERTY));
         assertEquals("user4,user5,user6", properties.getProperty(WorkspaceMetadata.WRITE_USERS_AND_ROLES_PROPERTY));
         assertEquals("false", properties.getProperty(WorkspaceMetadata.ARCHIVED_PROPERTY));
+        assertEquals("abcdef", properties.getProperty(WorkspaceMetadata.DIGEST_PROPERTY));
     }
 
     @Test
@@ -4,6 +4,7 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
@@ -16,6 +17,7 @@ public class MockHttpServletRequest implements HttpServletRequest {
     private final Map<String,String> headers = new HashMap<>();
     private final Map<String,String> parameters = new HashMap<>();
     private StringReader stringReader;
+    private byte[] bytes;
 
     private ServletContext servletContext;
 
@@ -30,6 +32,10 @@ public class MockHttpServletRequest implements HttpServletRequest {
         stringReader = new StringReader(content);
     }
 
+    public void setContent(byte[] content) {
+        bytes = content;
+    }
+
     @Override
     public String getAuthType() {
         return null;
@@ -61,7 +67,7 @@ public class MockHttpServletRequest implements HttpServletRequest {
 
     @Override
     public Enumeration getHeaderNames() {
-        return null;
+        return Collections.enumeration(headers.keySet());
     }
 
     @Override
@@ -189,7 +195,31 @@ public class MockHttpServletRequest implements HttpServletRequest {
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        return null;
+        if (bytes == null) {
+            return null;
+        }
+
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return inputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+
+            @Override
+            public int read() {
+                return inputStream.read();
+            }
+        };
     }
 
     void setParameter(String name, String value) {
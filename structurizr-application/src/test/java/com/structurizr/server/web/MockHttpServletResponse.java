@@ -49,7 +49,7 @@ public class MockHttpServletResponse implements HttpServletResponse {
 
     @Override
     public void sendError(int i, String s) throws IOException {
-
+        this.status = i;
     }
 
     @Override
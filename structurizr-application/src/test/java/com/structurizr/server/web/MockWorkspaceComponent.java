@@ -53,6 +53,11 @@ public abstract class MockWorkspaceComponent implements WorkspaceComponent {
 
     }
 
+    @Override
+    public String patchWorkspace(long workspaceId, String branch, String baseHash, String patch) {
+        return null;
+    }
+
     @Override
     public List<WorkspaceVersion> getWorkspaceVersions(long workspaceId, String branch) {
         return List.of();
@@ -0,0 +1,151 @@
+package com.structurizr.server.web.api;
+
+import com.structurizr.server.AbstractServer;
+import com.structurizr.server.web.MockHttpServletRequest;
+import com.structurizr.server.web.MockHttpServletResponse;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GzipRequestFilterTests {
+
+    private static final String JSON = "{\"name\":\"Name é\"}";
+
+    private final GzipRequestFilter filter = new GzipRequestFilter(1024);
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void doFilter_PassesTheRequestThrough_WhenTheRequestIsNotCompressed() throws Exception {
+        List<ServletRequest> requests = new ArrayList<>();
+        filter.doFilter(request, response, (req, res) -> requests.add(req));
+
+        assertSame(request, requests.get(0));
+    }
+
+    @Test
+    void doFilter_DecompressesTheRequestBody_WhenTheRequestIsCompressed() throws Exception {
+        request.addHeader("Content-Encoding", "gzip");
+        request.addHeader("Content-Length", "123");
+        request.addHeader("Content-Type", "application/json");
+        request.setContent(gzip(JSON));
+
+        List<String> content = new ArrayList<>();
+        filter.doFilter(request, response, (req, res) -> {
+            HttpServletRequest httpServletRequest = (HttpServletRequest)req;
+
+            assertNull(httpServletRequest.getHeader("Content-Encoding"));
+            assertNull(httpServletRequest.getHeader("Content-Length"));
+            assertEquals("application/json", httpServletRequest.getHeader("Content-Type"));
+            assertEquals(List.of("Content-Type"), Collections.list(httpServletRequest.getHeaderNames()));
+            assertEquals(-1, httpServletRequest.getContentLength());
+
+            content.add(httpServletRequest.getReader().readLine());
+        });
+
+        assertEquals(JSON, content.get(0));
+    }
+
+    @Test
+    void doFilter_NotifiesAReadListener_WhenTheRequestIsCompressed() throws Exception {
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(gzip(JSON));
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+        filter.doFilter(request, response, (req, res) -> {
+            ServletInputStream inputStream = req.getInputStream();
+            inputStream.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("onDataAvailable");
+                    while (inputStream.isReady() && !inputStream.isFinished()) {
+                        int b = inputStream.read();
+                        if (b != -1) {
+                            content.write(b);
+                        }
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("onAllDataRead");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("onError");
+                }
+            });
+        });
+
+        assertEquals(List.of("onDataAvailable", "onAllDataRead"), events);
+        assertEquals(JSON, content.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void doFilter_RejectsTheRequest_WhenTheDecompressedBodyIsTooLarge() throws Exception {
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(gzip("x".repeat(1024 * 1024)));
+
+        List<Integer> bytesRead = new ArrayList<>();
+        filter.doFilter(request, response, (req, res) -> {
+            byte[] buffer = new byte[256];
+            int count = 0;
+            try {
+                int n;
+                while ((n = req.getInputStream().read(buffer)) != -1) {
+                    count += n;
+                }
+            } finally {
+                bytesRead.add(count);
+            }
+        });
+
+        assertEquals(413, response.getStatus());
+        assertTrue(bytesRead.get(0) <= 1024); // the body isn't decompressed beyond the cap
+    }
+
+    @Test
+    void doFilter_AcceptsTheRequest_WhenTheDecompressedBodyIsTheMaximumSize() throws Exception {
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(gzip("x".repeat(1024)));
+
+        List<String> content = new ArrayList<>();
+        filter.doFilter(request, response, (req, res) -> content.add(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertEquals(1024, content.get(0).length());
+    }
+
+    @Test
+    void gzipRequestFilterRegistration_RegistersTheFilterForTheApi() {
+        FilterRegistrationBean<? extends Filter> registrationBean = new AbstractServer() {}.gzipRequestFilterRegistration();
+
+        assertInstanceOf(GzipRequestFilter.class, registrationBean.getFilter());
+        assertEquals(List.of("/api/*"), new ArrayList<>(registrationBean.getUrlPatterns()));
+    }
+
+    private byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return outputStream.toByteArray();
+    }
+
+}
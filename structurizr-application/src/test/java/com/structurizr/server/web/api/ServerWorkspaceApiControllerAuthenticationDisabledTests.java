@@ -4,7 +4,9 @@ import com.structurizr.Workspace;
 import com.structurizr.configuration.Configuration;
 import com.structurizr.configuration.Features;
 import com.structurizr.server.component.workspace.WorkspaceBranch;
+import com.structurizr.server.component.workspace.WorkspaceBranchNotFoundException;
 import com.structurizr.server.component.workspace.WorkspaceComponentException;
+import com.structurizr.server.component.workspace.WorkspaceConflictException;
 import com.structurizr.server.component.workspace.WorkspaceVersion;
 import com.structurizr.server.domain.WorkspaceMetadata;
 import com.structurizr.server.web.AbstractTestsBase;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -121,6 +124,98 @@ public class ServerWorkspaceApiControllerAuthenticationDisabledTests extends Abs
         controller.putWorkspace(1, json, "");
     }
 
+    @Test
+    void patchWorkspace_ReturnsAConflict_WhenTheWorkspaceHasBeenModifiedSinceThePatchWasCreated() {
+        controller.setWorkspaceComponent(new MockWorkspaceComponent() {
+            @Override
+            public WorkspaceMetadata getWorkspaceMetadata(long workspaceId) {
+                return new WorkspaceMetadata(1);
+            }
+
+            @Override
+            public String patchWorkspace(long workspaceId, String branch, String baseHash, String patch) {
+                throw new WorkspaceConflictException("The workspace has been modified since the patch was created");
+            }
+        });
+
+        try {
+            controller.patchWorkspace(1, "[]", "hash", "");
+            fail();
+        } catch (ConflictApiException e) {
+            assertEquals("The workspace has been modified since the patch was created", e.getMessage());
+        }
+    }
+
+    @Test
+    void patchWorkspace_ReturnsAConflict_WhenTheWorkspaceIsClientSideEncrypted() {
+        controller.setWorkspaceComponent(new MockWorkspaceComponent() {
+            @Override
+            public WorkspaceMetadata getWorkspaceMetadata(long workspaceId) {
+                return new WorkspaceMetadata(1);
+            }
+
+            @Override
+            public String patchWorkspace(long workspaceId, String branch, String baseHash, String patch) {
+                throw new WorkspaceConflictException("Client-side encrypted workspaces cannot be patched");
+            }
+        });
+
+        try {
+            controller.patchWorkspace(1, "[]", "hash", "");
+            fail();
+        } catch (ConflictApiException e) {
+            assertEquals("Client-side encrypted workspaces cannot be patched", e.getMessage());
+        }
+    }
+
+    @Test
+    void patchWorkspace_ReturnsAConflict_WhenTheBranchDoesNotExist() {
+        Configuration.getInstance().setFeatureEnabled(Features.WORKSPACE_BRANCHES);
+
+        controller.setWorkspaceComponent(new MockWorkspaceComponent() {
+            @Override
+            public WorkspaceMetadata getWorkspaceMetadata(long workspaceId) {
+                return new WorkspaceMetadata(1);
+            }
+
+            @Override
+            public String patchWorkspace(long workspaceId, String branch, String baseHash, String patch) {
+                throw new WorkspaceBranchNotFoundException(workspaceId, branch);
+            }
+        });
+
+        try {
+            controller.patchWorkspace(1, "branch1", "[]", "hash", "");
+            fail();
+        } catch (ConflictApiException e) {
+            assertEquals("Branch \"branch1\" does not exist for workspace 1", e.getMessage());
+        }
+    }
+
+    @Test
+    void patchWorkspace_PatchesTheWorkspace() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        String json = WorkspaceUtils.toJson(workspace, false);
+        List<String> arguments = new ArrayList<>();
+
+        controller.setWorkspaceComponent(new MockWorkspaceComponent() {
+            @Override
+            public WorkspaceMetadata getWorkspaceMetadata(long workspaceId) {
+                return new WorkspaceMetadata(1);
+            }
+
+            @Override
+            public String patchWorkspace(long workspaceId, String branch, String baseHash, String patch) {
+                arguments.addAll(List.of(branch, baseHash, patch));
+                return json;
+            }
+        });
+
+        ApiResponse response = controller.patchWorkspace(1, "[]", "hash", "");
+        assertTrue(response.isSuccess());
+        assertEquals(List.of("", "hash", "[]"), arguments);
+    }
+
     @Test
     void lockWorkspace_ReturnsAnError_WhenTheWorkspaceDoesNotExist() {
         controller.setWorkspaceComponent(new MockWorkspaceComponent() {
@@ -0,0 +1,95 @@
+package com.structurizr.benchmarks;
+
+import com.structurizr.Workspace;
+import com.structurizr.dsl.StructurizrDslParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a generated DSL workspace definition of ~100,000 lines (~25,000 components and ~25,000
+ * relationships, plus comments, blank lines, tags and constant substitutions), so that DSL parse throughput
+ * can be tracked from release to release.
+ * For example:
+ * java -jar structurizr-benchmarks/target/benchmarks.jar DslParserBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class DslParserBenchmark {
+
+    private static final int NUMBER_OF_SOFTWARE_SYSTEMS = 50;
+    private static final int NUMBER_OF_CONTAINERS_PER_SOFTWARE_SYSTEM = 10;
+    private static final int NUMBER_OF_COMPONENTS_PER_CONTAINER = 50;
+
+    private String dsl;
+
+    @Setup(Level.Trial)
+    public void createDsl() {
+        dsl = generate();
+    }
+
+    @Benchmark
+    public Workspace parse() throws Exception {
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(dsl);
+
+        return parser.getWorkspace();
+    }
+
+    private static String generate() {
+        StringBuilder buf = new StringBuilder();
+        buf.append("workspace \"Generated\" \"A generated workspace.\" {\n");
+        buf.append("\n");
+        buf.append("    !const TECHNOLOGY \"Java\"\n");
+        buf.append("\n");
+        buf.append("    model {\n");
+        buf.append("        user = person \"User\" \"A user.\"\n");
+        buf.append("\n");
+
+        for (int s = 0; s < NUMBER_OF_SOFTWARE_SYSTEMS; s++) {
+            buf.append("        // software system ").append(s).append("\n");
+            buf.append("        ss").append(s).append(" = softwareSystem \"Software System ").append(s).append("\" \"Description of software system ").append(s).append(".\" {\n");
+            buf.append("            tags \"Tag ").append(s % 10).append("\"\n");
+
+            for (int c = 0; c < NUMBER_OF_CONTAINERS_PER_SOFTWARE_SYSTEM; c++) {
+                String container = "ss" + s + "c" + c;
+                buf.append("\n");
+                buf.append("            ").append(container).append(" = container \"Container ").append(c).append("\" \"Description of container ").append(c).append(".\" \"${TECHNOLOGY}\" {\n");
+
+                for (int k = 0; k < NUMBER_OF_COMPONENTS_PER_CONTAINER; k++) {
+                    buf.append("                ").append(container).append("k").append(k).append(" = component \"Component ").append(k).append("\" \"Description of component ").append(k).append(".\" \"${TECHNOLOGY}\" {\n");
+                    buf.append("                    tags \"Tag ").append(k % 10).append("\"\n");
+                    buf.append("                }\n");
+                }
+
+                for (int k = 0; k < NUMBER_OF_COMPONENTS_PER_CONTAINER - 1; k++) {
+                    buf.append("                ").append(container).append("k").append(k).append(" -> ").append(container).append("k").append(k + 1).append(" \"Calls\"\n");
+                }
+                buf.append("            }\n");
+            }
+
+            buf.append("        }\n");
+            buf.append("        user -> ss").append(s).append(" \"Uses\"\n");
+            buf.append("\n");
+        }
+
+        buf.append("    }\n");
+        buf.append("\n");
+        buf.append("    views {\n");
+        for (int s = 0; s < NUMBER_OF_SOFTWARE_SYSTEMS; s++) {
+            buf.append("        container ss").append(s).append(" {\n");
+            buf.append("            include *\n");
+            buf.append("        }\n");
+        }
+        buf.append("    }\n");
+        buf.append("\n");
+        buf.append("}\n");
+
+        return buf.toString();
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.structurizr.benchmarks;
+
+import com.structurizr.Workspace;
+import com.structurizr.encryption.AesEncryptionStrategy;
+import com.structurizr.util.WorkspaceUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encrypting and decrypting a ~10MB JSON workspace with the default AES encryption strategy
+ * (128-bit key, 1,000 iterations), both as Strings and as streams, along with a small (~1KB) workspace
+ * where the cost of deriving the key dominates. For example:
+ * java -jar structurizr-benchmarks/target/benchmarks.jar EncryptionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionBenchmark {
+
+    private AesEncryptionStrategy encryptionStrategy;
+    private String plaintext;
+    private byte[] plaintextAsBytes;
+    private String ciphertext;
+    private byte[] ciphertextAsBytes;
+    private String smallPlaintext;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        // 1 person + 30 software systems + 300 containers + 29,700 components = ~10MB of JSON
+        Workspace workspace = WorkspaceGenerator.generate(30, 10, 99);
+        plaintext = WorkspaceUtils.toJson(workspace, false);
+        plaintextAsBytes = plaintext.getBytes(StandardCharsets.UTF_8);
+        smallPlaintext = WorkspaceUtils.toJson(WorkspaceGenerator.generate(1, 1, 1), false);
+
+        encryptionStrategy = new AesEncryptionStrategy(128, 1000, "passphrase");
+        ciphertext = encryptionStrategy.encrypt(plaintext);
+        ciphertextAsBytes = ciphertext.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return encryptionStrategy.encrypt(plaintext);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return encryptionStrategy.decrypt(ciphertext);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encryptStream() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encryptionStrategy.encrypt(new ByteArrayInputStream(plaintextAsBytes), outputStream);
+
+        return outputStream;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream decryptStream() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encryptionStrategy.decrypt(new ByteArrayInputStream(ciphertextAsBytes), outputStream);
+
+        return outputStream;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String encryptSmall() throws Exception {
+        return encryptionStrategy.encrypt(smallPlaintext);
+    }
+
+}
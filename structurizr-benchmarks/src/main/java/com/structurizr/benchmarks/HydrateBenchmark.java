@@ -0,0 +1,73 @@
+package com.structurizr.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.structurizr.Workspace;
+import com.structurizr.io.json.JsonWriter;
+import com.structurizr.model.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing and hydrating a JSON workspace with ~50,000 elements and ~150,000 relationships, separately,
+ * so that regressions in the hydration (and validation) of the model are not hidden by the cost of parsing.
+ * For example:
+ * java -jar structurizr-benchmarks/target/benchmarks.jar HydrateBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class HydrateBenchmark {
+
+    private ObjectMapper objectMapper;
+    private String json;
+    private Workspace workspace;
+
+    @Setup(Level.Trial)
+    public void createJson() throws Exception {
+        // 1 person + 50 software systems + 500 containers + 49,500 components
+        Workspace workspace = WorkspaceGenerator.generate(50, 10, 99);
+
+        // each component also gets two more relationships, for ~150,000 relationships in total
+        List<Component> components = new ArrayList<>(workspace.getModel().getElementsOfType(Component.class));
+        for (int i = 0; i < components.size(); i++) {
+            components.get(i).uses(components.get((i + 2) % components.size()), "Calls");
+            components.get(i).uses(components.get((i + 3) % components.size()), "Notifies");
+        }
+
+        StringWriter writer = new StringWriter();
+        new JsonWriter(false).write(workspace, writer);
+        json = writer.toString();
+
+        // configured in the same way as the JsonReader
+        objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+    }
+
+    @Setup(Level.Invocation)
+    public void parseJson() throws Exception {
+        workspace = objectMapper.readValue(json, Workspace.class);
+    }
+
+    @Benchmark
+    public Workspace parse() throws Exception {
+        return objectMapper.readValue(json, Workspace.class);
+    }
+
+    @Benchmark
+    public Workspace hydrate() throws Exception {
+        workspace.hydrate();
+
+        return workspace;
+    }
+
+}
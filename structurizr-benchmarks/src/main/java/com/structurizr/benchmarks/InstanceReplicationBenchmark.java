@@ -0,0 +1,58 @@
+package com.structurizr.benchmarks;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.Container;
+import com.structurizr.model.DeploymentNode;
+import com.structurizr.model.Model;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding 5,000 container instances across 10 deployment environments, each of which replicates the
+ * relationships between the containers to the instances in the same deployment environment and group.
+ * For example:
+ * java -jar structurizr-benchmarks/target/benchmarks.jar InstanceReplicationBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InstanceReplicationBenchmark {
+
+    private static final int NUMBER_OF_ENVIRONMENTS = 10;
+    private static final int NUMBER_OF_DEPLOYMENT_NODES_PER_ENVIRONMENT = 50;
+
+    private Workspace workspace;
+    private List<Container> containers;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        // 10 software systems * 10 containers = 100 containers, each with a relationship to a container in the next software system
+        workspace = WorkspaceGenerator.generate(10, 10, 0);
+        containers = new ArrayList<>(workspace.getModel().getElementsOfType(Container.class));
+    }
+
+    @Benchmark
+    public Model addContainerInstances() {
+        Model model = workspace.getModel();
+
+        // 10 environments * 50 deployment nodes * 10 containers = 5,000 container instances
+        for (int e = 0; e < NUMBER_OF_ENVIRONMENTS; e++) {
+            String environment = "Environment " + e;
+            for (int d = 0; d < NUMBER_OF_DEPLOYMENT_NODES_PER_ENVIRONMENT; d++) {
+                DeploymentNode deploymentNode = model.addDeploymentNode(environment, "Deployment Node " + d, null, null);
+                for (int c = 0; c < 10; c++) {
+                    deploymentNode.add(containers.get((d * 10 + c) % containers.size()));
+                }
+            }
+        }
+
+        return model;
+    }
+
+}
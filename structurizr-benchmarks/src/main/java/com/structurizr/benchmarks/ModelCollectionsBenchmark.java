@@ -0,0 +1,69 @@
+package com.structurizr.benchmarks;
+
+import com.structurizr.Workspace;
+import com.structurizr.export.WorkspaceExport;
+import com.structurizr.export.ilograph.IlographExporter;
+import com.structurizr.inspection.DefaultInspector;
+import com.structurizr.model.Element;
+import com.structurizr.model.Model;
+import com.structurizr.model.Relationship;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares iterating over the model via the copying getters (e.g. Model.getElements()) with the read-only views
+ * (e.g. Model.getElementsView()), and measures exporting/inspecting a workspace of ~10,000 elements.
+ * Run with the GC profiler to see the allocation rate, for example:
+ * java -jar structurizr-benchmarks/target/benchmarks.jar ModelCollectionsBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelCollectionsBenchmark {
+
+    private Workspace workspace;
+
+    @Setup
+    public void setup() {
+        // 1 person + 100 software systems + 1,000 containers + 9,000 components
+        workspace = WorkspaceGenerator.generate(100, 10, 9);
+    }
+
+    @Benchmark
+    public void iterateUsingCopies(Blackhole blackhole) {
+        Model model = workspace.getModel();
+        for (Element element : model.getElements()) {
+            for (Relationship relationship : element.getRelationships()) {
+                blackhole.consume(relationship.getDestination());
+            }
+        }
+        blackhole.consume(model.getSoftwareSystems().size() + model.getPeople().size());
+    }
+
+    @Benchmark
+    public void iterateUsingViews(Blackhole blackhole) {
+        Model model = workspace.getModel();
+        for (Element element : model.getElementsView()) {
+            for (Relationship relationship : element.getRelationshipsView()) {
+                blackhole.consume(relationship.getDestination());
+            }
+        }
+        blackhole.consume(model.getSoftwareSystemsView().size() + model.getPeopleView().size());
+    }
+
+    @Benchmark
+    public WorkspaceExport exportToIlograph() {
+        return new IlographExporter().export(workspace);
+    }
+
+    @Benchmark
+    public DefaultInspector inspect() {
+        return new DefaultInspector(workspace);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.structurizr.benchmarks;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained by a generated model of ~200,000 elements, where each component has a couple of tags
+ * and properties (similar to a workspace created by the component finder). The retained heap is reported (in KB)
+ * via the "retainedKilobytes" secondary result. For example:
+ * java -jar structurizr-benchmarks/target/benchmarks.jar ModelFootprintBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ModelFootprintBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedKilobytes;
+
+    }
+
+    private Workspace workspace;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        workspace = null;
+    }
+
+    @Benchmark
+    public Workspace generateModel(Footprint footprint) {
+        long before = usedHeap();
+
+        // 1 person + 200 software systems + 2,000 containers + 198,000 components
+        workspace = WorkspaceGenerator.generate(200, 10, 99);
+        for (Component component : workspace.getModel().getElementsOfType(Component.class)) {
+            component.addTags("Spring Bean", "Component Finder");
+            component.addProperty("component.type", "org.example.Component" + component.getId());
+            component.addProperty("component.finder", "Spring");
+        }
+
+        footprint.retainedKilobytes = (usedHeap() - before) / 1024;
+
+        return workspace;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.structurizr.benchmarks;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceStreamReader;
+import com.structurizr.io.WorkspaceStreamWriter;
+import com.structurizr.io.json.JsonReader;
+import com.structurizr.io.json.JsonWriter;
+import com.structurizr.io.json.SmileReader;
+import com.structurizr.io.json.SmileWriter;
+import com.structurizr.model.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading and writing a workspace with ~10,000 elements as (pretty-printed and compact) JSON and Smile.
+ * The size of the serialized workspace is reported (in KB) via the "kilobytes" secondary result. For example:
+ * java -jar structurizr-benchmarks/target/benchmarks.jar SerializationFormatBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+
+        public long kilobytes;
+
+    }
+
+    @Param({ "json-indented", "json", "smile" })
+    public String format;
+
+    private Workspace workspace;
+    private byte[] bytes;
+    private WorkspaceStreamReader reader;
+    private WorkspaceStreamWriter writer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        // 1 person + 10 software systems + 100 containers + 9,900 components
+        workspace = WorkspaceGenerator.generate(10, 10, 99);
+        for (Component component : workspace.getModel().getElementsOfType(Component.class)) {
+            component.addTags("Spring Bean");
+            component.addProperty("component.type", "org.example.Component" + component.getId());
+        }
+
+        switch (format) {
+            case "json-indented":
+                reader = new JsonReader();
+                writer = new JsonWriter(true);
+                break;
+            case "json":
+                reader = new JsonReader();
+                writer = new JsonWriter(false);
+                break;
+            default:
+                reader = new SmileReader();
+                writer = new SmileWriter();
+        }
+
+        bytes = write().toByteArray();
+    }
+
+    @Benchmark
+    public Workspace read() throws Exception {
+        return reader.readFromStream(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream write() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.writeToStream(workspace, outputStream);
+
+        return outputStream;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1, time = 1)
+    @BenchmarkMode(Mode.SingleShotTime)
+    public ByteArrayOutputStream size(Size size) throws Exception {
+        ByteArrayOutputStream outputStream = write();
+        size.kilobytes = outputStream.size() / 1024;
+
+        return outputStream;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.structurizr.benchmarks;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.*;
+
+/**
+ * Generates synthetic workspaces of a given size, for use by the benchmarks.
+ */
+final class WorkspaceGenerator {
+
+    private WorkspaceGenerator() {
+    }
+
+    /**
+     * Generates a workspace containing the specified number of software systems, containers and components.
+     * Each component uses the next component in the same container, and each container uses the
+     * container with the same index in the next software system.
+     *
+     * @param numberOfSoftwareSystems               the number of software systems
+     * @param numberOfContainersPerSoftwareSystem   the number of containers per software system
+     * @param numberOfComponentsPerContainer        the number of components per container
+     * @return  a Workspace
+     */
+    static Workspace generate(int numberOfSoftwareSystems, int numberOfContainersPerSoftwareSystem, int numberOfComponentsPerContainer) {
+        Workspace workspace = new Workspace("Generated", "A generated workspace.");
+        Model model = workspace.getModel();
+        model.setImpliedRelationshipsStrategy(new CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategy());
+
+        Person user = model.addPerson("User", "A user.");
+
+        Container[][] containers = new Container[numberOfSoftwareSystems][numberOfContainersPerSoftwareSystem];
+        for (int s = 0; s < numberOfSoftwareSystems; s++) {
+            SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System " + s, "Description of software system " + s + ".");
+            softwareSystem.addTags("Tag " + (s % 10));
+            user.uses(softwareSystem, "Uses");
+
+            for (int c = 0; c < numberOfContainersPerSoftwareSystem; c++) {
+                Container container = softwareSystem.addContainer("Container " + c, "Description of container " + c + ".", c % 3 == 0 ? "Database" : "Java");
+                containers[s][c] = container;
+
+                Component previous = null;
+                for (int k = 0; k < numberOfComponentsPerContainer; k++) {
+                    Component component = container.addComponent("Component " + k, "Description of component " + k + ".", "Spring Bean");
+                    if (previous != null) {
+                        previous.uses(component, "Uses", "Method call");
+                    }
+                    previous = component;
+                }
+            }
+        }
+
+        for (int s = 0; s < numberOfSoftwareSystems; s++) {
+            for (int c = 0; c < numberOfContainersPerSoftwareSystem; c++) {
+                containers[s][c].uses(containers[(s + 1) % numberOfSoftwareSystems][c], "Makes API calls to", "JSON/HTTPS");
+            }
+        }
+
+        return workspace;
+    }
+
+}
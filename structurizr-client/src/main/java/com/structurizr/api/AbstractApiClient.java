@@ -4,6 +4,10 @@ import com.structurizr.util.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.entity.GzipCompressingEntity;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpResponse;
 
@@ -16,10 +20,15 @@ public abstract class AbstractApiClient {
 
     protected static final String WORKSPACE_PATH = "/workspace";
 
+    // shared by all API clients, so that connections (and TLS sessions) are pooled and reused between requests;
+    // "createSystem" uses a pooling connection manager, and honours the standard proxy/TLS system properties
+    private static final CloseableHttpClient HTTP_CLIENT = HttpClients.createSystem();
+
     protected final String url;
     protected final String apiKey;
 
     protected String agent = STRUCTURIZR_FOR_JAVA_AGENT;
+    protected boolean compressRequests = false;
 
     protected AbstractApiClient(String url, String apiKey) {
         if (StringUtils.isNullOrEmpty(url)) {
@@ -61,6 +70,49 @@ public abstract class AbstractApiClient {
         this.agent = agent.trim();
     }
 
+    /**
+     * Gets whether request bodies are gzip compressed.
+     *
+     * @return  true if request bodies are compressed, false otherwise
+     */
+    public boolean isCompressRequests() {
+        return compressRequests;
+    }
+
+    /**
+     * Specifies whether request bodies (e.g. workspace uploads) should be gzip compressed, with a
+     * "Content-Encoding: gzip" header. The server must support compressed request bodies.
+     * Responses are always decompressed transparently, if the server compresses them.
+     *
+     * @param compressRequests      true to compress request bodies, false otherwise
+     */
+    public void setCompressRequests(boolean compressRequests) {
+        this.compressRequests = compressRequests;
+    }
+
+    /**
+     * Gets the (shared, pooled) HTTP client used to make requests; this must not be closed.
+     *
+     * @return  a CloseableHttpClient instance
+     */
+    protected CloseableHttpClient getHttpClient() {
+        return HTTP_CLIENT;
+    }
+
+    /**
+     * Wraps the given request entity so that it's gzip compressed as it's streamed, if request compression is enabled.
+     *
+     * @param entity    the request entity
+     * @return  an HttpEntity
+     */
+    protected HttpEntity createRequestEntity(HttpEntity entity) {
+        if (compressRequests) {
+            return new GzipCompressingEntity(entity);
+        } else {
+            return entity;
+        }
+    }
+
     protected void addHeaders(HttpUriRequestBase httpRequest, String contentType) {
         String httpMethod = httpRequest.getMethod();
 
@@ -70,7 +122,7 @@ public abstract class AbstractApiClient {
             httpRequest.addHeader(HttpHeaders.X_AUTHORIZATION, apiKey);
         }
 
-        if (httpMethod.equals("PUT")) {
+        if (httpMethod.equals("PUT") || httpMethod.equals("PATCH")) {
             httpRequest.addHeader(HttpHeaders.CONTENT_TYPE, contentType);
         }
     }
@@ -6,7 +6,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hc.client5.http.classic.methods.*;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 
@@ -40,7 +39,8 @@ public class AdminApiClient extends AbstractApiClient {
      * @throws StructurizrClientException   if an error occurs
      */
     public List<WorkspaceMetadata> getWorkspaces() throws StructurizrClientException {
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             log.debug("Getting workspaces");
 
             HttpUriRequestBase httpRequest;
@@ -83,7 +83,8 @@ public class AdminApiClient extends AbstractApiClient {
      * @throws StructurizrClientException   if an error occurs
      */
     public WorkspaceMetadata createWorkspace() throws StructurizrClientException {
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             log.debug("Creating workspace");
 
             HttpUriRequestBase httpRequest = new HttpPost(url + WORKSPACE_PATH);
@@ -122,7 +123,8 @@ public class AdminApiClient extends AbstractApiClient {
      * @throws StructurizrClientException   if an error occurs
      */
     public boolean deleteWorkspace(long workspaceId) throws StructurizrClientException {
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             log.debug("Deleting workspace " + workspaceId);
 
             HttpUriRequestBase httpRequest = new HttpDelete(url + WORKSPACE_PATH + "/" + workspaceId);
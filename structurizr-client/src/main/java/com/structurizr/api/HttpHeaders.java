@@ -8,5 +8,6 @@ public final class HttpHeaders {
     public static final String USER_AGENT = "User-Agent";
     public static final String X_AUTHORIZATION = "X-Authorization";
     public static final String CONTENT_TYPE = "Content-Type";
+    public static final String X_BASE_HASH = "X-Base-Hash";
 
 }
\ No newline at end of file
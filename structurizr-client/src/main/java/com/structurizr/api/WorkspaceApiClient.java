@@ -8,8 +8,10 @@ import com.structurizr.encryption.EncryptionLocation;
 import com.structurizr.encryption.EncryptionStrategy;
 import com.structurizr.io.json.EncryptedJsonReader;
 import com.structurizr.io.json.EncryptedJsonWriter;
+import com.structurizr.io.json.JsonPatch;
 import com.structurizr.io.json.JsonReader;
 import com.structurizr.io.json.JsonWriter;
+import com.structurizr.io.json.WorkspaceDigest;
 import com.structurizr.model.IdGenerator;
 import com.structurizr.util.ImageUtils;
 import com.structurizr.util.StringUtils;
@@ -17,7 +19,6 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hc.client5.http.classic.methods.*;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
@@ -26,6 +27,7 @@ import org.apache.hc.core5.http.io.entity.StringEntity;
 import java.io.*;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -46,6 +48,9 @@ public class WorkspaceApiClient extends AbstractApiClient {
 
     private IdGenerator idGenerator = null;
     private boolean mergeFromRemote = true;
+    private boolean deltaUpload = false;
+    private boolean skipUnchanged = false;
+    private String baseJson = null;
     private File workspaceArchiveLocation = new File(".");
 
     /**
@@ -121,6 +126,29 @@ public class WorkspaceApiClient extends AbstractApiClient {
         this.mergeFromRemote = mergeFromRemote;
     }
 
+    /**
+     * Specifies whether unencrypted workspaces should be uploaded as a set of changes (a JSON Patch document) against
+     * the version of the workspace that was last retrieved from the server by this client (e.g. when merging from
+     * the remote workspace), rather than in full. If there is no such version, or the server's version of the
+     * workspace has changed since, the workspace is uploaded in full.
+     *
+     * @param deltaUpload   true if changes should be uploaded, false otherwise
+     */
+    public void setDeltaUpload(boolean deltaUpload) {
+        this.deltaUpload = deltaUpload;
+    }
+
+    /**
+     * Specifies whether putting a workspace should be skipped when it's semantically identical to the remote workspace
+     * (i.e. they have the same WorkspaceDigest), so that a new version isn't created on the server.
+     * This requires the remote workspace to be retrieved, if it's not already being retrieved to merge layout information.
+     *
+     * @param skipUnchanged     true if unchanged workspaces should not be put, false otherwise
+     */
+    public void setSkipUnchanged(boolean skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
     /**
      * Locks the workspace.
      *
@@ -142,7 +170,8 @@ public class WorkspaceApiClient extends AbstractApiClient {
     }
 
     private boolean manageLockForWorkspace(boolean lock) throws StructurizrClientException {
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             HttpUriRequestBase httpRequest;
 
             if (lock) {
@@ -225,7 +254,8 @@ public class WorkspaceApiClient extends AbstractApiClient {
             throw new IllegalArgumentException("The workspace ID must be a positive integer");
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             log.debug("Getting workspace with ID " + workspaceId);
 
             HttpGet httpGet;
@@ -247,6 +277,7 @@ public class WorkspaceApiClient extends AbstractApiClient {
 
             if (result.isSuccess()) {
                 archiveWorkspace(workspaceId, result.getContent());
+                baseJson = result.getContent();
 
                 return result.getContent();
             } else {
@@ -270,12 +301,20 @@ public class WorkspaceApiClient extends AbstractApiClient {
             throw new IllegalArgumentException("The workspace must not be null");
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
-            if (mergeFromRemote) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
+            if (mergeFromRemote || skipUnchanged) {
                 Workspace remoteWorkspace = getWorkspace();
                 if (remoteWorkspace != null) {
-                    workspace.getViews().copyLayoutInformationFrom(remoteWorkspace.getViews());
-                    workspace.getViews().getConfiguration().copyConfigurationFrom(remoteWorkspace.getViews().getConfiguration());
+                    if (mergeFromRemote) {
+                        workspace.getViews().copyLayoutInformationFrom(remoteWorkspace.getViews());
+                        workspace.getViews().getConfiguration().copyConfigurationFrom(remoteWorkspace.getViews().getConfiguration());
+                    }
+
+                    if (skipUnchanged && WorkspaceDigest.of(workspace).equals(WorkspaceDigest.of(remoteWorkspace))) {
+                        log.debug("Workspace with ID " + workspaceId + " is unchanged; not putting workspace");
+                        return;
+                    }
                 }
             }
 
@@ -303,8 +342,18 @@ public class WorkspaceApiClient extends AbstractApiClient {
                 jsonWriter.write(encryptedWorkspace, stringWriter);
             }
 
-            StringEntity stringEntity = new StringEntity(stringWriter.toString(), ContentType.APPLICATION_JSON);
-            httpPut.setEntity(stringEntity);
+            String workspaceAsJson = stringWriter.toString();
+            String base = baseJson;
+            baseJson = null; // the server stores a modified version of the workspace, so this can't be used as a base again
+
+            if (deltaUpload && encryptionStrategy == null && base != null) {
+                if (patchWorkspace(httpClient, base, workspaceAsJson)) {
+                    return;
+                }
+            }
+
+            StringEntity stringEntity = new StringEntity(workspaceAsJson, ContentType.APPLICATION_JSON);
+            httpPut.setEntity(createRequestEntity(stringEntity));
             addHeaders(httpPut, ContentType.APPLICATION_JSON.toString());
 
             debugRequest(httpPut, EntityUtils.toString(stringEntity));
@@ -327,6 +376,46 @@ public class WorkspaceApiClient extends AbstractApiClient {
         }
     }
 
+    private boolean patchWorkspace(CloseableHttpClient httpClient, String base, String json) throws Exception {
+        HttpPatch httpPatch;
+        if (StringUtils.isNullOrEmpty(branch) || branch.equalsIgnoreCase(MAIN_BRANCH)) {
+            httpPatch = new HttpPatch(url + WORKSPACE_PATH + "/" + workspaceId);
+        } else {
+            httpPatch = new HttpPatch(url + WORKSPACE_PATH + "/" + workspaceId + "/branch/" + branch);
+        }
+
+        ContentType contentType = ContentType.create(JsonPatch.CONTENT_TYPE, StandardCharsets.UTF_8);
+        StringEntity stringEntity = new StringEntity(JsonPatch.diff(base, json), contentType);
+        httpPatch.setEntity(createRequestEntity(stringEntity));
+        addHeaders(httpPatch, contentType.toString());
+        httpPatch.addHeader(HttpHeaders.X_BASE_HASH, JsonPatch.hash(base));
+
+        debugRequest(httpPatch, EntityUtils.toString(stringEntity));
+
+        log.debug("Patching workspace with ID " + workspaceId);
+        HttpClientResult result = httpClient.execute(httpPatch, response -> {
+            String content = EntityUtils.toString(response.getEntity());
+            debugResponse(response, content);
+
+            if (response.getCode() == HttpStatus.SC_CONFLICT || response.getCode() == HttpStatus.SC_NOT_FOUND || response.getCode() == HttpStatus.SC_METHOD_NOT_ALLOWED) {
+                // the base version doesn't match the server's version, or the server doesn't support patching
+                return null;
+            }
+
+            return new HttpClientResult(response.getCode() == HttpStatus.SC_OK, content);
+        });
+
+        if (result == null) {
+            log.debug("Could not patch workspace with ID " + workspaceId + "; putting the full workspace instead");
+            return false;
+        } else if (!result.isSuccess()) {
+            ApiResponse apiResponse = ApiResponse.parse(result.getContent());
+            throw new StructurizrClientException(apiResponse.getMessage());
+        }
+
+        return true;
+    }
+
     private void archiveWorkspace(long workspaceId, String json) {
         if (this.workspaceArchiveLocation == null) {
             return;
@@ -390,7 +479,8 @@ public class WorkspaceApiClient extends AbstractApiClient {
      * @throws StructurizrClientException   if there are problems related to the network, authorization, etc
      */
     public WorkspaceBranches getBranches() throws StructurizrClientException {
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             HttpUriRequestBase httpRequest;
 
             httpRequest = new HttpGet(url + WORKSPACE_PATH + "/" + workspaceId + "/branch");
@@ -431,7 +521,8 @@ public class WorkspaceApiClient extends AbstractApiClient {
             throw new IllegalArgumentException("The workspace ID must be a positive integer");
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             HttpUriRequestBase httpRequest;
 
             httpRequest = new HttpDelete(url + WORKSPACE_PATH + "/" + workspaceId + "/branch/" + branch);
@@ -488,7 +579,8 @@ public class WorkspaceApiClient extends AbstractApiClient {
             throw new IllegalArgumentException(filename + " is not a supported image format");
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             HttpPut httpPut;
             if (StringUtils.isNullOrEmpty(branch) || branch.equalsIgnoreCase(MAIN_BRANCH)) {
                 httpPut = new HttpPut(url + WORKSPACE_PATH + "/" + workspaceId + "/images/" + filename);
@@ -527,7 +619,8 @@ public class WorkspaceApiClient extends AbstractApiClient {
      * @throws StructurizrClientException   if an error occurs
      */
     public WorkspaceMetadata regenerateApiKey() throws StructurizrClientException {
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
             log.debug("Regenerating API key for workspace " + workspaceId);
 
             HttpUriRequestBase httpRequest = new HttpPost(url + WORKSPACE_PATH + "/" + workspaceId + "/apikey/regenerate");
@@ -7,12 +7,20 @@ import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import javax.xml.bind.DatatypeConverter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
-import java.security.spec.KeySpec;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * This is implementation of an AES encryption strategy, allowing you to specify the
@@ -22,6 +30,20 @@ public final class AesEncryptionStrategy extends EncryptionStrategy {
 
     private static final String CIPHER_SPECIFICATION = "AES/CBC/PKCS5PADDING";
     private static final int INITIALIZATION_VECTOR_SIZE_IN_BYTES = 16;
+    private static final int MAXIMUM_NUMBER_OF_CACHED_KEYS = 256;
+    private static final int BUFFER_SIZE_IN_BYTES = 64 * 1024;
+
+    // deriving a key (PBKDF2) is deliberately expensive, so derived keys are cached, keyed by
+    // (a digest of the passphrase, salt, iteration count, key size) so that passphrases are not retained by the cache
+    private static final Map<String, SecretKey> SECRET_KEYS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SecretKey> eldest) {
+            return size() > MAXIMUM_NUMBER_OF_CACHED_KEYS;
+        }
+    };
+
+    // Cipher instances are not thread-safe, but can be re-initialised and reused
+    private static final ThreadLocal<Cipher> CIPHERS = new ThreadLocal<>();
 
     private int keySize;
     private int iterationCount;
@@ -40,16 +62,8 @@ public final class AesEncryptionStrategy extends EncryptionStrategy {
 
         this.keySize = keySize;
         this.iterationCount = iterationCount;
-
-        byte[] saltAsBytes = new byte[keySize / 8];
-        SecureRandom secureRandom = new SecureRandom();
-        secureRandom.nextBytes(saltAsBytes);
-        this.salt = DatatypeConverter.printHexBinary(saltAsBytes);
-
-        byte[] ivAsBytes = new byte[INITIALIZATION_VECTOR_SIZE_IN_BYTES];
-        SecureRandom prng = new SecureRandom();
-        prng.nextBytes(ivAsBytes);
-        this.iv = DatatypeConverter.printHexBinary(ivAsBytes);
+        this.salt = generateSalt(keySize);
+        this.iv = generateIv();
     }
 
     public AesEncryptionStrategy(int keySize, int iterationCount, String salt, String iv, String passphrase) {
@@ -61,32 +75,148 @@ public final class AesEncryptionStrategy extends EncryptionStrategy {
         this.iv = iv;
     }
 
-    public String encrypt(String plaintext) throws Exception {
-        SecretKey secretKey = createSecretKey();
+    private static String generateSalt(int keySize) {
+        byte[] saltAsBytes = new byte[keySize / 8];
+        new SecureRandom().nextBytes(saltAsBytes);
 
-        Cipher cipher = Cipher.getInstance(CIPHER_SPECIFICATION);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(DatatypeConverter.parseHexBinary(iv)));
+        return DatatypeConverter.printHexBinary(saltAsBytes);
+    }
 
-        byte[] byteDataToEncrypt = plaintext.getBytes();
-        byte[] byteCipherText = cipher.doFinal(byteDataToEncrypt);
+    private static String generateIv() {
+        byte[] ivAsBytes = new byte[INITIALIZATION_VECTOR_SIZE_IN_BYTES];
+        new SecureRandom().nextBytes(ivAsBytes);
+
+        return DatatypeConverter.printHexBinary(ivAsBytes);
+    }
+
+    public String encrypt(String plaintext) throws Exception {
+        Cipher cipher = getCipher(Cipher.ENCRYPT_MODE);
+        byte[] byteCipherText = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
 
         return Base64.getEncoder().encodeToString(byteCipherText);
     }
 
     public String decrypt(String ciphertext) throws Exception {
-        SecretKey secretKey = createSecretKey();
-
-        Cipher cipher = Cipher.getInstance(CIPHER_SPECIFICATION);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, new IvParameterSpec(DatatypeConverter.parseHexBinary(iv)));
+        Cipher cipher = getCipher(Cipher.DECRYPT_MODE);
         byte[] unencrypted = cipher.doFinal(Base64.getDecoder().decode(ciphertext));
 
         return new String(unencrypted, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Encrypts the plaintext read from the specified InputStream, writing the (base64 encoded) ciphertext
+     * to the specified OutputStream, without holding either in memory.
+     *
+     * @param plaintext     an InputStream containing the plaintext
+     * @param ciphertext    an OutputStream to write the ciphertext to (this is not closed)
+     * @throws Exception    if something goes wrong
+     */
+    @Override
+    public void encrypt(InputStream plaintext, OutputStream ciphertext) throws Exception {
+        Cipher cipher = createCipher(Cipher.ENCRYPT_MODE);
+        OutputStream outputStream = Base64.getEncoder().wrap(new NonClosingOutputStream(ciphertext));
+
+        byte[] buffer = new byte[BUFFER_SIZE_IN_BYTES];
+        int numberOfBytesRead;
+        while ((numberOfBytesRead = plaintext.read(buffer)) != -1) {
+            write(cipher.update(buffer, 0, numberOfBytesRead), outputStream);
+        }
+        write(cipher.doFinal(), outputStream);
+
+        // closing the base64 encoder writes any remaining bytes/padding
+        outputStream.close();
+    }
+
+    /**
+     * Decrypts the (base64 encoded) ciphertext read from the specified InputStream, writing the plaintext
+     * to the specified OutputStream, without holding either in memory.
+     *
+     * @param ciphertext    an InputStream containing the ciphertext
+     * @param plaintext     an OutputStream to write the plaintext to (this is not closed)
+     * @throws Exception    if something goes wrong
+     */
+    @Override
+    public void decrypt(InputStream ciphertext, OutputStream plaintext) throws Exception {
+        Cipher cipher = createCipher(Cipher.DECRYPT_MODE);
+        Base64.Decoder decoder = Base64.getDecoder();
+
+        // the ciphertext is decoded in chunks that are a multiple of 4 characters (one base64 quantum)
+        byte[] encoded = new byte[BUFFER_SIZE_IN_BYTES];
+        byte[] decoded = new byte[BUFFER_SIZE_IN_BYTES / 4 * 3];
+        int numberOfBytesRead;
+        while ((numberOfBytesRead = ciphertext.readNBytes(encoded, 0, encoded.length)) > 0) {
+            int numberOfBytesDecoded;
+            if (numberOfBytesRead == encoded.length) {
+                numberOfBytesDecoded = decoder.decode(encoded, decoded);
+            } else {
+                // the last chunk, which may be padded
+                numberOfBytesDecoded = decoder.decode(Arrays.copyOf(encoded, numberOfBytesRead), decoded);
+            }
+
+            write(cipher.update(decoded, 0, numberOfBytesDecoded), plaintext);
+        }
+        write(cipher.doFinal(), plaintext);
+    }
+
+    private static void write(byte[] bytes, OutputStream outputStream) throws IOException {
+        if (bytes != null) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private Cipher getCipher(int mode) throws GeneralSecurityException {
+        Cipher cipher = CIPHERS.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CIPHER_SPECIFICATION);
+            CIPHERS.set(cipher);
+        }
+
+        cipher.init(mode, getSecretKey(), new IvParameterSpec(DatatypeConverter.parseHexBinary(iv)));
+
+        return cipher;
+    }
+
+    private Cipher createCipher(int mode) throws GeneralSecurityException {
+        // a stream may be slow to read/write, so it gets its own Cipher rather than borrowing the thread's
+        Cipher cipher = Cipher.getInstance(CIPHER_SPECIFICATION);
+        cipher.init(mode, getSecretKey(), new IvParameterSpec(DatatypeConverter.parseHexBinary(iv)));
+
+        return cipher;
+    }
+
+    private SecretKey getSecretKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+        String key = digest(getPassphrase()) + "/" + salt + "/" + iterationCount + "/" + keySize;
+
+        SecretKey secretKey;
+        synchronized (SECRET_KEYS) {
+            secretKey = SECRET_KEYS.get(key);
+        }
+
+        if (secretKey == null) {
+            secretKey = createSecretKey();
+
+            synchronized (SECRET_KEYS) {
+                SECRET_KEYS.put(key, secretKey);
+            }
+        }
+
+        return secretKey;
+    }
+
+    private static String digest(String passphrase) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+        return DatatypeConverter.printHexBinary(messageDigest.digest(passphrase.getBytes(StandardCharsets.UTF_8)));
+    }
+
     private SecretKey createSecretKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
         SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1");
-        KeySpec spec = new PBEKeySpec(getPassphrase().toCharArray(), DatatypeConverter.parseHexBinary(salt), iterationCount, keySize);
-        return new SecretKeySpec(factory.generateSecret(spec).getEncoded(), "AES");
+        PBEKeySpec spec = new PBEKeySpec(getPassphrase().toCharArray(), DatatypeConverter.parseHexBinary(salt), iterationCount, keySize);
+        try {
+            return new SecretKeySpec(factory.generateSecret(spec).getEncoded(), "AES");
+        } finally {
+            spec.clearPassword();
+        }
     }
 
     public int getKeySize() {
@@ -105,4 +235,22 @@ public final class AesEncryptionStrategy extends EncryptionStrategy {
         return iv;
     }
 
-}
\ No newline at end of file
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+    }
+
+}
@@ -6,8 +6,9 @@ import com.structurizr.Workspace;
 import com.structurizr.io.json.JsonReader;
 import com.structurizr.io.json.JsonWriter;
 
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This is a wrapper around an existing workspace that has been encrypted.
@@ -34,21 +35,23 @@ public final class EncryptedWorkspace extends AbstractWorkspace {
         setConfiguration(workspace.getConfiguration());
         workspace.clearConfiguration();
 
+        // the plaintext isn't retained here, since it can be recreated (by decrypting the ciphertext) if needed
         JsonWriter jsonWriter = new JsonWriter(false);
-        StringWriter stringWriter = new StringWriter();
-        jsonWriter.write(workspace, stringWriter);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        jsonWriter.writeToStream(workspace, outputStream);
 
-        init(workspace, stringWriter.toString(), encryptionStrategy);
+        init(workspace, outputStream.toByteArray(), encryptionStrategy);
     }
 
     public EncryptedWorkspace(Workspace workspace, String plaintext, EncryptionStrategy encryptionStrategy) throws Exception {
         setConfiguration(workspace.getConfiguration());
         workspace.clearConfiguration();
 
-        init(workspace, plaintext, encryptionStrategy);
+        init(workspace, plaintext.getBytes(StandardCharsets.UTF_8), encryptionStrategy);
+        this.plaintext = plaintext;
     }
 
-    private void init(Workspace workspace, String plaintext, EncryptionStrategy encryptionStrategy) throws Exception {
+    private void init(Workspace workspace, byte[] plaintext, EncryptionStrategy encryptionStrategy) throws Exception {
         this.workspace = workspace;
 
         setId(workspace.getId());
@@ -58,20 +61,27 @@ public final class EncryptedWorkspace extends AbstractWorkspace {
         setLastModifiedUser(workspace.getLastModifiedUser());
         setLastModifiedAgent(workspace.getLastModifiedAgent());
 
-        this.plaintext = plaintext;
-        this.ciphertext = encryptionStrategy.encrypt(plaintext);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encryptionStrategy.encrypt(new ByteArrayInputStream(plaintext), outputStream);
+
+        this.ciphertext = outputStream.toString(StandardCharsets.UTF_8);
         this.encryptionStrategy = encryptionStrategy;
     }
 
+    private byte[] decrypt() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        encryptionStrategy.decrypt(new ByteArrayInputStream(ciphertext.getBytes(StandardCharsets.UTF_8)), outputStream);
+
+        return outputStream.toByteArray();
+    }
+
     @JsonIgnore
     public Workspace getWorkspace() throws Exception {
         if (this.workspace != null) {
             return this.workspace;
         } else if (this.ciphertext != null) {
-            this.plaintext = encryptionStrategy.decrypt(ciphertext);
             JsonReader jsonReader = new JsonReader();
-            StringReader stringReader = new StringReader(plaintext);
-            return jsonReader.read(stringReader);
+            return jsonReader.readFromStream(new ByteArrayInputStream(decrypt()));
         } else {
             return null;
         }
@@ -90,7 +100,7 @@ public final class EncryptedWorkspace extends AbstractWorkspace {
         if (this.plaintext != null) {
             return this.plaintext;
         } else {
-            return encryptionStrategy.decrypt(ciphertext);
+            return new String(decrypt(), StandardCharsets.UTF_8);
         }
     }
 
@@ -4,6 +4,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Superclass for all encryption strategies.
  */
@@ -44,4 +48,28 @@ public abstract class EncryptionStrategy {
 
     public abstract String decrypt(String ciphertext) throws Exception;
 
+    /**
+     * Encrypts the plaintext read from the specified InputStream, writing the ciphertext to the specified OutputStream.
+     * Subclasses should override this to avoid holding the plaintext and ciphertext in memory.
+     *
+     * @param plaintext     an InputStream containing the plaintext
+     * @param ciphertext    an OutputStream to write the ciphertext to (this is not closed)
+     * @throws Exception    if something goes wrong
+     */
+    public void encrypt(InputStream plaintext, OutputStream ciphertext) throws Exception {
+        ciphertext.write(encrypt(new String(plaintext.readAllBytes(), StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decrypts the ciphertext read from the specified InputStream, writing the plaintext to the specified OutputStream.
+     * Subclasses should override this to avoid holding the ciphertext and plaintext in memory.
+     *
+     * @param ciphertext    an InputStream containing the ciphertext
+     * @param plaintext     an OutputStream to write the plaintext to (this is not closed)
+     * @throws Exception    if something goes wrong
+     */
+    public void decrypt(InputStream ciphertext, OutputStream plaintext) throws Exception {
+        plaintext.write(decrypt(new String(ciphertext.readAllBytes(), StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8));
+    }
+
 }
\ No newline at end of file
@@ -1,32 +1,70 @@
 package com.structurizr.http;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.io.BasicHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Wrapper for the HTTPClient in Apache HttpComponents, with optional caching and allowed URLs (via regexes).
+ * Instances are thread-safe, and connections are pooled (and shared between instances with the same timeout).
  */
 public class HttpClient {
 
+    private static final Log log = LogFactory.getLog(HttpClient.class);
+
     public static final String CONTENT_TYPE_IMAGE_PNG = "image/png";
 
     private static final int HTTP_OK_STATUS = 200;
+    private static final int HTTP_NOT_MODIFIED_STATUS = 304;
+
+    private static final int MAXIMUM_NUMBER_OF_CONNECTIONS = 50;
+    private static final int MAXIMUM_NUMBER_OF_CONNECTIONS_PER_ROUTE = 10;
+    private static final int MAXIMUM_NUMBER_OF_CACHED_URLS = 256;
+
+    private static final String CACHE_FILE_EXTENSION = ".cache";
+    private static final int CACHE_FILE_FORMAT_VERSION = 1;
+
+    // the timeouts are a property of the connection manager, so there's one pooled client per timeout value
+    private static final Map<Integer, CloseableHttpClient> HTTP_CLIENTS = new ConcurrentHashMap<>();
 
     private int timeout = 10000; // milliseconds
-    private final Set<String> allowedUrlRegexes = new HashSet<>();
+    private final Map<String, Pattern> allowedUrlPatterns = new ConcurrentHashMap<>();
+
+    private final Map<String,RemoteContent> contentCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RemoteContent> eldest) {
+            return size() > MAXIMUM_NUMBER_OF_CACHED_URLS;
+        }
+    };
 
-    private final Map<String,RemoteContent> contentCache = new HashMap<>();
+    private File cacheDirectory;
 
     public HttpClient() {
     }
@@ -44,6 +82,36 @@ public class HttpClient {
         this.timeout = timeoutInMilliseconds;
     }
 
+    /**
+     * Gets the directory used to cache content between runs.
+     *
+     * @return  a File representing a directory, or null if no cache directory has been set
+     */
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Sets a directory used to cache content on disk (e.g. between CLI runs). Content in this directory is revalidated
+     * with the server (via the ETag/Last-Modified response headers) before use, and reused if it hasn't changed.
+     * Only requests with caching enabled (see {@link #get(String, boolean)}) use this directory.
+     *
+     * @param cacheDirectory    a File representing a directory, or null to disable the on-disk cache
+     */
+    public void setCacheDirectory(File cacheDirectory) {
+        if (cacheDirectory != null) {
+            if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+                throw new IllegalArgumentException(cacheDirectory.getAbsolutePath() + " could not be created");
+            }
+
+            if (!cacheDirectory.isDirectory()) {
+                throw new IllegalArgumentException(cacheDirectory.getAbsolutePath() + " is not a directory");
+            }
+        }
+
+        this.cacheDirectory = cacheDirectory;
+    }
+
     /**
      * HTTP GET of a URL, without caching.
      *
@@ -66,38 +134,61 @@ public class HttpClient {
             throw new HttpClientException("Access to " + url + " is not permitted");
         }
 
-        RemoteContent remoteContent = contentCache.get(url);
+        RemoteContent remoteContent;
+        synchronized (contentCache) {
+            remoteContent = contentCache.get(url);
+        }
+
         if (remoteContent == null) {
-            ConnectionConfig connectionConfig = ConnectionConfig.custom()
-                    .setConnectTimeout(timeout, TimeUnit.MILLISECONDS)
-                    .setSocketTimeout(timeout, TimeUnit.MILLISECONDS)
-                    .build();
+            CachedContent cachedContent = cache ? readFromCacheDirectory(url) : null;
 
-            BasicHttpClientConnectionManager cm = new BasicHttpClientConnectionManager();
-            cm.setConnectionConfig(connectionConfig);
+            try {
+                HttpGet httpGet = new HttpGet(url);
+                if (cachedContent != null) {
+                    if (cachedContent.etag != null) {
+                        httpGet.addHeader(HttpHeaders.IF_NONE_MATCH, cachedContent.etag);
+                    }
 
-            try (CloseableHttpClient httpClient = HttpClientBuilder.create()
-                    .useSystemProperties()
-                    .setConnectionManager(cm)
-                    .build()) {
+                    if (cachedContent.lastModified != null) {
+                        httpGet.addHeader(HttpHeaders.IF_MODIFIED_SINCE, cachedContent.lastModified);
+                    }
+                }
 
-                HttpGet httpGet = new HttpGet(url);
-                CloseableHttpResponse response = httpClient.execute(httpGet);
+                // the response handler ensures the connection is released back to the pool
+                CachedContent response = getHttpClient(timeout).execute(httpGet, httpResponse -> {
+                    int httpStatus = httpResponse.getCode();
+                    if (httpStatus == HTTP_OK_STATUS) {
+                        RemoteContent content;
+                        String contentType = httpResponse.getEntity().getContentType();
+                        if (CONTENT_TYPE_IMAGE_PNG.equals(contentType)) {
+                            content = new RemoteContent(EntityUtils.toByteArray(httpResponse.getEntity()), contentType);
+                        } else {
+                            content = new RemoteContent(EntityUtils.toString(httpResponse.getEntity()), contentType);
+                        }
 
-                int httpStatus = response.getCode();
-                if (httpStatus == HTTP_OK_STATUS) {
-                    String contentType = response.getEntity().getContentType();
-                    if (CONTENT_TYPE_IMAGE_PNG.equals(contentType)) {
-                        remoteContent = new RemoteContent(EntityUtils.toByteArray(response.getEntity()), contentType);
+                        return new CachedContent(httpStatus, content, getHeaderValue(httpResponse.getFirstHeader(HttpHeaders.ETAG)), getHeaderValue(httpResponse.getFirstHeader(HttpHeaders.LAST_MODIFIED)));
                     } else {
-                        remoteContent = new RemoteContent(EntityUtils.toString(response.getEntity()), contentType);
+                        EntityUtils.consume(httpResponse.getEntity());
+                        return new CachedContent(httpStatus, null, null, null);
                     }
+                });
 
+                if (response.status == HTTP_OK_STATUS) {
+                    remoteContent = response.content;
                     if (cache) {
-                        contentCache.put(url, remoteContent);
+                        writeToCacheDirectory(url, response);
                     }
+                } else if (response.status == HTTP_NOT_MODIFIED_STATUS && cachedContent != null) {
+                    log.debug(url + " has not been modified; using cached content");
+                    remoteContent = cachedContent.content;
                 } else {
-                    throw new HttpClientException("The content from " + url + " could not be loaded: HTTP status=" + httpStatus);
+                    throw new HttpClientException("The content from " + url + " could not be loaded: HTTP status=" + response.status);
+                }
+
+                if (cache) {
+                    synchronized (contentCache) {
+                        contentCache.put(url, remoteContent);
+                    }
                 }
             } catch (Exception ioe) {
                 throw new HttpClientException("The content from " + url + " could not be loaded: " + ioe.getMessage());
@@ -113,12 +204,18 @@ public class HttpClient {
      * @param regex     the regex to allow
      */
     public void allow(String regex) {
-        allowedUrlRegexes.add(regex);
+        allowedUrlPatterns.computeIfAbsent(regex, Pattern::compile);
     }
 
-    private boolean isAllowed(String url) {
-        for (String regex : allowedUrlRegexes) {
-            if (url.matches(regex)) {
+    /**
+     * Determines whether the specified URL is allowed, via the allowed URL regexes.
+     *
+     * @param url       the URL, as a String
+     * @return          true if the URL is allowed, false otherwise
+     */
+    public boolean isAllowed(String url) {
+        for (Pattern pattern : allowedUrlPatterns.values()) {
+            if (pattern.matcher(url).matches()) {
                 return true;
             }
         }
@@ -126,4 +223,132 @@ public class HttpClient {
         return false;
     }
 
-}
\ No newline at end of file
+    private static CloseableHttpClient getHttpClient(int timeout) {
+        return HTTP_CLIENTS.computeIfAbsent(timeout, t -> {
+            ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                    .setConnectTimeout(t, TimeUnit.MILLISECONDS)
+                    .setSocketTimeout(t, TimeUnit.MILLISECONDS)
+                    .build();
+
+            PoolingHttpClientConnectionManager cm = PoolingHttpClientConnectionManagerBuilder.create()
+                    .useSystemProperties()
+                    .setDefaultConnectionConfig(connectionConfig)
+                    .setMaxConnTotal(MAXIMUM_NUMBER_OF_CONNECTIONS)
+                    .setMaxConnPerRoute(MAXIMUM_NUMBER_OF_CONNECTIONS_PER_ROUTE)
+                    .build();
+
+            return HttpClientBuilder.create()
+                    .useSystemProperties()
+                    .setConnectionManager(cm)
+                    .build();
+        });
+    }
+
+    private static String getHeaderValue(Header header) {
+        return header != null ? header.getValue() : null;
+    }
+
+    private CachedContent readFromCacheDirectory(String url) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+
+        File file = new File(cacheDirectory, getCacheFileName(url) + CACHE_FILE_EXTENSION);
+        if (!file.exists()) {
+            return null;
+        }
+
+        // the metadata and content are stored together in a single file, so they're always consistent
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (inputStream.readInt() != CACHE_FILE_FORMAT_VERSION) {
+                return null;
+            }
+
+            String contentType = toNullIfEmpty(inputStream.readUTF());
+            boolean binary = inputStream.readBoolean();
+            String etag = toNullIfEmpty(inputStream.readUTF());
+            String lastModified = toNullIfEmpty(inputStream.readUTF());
+            byte[] bytes = inputStream.readNBytes(inputStream.readInt());
+
+            RemoteContent content;
+            if (binary) {
+                content = new RemoteContent(bytes, contentType);
+            } else {
+                content = new RemoteContent(new String(bytes, StandardCharsets.UTF_8), contentType);
+            }
+
+            return new CachedContent(HTTP_OK_STATUS, content, etag, lastModified);
+        } catch (IOException ioe) {
+            log.warn("Cached content for " + url + " could not be read: " + ioe.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToCacheDirectory(String url, CachedContent cachedContent) {
+        if (cacheDirectory == null || (cachedContent.etag == null && cachedContent.lastModified == null)) {
+            // there's no way to revalidate this content
+            return;
+        }
+
+        String name = getCacheFileName(url);
+        RemoteContent content = cachedContent.content;
+        boolean binary = content.getContentAsBytes() != null;
+        byte[] bytes = binary ? content.getContentAsBytes() : content.getContentAsString().getBytes(StandardCharsets.UTF_8);
+
+        File file = null;
+        try {
+            // write to a temporary file and move it into place, so that concurrent readers never see partial content
+            file = File.createTempFile(name, CACHE_FILE_EXTENSION, cacheDirectory);
+            try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                outputStream.writeInt(CACHE_FILE_FORMAT_VERSION);
+                outputStream.writeUTF(toEmptyIfNull(content.getContentType()));
+                outputStream.writeBoolean(binary);
+                outputStream.writeUTF(toEmptyIfNull(cachedContent.etag));
+                outputStream.writeUTF(toEmptyIfNull(cachedContent.lastModified));
+                outputStream.writeInt(bytes.length);
+                outputStream.write(bytes);
+            }
+
+            Files.move(file.toPath(), new File(cacheDirectory, name + CACHE_FILE_EXTENSION).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ioe) {
+            log.warn("Content from " + url + " could not be cached: " + ioe.getMessage());
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    private static String toEmptyIfNull(String s) {
+        return s != null ? s : "";
+    }
+
+    private static String toNullIfEmpty(String s) {
+        return s.isEmpty() ? null : s;
+    }
+
+    private static String getCacheFileName(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final class CachedContent {
+
+        private final int status;
+        private final RemoteContent content;
+        private final String etag;
+        private final String lastModified;
+
+        CachedContent(int status, RemoteContent content, String etag, String lastModified) {
+            this.status = status;
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+    }
+
+}
@@ -2,9 +2,12 @@ package com.structurizr.io;
 
 import com.structurizr.Workspace;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
-public interface WorkspaceReader {
+public interface WorkspaceReader extends WorkspaceStreamReader {
 
     /**
      * Reads and parses a workspace definition.
@@ -15,4 +18,20 @@ public interface WorkspaceReader {
      */
     Workspace read(Reader reader) throws WorkspaceReaderException;
 
+    /**
+     * Reads and parses a workspace definition, encoded as UTF-8.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    @Override
+    default Workspace readFromStream(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
+
+        return read(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.structurizr.io;
+
+import com.structurizr.Workspace;
+
+import java.io.InputStream;
+
+/**
+ * Reads a workspace definition from an InputStream; implemented by all workspace readers, and by readers of
+ * binary formats (e.g. Smile) that can't be read via a character-based Reader.
+ */
+public interface WorkspaceStreamReader {
+
+    /**
+     * Reads and parses a workspace definition.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    Workspace readFromStream(InputStream inputStream) throws WorkspaceReaderException;
+
+}
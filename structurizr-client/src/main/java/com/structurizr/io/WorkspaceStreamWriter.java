@@ -0,0 +1,22 @@
+package com.structurizr.io;
+
+import com.structurizr.Workspace;
+
+import java.io.OutputStream;
+
+/**
+ * Writes a workspace definition to an OutputStream; implemented by all workspace writers, and by writers of
+ * binary formats (e.g. Smile) that can't be written via a character-based Writer.
+ */
+public interface WorkspaceStreamWriter {
+
+    /**
+     * Writes a workspace definition to the specified OutputStream, which is flushed but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    void writeToStream(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException;
+
+}
@@ -2,9 +2,13 @@ package com.structurizr.io;
 
 import com.structurizr.Workspace;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
-public interface WorkspaceWriter {
+public interface WorkspaceWriter extends WorkspaceStreamWriter {
 
     /**
      * Writes a workspace definition to the specified Writer object.
@@ -15,4 +19,28 @@ public interface WorkspaceWriter {
      */
     void write(Workspace workspace, Writer writer) throws WorkspaceWriterException;
 
+    /**
+     * Writes a workspace definition to the specified OutputStream, encoded as UTF-8.
+     * The OutputStream is flushed, but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    @Override
+    default void writeToStream(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        write(workspace, writer);
+
+        try {
+            writer.flush();
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write workspace", ioe);
+        }
+    }
+
 }
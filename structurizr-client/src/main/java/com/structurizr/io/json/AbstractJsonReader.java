@@ -1,17 +1,39 @@
 package com.structurizr.io.json;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.util.Set;
 
 class AbstractJsonReader {
 
-    ObjectMapper createObjectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+    // ObjectMapper/ObjectReader instances are thread-safe once configured, and expensive to create
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper(JsonMapper.builder());
+
+    static ObjectMapper createObjectMapper(MapperBuilder<?, ?> builder) {
+        return builder
+                .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL)
+                .build();
+    }
+
+    static ObjectReader getObjectReader(Class<?> type) {
+        return OBJECT_MAPPER.readerFor(type);
+    }
+
+    static JsonParser skip(JsonParser parser, Set<WorkspaceSection> sections) {
+        if (sections.isEmpty()) {
+            return parser;
+        }
 
-        return objectMapper;
+        return new FilteringParserDelegate(parser, new WorkspaceSectionFilter(sections), TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
     }
 
-}
\ No newline at end of file
+}
@@ -1,9 +1,12 @@
 package com.structurizr.io.json;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
 import java.text.SimpleDateFormat;
@@ -13,23 +16,26 @@ class AbstractJsonWriter {
 
     private static final String ISO_DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 
-    ObjectMapper createObjectMapper(boolean indentOutput) {
-        ObjectMapper objectMapper = JsonMapper
-                .builder()
-                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY).build();
-
-        if (indentOutput) {
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        }
-
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    // ObjectMapper/ObjectWriter instances are thread-safe once configured, and expensive to create
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper(JsonMapper.builder());
+    private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer();
+    private static final ObjectWriter INDENTING_OBJECT_WRITER = OBJECT_MAPPER.writer().with(SerializationFeature.INDENT_OUTPUT);
 
+    static ObjectMapper createObjectMapper(MapperBuilder<?, ?> builder) {
+        // Jackson clones the configured DateFormat for each serialization, so sharing it is thread-safe
         SimpleDateFormat sdf = new SimpleDateFormat(AbstractJsonWriter.ISO_DATE_TIME_FORMAT);
         sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-        objectMapper.setDateFormat(sdf);
 
-        return objectMapper;
+        return builder
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET) // the caller owns the Writer/OutputStream
+                .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .defaultDateFormat(sdf)
+                .build();
+    }
+
+    static ObjectWriter getObjectWriter(boolean indentOutput) {
+        return indentOutput ? INDENTING_OBJECT_WRITER : OBJECT_WRITER;
     }
 
-}
\ No newline at end of file
+}
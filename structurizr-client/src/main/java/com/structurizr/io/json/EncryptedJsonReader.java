@@ -1,10 +1,10 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.io.WorkspaceReaderException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 
 public final class EncryptedJsonReader extends AbstractJsonReader {
@@ -21,12 +21,29 @@ public final class EncryptedJsonReader extends AbstractJsonReader {
      */
     public EncryptedWorkspace read(Reader reader) throws WorkspaceReaderException {
         try {
-            ObjectMapper objectMapper = createObjectMapper();
+            return getObjectReader(EncryptedWorkspace.class).readValue(reader);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    /**
+     * Reads and parses a workspace definition from a JSON document.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public EncryptedWorkspace readFromStream(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
 
-            return objectMapper.readValue(reader, EncryptedWorkspace.class);
+        try {
+            return getObjectReader(EncryptedWorkspace.class).readValue(inputStream);
         } catch (IOException ioe) {
             throw new WorkspaceReaderException("Could not read JSON", ioe);
         }
     }
 
-}
\ No newline at end of file
+}
@@ -1,9 +1,9 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.io.WorkspaceWriterException;
 
+import java.io.OutputStream;
 import java.io.Writer;
 
 public final class EncryptedJsonWriter extends AbstractJsonWriter {
@@ -16,6 +16,7 @@ public final class EncryptedJsonWriter extends AbstractJsonWriter {
 
     /**
      * Writes an encrypted workspace definition as a JSON string to the specified Writer object.
+     * The JSON is streamed to the Writer, which is flushed but not closed.
      *
      * @param workspace     the Workspace object to write
      * @param writer        the Writer object to write the workspace to
@@ -30,8 +31,30 @@ public final class EncryptedJsonWriter extends AbstractJsonWriter {
         }
 
         try {
-            ObjectMapper objectMapper = createObjectMapper(indentOutput);
-            writer.write(objectMapper.writeValueAsString(workspace));
+            getObjectWriter(indentOutput).writeValue(writer, workspace);
+        } catch (Exception e) {
+            throw new WorkspaceWriterException("Could not write as JSON", e);
+        }
+    }
+
+    /**
+     * Writes an encrypted workspace definition as UTF-8 encoded JSON to the specified OutputStream.
+     * The JSON is streamed to the OutputStream, which is flushed but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public void writeToStream(EncryptedWorkspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("EncryptedWorkspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try {
+            getObjectWriter(indentOutput).writeValue(outputStream, workspace);
         } catch (Exception e) {
             throw new WorkspaceWriterException("Could not write as JSON", e);
         }
@@ -0,0 +1,294 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.xml.bind.DatatypeConverter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates and applies JSON Patch (RFC 6902) documents, which allows a changed workspace to be sent as a (usually much
+ * smaller) set of changes against a base version of the workspace. Only the "add", "remove" and "replace" operations
+ * are created/supported.
+ */
+public final class JsonPatch {
+
+    public static final String CONTENT_TYPE = "application/json-patch+json";
+
+    private static final String OP = "op";
+    private static final String PATH = "path";
+    private static final String VALUE = "value";
+    private static final String ADD_OPERATION = "add";
+    private static final String REMOVE_OPERATION = "remove";
+    private static final String REPLACE_OPERATION = "replace";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private JsonPatch() {
+    }
+
+    /**
+     * Creates a JSON Patch document that transforms the source JSON document into the target JSON document.
+     *
+     * @param source    the source (base) JSON document
+     * @param target    the target JSON document
+     * @return          a JSON Patch document, as a String
+     * @throws Exception    if either document can't be parsed
+     */
+    public static String diff(String source, String target) throws Exception {
+        if (source == null) {
+            throw new IllegalArgumentException("A source JSON document must be specified.");
+        }
+        if (target == null) {
+            throw new IllegalArgumentException("A target JSON document must be specified.");
+        }
+
+        ArrayNode patch = OBJECT_MAPPER.createArrayNode();
+        diff("", OBJECT_MAPPER.readTree(source), OBJECT_MAPPER.readTree(target), patch);
+
+        return OBJECT_MAPPER.writeValueAsString(patch);
+    }
+
+    private static void diff(String path, JsonNode source, JsonNode target, ArrayNode patch) {
+        if (source.equals(target)) {
+            return;
+        }
+
+        if (source.isObject() && target.isObject()) {
+            Iterator<String> names = source.fieldNames();
+            while (names.hasNext()) {
+                String name = names.next();
+                if (!target.has(name)) {
+                    addOperation(patch, REMOVE_OPERATION, path + "/" + escape(name), null);
+                }
+            }
+
+            Iterator<Map.Entry<String, JsonNode>> fields = target.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String childPath = path + "/" + escape(field.getKey());
+                if (source.has(field.getKey())) {
+                    diff(childPath, source.get(field.getKey()), field.getValue(), patch);
+                } else {
+                    addOperation(patch, ADD_OPERATION, childPath, field.getValue());
+                }
+            }
+        } else if (source.isArray() && target.isArray()) {
+            // elements are typically added/removed/changed in place, so match the unchanged elements at either end
+            int sourceSize = source.size();
+            int targetSize = target.size();
+
+            int prefix = 0;
+            while (prefix < sourceSize && prefix < targetSize && source.get(prefix).equals(target.get(prefix))) {
+                prefix++;
+            }
+
+            int suffix = 0;
+            while (suffix < sourceSize - prefix && suffix < targetSize - prefix && source.get(sourceSize - 1 - suffix).equals(target.get(targetSize - 1 - suffix))) {
+                suffix++;
+            }
+
+            int sourceMiddle = sourceSize - prefix - suffix;
+            int targetMiddle = targetSize - prefix - suffix;
+            int common = Math.min(sourceMiddle, targetMiddle);
+
+            for (int i = 0; i < common; i++) {
+                diff(path + "/" + (prefix + i), source.get(prefix + i), target.get(prefix + i), patch);
+            }
+
+            for (int i = sourceMiddle - 1; i >= common; i--) {
+                addOperation(patch, REMOVE_OPERATION, path + "/" + (prefix + i), null);
+            }
+
+            for (int i = common; i < targetMiddle; i++) {
+                addOperation(patch, ADD_OPERATION, path + "/" + (prefix + i), target.get(prefix + i));
+            }
+        } else {
+            addOperation(patch, REPLACE_OPERATION, path, target);
+        }
+    }
+
+    private static void addOperation(ArrayNode patch, String op, String path, JsonNode value) {
+        ObjectNode operation = patch.addObject();
+        operation.put(OP, op);
+        operation.put(PATH, path);
+
+        if (value != null) {
+            operation.set(VALUE, value);
+        }
+    }
+
+    /**
+     * Applies a JSON Patch document to the specified JSON document.
+     *
+     * @param source    the source (base) JSON document
+     * @param patch     a JSON Patch document
+     * @return          the patched JSON document, as a String
+     * @throws Exception    if either document can't be parsed, or the patch can't be applied
+     */
+    public static String apply(String source, String patch) throws Exception {
+        if (source == null) {
+            throw new IllegalArgumentException("A source JSON document must be specified.");
+        }
+        if (patch == null) {
+            throw new IllegalArgumentException("A JSON Patch document must be specified.");
+        }
+
+        JsonNode document = OBJECT_MAPPER.readTree(source);
+        JsonNode operations = OBJECT_MAPPER.readTree(patch);
+        if (!operations.isArray()) {
+            throw new IllegalArgumentException("A JSON Patch document must be an array of operations.");
+        }
+
+        for (JsonNode operation : operations) {
+            document = apply(document, operation);
+        }
+
+        return OBJECT_MAPPER.writeValueAsString(document);
+    }
+
+    private static JsonNode apply(JsonNode document, JsonNode operation) {
+        String op = operation.path(OP).asText();
+        String path = operation.path(PATH).asText(null);
+        JsonNode value = operation.get(VALUE);
+
+        if (path == null) {
+            throw new IllegalArgumentException("A JSON Patch operation must have a path.");
+        }
+
+        if (!ADD_OPERATION.equals(op) && !REMOVE_OPERATION.equals(op) && !REPLACE_OPERATION.equals(op)) {
+            throw new IllegalArgumentException("The JSON Patch operation \"" + op + "\" is not supported.");
+        }
+
+        if ((ADD_OPERATION.equals(op) || REPLACE_OPERATION.equals(op)) && value == null) {
+            throw new IllegalArgumentException("The JSON Patch operation \"" + op + "\" for " + path + " must have a value.");
+        }
+
+        if (path.isEmpty()) {
+            if (REMOVE_OPERATION.equals(op)) {
+                throw new IllegalArgumentException("The root of the document cannot be removed.");
+            }
+
+            return value;
+        }
+
+        List<String> tokens = parse(path);
+        JsonNode parent = document;
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            parent = child(parent, tokens.get(i), path);
+        }
+
+        String name = tokens.get(tokens.size() - 1);
+        if (parent.isObject()) {
+            ObjectNode object = (ObjectNode)parent;
+            if (!ADD_OPERATION.equals(op) && !object.has(name)) {
+                throw new IllegalArgumentException("The path " + path + " does not exist.");
+            }
+
+            if (REMOVE_OPERATION.equals(op)) {
+                object.remove(name);
+            } else {
+                object.set(name, value);
+            }
+        } else if (parent.isArray()) {
+            ArrayNode array = (ArrayNode)parent;
+            if (ADD_OPERATION.equals(op) && "-".equals(name)) {
+                array.add(value);
+            } else {
+                int index = index(name, path);
+                int maximumIndex = ADD_OPERATION.equals(op) ? array.size() : array.size() - 1;
+                if (index > maximumIndex) {
+                    throw new IllegalArgumentException("The path " + path + " does not exist.");
+                }
+
+                if (ADD_OPERATION.equals(op)) {
+                    array.insert(index, value);
+                } else if (REMOVE_OPERATION.equals(op)) {
+                    array.remove(index);
+                } else {
+                    array.set(index, value);
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("The path " + path + " does not exist.");
+        }
+
+        return document;
+    }
+
+    private static JsonNode child(JsonNode node, String token, String path) {
+        JsonNode child;
+        if (node.isObject()) {
+            child = node.get(token);
+        } else if (node.isArray()) {
+            child = node.get(index(token, path));
+        } else {
+            child = null;
+        }
+
+        if (child == null) {
+            throw new IllegalArgumentException("The path " + path + " does not exist.");
+        }
+
+        return child;
+    }
+
+    private static int index(String token, String path) {
+        try {
+            int index = Integer.parseInt(token);
+            if (index >= 0) {
+                return index;
+            }
+        } catch (NumberFormatException nfe) {
+            // handled below
+        }
+
+        throw new IllegalArgumentException("The path " + path + " does not exist.");
+    }
+
+    private static List<String> parse(String path) {
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException("The path " + path + " is not a valid JSON Pointer.");
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : path.substring(1).split("/", -1)) {
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+        }
+
+        return tokens;
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * Calculates a hash (SHA-256, as a hex string) of the specified JSON document, which is used to identify
+     * the base version of a workspace that a JSON Patch document should be applied to.
+     *
+     * @param json  a JSON document
+     * @return      a hex string
+     */
+    public static String hash(String json) {
+        if (json == null) {
+            throw new IllegalArgumentException("A JSON document must be specified.");
+        }
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return DatatypeConverter.printHexBinary(messageDigest.digest(json.getBytes(StandardCharsets.UTF_8))).toLowerCase();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
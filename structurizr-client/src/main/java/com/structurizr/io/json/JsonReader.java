@@ -1,13 +1,18 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.structurizr.Workspace;
 import com.structurizr.io.WorkspaceReader;
 import com.structurizr.io.WorkspaceReaderException;
 import com.structurizr.model.IdGenerator;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Reads a workspace definition as JSON.
@@ -15,6 +20,7 @@ import java.io.Reader;
 public final class JsonReader extends AbstractJsonReader implements WorkspaceReader {
 
     private IdGenerator idGenerator = null;
+    private final Set<WorkspaceSection> sectionsToSkip = EnumSet.noneOf(WorkspaceSection.class);
 
     /**
      * Sets the ID generator to use when parsing a JSON workspace definition.
@@ -25,6 +31,21 @@ public final class JsonReader extends AbstractJsonReader implements WorkspaceRea
         this.idGenerator = idGenerator;
     }
 
+    /**
+     * Specifies sections of the workspace definition that should be skipped when reading it, which is useful for
+     * tooling that only needs (for example) the model or the workspace metadata. Skipped sections are still
+     * tokenized by the streaming parser, but are never bound to objects, so reading is faster and uses less memory.
+     *
+     * @param sections  one or more WorkspaceSection values
+     */
+    public void skip(WorkspaceSection... sections) {
+        if (sections == null) {
+            throw new IllegalArgumentException("One or more workspace sections must be specified.");
+        }
+
+        sectionsToSkip.addAll(Arrays.asList(sections));
+    }
+
     /**
      * Reads and parses a workspace definition from a JSON document.
      *
@@ -34,21 +55,47 @@ public final class JsonReader extends AbstractJsonReader implements WorkspaceRea
      */
     public Workspace read(Reader reader) throws WorkspaceReaderException {
         try {
-            ObjectMapper objectMapper = createObjectMapper();
-
-            Workspace workspace = objectMapper.readValue(reader, Workspace.class);
-
-            if (idGenerator != null) {
-                workspace.getModel().setIdGenerator(idGenerator);
+            ObjectReader objectReader = getObjectReader(Workspace.class);
+            try (JsonParser parser = skip(objectReader.createParser(reader), sectionsToSkip)) {
+                return hydrate(objectReader.readValue(parser));
             }
+        } catch (IOException ioe) {
+            ioe.printStackTrace();
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
 
-            workspace.hydrate();
+    /**
+     * Reads and parses a workspace definition from a JSON document, without decoding it to characters first.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    @Override
+    public Workspace readFromStream(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
 
-            return workspace;
+        try {
+            ObjectReader objectReader = getObjectReader(Workspace.class);
+            try (JsonParser parser = skip(objectReader.createParser(inputStream), sectionsToSkip)) {
+                return hydrate(objectReader.readValue(parser));
+            }
         } catch (IOException ioe) {
-            ioe.printStackTrace();
             throw new WorkspaceReaderException("Could not read JSON", ioe);
         }
     }
 
-}
\ No newline at end of file
+    private Workspace hydrate(Workspace workspace) {
+        if (idGenerator != null) {
+            workspace.getModel().setIdGenerator(idGenerator);
+        }
+
+        workspace.hydrate();
+
+        return workspace;
+    }
+
+}
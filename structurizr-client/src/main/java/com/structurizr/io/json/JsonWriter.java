@@ -1,11 +1,11 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.Workspace;
 import com.structurizr.io.WorkspaceWriter;
 import com.structurizr.io.WorkspaceWriterException;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 
 /**
@@ -21,6 +21,7 @@ public final class JsonWriter extends AbstractJsonWriter implements WorkspaceWri
 
     /**
      * Writes a workspace definition as a JSON string to the specified Writer object.
+     * The JSON is streamed to the Writer, which is flushed but not closed.
      *
      * @param workspace     the Workspace object to write
      * @param writer        the Writer object to write the workspace to
@@ -35,11 +36,34 @@ public final class JsonWriter extends AbstractJsonWriter implements WorkspaceWri
         }
 
         try {
-            ObjectMapper objectMapper = createObjectMapper(indentOutput);
-            writer.write(objectMapper.writeValueAsString(workspace));
+            getObjectWriter(indentOutput).writeValue(writer, workspace);
         } catch (IOException ioe) {
             throw new WorkspaceWriterException("Could not write as JSON", ioe);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Writes a workspace definition as UTF-8 encoded JSON to the specified OutputStream.
+     * The JSON is streamed to the OutputStream, which is flushed but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    @Override
+    public void writeToStream(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("Workspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try {
+            getObjectWriter(indentOutput).writeValue(outputStream, workspace);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as JSON", ioe);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceStreamReader;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.model.IdGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a workspace definition in the Smile binary format (see https://github.com/FasterXML/smile-format-specification),
+ * as written by the {@link SmileWriter}. Smile is a binary format, so workspaces can only be read from an InputStream.
+ */
+public final class SmileReader extends AbstractJsonReader implements WorkspaceStreamReader {
+
+    private static final ObjectReader OBJECT_READER = createObjectMapper(SmileMapper.builder()).readerFor(Workspace.class);
+
+    private IdGenerator idGenerator = null;
+
+    /**
+     * Sets the ID generator to use when parsing a workspace definition.
+     *
+     * @param idGenerator   an IdGenerator implementation
+     */
+    public void setIdGenerator(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Reads and parses a workspace definition from a Smile document.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    @Override
+    public Workspace readFromStream(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream cannot be null.");
+        }
+
+        try {
+            Workspace workspace = OBJECT_READER.readValue(inputStream);
+
+            if (idGenerator != null) {
+                workspace.getModel().setIdGenerator(idGenerator);
+            }
+
+            workspace.hydrate();
+
+            return workspace;
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read Smile", ioe);
+        }
+    }
+
+}
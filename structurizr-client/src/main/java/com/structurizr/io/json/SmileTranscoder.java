@@ -0,0 +1,75 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Converts workspace definitions between JSON and Smile token by token, without creating a Workspace object
+ * (e.g. so that a server can store or serve either format, regardless of which format the client uses).
+ */
+public final class SmileTranscoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private SmileTranscoder() {
+    }
+
+    /**
+     * Converts a JSON workspace definition to Smile.
+     *
+     * @param json      a JSON document
+     * @return          the equivalent Smile document
+     * @throws IOException  if the JSON can't be parsed
+     */
+    public static byte[] toSmile(String json) throws IOException {
+        if (json == null) {
+            throw new IllegalArgumentException("JSON must be specified.");
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length() / 2);
+        try (JsonParser parser = JSON_FACTORY.createParser(json);
+             JsonGenerator generator = SmileWriter.SMILE_FACTORY.createGenerator(outputStream)) {
+            copy(parser, generator);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Converts a Smile workspace definition to JSON.
+     *
+     * @param smile     a Smile document
+     * @return          the equivalent JSON document
+     * @throws IOException  if the Smile can't be parsed
+     */
+    public static String toJson(byte[] smile) throws IOException {
+        if (smile == null) {
+            throw new IllegalArgumentException("Smile must be specified.");
+        }
+
+        StringWriter writer = new StringWriter(smile.length * 2);
+        try (JsonParser parser = SmileWriter.SMILE_FACTORY.createParser(smile);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            copy(parser, generator);
+        }
+
+        return writer.toString();
+    }
+
+    private static void copy(JsonParser parser, JsonGenerator generator) throws IOException {
+        if (parser.nextToken() == null) {
+            throw new IOException("The document is empty.");
+        }
+
+        generator.copyCurrentStructure(parser);
+        if (parser.nextToken() != null) {
+            throw new IOException("Unexpected content after the end of the document.");
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceStreamWriter;
+import com.structurizr.io.WorkspaceWriterException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a workspace definition in the Smile binary format (see https://github.com/FasterXML/smile-format-specification).
+ * This is considerably smaller and faster to read/write than JSON, because property names and short string values
+ * (e.g. element IDs and tags) that are repeated throughout the workspace are written as back-references.
+ * Smile is a binary format, so workspaces can only be written to an OutputStream.
+ */
+public final class SmileWriter extends AbstractJsonWriter implements WorkspaceStreamWriter {
+
+    // shared string values are off by default, but workspaces repeat many short values (e.g. IDs and tags)
+    static final SmileFactory SMILE_FACTORY = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+
+    private static final ObjectWriter OBJECT_WRITER = createObjectMapper(SmileMapper.builder(SMILE_FACTORY)).writer();
+
+    /**
+     * Writes a workspace definition as Smile to the specified OutputStream, which is flushed but not closed.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    @Override
+    public void writeToStream(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("Workspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try {
+            OBJECT_WRITER.writeValue(outputStream, workspace);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as Smile", ioe);
+        }
+    }
+
+}
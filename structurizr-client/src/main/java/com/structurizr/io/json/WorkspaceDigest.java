@@ -0,0 +1,367 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.structurizr.Workspace;
+
+import javax.xml.bind.DatatypeConverter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Structural (SHA-256) digests of a workspace, its model, views and documentation, and of each element, relationship
+ * and view. Digests are computed from the JSON representation of the workspace, but are independent of the ordering
+ * of object properties and of unordered collections (the elements and relationships in the model, and the
+ * elements/relationships on a static view), and they exclude
+ * the workspace metadata that changes every time a workspace is saved (ID, revision, and last modified date/user/agent).
+ * This means that two semantically identical workspaces have the same digest, which can be used to
+ * skip no-op saves, and as a cache key for exports.
+ */
+public final class WorkspaceDigest {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final String ID = "id";
+    private static final String KEY = "key";
+    private static final String ORDER = "order";
+    private static final String MODEL = "model";
+    private static final String VIEWS = "views";
+    private static final String DOCUMENTATION = "documentation";
+    private static final String RELATIONSHIPS = "relationships";
+
+    private static final Set<String> WORKSPACE_METADATA_FIELDS = Set.of("id", "revision", "lastModifiedDate", "lastModifiedUser", "lastModifiedAgent");
+    private static final Set<String> CHILD_ELEMENT_FIELDS = Set.of("containers", "components", "children", "infrastructureNodes", "softwareSystemInstances", "containerInstances");
+    private static final Set<String> NESTED_FIELDS = Set.of("containers", "components", "children", "infrastructureNodes", "softwareSystemInstances", "containerInstances", RELATIONSHIPS);
+
+    // the (JSON) collections of identifiable objects whose order isn't significant; the order of other arrays
+    // (e.g. views, which are listed in the order they are defined) is significant
+    private static final Set<String> UNORDERED_FIELDS = Set.of(
+            "people", "softwareSystems", "deploymentNodes", "customElements",
+            "containers", "components", "children", "infrastructureNodes", "softwareSystemInstances", "containerInstances",
+            RELATIONSHIPS, "elements"
+    );
+
+    // node type markers, so that different structures can't produce the same sequence of bytes
+    private static final byte OBJECT = 1;
+    private static final byte ORDERED_ARRAY = 2;
+    private static final byte UNORDERED_ARRAY = 3;
+    private static final byte TEXT = 4;
+    private static final byte NUMBER = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte NULL = 7;
+
+    private static final ObjectMapper OBJECT_MAPPER = AbstractJsonWriter.createObjectMapper(JsonMapper.builder());
+
+    private final String digest;
+    private final String modelDigest;
+    private final String viewsDigest;
+    private final String documentationDigest;
+
+    private final Map<String, String> elementDigests = new HashMap<>();
+    private final Map<String, String> relationshipDigests = new HashMap<>();
+    private final Map<String, String> viewDigests = new HashMap<>();
+
+    private WorkspaceDigest(JsonNode workspace) {
+        digest = hex(digest(workspace, WORKSPACE_METADATA_FIELDS));
+        modelDigest = hex(digest(workspace.path(MODEL), Set.of()));
+        viewsDigest = hex(digest(workspace.path(VIEWS), Set.of()));
+        documentationDigest = hex(digest(workspace.path(DOCUMENTATION), Set.of()));
+
+        for (JsonNode elements : workspace.path(MODEL)) {
+            if (elements.isArray()) {
+                addElements(elements);
+            }
+        }
+
+        for (JsonNode views : workspace.path(VIEWS)) {
+            if (views.isArray()) {
+                for (JsonNode view : views) {
+                    if (view.hasNonNull(KEY)) {
+                        viewDigests.put(view.get(KEY).asText(), hex(digest(view, Set.of())));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the digests for the specified workspace.
+     *
+     * @param workspace     a Workspace instance
+     * @return              a WorkspaceDigest instance
+     */
+    public static WorkspaceDigest of(Workspace workspace) {
+        if (workspace == null) {
+            throw new IllegalArgumentException("A workspace must be specified.");
+        }
+
+        return new WorkspaceDigest(OBJECT_MAPPER.valueToTree(workspace));
+    }
+
+    /**
+     * Computes the digests for the specified workspace JSON, without deserializing it into a Workspace.
+     *
+     * @param json      a workspace, as a JSON string
+     * @return          a WorkspaceDigest instance
+     * @throws Exception    if the JSON can't be parsed
+     */
+    public static WorkspaceDigest of(String json) throws Exception {
+        if (json == null) {
+            throw new IllegalArgumentException("A JSON document must be specified.");
+        }
+
+        return new WorkspaceDigest(OBJECT_MAPPER.readTree(json));
+    }
+
+    /**
+     * Gets the digest of the whole workspace (excluding the workspace metadata).
+     *
+     * @return  a lowercase, hex encoded SHA-256 digest
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Gets the digest of the model.
+     *
+     * @return  a lowercase, hex encoded SHA-256 digest
+     */
+    public String getModelDigest() {
+        return modelDigest;
+    }
+
+    /**
+     * Gets the digest of the views (including the view configuration).
+     *
+     * @return  a lowercase, hex encoded SHA-256 digest
+     */
+    public String getViewsDigest() {
+        return viewsDigest;
+    }
+
+    /**
+     * Gets the digest of the documentation.
+     *
+     * @return  a lowercase, hex encoded SHA-256 digest
+     */
+    public String getDocumentationDigest() {
+        return documentationDigest;
+    }
+
+    /**
+     * Gets the digest of an element; this excludes the element's relationships and children, which have their own digests.
+     *
+     * @param id    the ID of the element
+     * @return      a lowercase, hex encoded SHA-256 digest, or null if the element doesn't exist
+     */
+    public String getElementDigest(String id) {
+        return elementDigests.get(id);
+    }
+
+    /**
+     * Gets the digest of a relationship.
+     *
+     * @param id    the ID of the relationship
+     * @return      a lowercase, hex encoded SHA-256 digest, or null if the relationship doesn't exist
+     */
+    public String getRelationshipDigest(String id) {
+        return relationshipDigests.get(id);
+    }
+
+    /**
+     * Gets the digest of a view.
+     *
+     * @param key   the key of the view
+     * @return      a lowercase, hex encoded SHA-256 digest, or null if the view doesn't exist
+     */
+    public String getViewDigest(String key) {
+        return viewDigests.get(key);
+    }
+
+    /**
+     * Gets the IDs of the elements that have been added, changed, or removed since the previous digest.
+     *
+     * @param previous      the previous WorkspaceDigest
+     * @return              a Set of element IDs
+     */
+    public Set<String> getChangedElements(WorkspaceDigest previous) {
+        return changes(elementDigests, previous == null ? null : previous.elementDigests);
+    }
+
+    /**
+     * Gets the IDs of the relationships that have been added, changed, or removed since the previous digest.
+     *
+     * @param previous      the previous WorkspaceDigest
+     * @return              a Set of relationship IDs
+     */
+    public Set<String> getChangedRelationships(WorkspaceDigest previous) {
+        return changes(relationshipDigests, previous == null ? null : previous.relationshipDigests);
+    }
+
+    /**
+     * Gets the keys of the views that have been added, changed, or removed since the previous digest.
+     *
+     * @param previous      the previous WorkspaceDigest
+     * @return              a Set of view keys
+     */
+    public Set<String> getChangedViews(WorkspaceDigest previous) {
+        return changes(viewDigests, previous == null ? null : previous.viewDigests);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        return digest.equals(((WorkspaceDigest)o).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return digest.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return digest;
+    }
+
+    private void addElements(JsonNode elements) {
+        for (JsonNode element : elements) {
+            if (element.hasNonNull(ID)) {
+                elementDigests.put(element.get(ID).asText(), hex(digest(element, NESTED_FIELDS)));
+
+                for (JsonNode relationship : element.path(RELATIONSHIPS)) {
+                    if (relationship.hasNonNull(ID)) {
+                        relationshipDigests.put(relationship.get(ID).asText(), hex(digest(relationship, Set.of())));
+                    }
+                }
+
+                for (String field : CHILD_ELEMENT_FIELDS) {
+                    if (element.path(field).isArray()) {
+                        addElements(element.get(field));
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> changes(Map<String, String> current, Map<String, String> previous) {
+        if (previous == null) {
+            return new HashSet<>(current.keySet());
+        }
+
+        Set<String> changes = new HashSet<>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                changes.add(entry.getKey());
+            }
+        }
+
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                changes.add(key);
+            }
+        }
+
+        return changes;
+    }
+
+    private static byte[] digest(JsonNode node, Set<String> excludedFields) {
+        MessageDigest messageDigest = createMessageDigest();
+        update(messageDigest, node, excludedFields);
+
+        return messageDigest.digest();
+    }
+
+    private static void update(MessageDigest messageDigest, JsonNode node, Set<String> excludedFields) {
+        if (node.isObject()) {
+            List<String> fieldNames = new ArrayList<>();
+            node.fieldNames().forEachRemaining(fieldNames::add);
+            Collections.sort(fieldNames);
+
+            messageDigest.update(OBJECT);
+            for (String fieldName : fieldNames) {
+                if (!excludedFields.contains(fieldName)) {
+                    update(messageDigest, fieldName);
+                    update(messageDigest, fieldName, node.get(fieldName));
+                }
+            }
+            messageDigest.update(OBJECT);
+        } else {
+            update(messageDigest, null, node);
+        }
+    }
+
+    private static void update(MessageDigest messageDigest, String fieldName, JsonNode node) {
+        if (node.isObject()) {
+            update(messageDigest, node, Set.of());
+        } else if (node.isArray()) {
+            if (isUnordered(fieldName, node)) {
+                // the serialized order of sets (e.g. elements, relationships, element views) isn't significant
+                List<byte[]> digests = new ArrayList<>();
+                for (JsonNode item : node) {
+                    digests.add(digest(item, Set.of()));
+                }
+                digests.sort(Arrays::compare);
+
+                messageDigest.update(UNORDERED_ARRAY);
+                for (byte[] digest : digests) {
+                    messageDigest.update(digest);
+                }
+                messageDigest.update(UNORDERED_ARRAY);
+            } else {
+                messageDigest.update(ORDERED_ARRAY);
+                for (JsonNode item : node) {
+                    update(messageDigest, item, Set.of());
+                }
+                messageDigest.update(ORDERED_ARRAY);
+            }
+        } else if (node.isNull() || node.isMissingNode()) {
+            messageDigest.update(NULL);
+        } else {
+            messageDigest.update(node.isNumber() ? NUMBER : node.isBoolean() ? BOOLEAN : TEXT);
+            update(messageDigest, node.asText());
+        }
+    }
+
+    private static void update(MessageDigest messageDigest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        messageDigest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        messageDigest.update(bytes);
+    }
+
+    private static boolean isUnordered(String fieldName, JsonNode array) {
+        if (array.isEmpty() || !UNORDERED_FIELDS.contains(fieldName)) {
+            return false;
+        }
+
+        // only arrays of identifiable objects are sets; relationships on a dynamic view have an order, and the
+        // order of the array is retained for those too
+        for (JsonNode item : array) {
+            if (!item.isObject() || !item.has(ID) || item.has(ORDER)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        return DatatypeConverter.printHexBinary(bytes).toLowerCase();
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.structurizr.io.json;
+
+/**
+ * The sections of a workspace definition that can be skipped when reading it with a {@link JsonReader}.
+ */
+public enum WorkspaceSection {
+
+    /**
+     * The model (skipping the model also skips the views, because they can't be hydrated without it).
+     */
+    Model,
+
+    /**
+     * The views, including styles, themes, branding and terminology.
+     */
+    Views,
+
+    /**
+     * The documentation (sections, decisions and images) associated with the workspace and any software systems,
+     * containers and components.
+     */
+    Documentation,
+
+    /**
+     * The base64 encoded images associated with documentation, and the workspace thumbnail.
+     */
+    Images
+
+}
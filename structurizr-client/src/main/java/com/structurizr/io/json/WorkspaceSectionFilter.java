@@ -0,0 +1,81 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.filter.TokenFilter;
+
+import java.util.Set;
+
+/**
+ * A Jackson token filter that skips the specified sections of a workspace definition as it's being parsed,
+ * so that they are never bound to objects.
+ */
+final class WorkspaceSectionFilter extends TokenFilter {
+
+    private static final String MODEL_PROPERTY = "model";
+    private static final String VIEWS_PROPERTY = "views";
+    private static final String DOCUMENTATION_PROPERTY = "documentation";
+    private static final String IMAGES_PROPERTY = "images";
+    private static final String THUMBNAIL_PROPERTY = "thumbnail";
+    private static final String PROPERTIES_PROPERTY = "properties";
+
+    // skips the images inside a documentation object
+    private static final TokenFilter DOCUMENTATION_WITHOUT_IMAGES = new TokenFilter() {
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return IMAGES_PROPERTY.equals(name) ? null : TokenFilter.INCLUDE_ALL;
+        }
+    };
+
+    private final boolean skipModel;
+    private final boolean skipViews;
+    private final boolean skipDocumentation;
+    private final boolean skipImages;
+    private final boolean root;
+    private final TokenFilter descendants;
+
+    WorkspaceSectionFilter(Set<WorkspaceSection> sections) {
+        this(sections.contains(WorkspaceSection.Model),
+                sections.contains(WorkspaceSection.Model) || sections.contains(WorkspaceSection.Views),
+                sections.contains(WorkspaceSection.Documentation),
+                sections.contains(WorkspaceSection.Images),
+                true);
+    }
+
+    private WorkspaceSectionFilter(boolean skipModel, boolean skipViews, boolean skipDocumentation, boolean skipImages, boolean root) {
+        this.skipModel = skipModel;
+        this.skipViews = skipViews;
+        this.skipDocumentation = skipDocumentation;
+        this.skipImages = skipImages;
+        this.root = root;
+        this.descendants = root ? new WorkspaceSectionFilter(skipModel, skipViews, skipDocumentation, skipImages, false) : this;
+    }
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+        if (root) {
+            if ((skipModel && MODEL_PROPERTY.equals(name)) || (skipViews && VIEWS_PROPERTY.equals(name)) || (skipImages && THUMBNAIL_PROPERTY.equals(name))) {
+                return null;
+            }
+        }
+
+        if (!skipDocumentation && !skipImages) {
+            // documentation only appears in the workspace and model, so the rest can be included as-is
+            return TokenFilter.INCLUDE_ALL;
+        }
+
+        if (DOCUMENTATION_PROPERTY.equals(name)) {
+            if (skipDocumentation) {
+                return null;
+            } else {
+                return DOCUMENTATION_WITHOUT_IMAGES;
+            }
+        }
+
+        if (PROPERTIES_PROPERTY.equals(name) || VIEWS_PROPERTY.equals(name)) {
+            // user-defined properties (which might be named "documentation") and views don't contain documentation
+            return TokenFilter.INCLUDE_ALL;
+        }
+
+        return descendants;
+    }
+
+}
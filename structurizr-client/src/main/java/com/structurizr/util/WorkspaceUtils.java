@@ -3,9 +3,10 @@ package com.structurizr.util;
 import com.structurizr.Workspace;
 import com.structurizr.io.json.JsonReader;
 import com.structurizr.io.json.JsonWriter;
+import com.structurizr.io.json.SmileReader;
+import com.structurizr.io.json.SmileWriter;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Some utility methods related to workspaces.
@@ -26,7 +27,9 @@ public final class WorkspaceUtils {
             throw new IllegalArgumentException("The specified JSON file does not exist.");
         }
 
-        return new JsonReader().read(new FileReader(file));
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return new JsonReader().readFromStream(inputStream);
+        }
     }
 
     /**
@@ -43,10 +46,47 @@ public final class WorkspaceUtils {
             throw new IllegalArgumentException("The path to a JSON file must be specified.");
         }
 
-        OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
-        new JsonWriter(true).write(workspace, writer);
-        writer.flush();
-        writer.close();
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            new JsonWriter(true).writeToStream(workspace, outputStream);
+        }
+    }
+
+    /**
+     * Loads a workspace from a Smile (binary JSON) definition saved as a file.
+     *
+     * @param file a File representing the Smile definition
+     * @return a Workspace object
+     * @throws Exception if something goes wrong
+     */
+    public static Workspace loadWorkspaceFromSmile(File file) throws Exception {
+        if (file == null) {
+            throw new IllegalArgumentException("The path to a Smile file must be specified.");
+        } else if (!file.exists()) {
+            throw new IllegalArgumentException("The specified Smile file does not exist.");
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            return new SmileReader().readFromStream(inputStream);
+        }
+    }
+
+    /**
+     * Saves a workspace to a Smile (binary JSON) definition as a file.
+     *
+     * @param workspace     a Workspace object
+     * @param file          a File representing the Smile definition
+     * @throws Exception    if something goes wrong
+     */
+    public static void saveWorkspaceToSmile(Workspace workspace, File file) throws Exception {
+        if (workspace == null) {
+            throw new IllegalArgumentException("A workspace must be provided.");
+        } else if (file == null) {
+            throw new IllegalArgumentException("The path to a Smile file must be specified.");
+        }
+
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            new SmileWriter().writeToStream(workspace, outputStream);
+        }
     }
 
     /**
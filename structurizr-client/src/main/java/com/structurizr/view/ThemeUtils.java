@@ -3,6 +3,7 @@ package com.structurizr.view;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.structurizr.Workspace;
 import com.structurizr.http.HttpClient;
@@ -20,6 +21,10 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Some utility methods for exporting themes to JSON.
@@ -32,6 +37,24 @@ public final class ThemeUtils {
 
     private static final int DEFAULT_TIMEOUT_IN_MILLISECONDS = 10000;
 
+    private static final long THEME_CACHE_TIME_TO_LIVE_IN_MILLISECONDS = 60 * 60 * 1000; // 1 hour
+    private static final int MAXIMUM_NUMBER_OF_CACHED_THEMES = 100;
+
+    private static final ObjectReader THEME_READER = new ObjectMapper()
+            .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(Theme.class);
+
+    // parsed remote themes, keyed by URL, and shared between all workspaces loaded by this process; this is the only
+    // cache for remote themes (they're fetched via HttpClient.get(url), which doesn't cache), and cached themes are
+    // treated as immutable, so the same Theme instance can be added to the styles of many workspaces
+    private static final Map<String, CachedTheme> CACHED_THEMES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedTheme> eldest) {
+            return size() > MAXIMUM_NUMBER_OF_CACHED_THEMES;
+        }
+    };
+
     /**
      * Serializes the theme (element and relationship styles) in the specified workspace to a file, as a JSON string.
      *
@@ -95,32 +118,31 @@ public final class ThemeUtils {
         loadThemes(workspace, httpClient);
     }
 
+    /**
+     * Loads the element and relationship styles from the themes defined in the workspace, into the workspace itself.
+     * Remote themes are loaded in parallel, and parsed themes are cached (by URL) for use by subsequent workspaces.
+     *
+     * @param workspace     a Workspace object
+     * @param httpClient    the HttpClient used to load remote themes
+     * @throws Exception    if something goes wrong
+     */
     public static void loadThemes(Workspace workspace, HttpClient httpClient) throws Exception {
-        for (String themeLocation : workspace.getViews().getConfiguration().getThemes()) {
-            if (Url.isUrl(themeLocation)) {
-                RemoteContent remoteContent = httpClient.get(themeLocation);
-                if (remoteContent.getContentType().startsWith(RemoteContent.CONTENT_TYPE_JSON) || remoteContent.getContentType().startsWith(RemoteContent.CONTENT_TYPE_PLAIN_TEXT)) {
-                    Theme theme = fromJson(remoteContent.getContentAsString());
-                    String baseUrl = themeLocation.substring(0, themeLocation.lastIndexOf('/') + 1);
-
-                    for (ElementStyle elementStyle : theme.getElements()) {
-                        String icon = elementStyle.getIcon();
-                        if (!StringUtils.isNullOrEmpty(icon)) {
-                            if (Url.isHttpUrl(icon) || Url.isHttpsUrl(icon)) {
-                                // okay, image served over HTTP or HTTPS
-                            } else if (icon.startsWith(ImageUtils.DATA_URI_IMAGE_PREFIX)) {
-                                // also okay, data URI
-                            } else {
-                                // convert the relative icon filename into a full URL
-                                elementStyle.setIcon(baseUrl + icon);
-                            }
-                        }
-                    }
+        String[] themeLocations = workspace.getViews().getConfiguration().getThemes();
 
-                    workspace.getViews().getConfiguration().getStyles().addStylesFromTheme(theme);
-                } else {
-                    throw new RuntimeException(String.format("%s - expected content type of %s, actual content type is %s", themeLocation, RemoteContent.CONTENT_TYPE_JSON, remoteContent.getContentType()));
+        Map<String, Future<Theme>> remoteThemes = new HashMap<>();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String themeLocation : themeLocations) {
+                if (Url.isUrl(themeLocation) && !remoteThemes.containsKey(themeLocation)) {
+                    remoteThemes.put(themeLocation, executorService.submit(() -> loadTheme(themeLocation, httpClient)));
                 }
+            }
+        }
+
+        // the themes are added in the order they are defined, since later themes take precedence
+        for (String themeLocation : themeLocations) {
+            if (Url.isUrl(themeLocation)) {
+                Theme theme = getTheme(remoteThemes.get(themeLocation));
+                workspace.getViews().getConfiguration().getStyles().addStylesFromTheme(theme);
             } else if (InstalledThemes.isInstalled(themeLocation)) {
                 File themeDotJsonFile = InstalledThemes.getTheme(themeLocation);
                 String json = Files.readString(themeDotJsonFile.toPath());
@@ -131,6 +153,80 @@ public final class ThemeUtils {
         }
     }
 
+    private static Theme loadTheme(String url, HttpClient httpClient) throws Exception {
+        if (httpClient.isAllowed(url)) {
+            Theme theme = getCachedTheme(url);
+            if (theme != null) {
+                return theme;
+            }
+        }
+
+        RemoteContent remoteContent = httpClient.get(url);
+        if (remoteContent.getContentType().startsWith(RemoteContent.CONTENT_TYPE_JSON) || remoteContent.getContentType().startsWith(RemoteContent.CONTENT_TYPE_PLAIN_TEXT)) {
+            Theme theme = fromJson(remoteContent.getContentAsString());
+            String baseUrl = url.substring(0, url.lastIndexOf('/') + 1);
+
+            for (ElementStyle elementStyle : theme.getElements()) {
+                String icon = elementStyle.getIcon();
+                if (!StringUtils.isNullOrEmpty(icon)) {
+                    if (Url.isHttpUrl(icon) || Url.isHttpsUrl(icon)) {
+                        // okay, image served over HTTP or HTTPS
+                    } else if (icon.startsWith(ImageUtils.DATA_URI_IMAGE_PREFIX)) {
+                        // also okay, data URI
+                    } else {
+                        // convert the relative icon filename into a full URL
+                        elementStyle.setIcon(baseUrl + icon);
+                    }
+                }
+            }
+
+            synchronized (CACHED_THEMES) {
+                CACHED_THEMES.put(url, new CachedTheme(theme, System.currentTimeMillis() + THEME_CACHE_TIME_TO_LIVE_IN_MILLISECONDS));
+            }
+
+            return theme;
+        } else {
+            throw new RuntimeException(String.format("%s - expected content type of %s, actual content type is %s", url, RemoteContent.CONTENT_TYPE_JSON, remoteContent.getContentType()));
+        }
+    }
+
+    private static Theme getCachedTheme(String url) {
+        synchronized (CACHED_THEMES) {
+            CachedTheme cachedTheme = CACHED_THEMES.get(url);
+            if (cachedTheme == null) {
+                return null;
+            }
+
+            if (cachedTheme.expiryTime < System.currentTimeMillis()) {
+                CACHED_THEMES.remove(url);
+                return null;
+            }
+
+            return cachedTheme.theme;
+        }
+    }
+
+    private static Theme getTheme(Future<Theme> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof Exception) {
+                throw (Exception)ee.getCause();
+            } else {
+                throw ee;
+            }
+        }
+    }
+
+    /**
+     * Clears the cache of parsed remote themes.
+     */
+    public static void clearThemeCache() {
+        synchronized (CACHED_THEMES) {
+            CACHED_THEMES.clear();
+        }
+    }
+
     /**
      * Installs themes from a directory containing themes.
      *
@@ -164,15 +260,31 @@ public final class ThemeUtils {
     public static void inlineStylesUsedFromInstalledThemes(Workspace workspace) {
         // find all tags used by elements and relationships in the model
         Set<String> elementTags = new HashSet<>();
-        for (Element element : workspace.getModel().getElements()) {
+        for (Element element : workspace.getModel().getElementsView()) {
             elementTags.addAll(element.getTagsAsSet());
         }
 
         Set<String> relationshipTags = new HashSet<>();
-        for (Relationship relationship : workspace.getModel().getRelationships()) {
+        for (Relationship relationship : workspace.getModel().getRelationshipsView()) {
             relationshipTags.addAll(relationship.getTagsAsSet());
         }
 
+        // styles are inlined into the workspace styles (without a color scheme) for each tag, so index those by tag too
+        Styles styles = workspace.getViews().getConfiguration().getStyles();
+        Map<String, ElementStyle> elementStylesInWorkspace = new HashMap<>();
+        for (ElementStyle elementStyle : styles.getElements()) {
+            if (elementStyle.getColorScheme() == null) {
+                elementStylesInWorkspace.putIfAbsent(elementStyle.getTag(), elementStyle);
+            }
+        }
+
+        Map<String, RelationshipStyle> relationshipStylesInWorkspace = new HashMap<>();
+        for (RelationshipStyle relationshipStyle : styles.getRelationships()) {
+            if (relationshipStyle.getColorScheme() == null) {
+                relationshipStylesInWorkspace.putIfAbsent(relationshipStyle.getTag(), relationshipStyle);
+            }
+        }
+
         try {
             List<String> themeNames = new ArrayList<>();
             for (String themeName : workspace.getViews().getConfiguration().getThemes()) {
@@ -182,8 +294,10 @@ public final class ThemeUtils {
                     Theme theme = fromJson(json);
 
                     if (theme != null) {
-                        for (ElementStyle styleInTheme : theme.getElements()) {
-                            if (elementTags.contains(styleInTheme.getTag())) { // element style is used
+                        // index the styles in the theme by tag, and look up the tags used in the model
+                        Map<String, List<ElementStyle>> elementStylesInTheme = indexByTag(theme.getElements());
+                        for (String tag : elementTags) {
+                            for (ElementStyle styleInTheme : elementStylesInTheme.getOrDefault(tag, List.of())) {
                                 String icon = styleInTheme.getIcon();
                                 if (!StringUtils.isNullOrEmpty(icon)) {
                                     if (Url.isHttpUrl(icon) || Url.isHttpsUrl(icon)) {
@@ -196,20 +310,15 @@ public final class ThemeUtils {
                                     }
                                 }
 
-                                ElementStyle styleInWorkspace = workspace.getViews().getConfiguration().getStyles().getElementStyle(styleInTheme.getTag());
-                                if (styleInWorkspace == null) {
-                                    styleInWorkspace = workspace.getViews().getConfiguration().getStyles().addElementStyle(styleInTheme.getTag());
-                                }
+                                ElementStyle styleInWorkspace = elementStylesInWorkspace.computeIfAbsent(tag, styles::addElementStyle);
                                 styleInWorkspace.copyFrom(styleInTheme);
                             }
                         }
 
-                        for (RelationshipStyle styleInTheme : theme.getRelationships()) {
-                            if (relationshipTags.contains(styleInTheme.getTag())) { // relationship style is used
-                                RelationshipStyle styleInWorkspace = workspace.getViews().getConfiguration().getStyles().getRelationshipStyle(styleInTheme.getTag());
-                                if (styleInWorkspace == null) {
-                                    styleInWorkspace = workspace.getViews().getConfiguration().getStyles().addRelationshipStyle(styleInTheme.getTag());
-                                }
+                        Map<String, List<RelationshipStyle>> relationshipStylesInTheme = indexByTag(theme.getRelationships());
+                        for (String tag : relationshipTags) {
+                            for (RelationshipStyle styleInTheme : relationshipStylesInTheme.getOrDefault(tag, List.of())) {
+                                RelationshipStyle styleInWorkspace = relationshipStylesInWorkspace.computeIfAbsent(tag, styles::addRelationshipStyle);
                                 styleInWorkspace.copyFrom(styleInTheme);
                             }
                         }
@@ -227,6 +336,16 @@ public final class ThemeUtils {
         }
     }
 
+    // a theme can define more than one style for a tag (e.g. for different color schemes), so keep them all, in order
+    private static <T extends AbstractStyle> Map<String, List<T>> indexByTag(Collection<T> styles) {
+        Map<String, List<T>> stylesByTag = new HashMap<>();
+        for (T style : styles) {
+            stylesByTag.computeIfAbsent(style.getTag(), tag -> new ArrayList<>()).add(style);
+        }
+
+        return stylesByTag;
+    }
+
     /**
      * Inlines all element and relationship styles from the specified file, adding the styles into the workspace
      * and overriding any properties already set.
@@ -274,11 +393,19 @@ public final class ThemeUtils {
     }
 
     public static Theme fromJson(String json) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return THEME_READER.readValue(json);
+    }
+
+    private static final class CachedTheme {
+
+        private final Theme theme;
+        private final long expiryTime;
+
+        CachedTheme(Theme theme, long expiryTime) {
+            this.theme = theme;
+            this.expiryTime = expiryTime;
+        }
 
-        return objectMapper.readValue(json, Theme.class);
     }
 
     private static void write(Workspace workspace, Writer writer) throws Exception {
@@ -1,8 +1,15 @@
 package com.structurizr.api;
 
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,6 +80,42 @@ public class WorkspaceApiClientTests {
         }
     }
 
+    @Test
+    void getHttpClient_ReturnsTheSameClient_ForAllApiClients() {
+        client = new WorkspaceApiClient("http://localhost", 1234, "key");
+        AdminApiClient adminApiClient = new AdminApiClient("http://localhost", "key");
+
+        assertSame(client.getHttpClient(), new WorkspaceApiClient("http://localhost", 5678, "key").getHttpClient());
+        assertSame(client.getHttpClient(), adminApiClient.getHttpClient());
+    }
+
+    @Test
+    void createRequestEntity_ReturnsTheEntity_WhenRequestCompressionIsDisabled() {
+        client = new WorkspaceApiClient("http://localhost", 1234, "key");
+        StringEntity entity = new StringEntity("{}", ContentType.APPLICATION_JSON);
+
+        assertFalse(client.isCompressRequests());
+        assertSame(entity, client.createRequestEntity(entity));
+    }
+
+    @Test
+    void createRequestEntity_ReturnsAGzipEntity_WhenRequestCompressionIsEnabled() throws Exception {
+        client = new WorkspaceApiClient("http://localhost", 1234, "key");
+        client.setCompressRequests(true);
+        String json = "{\"id\":1234,\"name\":\"Name\"}".repeat(100);
+
+        HttpEntity entity = client.createRequestEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        assertEquals("gzip", entity.getContentEncoding());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        entity.writeTo(outputStream);
+        assertTrue(outputStream.size() < json.length());
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertEquals(json, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
     @Test
     void getAgent() {
         client = new WorkspaceApiClient("http://localhost", 1234, "key");
@@ -2,6 +2,10 @@ package com.structurizr.encryption;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
@@ -97,4 +101,52 @@ public class AesEncryptionStrategyTests {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void encrypt_DoesNotUseTheCachedKey_WhenThePassphraseIsChanged() throws Exception {
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, "06DC30A48ADEEE72D98E33C2CEAEAD3E", "ED124530AF64A5CAD8EF463CF5628434", "password");
+        String ciphertext = strategy.encrypt("Hello world");
+
+        // the derived key is cached, but should not be used when the passphrase changes
+        strategy.setPassphrase("The Wrong Password");
+        assertNotEquals(ciphertext, strategy.encrypt("Hello world"));
+
+        strategy.setPassphrase("password");
+        assertEquals("A/DzjV17WVS6ZAKsLOaC/Q==", strategy.encrypt("Hello world"));
+    }
+
+    @Test
+    void construction_GeneratesARandomSaltAndIv() throws Exception {
+        AesEncryptionStrategy strategy1 = new AesEncryptionStrategy(128, 1000, "password");
+        AesEncryptionStrategy strategy2 = new AesEncryptionStrategy(128, 1000, "password");
+
+        assertEquals(32, strategy1.getSalt().length());
+        assertNotEquals(strategy1.getSalt(), strategy2.getSalt());
+        assertNotEquals(strategy1.getIv(), strategy2.getIv());
+        assertNotEquals(strategy1.encrypt("Hello world"), strategy2.encrypt("Hello world"));
+
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, strategy1.getSalt(), strategy1.getIv(), "password");
+        assertEquals("Hello world", strategy.decrypt(strategy1.encrypt("Hello world")));
+    }
+
+    @Test
+    void encrypt_EncryptsPlaintext_WhenUsingStreams() throws Exception {
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, "06DC30A48ADEEE72D98E33C2CEAEAD3E", "ED124530AF64A5CAD8EF463CF5628434", "password");
+        ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+        strategy.encrypt(new ByteArrayInputStream("Hello world".getBytes(StandardCharsets.UTF_8)), ciphertext);
+
+        assertEquals("A/DzjV17WVS6ZAKsLOaC/Q==", ciphertext.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decrypt_decryptsTheCiphertext_WhenUsingStreams() throws Exception {
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, "password");
+        String plaintext = "Hello world \u00e9".repeat(10000);
+        String ciphertext = strategy.encrypt(plaintext);
+
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        strategy.decrypt(new ByteArrayInputStream(ciphertext.getBytes(StandardCharsets.UTF_8)), decrypted);
+
+        assertEquals(plaintext, decrypted.toString(StandardCharsets.UTF_8));
+    }
+
+}
@@ -1,12 +1,163 @@
 package com.structurizr.http;
 
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class HttpClientTests {
 
+    private static final String ETAG = "\"1234567890\"";
+    private static final String CONTENT = "{ \"name\": \"Theme\" }";
+
+    private HttpServer server;
+    private String url;
+    private final AtomicInteger okResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/theme.json", exchange -> {
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                okResponses.incrementAndGet();
+                byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(bytes);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+
+        url = "http://localhost:" + server.getAddress().getPort() + "/theme.json";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void get_ThrowsAnException_WhenTheUrlIsNotAllowed() {
+        HttpClient httpClient = new HttpClient();
+        httpClient.allow("https://static.structurizr.com/.*");
+
+        try {
+            httpClient.get(url);
+            fail();
+        } catch (HttpClientException e) {
+            assertEquals("Access to " + url + " is not permitted", e.getMessage());
+        }
+    }
+
+    @Test
+    void get_ThrowsAnException_WhenTheContentCannotBeFound() {
+        HttpClient httpClient = new HttpClient();
+        httpClient.allow(".*");
+
+        String notFoundUrl = "http://localhost:" + server.getAddress().getPort() + "/not-found.json";
+        try {
+            httpClient.get(notFoundUrl);
+            fail();
+        } catch (HttpClientException e) {
+            assertEquals("The content from " + notFoundUrl + " could not be loaded: The content from " + notFoundUrl + " could not be loaded: HTTP status=404", e.getMessage());
+        }
+    }
+
+    @Test
+    void get_DoesNotCacheContent_WhenCachingIsDisabled() {
+        HttpClient httpClient = new HttpClient();
+        httpClient.allow("http://localhost:.*");
+
+        assertEquals(CONTENT, httpClient.get(url).getContentAsString());
+        assertEquals(CONTENT, httpClient.get(url).getContentAsString());
+        assertEquals(2, okResponses.get());
+    }
+
+    @Test
+    void get_CachesContentInMemory_WhenCachingIsEnabled() {
+        HttpClient httpClient = new HttpClient();
+        httpClient.allow("http://localhost:.*");
+
+        RemoteContent content = httpClient.get(url, true);
+        assertEquals(CONTENT, content.getContentAsString());
+        assertEquals("application/json; charset=utf-8", content.getContentType());
+        assertSame(content, httpClient.get(url, true));
+        assertEquals(1, okResponses.get());
+    }
+
+    @Test
+    void get_RevalidatesContentInTheCacheDirectory(@TempDir File cacheDirectory) throws Exception {
+        HttpClient httpClient = new HttpClient();
+        httpClient.allow("http://localhost:.*");
+        httpClient.setCacheDirectory(cacheDirectory);
+        assertEquals(CONTENT, httpClient.get(url, true).getContentAsString());
+        assertEquals(1, okResponses.get());
+        assertEquals(0, notModifiedResponses.get());
+
+        // the content and its metadata are stored in a single file
+        assertEquals(1, cacheDirectory.listFiles().length);
+
+        // and a new client (e.g. the next CLI run) revalidates the content rather than downloading it again
+        httpClient = new HttpClient();
+        httpClient.allow("http://localhost:.*");
+        httpClient.setCacheDirectory(cacheDirectory);
+        RemoteContent content = httpClient.get(url, true);
+        assertEquals(CONTENT, content.getContentAsString());
+        assertEquals("application/json; charset=utf-8", content.getContentType());
+        assertEquals(1, okResponses.get());
+        assertEquals(1, notModifiedResponses.get());
+    }
+
+    @Test
+    void get_DoesNotUseTheCacheDirectory_WhenCachingIsDisabled(@TempDir File cacheDirectory) {
+        HttpClient httpClient = new HttpClient();
+        httpClient.allow("http://localhost:.*");
+        httpClient.setCacheDirectory(cacheDirectory);
+        assertEquals(CONTENT, httpClient.get(url).getContentAsString());
+        assertEquals(0, cacheDirectory.listFiles().length);
+
+        // content cached by an earlier request with caching enabled isn't used either
+        assertEquals(CONTENT, httpClient.get(url, true).getContentAsString());
+        httpClient = new HttpClient();
+        httpClient.allow("http://localhost:.*");
+        httpClient.setCacheDirectory(cacheDirectory);
+        assertEquals(CONTENT, httpClient.get(url).getContentAsString());
+        assertEquals(3, okResponses.get());
+        assertEquals(0, notModifiedResponses.get());
+    }
+
+    @Test
+    void setCacheDirectory_ThrowsAnException_WhenAFileIsSpecified(@TempDir File directory) throws Exception {
+        File file = new File(directory, "file.txt");
+        Files.writeString(file.toPath(), "");
+
+        try {
+            new HttpClient().setCacheDirectory(file);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals(file.getAbsolutePath() + " is not a directory", iae.getMessage());
+        }
+    }
+
     @Test
     @Tag("IntegrationTest")
     void get_WhenNoAllowedUrlsAreConfigured() {
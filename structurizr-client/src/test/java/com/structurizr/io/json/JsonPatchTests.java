@@ -0,0 +1,97 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.structurizr.Workspace;
+import com.structurizr.model.Container;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.util.WorkspaceUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonPatchTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void diff_ReturnsAnEmptyPatch_WhenTheDocumentsAreTheSame() throws Exception {
+        assertEquals("[]", JsonPatch.diff("{\"a\":[1,2,{\"b\":true}]}", "{\"a\":[1,2,{\"b\":true}]}"));
+    }
+
+    @Test
+    void diff_CreatesAddRemoveAndReplaceOperations() throws Exception {
+        String patch = JsonPatch.diff("{\"a\":1,\"b\":2,\"c/d\":3}", "{\"a\":1,\"b\":\"two\",\"e~f\":4}");
+
+        assertEquals("[{\"op\":\"remove\",\"path\":\"/c~1d\"},{\"op\":\"replace\",\"path\":\"/b\",\"value\":\"two\"},{\"op\":\"add\",\"path\":\"/e~0f\",\"value\":4}]", patch);
+    }
+
+    @Test
+    void diff_OnlyIncludesTheChangedArrayElements() throws Exception {
+        assertEquals("[{\"op\":\"add\",\"path\":\"/2\",\"value\":\"x\"}]", JsonPatch.diff("[0,1,2,3]", "[0,1,\"x\",2,3]"));
+        assertEquals("[{\"op\":\"remove\",\"path\":\"/1\"}]", JsonPatch.diff("[0,1,2,3]", "[0,2,3]"));
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/1/name\",\"value\":\"B\"}]", JsonPatch.diff("[{\"name\":\"a\"},{\"name\":\"b\"}]", "[{\"name\":\"a\"},{\"name\":\"B\"}]"));
+    }
+
+    @Test
+    void apply_AppliesThePatch() throws Exception {
+        assertPatchRoundTrips("{\"a\":1,\"b\":[1,2,3],\"c\":{\"d\":\"e\"}}", "{\"b\":[3,2,1,0],\"c\":{\"d\":\"f\",\"g\":null},\"h/i\":[]}");
+        assertPatchRoundTrips("[0,1,2,3,4,5]", "[0,5]");
+        assertPatchRoundTrips("[0,1,2,3,4,5]", "[9,8,1,2,3,4,5,6,7]");
+        assertPatchRoundTrips("{\"a\":1}", "[1]");
+    }
+
+    @Test
+    void apply_AppliesAPatchCreatedFromChangesToAWorkspace() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        for (int i = 0; i < 10; i++) {
+            SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System " + i);
+            softwareSystem.addContainer("Container " + i);
+        }
+        workspace.getViews().createDefaultViews();
+        String base = WorkspaceUtils.toJson(workspace, true);
+
+        workspace.getModel().getSoftwareSystemWithName("Software System 3").setDescription("Description");
+        Container container = workspace.getModel().getSoftwareSystemWithName("Software System 5").addContainer("New Container");
+        workspace.getModel().getSoftwareSystemWithName("Software System 7").getContainerWithName("Container 7").uses(container, "Uses");
+        workspace.getModel().getSoftwareSystemWithName("Software System 8").addTags("Tag");
+        String json = WorkspaceUtils.toJson(workspace, false);
+
+        String patch = JsonPatch.diff(base, json);
+        assertTrue(patch.length() < json.length() / 4);
+
+        Workspace patchedWorkspace = WorkspaceUtils.fromJson(JsonPatch.apply(base, patch));
+        assertEquals(json, WorkspaceUtils.toJson(patchedWorkspace, false));
+    }
+
+    @Test
+    void apply_ThrowsAnException_WhenThePathDoesNotExist() {
+        try {
+            JsonPatch.apply("{\"a\":{}}", "[{\"op\":\"remove\",\"path\":\"/a/b\"}]");
+            fail();
+        } catch (Exception e) {
+            assertEquals("The path /a/b does not exist.", e.getMessage());
+        }
+    }
+
+    @Test
+    void apply_ThrowsAnException_WhenTheOperationIsNotSupported() {
+        try {
+            JsonPatch.apply("{\"a\":1}", "[{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/b\"}]");
+            fail();
+        } catch (Exception e) {
+            assertEquals("The JSON Patch operation \"move\" is not supported.", e.getMessage());
+        }
+    }
+
+    @Test
+    void hash() {
+        assertEquals("44136fa355b3678a1146ad16f7e8649e94fb4fc21fe77e8310c060f61caaff8a", JsonPatch.hash("{}"));
+        assertNotEquals(JsonPatch.hash("{}"), JsonPatch.hash("{ }"));
+    }
+
+    private void assertPatchRoundTrips(String source, String target) throws Exception {
+        String patch = JsonPatch.diff(source, target);
+        assertEquals(objectMapper.readTree(target), objectMapper.readTree(JsonPatch.apply(source, patch)));
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.configuration.WorkspaceScope;
+import com.structurizr.documentation.Format;
+import com.structurizr.documentation.Image;
+import com.structurizr.documentation.Section;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.model.Person;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.Shape;
+import com.structurizr.view.SystemContextView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonReaderTests {
+
+    private String json;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.setThumbnail("iVBORw0KGgo=");
+        workspace.addProperty("documentation", "value");
+        workspace.getConfiguration().setScope(WorkspaceScope.Landscape);
+        Person user = workspace.getModel().addPerson("User");
+        SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System");
+        softwareSystem.addProperty("documentation", "value");
+        user.uses(softwareSystem, "Uses");
+
+        workspace.getDocumentation().addSection(new Section(Format.Markdown, "## Workspace"));
+        workspace.getDocumentation().addImage(new Image("diagram.png", "image/png", "iVBORw0KGgo="));
+        softwareSystem.getDocumentation().addSection(new Section(Format.Markdown, "## Software System"));
+        softwareSystem.getDocumentation().addImage(new Image("diagram.png", "image/png", "iVBORw0KGgo="));
+
+        SystemContextView view = workspace.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addDefaultElements();
+        workspace.getViews().getConfiguration().getStyles().addElementStyle("Person").shape(Shape.Person);
+
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+        json = stringWriter.toString();
+    }
+
+    @Test
+    void read_WhenNothingIsSkipped() throws Exception {
+        Workspace workspace = new JsonReader().read(new StringReader(json));
+
+        assertEquals(json, toJson(workspace));
+    }
+
+    @Test
+    void read_WhenTheModelIsSkipped() throws Exception {
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.skip(WorkspaceSection.Model);
+        Workspace workspace = jsonReader.read(new StringReader(json));
+
+        assertEquals("Name", workspace.getName());
+        assertEquals("Description", workspace.getDescription());
+        assertEquals(WorkspaceScope.Landscape, workspace.getConfiguration().getScope());
+        assertTrue(workspace.getModel().isEmpty());
+        assertTrue(workspace.getViews().isEmpty());
+        assertEquals(1, workspace.getDocumentation().getSections().size());
+    }
+
+    @Test
+    void read_WhenTheViewsAreSkipped() throws Exception {
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.skip(WorkspaceSection.Views);
+        Workspace workspace = jsonReader.read(new StringReader(json));
+
+        assertEquals(2, workspace.getModel().getElements().size());
+        assertEquals(1, workspace.getModel().getRelationships().size());
+        assertTrue(workspace.getViews().isEmpty());
+        assertTrue(workspace.getViews().getConfiguration().getStyles().getElements().isEmpty());
+    }
+
+    @Test
+    void read_WhenTheDocumentationIsSkipped() throws Exception {
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.skip(WorkspaceSection.Documentation);
+        Workspace workspace = jsonReader.read(new StringReader(json));
+
+        assertNull(workspace.getDocumentation());
+        SoftwareSystem softwareSystem = workspace.getModel().getSoftwareSystemWithName("Software System");
+        assertTrue(softwareSystem.getDocumentation().isEmpty());
+        assertEquals("value", softwareSystem.getProperties().get("documentation"));
+        assertEquals("value", workspace.getProperties().get("documentation"));
+        assertEquals(1, workspace.getViews().getSystemContextViews().size());
+    }
+
+    @Test
+    void read_WhenImagesAreSkipped() throws Exception {
+        JsonReader jsonReader = new JsonReader();
+        jsonReader.skip(WorkspaceSection.Images);
+        Workspace workspace = jsonReader.read(new StringReader(json));
+
+        assertNull(workspace.getThumbnail());
+        assertEquals(1, workspace.getDocumentation().getSections().size());
+        assertTrue(workspace.getDocumentation().getImages().isEmpty());
+
+        SoftwareSystem softwareSystem = workspace.getModel().getSoftwareSystemWithName("Software System");
+        assertEquals(1, softwareSystem.getDocumentation().getSections().size());
+        assertTrue(softwareSystem.getDocumentation().getImages().isEmpty());
+        assertEquals(1, workspace.getViews().getSystemContextViews().size());
+        assertEquals(1, workspace.getViews().getConfiguration().getStyles().getElements().size());
+    }
+
+    @Test
+    void skip_ThrowsAnException_WhenNullIsSpecified() {
+        try {
+            new JsonReader().skip((WorkspaceSection[])null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("One or more workspace sections must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    void readFromStream_ThrowsAWorkspaceReaderException_WhenTheJsonIsInvalid() {
+        try {
+            new JsonReader().readFromStream(new ByteArrayInputStream("{\"name\":".getBytes(StandardCharsets.UTF_8)));
+            fail();
+        } catch (WorkspaceReaderException e) {
+            assertEquals("Could not read JSON", e.getMessage());
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+    }
+
+    private String toJson(Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+}
@@ -4,6 +4,8 @@ import com.structurizr.Workspace;
 import com.structurizr.model.*;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.UUID;
@@ -30,6 +32,21 @@ public class JsonTests {
         assertEquals("Description", workspace2.getDescription());
     }
 
+    @Test
+    void write_and_read_usingStreams() throws Exception {
+        final Workspace workspace1 = new Workspace("Name", "Description");
+        workspace1.getModel().addPerson("User").uses(workspace1.getModel().addSoftwareSystem("Software System"), "Uses");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new JsonWriter(false).writeToStream(workspace1, outputStream);
+
+        final Workspace workspace2 = new JsonReader().readFromStream(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals("Name", workspace2.getName());
+        assertEquals("Description", workspace2.getDescription());
+        assertEquals(1, workspace2.getModel().getRelationships().size());
+        assertNotNull(workspace2.getModel().getPersonWithName("User"));
+    }
+
     @Test
     void backwardsCompatibilityOfRenamingEnterpriseContextViewsToSystemLandscapeViews() throws Exception {
         Workspace workspace = new Workspace("Name", "Description");
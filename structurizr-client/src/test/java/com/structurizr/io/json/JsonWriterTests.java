@@ -3,9 +3,11 @@ package com.structurizr.io.json;
 import com.structurizr.Workspace;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.StringWriter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class JsonWriterTests {
@@ -33,4 +35,48 @@ public class JsonWriterTests {
         }
     }
 
+    @Test
+    void writeToStream_ThrowsAnIllegalArgumentException_WhenANullOutputStreamIsSpecified() throws Exception {
+        try {
+            JsonWriter writer = new JsonWriter(true);
+            Workspace workspace = new Workspace("Name", "Description");
+            writer.writeToStream(workspace, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("OutputStream cannot be null.", e.getMessage());
+        }
+    }
+
+    @Test
+    void write_DoesNotCloseTheWriter() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        StringWriter stringWriter = new StringWriter() {
+            @Override
+            public void close() {
+                fail();
+            }
+        };
+
+        new JsonWriter(false).write(workspace, stringWriter);
+        stringWriter.write("\n");
+
+        assertTrue(stringWriter.toString().startsWith("{"));
+        assertTrue(stringWriter.toString().endsWith("}\n"));
+    }
+
+    @Test
+    void write_WritesTheSameJsonToAWriterAndAnOutputStream() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description \u00e9");
+        workspace.getModel().addPerson("User");
+        JsonWriter jsonWriter = new JsonWriter(true);
+
+        StringWriter stringWriter = new StringWriter();
+        jsonWriter.write(workspace, stringWriter);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        jsonWriter.writeToStream(workspace, outputStream);
+
+        assertEquals(stringWriter.toString(), outputStream.toString("UTF-8"));
+    }
+
 }
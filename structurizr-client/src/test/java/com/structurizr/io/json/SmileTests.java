@@ -0,0 +1,87 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.*;
+import com.structurizr.view.SystemContextView;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmileTests {
+
+    @Test
+    void write_and_read() throws Exception {
+        Workspace workspace1 = new Workspace("Name", "Description");
+        Person user = workspace1.getModel().addPerson("User");
+        SoftwareSystem softwareSystem = workspace1.getModel().addSoftwareSystem("Software System");
+        softwareSystem.addTags("Tag 1", "Tag 2");
+        softwareSystem.addProperty("name", "value");
+        user.uses(softwareSystem, "Uses");
+        SystemContextView view = workspace1.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addDefaultElements();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new SmileWriter().writeToStream(workspace1, outputStream);
+        Workspace workspace2 = new SmileReader().readFromStream(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertEquals("Name", workspace2.getName());
+        assertEquals(2, workspace2.getModel().getElements().size());
+        assertEquals(1, workspace2.getModel().getRelationships().size());
+        assertEquals("value", workspace2.getModel().getSoftwareSystemWithName("Software System").getProperties().get("name"));
+        assertSame(workspace2.getModel().getSoftwareSystemWithName("Software System"), workspace2.getViews().getSystemContextViews().iterator().next().getSoftwareSystem());
+
+        // the workspace should be the same as it would be if it had been written/read as JSON
+        assertEquals(toJson(workspace1), toJson(workspace2));
+    }
+
+    @Test
+    void write_IsSmallerThanJson() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        for (int i = 0; i < 100; i++) {
+            SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System " + i);
+            softwareSystem.addTags("Internal");
+            softwareSystem.addProperty("owner", "Team");
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new SmileWriter().writeToStream(workspace, outputStream);
+
+        assertTrue(outputStream.size() < toJson(workspace).length());
+    }
+
+    @Test
+    void transcode_ConvertsJsonToSmileAndBack() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.getModel().addPerson("User").uses(workspace.getModel().addSoftwareSystem("Software System"), "Uses");
+        String json = toJson(workspace);
+
+        byte[] smile = SmileTranscoder.toSmile(json);
+        assertEquals(json, toJson(new SmileReader().readFromStream(new ByteArrayInputStream(smile))));
+        assertEquals(json, SmileTranscoder.toJson(smile));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new SmileWriter().writeToStream(workspace, outputStream);
+        assertEquals(json, SmileTranscoder.toJson(outputStream.toByteArray()));
+    }
+
+    @Test
+    void transcode_ThrowsAnException_WhenTheDocumentIsInvalid() {
+        assertThrows(IOException.class, () -> SmileTranscoder.toSmile("{\"name\":"));
+        assertThrows(IOException.class, () -> SmileTranscoder.toSmile(""));
+        assertThrows(IOException.class, () -> SmileTranscoder.toSmile("{} {}"));
+        assertThrows(IOException.class, () -> SmileTranscoder.toJson(new byte[] { 1, 2, 3 }));
+    }
+
+    private String toJson(Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+}
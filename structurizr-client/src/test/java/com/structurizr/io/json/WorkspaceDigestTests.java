@@ -0,0 +1,188 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.documentation.Format;
+import com.structurizr.documentation.Section;
+import com.structurizr.model.Container;
+import com.structurizr.model.Person;
+import com.structurizr.model.Relationship;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.util.WorkspaceUtils;
+import com.structurizr.view.SystemContextView;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceDigestTests {
+
+    private Workspace createWorkspace() {
+        Workspace workspace = new Workspace("Name", "Description");
+        Person user = workspace.getModel().addPerson("User");
+        SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System");
+        softwareSystem.addProperty("name1", "value1");
+        softwareSystem.addProperty("name2", "value2");
+        Container webApplication = softwareSystem.addContainer("Web Application");
+        Container database = softwareSystem.addContainer("Database");
+        user.uses(webApplication, "Uses");
+        webApplication.uses(database, "Reads from and writes to");
+        workspace.getViews().createDefaultViews();
+        workspace.getDocumentation().addSection(new Section(Format.Markdown, "## Section"));
+
+        return workspace;
+    }
+
+    @Test
+    void of_ThrowsAnException_WhenANullWorkspaceIsSpecified() {
+        try {
+            WorkspaceDigest.of((Workspace)null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A workspace must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void of_ThrowsAnException_WhenNullJsonIsSpecified() throws Exception {
+        try {
+            WorkspaceDigest.of((String)null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A JSON document must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void of_ReturnsTheSameDigests_ForIdenticalWorkspaces() throws Exception {
+        Workspace workspace = createWorkspace();
+        WorkspaceDigest digest = WorkspaceDigest.of(workspace);
+
+        assertEquals(64, digest.getDigest().length());
+        assertEquals(digest, WorkspaceDigest.of(createWorkspace()));
+
+        // the JSON, and a workspace parsed from it, have the same digests
+        String json = WorkspaceUtils.toJson(workspace, true);
+        assertEquals(digest, WorkspaceDigest.of(json));
+        assertEquals(digest, WorkspaceDigest.of(WorkspaceUtils.fromJson(json)));
+        assertEquals(digest.getElementDigest("2"), WorkspaceDigest.of(json).getElementDigest("2"));
+        assertEquals(digest.getViewsDigest(), WorkspaceDigest.of(json).getViewsDigest());
+    }
+
+    @Test
+    void of_IgnoresPropertyAndSetOrdering() throws Exception {
+        String json1 = "{ \"name\": \"Name\", \"model\": { \"people\": [ { \"id\": \"1\", \"name\": \"A\", \"tags\": \"Element,Person\" }, { \"id\": \"2\", \"name\": \"B\" } ] } }";
+        String json2 = "{ \"model\": { \"people\": [ { \"name\": \"B\", \"id\": \"2\" }, { \"tags\": \"Element,Person\", \"name\": \"A\", \"id\": \"1\" } ] }, \"name\": \"Name\" }";
+        String json3 = "{ \"model\": { \"people\": [ { \"name\": \"B\", \"id\": \"2\" }, { \"tags\": \"Person,Element\", \"name\": \"A\", \"id\": \"1\" } ] }, \"name\": \"Name\" }";
+
+        assertEquals(WorkspaceDigest.of(json1), WorkspaceDigest.of(json2));
+        assertNotEquals(WorkspaceDigest.of(json1), WorkspaceDigest.of(json3));
+    }
+
+    @Test
+    void of_IgnoresTheOrderOfElementsAndRelationshipsOnAStaticView() throws Exception {
+        String json1 = "{ \"views\": { \"systemLandscapeViews\": [ { \"key\": \"a\", \"elements\": [ { \"id\": \"1\" }, { \"id\": \"2\" } ], \"relationships\": [ { \"id\": \"3\" }, { \"id\": \"4\" } ] } ] } }";
+        String json2 = "{ \"views\": { \"systemLandscapeViews\": [ { \"key\": \"a\", \"elements\": [ { \"id\": \"2\" }, { \"id\": \"1\" } ], \"relationships\": [ { \"id\": \"4\" }, { \"id\": \"3\" } ] } ] } }";
+
+        assertEquals(WorkspaceDigest.of(json1), WorkspaceDigest.of(json2));
+    }
+
+    @Test
+    void of_IncludesTheOrderOfViews() throws Exception {
+        String json1 = "{ \"views\": { \"systemLandscapeViews\": [ { \"key\": \"a\" }, { \"key\": \"b\" } ] } }";
+        String json2 = "{ \"views\": { \"systemLandscapeViews\": [ { \"key\": \"b\" }, { \"key\": \"a\" } ] } }";
+
+        assertNotEquals(WorkspaceDigest.of(json1), WorkspaceDigest.of(json2));
+        assertNotEquals(WorkspaceDigest.of(json1).getViewsDigest(), WorkspaceDigest.of(json2).getViewsDigest());
+    }
+
+    @Test
+    void of_IncludesTheOrderOfRelationshipsOnADynamicView() throws Exception {
+        String json1 = "{ \"views\": { \"dynamicViews\": [ { \"key\": \"a\", \"relationships\": [ { \"id\": \"3\", \"order\": \"1\" }, { \"id\": \"4\", \"order\": \"1\" } ] } ] } }";
+        String json2 = "{ \"views\": { \"dynamicViews\": [ { \"key\": \"a\", \"relationships\": [ { \"id\": \"4\", \"order\": \"1\" }, { \"id\": \"3\", \"order\": \"1\" } ] } ] } }";
+
+        assertNotEquals(WorkspaceDigest.of(json1), WorkspaceDigest.of(json2));
+        assertNotEquals(WorkspaceDigest.of(json1).getViewDigest("a"), WorkspaceDigest.of(json2).getViewDigest("a"));
+    }
+
+    @Test
+    void of_IgnoresWorkspaceMetadata() {
+        Workspace workspace = createWorkspace();
+        WorkspaceDigest digest = WorkspaceDigest.of(workspace);
+
+        workspace.setId(1234);
+        workspace.setLastModifiedDate(new Date());
+        workspace.setLastModifiedUser("user@example.com");
+        workspace.setLastModifiedAgent("agent");
+
+        assertEquals(digest, WorkspaceDigest.of(workspace));
+        assertEquals(digest.getDigest(), WorkspaceDigest.of(workspace).getDigest());
+    }
+
+    @Test
+    void of_IncludesTheThumbnail() {
+        Workspace workspace = createWorkspace();
+        WorkspaceDigest digest = WorkspaceDigest.of(workspace);
+
+        workspace.setThumbnail("data:image/png;base64,iVBORw0KGgo=");
+
+        assertNotEquals(digest, WorkspaceDigest.of(workspace));
+    }
+
+    @Test
+    void getChangedElements_ReturnsTheElementsThatHaveChanged() {
+        Workspace workspace = createWorkspace();
+        WorkspaceDigest previous = WorkspaceDigest.of(workspace);
+
+        Container webApplication = workspace.getModel().getSoftwareSystemWithName("Software System").getContainerWithName("Web Application");
+        webApplication.setTechnology("Java");
+        Person admin = workspace.getModel().addPerson("Admin");
+        WorkspaceDigest current = WorkspaceDigest.of(workspace);
+
+        assertNotEquals(previous, current);
+        assertNotEquals(previous.getModelDigest(), current.getModelDigest());
+        assertEquals(previous.getViewsDigest(), current.getViewsDigest());
+        assertEquals(previous.getDocumentationDigest(), current.getDocumentationDigest());
+
+        assertEquals(Set.of(webApplication.getId(), admin.getId()), current.getChangedElements(previous));
+        assertEquals(Set.of(webApplication.getId(), admin.getId()), previous.getChangedElements(current));
+        assertEquals(Set.of(), current.getChangedRelationships(previous));
+        assertEquals(Set.of(), current.getChangedViews(previous));
+
+        // the software system digest excludes the containers
+        SoftwareSystem softwareSystem = workspace.getModel().getSoftwareSystemWithName("Software System");
+        assertEquals(previous.getElementDigest(softwareSystem.getId()), current.getElementDigest(softwareSystem.getId()));
+        assertNull(previous.getElementDigest(admin.getId()));
+    }
+
+    @Test
+    void getChangedRelationships_ReturnsTheRelationshipsThatHaveChanged() {
+        Workspace workspace = createWorkspace();
+        WorkspaceDigest previous = WorkspaceDigest.of(workspace);
+
+        Relationship relationship = workspace.getModel().getRelationships().stream().filter(r -> r.getDescription().equals("Uses")).findFirst().get();
+        relationship.setTechnology("HTTPS");
+        WorkspaceDigest current = WorkspaceDigest.of(workspace);
+
+        assertEquals(Set.of(relationship.getId()), current.getChangedRelationships(previous));
+        assertEquals(Set.of(), current.getChangedElements(previous));
+        assertNotEquals(previous.getRelationshipDigest(relationship.getId()), current.getRelationshipDigest(relationship.getId()));
+    }
+
+    @Test
+    void getChangedViews_ReturnsTheViewsThatHaveChanged() {
+        Workspace workspace = createWorkspace();
+        WorkspaceDigest previous = WorkspaceDigest.of(workspace);
+
+        SystemContextView view = workspace.getViews().getSystemContextViews().iterator().next();
+        view.setDescription("Description");
+        WorkspaceDigest current = WorkspaceDigest.of(workspace);
+
+        assertEquals(Set.of(view.getKey()), current.getChangedViews(previous));
+        assertEquals(previous.getModelDigest(), current.getModelDigest());
+        assertNotEquals(previous.getViewsDigest(), current.getViewsDigest());
+        assertNotEquals(previous, current);
+    }
+
+}
@@ -2,17 +2,23 @@ package com.structurizr.view;
 
 import com.structurizr.Workspace;
 import com.structurizr.http.HttpClient;
+import com.structurizr.http.HttpClientException;
 import com.structurizr.model.Relationship;
 import com.structurizr.model.SoftwareSystem;
 import com.structurizr.model.Tags;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -280,4 +286,179 @@ public class ThemeUtilsTests {
         assertEquals("#ff0000", workspace.getViews().getConfiguration().getStyles().getRelationshipStyle("Red").getColor());
     }
 
-}
\ No newline at end of file
+    @Test
+    void inlineStylesUsedFromInstalledThemes_OnlyInlinesTheStylesForTagsUsedInTheModel() throws Exception {
+        File themesDirectory = Files.createTempDirectory(this.getClass().getSimpleName()).toFile();
+        themesDirectory.deleteOnExit();
+
+        Workspace theme1 = new Workspace("Theme 1");
+        theme1.getViews().getConfiguration().getStyles().addElementStyle("Red").color("#ff0000").shape(Shape.Box);
+        theme1.getViews().getConfiguration().getStyles().addElementStyle("Blue").color("#0000ff");
+        theme1.getViews().getConfiguration().getStyles().addRelationshipStyle("Dashed").dashed(true);
+        String themeName1 = UUID.randomUUID().toString();
+        new File(themesDirectory, themeName1).mkdir();
+        ThemeUtils.toJson(theme1, new File(new File(themesDirectory, themeName1), "theme.json"));
+
+        Workspace theme2 = new Workspace("Theme 2");
+        theme2.getViews().getConfiguration().getStyles().addElementStyle("Red").color("#aa0000");
+        String themeName2 = UUID.randomUUID().toString();
+        new File(themesDirectory, themeName2).mkdir();
+        ThemeUtils.toJson(theme2, new File(new File(themesDirectory, themeName2), "theme.json"));
+
+        Workspace workspace = new Workspace("Name");
+        SoftwareSystem a = workspace.getModel().addSoftwareSystem("A");
+        a.addTags("Red");
+        SoftwareSystem b = workspace.getModel().addSoftwareSystem("B");
+        a.uses(b, "Uses");
+        workspace.getViews().getConfiguration().getStyles().addElementStyle("Green").color("#00ff00");
+
+        ThemeUtils.installThemes(themesDirectory);
+        workspace.getViews().getConfiguration().addTheme(themeName1);
+        workspace.getViews().getConfiguration().addTheme(themeName2);
+
+        ThemeUtils.inlineStylesUsedFromInstalledThemes(workspace);
+        assertEquals(0, workspace.getViews().getConfiguration().getThemes().length);
+
+        // the unused "Blue" and "Dashed" styles aren't inlined, and the workspace's own "Green" style is left as-is
+        Styles styles = workspace.getViews().getConfiguration().getStyles();
+        assertEquals(2, styles.getElements().size());
+        assertEquals(0, styles.getRelationships().size());
+        assertEquals("#00ff00", styles.getElementStyle("Green").getColor());
+
+        // the styles from both themes are inlined, in order, so the last theme takes precedence
+        assertEquals("#aa0000", styles.getElementStyle("Red").getColor());
+        assertEquals(Shape.Box, styles.getElementStyle("Red").getShape());
+    }
+
+    @Test
+    void loadThemes_CachesParsedThemesBetweenWorkspaces() throws Exception {
+        ThemeUtils.clearThemeCache();
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = startServer(requests, 0, "#ff0000");
+
+        try {
+            String url = "http://localhost:" + server.getAddress().getPort() + "/themes/theme.json";
+            HttpClient httpClient = new HttpClient();
+            httpClient.allow(".*");
+
+            for (int i = 0; i < 2; i++) {
+                Workspace workspace = new Workspace("Name", "Description");
+                SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Name");
+                softwareSystem.addTags("Tag");
+                workspace.getViews().getConfiguration().setThemes(url);
+                ThemeUtils.loadThemes(workspace, httpClient);
+
+                ElementStyle style = workspace.getViews().getConfiguration().getStyles().findElementStyle(softwareSystem);
+                assertEquals("#ff0000", style.getBackground());
+                assertEquals("http://localhost:" + server.getAddress().getPort() + "/themes/icon.png", style.getIcon());
+            }
+
+            assertEquals(1, requests.get());
+        } finally {
+            server.stop(0);
+            ThemeUtils.clearThemeCache();
+        }
+    }
+
+    @Test
+    void loadThemes_DoesNotCacheThemesInTheHttpClientCacheDirectory() throws Exception {
+        ThemeUtils.clearThemeCache();
+        HttpServer server = startServer(new AtomicInteger(), 0, "#ff0000");
+        File cacheDirectory = Files.createTempDirectory(this.getClass().getSimpleName()).toFile();
+        cacheDirectory.deleteOnExit();
+
+        try {
+            HttpClient httpClient = new HttpClient();
+            httpClient.allow(".*");
+            httpClient.setCacheDirectory(cacheDirectory);
+
+            Workspace workspace = new Workspace("Name", "Description");
+            workspace.getViews().getConfiguration().setThemes("http://localhost:" + server.getAddress().getPort() + "/themes/theme.json");
+            ThemeUtils.loadThemes(workspace, httpClient);
+
+            // parsed themes are only cached by ThemeUtils
+            assertEquals(0, cacheDirectory.listFiles().length);
+        } finally {
+            server.stop(0);
+            ThemeUtils.clearThemeCache();
+        }
+    }
+
+    @Test
+    void loadThemes_ThrowsAnException_WhenACachedThemeIsNotAllowed() throws Exception {
+        ThemeUtils.clearThemeCache();
+        HttpServer server = startServer(new AtomicInteger(), 0, "#ff0000");
+
+        try {
+            String url = "http://localhost:" + server.getAddress().getPort() + "/themes/theme.json";
+            HttpClient httpClient = new HttpClient();
+            httpClient.allow(".*");
+
+            Workspace workspace = new Workspace("Name", "Description");
+            workspace.getViews().getConfiguration().setThemes(url);
+            ThemeUtils.loadThemes(workspace, httpClient);
+
+            workspace = new Workspace("Name", "Description");
+            workspace.getViews().getConfiguration().setThemes(url);
+            ThemeUtils.loadThemes(workspace, new HttpClient());
+            fail();
+        } catch (HttpClientException e) {
+            assertEquals("Access to http://localhost:" + server.getAddress().getPort() + "/themes/theme.json is not permitted", e.getMessage());
+        } finally {
+            server.stop(0);
+            ThemeUtils.clearThemeCache();
+        }
+    }
+
+    @Test
+    void loadThemes_AddsThemesInTheOrderTheyAreDefined() throws Exception {
+        ThemeUtils.clearThemeCache();
+        HttpServer slowServer = startServer(new AtomicInteger(), 500, "#ff0000");
+        HttpServer fastServer = startServer(new AtomicInteger(), 0, "#00ff00");
+
+        try {
+            Workspace workspace = new Workspace("Name", "Description");
+            SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Name");
+            softwareSystem.addTags("Tag");
+            workspace.getViews().getConfiguration().setThemes(
+                    "http://localhost:" + slowServer.getAddress().getPort() + "/themes/theme.json",
+                    "http://localhost:" + fastServer.getAddress().getPort() + "/themes/theme.json"
+            );
+
+            HttpClient httpClient = new HttpClient();
+            httpClient.allow(".*");
+            ThemeUtils.loadThemes(workspace, httpClient);
+
+            // the style from the last theme takes precedence, even though it was loaded first
+            assertEquals("#00ff00", workspace.getViews().getConfiguration().getStyles().findElementStyle(softwareSystem).getBackground());
+        } finally {
+            slowServer.stop(0);
+            fastServer.stop(0);
+            ThemeUtils.clearThemeCache();
+        }
+    }
+
+    private HttpServer startServer(AtomicInteger requests, long delayInMilliseconds, String background) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/themes/theme.json", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delayInMilliseconds);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            String json = "{ \"name\": \"Theme\", \"elements\": [ { \"tag\": \"Tag\", \"background\": \"" + background + "\", \"icon\": \"icon.png\" } ] }";
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bytes);
+            }
+        });
+        server.start();
+
+        return server;
+    }
+
+}
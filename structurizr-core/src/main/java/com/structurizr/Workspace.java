@@ -223,7 +223,7 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
     }
 
     void remove(SoftwareSystem softwareSystem) {
-        Set<SoftwareSystemInstance> softwareSystemInstances = model.getElements().stream().filter(e -> e instanceof SoftwareSystemInstance && ((SoftwareSystemInstance)e).getSoftwareSystem() == softwareSystem).map(e -> (SoftwareSystemInstance)e).collect(Collectors.toSet());
+        Set<SoftwareSystemInstance> softwareSystemInstances = model.getElementsOfType(SoftwareSystemInstance.class).stream().filter(ssi -> ssi.getSoftwareSystem() == softwareSystem).collect(Collectors.toSet());
         for (SoftwareSystemInstance softwareSystemInstance : softwareSystemInstances) {
             remove(softwareSystemInstance);
         }
@@ -233,7 +233,7 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
         }
 
         boolean hasContainers = softwareSystem.hasContainers();
-        boolean hasSoftwareSystemInstances = model.getElements().stream().anyMatch(e -> e instanceof SoftwareSystemInstance && ((SoftwareSystemInstance)e).getSoftwareSystem() == softwareSystem);
+        boolean hasSoftwareSystemInstances = model.getElementsView().stream().anyMatch(e -> e instanceof SoftwareSystemInstance && ((SoftwareSystemInstance)e).getSoftwareSystem() == softwareSystem);
         if (!hasContainers && !hasSoftwareSystemInstances && !softwareSystem.hasRelationships() && !isElementAssociatedWithAnyViews(softwareSystem)) {
             try {
                 Method method = Model.class.getDeclaredMethod("remove", SoftwareSystem.class);
@@ -251,13 +251,13 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
         }
 
         if (!isElementAssociatedWithAnyViews(container)) {
-            Set<ContainerInstance> containerInstances = model.getElements().stream().filter(e -> e instanceof ContainerInstance && ((ContainerInstance)e).getContainer() == container).map(e -> (ContainerInstance)e).collect(Collectors.toSet());
+            Set<ContainerInstance> containerInstances = model.getElementsOfType(ContainerInstance.class).stream().filter(ci -> ci.getContainer() == container).collect(Collectors.toSet());
             for (ContainerInstance containerInstance : containerInstances) {
                 remove(containerInstance);
             }
 
             boolean hasComponents = container.hasComponents();
-            boolean hasContainerInstances = model.getElements().stream().anyMatch(e -> e instanceof ContainerInstance && ((ContainerInstance)e).getContainer() == container);
+            boolean hasContainerInstances = model.getElementsView().stream().anyMatch(e -> e instanceof ContainerInstance && ((ContainerInstance)e).getContainer() == container);
             if (!hasComponents && !hasContainerInstances && !container.hasRelationships() && !isElementAssociatedWithAnyViews(container)) {
                 try {
                     Method method = Model.class.getDeclaredMethod("remove", Container.class);
@@ -351,7 +351,7 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
         }
 
         // 1. find all relationships where the specified relationship is the linked relationship - these need to be removed first
-        Set<Relationship> linkedRelationships = getModel().getRelationships().stream().filter(r -> relationship.getId().equals(r.getLinkedRelationshipId())).collect(Collectors.toSet());
+        Set<Relationship> linkedRelationships = getModel().getRelationshipsView().stream().filter(r -> relationship.getId().equals(r.getLinkedRelationshipId())).collect(Collectors.toSet());
         boolean linkedRelationshipsRemoved = true;
 
         for (Relationship linkedRelationship : linkedRelationships) {
@@ -35,6 +35,7 @@ public final class Component extends StaticStructureElement implements Documenta
 
     void setParent(Container parent) {
         this.parent = parent;
+        canonicalNameChanged();
     }
 
     /**
@@ -63,7 +64,7 @@ public final class Component extends StaticStructureElement implements Documenta
      */
     @Override
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
     @Override
@@ -45,6 +45,7 @@ public final class Container extends StaticStructureElement implements Documenta
 
     void setParent(SoftwareSystem parent) {
         this.parent = parent;
+        canonicalNameChanged();
     }
 
     /**
@@ -160,7 +161,7 @@ public final class Container extends StaticStructureElement implements Documenta
      */
     @Override
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
     @Override
@@ -27,6 +27,8 @@ public final class ContainerInstance extends StaticStructureElementInstance {
 
     void setContainer(Container container) {
         this.container = container;
+        canonicalNameChanged();
+        elementInstanceChanged();
     }
 
     @Override
@@ -54,7 +56,7 @@ public final class ContainerInstance extends StaticStructureElementInstance {
     @Override
     @JsonIgnore
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
 }
\ No newline at end of file
@@ -28,7 +28,7 @@ public final class CustomElement extends GroupableElement {
 
     @Override
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
     public String getMetadata() {
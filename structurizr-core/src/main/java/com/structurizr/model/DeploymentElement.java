@@ -28,6 +28,7 @@ public abstract class DeploymentElement extends GroupableElement {
 
     void setParent(DeploymentNode parent) {
         this.parent = parent;
+        canonicalNameChanged();
     }
 
     public String getEnvironment() {
@@ -36,6 +37,7 @@ public abstract class DeploymentElement extends GroupableElement {
 
     void setEnvironment(String environment) {
         this.environment = environment;
+        canonicalNameChanged();
     }
 
 }
\ No newline at end of file
@@ -485,7 +485,7 @@ public final class DeploymentNode extends DeploymentElement {
 
     @Override
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
 }
\ No newline at end of file
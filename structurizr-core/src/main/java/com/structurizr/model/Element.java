@@ -4,8 +4,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Supplier;
 
 /**
  * This is the superclass for all model elements.
@@ -19,6 +21,9 @@ public abstract class Element extends ModelItem {
 
     private Set<Relationship> relationships = new TreeSet<>();
 
+    private String canonicalName;
+    private int canonicalNameVersion;
+
     protected Element() {
     }
 
@@ -29,6 +34,37 @@ public abstract class Element extends ModelItem {
 
     protected void setModel(Model model) {
         this.model = model;
+        this.canonicalName = null;
+    }
+
+    /**
+     * Gets the canonical name of this element, reusing the previously generated value until the model
+     * signals that a name, parent, or other canonical name input has changed.
+     *
+     * @param generator     generates the canonical name
+     * @return  the canonical name, as a String
+     */
+    String getCanonicalName(Supplier<String> generator) {
+        if (model == null) {
+            return generator.get();
+        }
+
+        int version = model.getCanonicalNamesVersion();
+        if (canonicalName == null || canonicalNameVersion != version) {
+            canonicalName = generator.get();
+            canonicalNameVersion = version;
+        }
+
+        return canonicalName;
+    }
+
+    /**
+     * Called when a property that forms part of the canonical name of this element (or its children) changes.
+     */
+    void canonicalNameChanged() {
+        if (model != null) {
+            model.canonicalNamesChanged();
+        }
     }
 
     /**
@@ -51,6 +87,7 @@ public abstract class Element extends ModelItem {
         }
 
         this.name = name;
+        canonicalNameChanged();
     }
 
     /**
@@ -87,6 +124,18 @@ public abstract class Element extends ModelItem {
         return new TreeSet<>(relationships);
     }
 
+    /**
+     * Gets a read-only view of the outgoing relationships, ordered by ID.
+     * Unlike {@link #getRelationships()}, the set is not copied, and it reflects subsequent changes,
+     * so it should not be iterated over while relationships are being added or removed.
+     *
+     * @return  an unmodifiable Set of Relationship objects, or an empty set if none exist
+     */
+    @JsonIgnore
+    public Set<Relationship> getRelationshipsView() {
+        return Collections.unmodifiableSet(relationships);
+    }
+
     void setRelationships(Set<Relationship> relationships) {
         if (relationships != null) {
             this.relationships = new TreeSet<>(relationships);
@@ -108,7 +157,7 @@ public abstract class Element extends ModelItem {
      * @return  true if this element has afferent relationships, false otherwise
      */
     public boolean hasAfferentRelationships() {
-        return getModel().getRelationships().stream().anyMatch(r -> r.getDestination() == this);
+        return getModel().hasAfferentRelationships(this);
     }
 
     /**
@@ -8,7 +8,7 @@ import com.structurizr.util.StringUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Represents a software architecture model, into which all model elements are added.
@@ -21,9 +21,19 @@ public final class Model implements PropertyHolder {
 
     private final Set<Element> elements = new TreeSet<>();
     private final Map<String, Element> elementsById = new HashMap<>();
+    private final Map<Class<? extends Element>, Set<Element>> elementsByType = new HashMap<>();
 
     private final Set<Relationship> relationships = new TreeSet<>();
     private final Map<String, Relationship> relationshipsById = new HashMap<>();
+    private final Map<String, Set<Relationship>> afferentRelationshipsByElementId = new HashMap<>();
+    private final Map<String, Set<Relationship>> efferentRelationshipsByElementId = new HashMap<>();
+
+    // deployment environment -> element ID -> instances of that element (built on demand)
+    private Map<String, Map<String, Set<StaticStructureElementInstance>>> elementInstancesByEnvironment;
+
+    private int canonicalNamesVersion;
+    private Map<String, Element> elementsByCanonicalName;
+    private Map<String, Relationship> relationshipsByCanonicalName;
 
     private Set<Person> people = new TreeSet<>();
     private Set<SoftwareSystem> softwareSystems = new TreeSet<>();
@@ -270,8 +280,17 @@ public final class Model implements PropertyHolder {
 
         elementsById.put(element.getId(), element);
         elements.add(element);
+        elementsByType.computeIfAbsent(element.getClass(), type -> new TreeSet<>()).add(element);
         element.setModel(this);
         idGenerator.found(element.getId());
+
+        if (elementsByCanonicalName != null) {
+            elementsByCanonicalName.merge(element.getCanonicalName(), element, Model::first);
+        }
+
+        if (elementInstancesByEnvironment != null && element instanceof StaticStructureElementInstance) {
+            addToElementInstancesIndex((StaticStructureElementInstance)element);
+        }
     }
 
     private void addRelationshipToInternalStructures(Relationship relationship) {
@@ -282,13 +301,51 @@ public final class Model implements PropertyHolder {
 
         relationshipsById.put(relationship.getId(), relationship);
         relationships.add(relationship);
+        afferentRelationshipsByElementId.computeIfAbsent(relationship.getDestinationId(), id -> new TreeSet<>()).add(relationship);
+        efferentRelationshipsByElementId.computeIfAbsent(relationship.getSourceId(), id -> new TreeSet<>()).add(relationship);
         relationship.setModel(this);
         idGenerator.found(relationship.getId());
+
+        if (relationshipsByCanonicalName != null) {
+            relationshipsByCanonicalName.merge(relationship.getCanonicalName(), relationship, Model::first);
+        }
     }
 
     private void removeRelationshipFromInternalStructures(Relationship relationship) {
         relationshipsById.remove(relationship.getId());
         relationships.remove(relationship);
+        removeFromIndex(afferentRelationshipsByElementId, relationship.getDestinationId(), relationship);
+        removeFromIndex(efferentRelationshipsByElementId, relationship.getSourceId(), relationship);
+        relationshipsByCanonicalName = null;
+    }
+
+    private static <T extends ModelItem> T first(T modelItem1, T modelItem2) {
+        // when canonical names clash, the item with the lowest ID wins (i.e. the first in iteration order)
+        return modelItem1.compareTo(modelItem2) <= 0 ? modelItem1 : modelItem2;
+    }
+
+    int getCanonicalNamesVersion() {
+        return canonicalNamesVersion;
+    }
+
+    /**
+     * Called when an element or relationship property that forms part of a canonical name changes;
+     * this invalidates cached canonical names and the canonical name indexes.
+     */
+    void canonicalNamesChanged() {
+        canonicalNamesVersion++;
+        elementsByCanonicalName = null;
+        relationshipsByCanonicalName = null;
+    }
+
+    private void removeFromIndex(Map<String, Set<Relationship>> index, String elementId, Relationship relationship) {
+        Set<Relationship> set = index.get(elementId);
+        if (set != null) {
+            set.remove(relationship);
+            if (set.isEmpty()) {
+                index.remove(elementId);
+            }
+        }
     }
 
     /**
@@ -302,6 +359,53 @@ public final class Model implements PropertyHolder {
         return new TreeSet<>(elements);
     }
 
+    /**
+     * Gets a read-only view of all elements in this model, ordered by ID.
+     * Unlike {@link #getElements()}, the set is not copied, and it reflects subsequent changes to the model,
+     * so it should not be iterated over while elements are being added or removed.
+     *
+     * @return an unmodifiable Set of Element instances
+     */
+    @JsonIgnore
+    @Nonnull
+    public Set<Element> getElementsView() {
+        return Collections.unmodifiableSet(elements);
+    }
+
+    /**
+     * Gets the elements of the given type (e.g. Container.class), ordered by ID.
+     * Abstract types (e.g. DeploymentElement.class) are also supported, and include elements of all subtypes.
+     * For concrete types, the returned set is a read-only view of the model's index of elements by type so, like
+     * {@link #getElementsView()}, it should not be iterated over while elements of that type are being added or removed
+     * (copy it first). For abstract types, a new read-only set is created on each call.
+     *
+     * @param type      the type of element
+     * @param <T>       the type of element
+     * @return  an unmodifiable Set of elements (empty if there are none)
+     * @throws IllegalArgumentException if the type is null
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T extends Element> Set<T> getElementsOfType(Class<T> type) {
+        if (type == null) {
+            throw new IllegalArgumentException("A type must be specified.");
+        }
+
+        Set<Element> elementsOfType = elementsByType.get(type);
+        if (elementsOfType != null) {
+            return (Set<T>)Collections.unmodifiableSet(elementsOfType);
+        }
+
+        Set<T> elementsOfSubtypes = new TreeSet<>();
+        for (Map.Entry<Class<? extends Element>, Set<Element>> entry : elementsByType.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                entry.getValue().forEach(element -> elementsOfSubtypes.add(type.cast(element)));
+            }
+        }
+
+        return Collections.unmodifiableSet(elementsOfSubtypes);
+    }
+
     /**
      * Gets the element with the specified ID.
      *
@@ -329,6 +433,66 @@ public final class Model implements PropertyHolder {
         return new TreeSet<>(this.relationships);
     }
 
+    /**
+     * Gets a read-only view of all relationships in this model, ordered by ID.
+     * Unlike {@link #getRelationships()}, the set is not copied, and it reflects subsequent changes to the model,
+     * so it should not be iterated over while relationships are being added or removed.
+     *
+     * @return an unmodifiable Set of Relationship objects
+     */
+    @JsonIgnore
+    @Nonnull
+    public Set<Relationship> getRelationshipsView() {
+        return Collections.unmodifiableSet(relationships);
+    }
+
+    /**
+     * Gets a read-only view of the afferent (incoming) relationships for the specified element.
+     * Like {@link #getRelationshipsView()}, the returned set should not be iterated over while relationships are
+     * being added or removed.
+     *
+     * @param element   an Element
+     * @return an unmodifiable Set of Relationship objects where the specified element is the destination, or an empty set if none exist
+     */
+    @Nonnull
+    public Set<Relationship> getAfferentRelationships(@Nonnull Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must be specified.");
+        }
+
+        return getRelationshipsFromIndex(afferentRelationshipsByElementId, element);
+    }
+
+    /**
+     * Gets a read-only view of the efferent (outgoing) relationships for the specified element.
+     * Like {@link #getRelationshipsView()}, the returned set should not be iterated over while relationships are
+     * being added or removed.
+     *
+     * @param element   an Element
+     * @return an unmodifiable Set of Relationship objects where the specified element is the source, or an empty set if none exist
+     */
+    @Nonnull
+    public Set<Relationship> getEfferentRelationships(@Nonnull Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must be specified.");
+        }
+
+        return getRelationshipsFromIndex(efferentRelationshipsByElementId, element);
+    }
+
+    private Set<Relationship> getRelationshipsFromIndex(Map<String, Set<Relationship>> index, Element element) {
+        Set<Relationship> set = index.get(element.getId());
+        if (set != null) {
+            return Collections.unmodifiableSet(set);
+        } else {
+            return Collections.emptySet();
+        }
+    }
+
+    boolean hasAfferentRelationships(Element element) {
+        return afferentRelationshipsByElementId.containsKey(element.getId());
+    }
+
     /**
      * Gets the relationship with the specified ID.
      *
@@ -355,6 +519,18 @@ public final class Model implements PropertyHolder {
         return new TreeSet<>(customElements);
     }
 
+    /**
+     * Gets a read-only view of all custom elements in this model, ordered by ID.
+     *
+     * @return an unmodifiable Set of CustomElement instances
+     * @see #getElementsView()
+     */
+    @JsonIgnore
+    @Nonnull
+    public Set<CustomElement> getCustomElementsView() {
+        return Collections.unmodifiableSet(customElements);
+    }
+
     void setCustomElements(Set<CustomElement> customElements) {
         if (customElements != null) {
             this.customElements = new TreeSet<>(customElements);
@@ -371,6 +547,18 @@ public final class Model implements PropertyHolder {
         return new TreeSet<>(people);
     }
 
+    /**
+     * Gets a read-only view of all people in this model, ordered by ID.
+     *
+     * @return an unmodifiable Set of Person instances
+     * @see #getElementsView()
+     */
+    @JsonIgnore
+    @Nonnull
+    public Set<Person> getPeopleView() {
+        return Collections.unmodifiableSet(people);
+    }
+
     void setPeople(Set<Person> people) {
         if (people != null) {
             this.people = new TreeSet<>(people);
@@ -387,6 +575,18 @@ public final class Model implements PropertyHolder {
         return new TreeSet<>(softwareSystems);
     }
 
+    /**
+     * Gets a read-only view of all software systems in this model, ordered by ID.
+     *
+     * @return an unmodifiable Set of SoftwareSystem instances
+     * @see #getElementsView()
+     */
+    @JsonIgnore
+    @Nonnull
+    public Set<SoftwareSystem> getSoftwareSystemsView() {
+        return Collections.unmodifiableSet(softwareSystems);
+    }
+
     void setSoftwareSystems(Set<SoftwareSystem> softwareSystems) {
         if (softwareSystems != null) {
             this.softwareSystems = new TreeSet<>(softwareSystems);
@@ -403,6 +603,18 @@ public final class Model implements PropertyHolder {
         return new TreeSet<>(deploymentNodes);
     }
 
+    /**
+     * Gets a read-only view of all top-level deployment nodes in this model, ordered by ID.
+     *
+     * @return an unmodifiable Set of DeploymentNode instances
+     * @see #getElementsView()
+     */
+    @JsonIgnore
+    @Nonnull
+    public Set<DeploymentNode> getDeploymentNodesView() {
+        return Collections.unmodifiableSet(deploymentNodes);
+    }
+
     void setDeploymentNodes(Set<DeploymentNode> deploymentNodes) {
         if (deploymentNodes != null) {
             this.deploymentNodes = new TreeSet<>(deploymentNodes);
@@ -417,11 +629,11 @@ public final class Model implements PropertyHolder {
         for (SoftwareSystem softwareSystem : softwareSystems) {
             addElementToInternalStructures(softwareSystem);
             for (Container container : softwareSystem.getContainers()) {
-                addElementToInternalStructures(container);
                 container.setParent(softwareSystem);
+                addElementToInternalStructures(container);
                 for (Component component : container.getComponents()) {
-                    addElementToInternalStructures(component);
                     component.setParent(container);
+                    addElementToInternalStructures(component);
                 }
             }
         }
@@ -429,28 +641,33 @@ public final class Model implements PropertyHolder {
         deploymentNodes.forEach(dn -> hydrateDeploymentNode(dn, null));
 
         // now hydrate the relationships
-        getElements().forEach(this::hydrateRelationships);
+        elements.forEach(this::hydrateRelationships);
 
         // now check all element names are unique
         Collection<Element> peopleAndSoftwareSystems = new ArrayList<>();
         peopleAndSoftwareSystems.addAll(people);
         peopleAndSoftwareSystems.addAll(softwareSystems);
-        for (Element element : peopleAndSoftwareSystems) {
-            checkNameIsUnique(peopleAndSoftwareSystems, element.getName(), "A person or software system named \"%s\" already exists.");
-        }
+        checkNamesAreUnique(peopleAndSoftwareSystems, element -> "A person or software system named \"" + element.getName() + "\" already exists.");
 
         for (SoftwareSystem softwareSystem : softwareSystems) {
-            for (Container container : softwareSystem.getContainers()) {
-                checkNameIsUnique(softwareSystem.getContainers(), container.getName(), "A container named \"%s\" already exists within \"" + softwareSystem.getName() + "\".");
+            Set<Container> containers = softwareSystem.getContainers();
+            Map<String, Integer> numberOfContainersByName = countByName(containers);
+            for (Container container : containers) {
+                checkNameIsUnique(numberOfContainersByName, container, "A container named \"%s\" already exists within \"" + softwareSystem.getName() + "\".");
 
-                for (Component component : container.getComponents()) {
-                    checkNameIsUnique(container.getComponents(), component.getName(), "A component named \"%s\" already exists within \"" + container.getName() + "\".");
-                }
+                checkNamesAreUnique(container.getComponents(), component -> "A component named \"" + component.getName() + "\" already exists within \"" + container.getName() + "\".");
             }
         }
 
+        Map<List<String>, Integer> numberOfDeploymentNodesByNameAndEnvironment = new HashMap<>();
+        for (DeploymentNode deploymentNode : deploymentNodes) {
+            numberOfDeploymentNodesByNameAndEnvironment.merge(Arrays.asList(deploymentNode.getName(), deploymentNode.getEnvironment()), 1, Integer::sum);
+        }
         for (DeploymentNode deploymentNode : deploymentNodes) {
-            checkNameIsUnique(deploymentNodes, deploymentNode.getName(), deploymentNode.getEnvironment(), "A top-level deployment node named \"%s\" already exists for the environment named \"" + deploymentNode.getEnvironment() + "\".");
+            if (numberOfDeploymentNodesByNameAndEnvironment.get(Arrays.asList(deploymentNode.getName(), deploymentNode.getEnvironment())) != 1) {
+                throw new WorkspaceValidationException(
+                        String.format("A top-level deployment node named \"%s\" already exists for the environment named \"" + deploymentNode.getEnvironment() + "\".", deploymentNode.getName()));
+            }
 
             if (deploymentNode.hasChildren()) {
                 checkChildNamesAreUnique(deploymentNode);
@@ -458,14 +675,12 @@ public final class Model implements PropertyHolder {
         }
 
         // and check that all relationships are unique
-        for (Element element : getElements()) {
-            for (Relationship relationship : element.getRelationships()) {
-                checkDescriptionIsUnique(element.getRelationships(), relationship);
-            }
+        for (Element element : elements) {
+            checkDescriptionsAreUnique(element.getRelationshipsView());
         }
 
         // check that all linked relationships are present
-        for (Relationship relationship : getRelationships()) {
+        for (Relationship relationship : relationships) {
             String linkedRelationshipId = relationship.getLinkedRelationshipId();
             if (!StringUtils.isNullOrEmpty(linkedRelationshipId)) {
                 if (getRelationship(linkedRelationshipId) == null) {
@@ -511,23 +726,49 @@ public final class Model implements PropertyHolder {
         }
     }
 
-    private void checkNameIsUnique(Collection<? extends Element> elements, String name, String errorMessage) {
-        if (elements.stream().filter(e -> e.getName().equals(name)).count() != 1) {
-            throw new WorkspaceValidationException(
-                    String.format(errorMessage, name));
+    // the following checks count elements/relationships by name/description first, then report the first element/relationship
+    // (in iteration order) that isn't unique, to avoid rescanning the collection for every element/relationship
+    private <T extends Element> void checkNamesAreUnique(Collection<T> elements, Function<T, String> errorMessage) {
+        Map<String, Integer> numberOfElementsByName = countByName(elements);
+        for (T element : elements) {
+            if (numberOfElementsByName.get(element.getName()) != 1) {
+                throw new WorkspaceValidationException(errorMessage.apply(element));
+            }
         }
     }
 
-    private void checkNameIsUnique(Collection<DeploymentNode> deploymentNodes, String name, String environment, String errorMessage) {
-        if (deploymentNodes.stream().filter(dn -> dn.getName().equals(name) && dn.getEnvironment().equals(environment)).count() != 1) {
+    private void checkNameIsUnique(Map<String, Integer> numberOfElementsByName, Element element, String errorMessage) {
+        if (numberOfElementsByName.get(element.getName()) != 1) {
             throw new WorkspaceValidationException(
-                    String.format(errorMessage, name));
+                    String.format(errorMessage, element.getName()));
         }
     }
 
+    private Map<String, Integer> countByName(Collection<? extends Element> elements) {
+        Map<String, Integer> numberOfElementsByName = new HashMap<>();
+        for (Element element : elements) {
+            numberOfElementsByName.merge(element.getName(), 1, Integer::sum);
+        }
+
+        return numberOfElementsByName;
+    }
+
     private void checkChildNamesAreUnique(DeploymentNode deploymentNode) {
-        for (DeploymentNode child : deploymentNode.getChildren()) {
-            checkNameIsUnique(deploymentNode.getChildren(), child.getName(), deploymentNode.getEnvironment(), "A deployment node named \"%s\" already exists within \"" + deploymentNode.getName() + "\".");
+        Set<DeploymentNode> children = deploymentNode.getChildren();
+
+        // only children in the same deployment environment as their parent are counted
+        Map<String, Integer> numberOfChildrenByName = new HashMap<>();
+        for (DeploymentNode child : children) {
+            if (child.getEnvironment().equals(deploymentNode.getEnvironment())) {
+                numberOfChildrenByName.merge(child.getName(), 1, Integer::sum);
+            }
+        }
+
+        for (DeploymentNode child : children) {
+            if (numberOfChildrenByName.getOrDefault(child.getName(), 0) != 1) {
+                throw new WorkspaceValidationException(
+                        String.format("A deployment node named \"%s\" already exists within \"" + deploymentNode.getName() + "\".", child.getName()));
+            }
 
             if (child.hasChildren()) {
                 checkChildNamesAreUnique(child);
@@ -535,17 +776,24 @@ public final class Model implements PropertyHolder {
         }
     }
 
-    private void checkDescriptionIsUnique(Collection<Relationship> relationships, Relationship relationship) {
-        if (relationships.stream().filter(r -> r.getDestination().equals(relationship.getDestination()) && r.getDescription().equals(relationship.getDescription())).count() != 1) {
-            throw new WorkspaceValidationException(
-                    String.format(
-                            "A relationship with the description \"%s\" already exists between \"%s\" and \"%s\".",
-                            relationship.getDescription(), relationship.getSource().getName(), relationship.getDestination().getName()));
+    private void checkDescriptionsAreUnique(Collection<Relationship> relationships) {
+        Map<Map.Entry<Element, String>, Integer> numberOfRelationshipsByDestinationAndDescription = new HashMap<>();
+        for (Relationship relationship : relationships) {
+            numberOfRelationshipsByDestinationAndDescription.merge(new AbstractMap.SimpleImmutableEntry<>(relationship.getDestination(), relationship.getDescription()), 1, Integer::sum);
+        }
+
+        for (Relationship relationship : relationships) {
+            if (numberOfRelationshipsByDestinationAndDescription.get(new AbstractMap.SimpleImmutableEntry<>(relationship.getDestination(), relationship.getDescription())) != 1) {
+                throw new WorkspaceValidationException(
+                        String.format(
+                                "A relationship with the description \"%s\" already exists between \"%s\" and \"%s\".",
+                                relationship.getDescription(), relationship.getSource().getName(), relationship.getDestination().getName()));
+            }
         }
     }
 
     private void hydrateRelationships(Element element) {
-        for (Relationship relationship : element.getRelationships()) {
+        for (Relationship relationship : element.getRelationshipsView()) {
             relationship.setSource(getElement(relationship.getSourceId()));
             relationship.setDestination(getElement(relationship.getDestinationId()));
             addRelationshipToInternalStructures(relationship);
@@ -585,7 +833,7 @@ public final class Model implements PropertyHolder {
             throw new IllegalArgumentException("A software system name must be specified.");
         }
 
-        for (SoftwareSystem softwareSystem : getSoftwareSystems()) {
+        for (SoftwareSystem softwareSystem : softwareSystems) {
             if (softwareSystem.getName().equals(name)) {
                 return softwareSystem;
             }
@@ -608,7 +856,7 @@ public final class Model implements PropertyHolder {
             throw new IllegalArgumentException("A software system ID must be specified.");
         }
 
-        for (SoftwareSystem softwareSystem : getSoftwareSystems()) {
+        for (SoftwareSystem softwareSystem : softwareSystems) {
             if (softwareSystem.getId().equals(id)) {
                 return softwareSystem;
             }
@@ -630,7 +878,7 @@ public final class Model implements PropertyHolder {
             throw new IllegalArgumentException("A person name must be specified.");
         }
 
-        for (Person person : getPeople()) {
+        for (Person person : people) {
             if (person.getName().equals(name)) {
                 return person;
             }
@@ -652,7 +900,7 @@ public final class Model implements PropertyHolder {
             throw new IllegalArgumentException("A custom element name must be specified.");
         }
 
-        for (CustomElement customElement : getCustomElements()) {
+        for (CustomElement customElement : customElements) {
             if (customElement.getName().equals(name)) {
                 return customElement;
             }
@@ -853,7 +1101,7 @@ public final class Model implements PropertyHolder {
      * @return the DeploymentNode instance with the specified name (or null if it doesn't exist).
      */
     public DeploymentNode getDeploymentNodeWithName(String name, String environment) {
-        for (DeploymentNode deploymentNode : getDeploymentNodes()) {
+        for (DeploymentNode deploymentNode : deploymentNodes) {
             if (deploymentNode.getEnvironment().equals(environment) && deploymentNode.getName().equals(name)) {
                 return deploymentNode;
             }
@@ -901,18 +1149,30 @@ public final class Model implements PropertyHolder {
     private void replicateElementRelationships(StaticStructureElementInstance elementInstance) {
         StaticStructureElement element = elementInstance.getElement();
 
-        // find all StaticStructureElementInstance objects in the same deployment environment and deployment group
-        TreeSet<StaticStructureElementInstance> elementInstances = getElements().stream()
-                .filter(e -> e instanceof StaticStructureElementInstance)
-                .map(e -> (StaticStructureElementInstance) e)
-                .filter(ssei -> ssei.getEnvironment().equals(elementInstance.getEnvironment()))
-                .filter(ssei -> ssei.inSameDeploymentGroup(elementInstance)).collect(Collectors.toCollection(TreeSet::new));
+        // only instances of elements that have a relationship to/from the element can result in replicated relationships
+        Set<String> relatedElementIds = new HashSet<>();
+        for (Relationship relationship : element.getRelationshipsView()) {
+            relatedElementIds.add(relationship.getDestinationId());
+        }
+        for (Relationship relationship : afferentRelationshipsByElementId.getOrDefault(element.getId(), Collections.emptySet())) {
+            relatedElementIds.add(relationship.getSourceId());
+        }
+
+        // find all StaticStructureElementInstance objects of those elements in the same deployment environment and deployment group
+        TreeSet<StaticStructureElementInstance> elementInstances = new TreeSet<>();
+        for (String relatedElementId : relatedElementIds) {
+            for (StaticStructureElementInstance ssei : getElementInstances(elementInstance.getEnvironment(), relatedElementId)) {
+                if (ssei.inSameDeploymentGroup(elementInstance)) {
+                    elementInstances.add(ssei);
+                }
+            }
+        }
 
         // and replicate the relationships to/from the element instance
         for (StaticStructureElementInstance ssei : elementInstances) {
             StaticStructureElement sse = ssei.getElement();
 
-            for (Relationship relationship : element.getRelationships()) {
+            for (Relationship relationship : element.getRelationshipsView()) {
                 if (relationship.getDestination().equals(sse)) {
                     Relationship newRelationship = addRelationship(elementInstance, ssei, relationship.getDescription(), relationship.getTechnology(), relationship.getInteractionStyle());
                     if (newRelationship != null) {
@@ -922,7 +1182,7 @@ public final class Model implements PropertyHolder {
                 }
             }
 
-            for (Relationship relationship : sse.getRelationships()) {
+            for (Relationship relationship : sse.getRelationshipsView()) {
                 if (relationship.getDestination().equals(element)) {
                     Relationship newRelationship = addRelationship(ssei, elementInstance, relationship.getDescription(), relationship.getTechnology(), relationship.getInteractionStyle());
                     if (newRelationship != null) {
@@ -934,6 +1194,29 @@ public final class Model implements PropertyHolder {
         }
     }
 
+    private Set<StaticStructureElementInstance> getElementInstances(String environment, String elementId) {
+        if (elementInstancesByEnvironment == null) {
+            elementInstancesByEnvironment = new HashMap<>();
+            getElementsOfType(StaticStructureElementInstance.class).forEach(this::addToElementInstancesIndex);
+        }
+
+        return elementInstancesByEnvironment.getOrDefault(environment, Collections.emptyMap()).getOrDefault(elementId, Collections.emptySet());
+    }
+
+    private void addToElementInstancesIndex(StaticStructureElementInstance elementInstance) {
+        elementInstancesByEnvironment
+                .computeIfAbsent(elementInstance.getEnvironment(), environment -> new HashMap<>())
+                .computeIfAbsent(elementInstance.getElement().getId(), elementId -> new TreeSet<>())
+                .add(elementInstance);
+    }
+
+    /**
+     * Called when the environment or element of an element instance changes.
+     */
+    void elementInstancesChanged() {
+        elementInstancesByEnvironment = null;
+    }
+
     /**
      * Gets the element with the specified canonical name.
      *
@@ -946,13 +1229,15 @@ public final class Model implements PropertyHolder {
             throw new IllegalArgumentException("A canonical name must be specified.");
         }
 
-        for (Element element : getElements()) {
-            if (element.getCanonicalName().equals(canonicalName)) {
-                return element;
+        if (elementsByCanonicalName == null) {
+            Map<String, Element> index = new HashMap<>();
+            for (Element element : elements) {
+                index.putIfAbsent(element.getCanonicalName(), element);
             }
+            elementsByCanonicalName = index;
         }
 
-        return null;
+        return elementsByCanonicalName.get(canonicalName);
     }
 
     /**
@@ -967,13 +1252,15 @@ public final class Model implements PropertyHolder {
             throw new IllegalArgumentException("A canonical name must be specified.");
         }
 
-        for (Relationship relationship : getRelationships()) {
-            if (relationship.getCanonicalName().equals(canonicalName)) {
-                return relationship;
+        if (relationshipsByCanonicalName == null) {
+            Map<String, Relationship> index = new HashMap<>();
+            for (Relationship relationship : relationships) {
+                index.putIfAbsent(relationship.getCanonicalName(), relationship);
             }
+            relationshipsByCanonicalName = index;
         }
 
-        return null;
+        return relationshipsByCanonicalName.get(canonicalName);
     }
 
     /**
@@ -1134,8 +1421,7 @@ public final class Model implements PropertyHolder {
     void remove(SoftwareSystemInstance softwareSystemInstance) {
         removeElement(softwareSystemInstance);
 
-        Set<DeploymentNode> deploymentNodes = getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).collect(Collectors.toSet());
-        for (DeploymentNode deploymentNode : deploymentNodes) {
+        for (DeploymentNode deploymentNode : getElementsOfType(DeploymentNode.class)) {
             deploymentNode.remove(softwareSystemInstance);
         }
     }
@@ -1148,8 +1434,7 @@ public final class Model implements PropertyHolder {
     void remove(ContainerInstance containerInstance) {
         removeElement(containerInstance);
 
-        Set<DeploymentNode> deploymentNodes = getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).collect(Collectors.toSet());
-        for (DeploymentNode deploymentNode : deploymentNodes) {
+        for (DeploymentNode deploymentNode : getElementsOfType(DeploymentNode.class)) {
             deploymentNode.remove(containerInstance);
         }
     }
@@ -1162,8 +1447,7 @@ public final class Model implements PropertyHolder {
     void remove(InfrastructureNode infrastructureNode) {
         removeElement(infrastructureNode);
 
-        Set<DeploymentNode> deploymentNodes = getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).collect(Collectors.toSet());
-        for (DeploymentNode deploymentNode : deploymentNodes) {
+        for (DeploymentNode deploymentNode : getElementsOfType(DeploymentNode.class)) {
             deploymentNode.remove(infrastructureNode);
         }
     }
@@ -1194,6 +1478,16 @@ public final class Model implements PropertyHolder {
 
         elementsById.remove(element.getId());
         elements.remove(element);
+        elementsByCanonicalName = null;
+
+        Set<Element> elementsOfType = elementsByType.get(element.getClass());
+        if (elementsOfType != null) {
+            elementsOfType.remove(element);
+        }
+
+        if (element instanceof StaticStructureElementInstance) {
+            elementInstancesByEnvironment = null;
+        }
     }
 
     /**
@@ -15,11 +15,16 @@ import java.util.*;
 public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, Comparable<ModelItem> {
 
     private String id = "";
-    private final Set<String> tags = new LinkedHashSet<>();
+
+    // tags are stored as an array of interned strings, since most items have only a few tags, and the same tags are
+    // used across many items
+    private String[] tags = TagSet.NO_TAGS;
 
     private String url;
-    private Map<String, String> properties = new HashMap<>();
-    private final Set<Perspective> perspectives = new TreeSet<>();
+
+    // properties and perspectives are created on demand, since most items have none
+    private Map<String, String> properties;
+    private Set<Perspective> perspectives;
 
     @JsonIgnore
     public abstract String getCanonicalName();
@@ -47,25 +52,41 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      *          or an empty string if there are no tags
      */
     public String getTags() {
-        return TagUtils.toString(getTagsAsSet());
+        return TagUtils.toString(getTagSet());
     }
 
+    /**
+     * Gets the set of tags (default tags, followed by any tags that have been added).
+     *
+     * @return  an ordered Set of tags (a copy, so changes to it are not reflected in this item)
+     */
     @JsonIgnore
     public Set<String> getTagsAsSet() {
-        Set<String> setOfTags = new LinkedHashSet<>(getDefaultTags());
-        setOfTags.addAll(tags);
+        return new LinkedHashSet<>(getTagSet());
+    }
+
+    private Set<String> getTagSet() {
+        String[] setOfTags = TagSet.NO_TAGS;
+        for (String tag : getDefaultTags()) {
+            setOfTags = TagSet.add(setOfTags, tag);
+        }
+        for (String tag : tags) {
+            setOfTags = TagSet.add(setOfTags, tag);
+        }
 
-        return setOfTags;
+        return new TagSet(setOfTags);
     }
 
     void setTags(String tags) {
-        this.tags.clear();
+        this.tags = TagSet.NO_TAGS;
 
         if (tags == null) {
             return;
         }
 
-        Collections.addAll(this.tags, tags.split(","));
+        for (String tag : tags.split(",")) {
+            this.tags = TagSet.add(this.tags, tag);
+        }
     }
 
     public void addTags(String... tags) {
@@ -75,7 +96,7 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
 
         for (String tag : tags) {
             if (tag != null) {
-                this.tags.add(tag.trim());
+                this.tags = TagSet.add(this.tags, tag.trim());
             }
         }
     }
@@ -89,7 +110,11 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      */
     public boolean removeTag(String tag) {
         if (tag != null) {
-            return this.tags.remove(tag.trim());
+            String[] tagsWithTagRemoved = TagSet.remove(this.tags, tag.trim());
+            boolean removed = tagsWithTagRemoved != this.tags;
+            this.tags = tagsWithTagRemoved;
+
+            return removed;
         }
         return false;
     }
@@ -102,7 +127,7 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      *              required tags defined by the model in getRequiredTags(), false otherwise
      */
     public boolean hasTag(String tag) {
-        return getTagsAsSet().contains(tag.trim());
+        return getTagSet().contains(tag.trim());
     }
 
     /**
@@ -150,10 +175,10 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
     /**
      * Gets the collection of name-value property pairs associated with this model item, as a Map.
      *
-     * @return  a Map (String, String) (empty if there are no properties)
+     * @return  an unmodifiable, live view of the properties as a Map (String, String) (empty if there are no properties)
      */
     public Map<String, String> getProperties() {
-        return Collections.unmodifiableMap(properties);
+        return new PropertiesView();
     }
 
     /**
@@ -171,7 +196,10 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
             throw new IllegalArgumentException("A property value must be specified.");
         }
 
-        properties.put(name, value);
+        if (properties == null) {
+            properties = new HashMap<>(4);
+        }
+        properties.put(name.intern(), value);
     }
 
     /**
@@ -187,7 +215,12 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
 
     void setProperties(Map<String, String> properties) {
         if (properties != null) {
-            this.properties = new HashMap<>(properties);
+            if (properties.isEmpty()) {
+                this.properties = null;
+            } else {
+                this.properties = new HashMap<>(properties.size() * 2);
+                properties.forEach((name, value) -> this.properties.put(name.intern(), value));
+            }
         }
     }
 
@@ -197,17 +230,19 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      * @return  a Set of Perspective objects (empty if there are none)
      */
     public Set<Perspective> getPerspectives() {
+        if (perspectives == null) {
+            return new TreeSet<>();
+        }
+
         return new TreeSet<>(perspectives);
     }
 
     void setPerspectives(Set<Perspective> perspectives) {
-        this.perspectives.clear();
-
-        if (perspectives == null) {
-            return;
+        if (perspectives == null || perspectives.isEmpty()) {
+            this.perspectives = null;
+        } else {
+            this.perspectives = new TreeSet<>(perspectives);
         }
-
-        this.perspectives.addAll(perspectives);
     }
 
     /**
@@ -232,7 +267,9 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      */
     @Override
     public void addPerspective(Perspective perspective) {
-        if (perspectives.stream().anyMatch(p -> p.getName().equals(perspective.getName()))) {
+        if (perspectives == null) {
+            perspectives = new TreeSet<>();
+        } else if (perspectives.stream().anyMatch(p -> p.getName().equals(perspective.getName()))) {
             throw new IllegalArgumentException("A perspective named \"" + perspective.getName() + "\" already exists.");
         }
 
@@ -278,6 +315,38 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
         }
     }
 
+    /**
+     * A read-only view of the properties, which reflects properties added after the view was created
+     * (the underlying map is only created when the first property is added).
+     */
+    private final class PropertiesView extends AbstractMap<String, String> {
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            if (properties == null) {
+                return Collections.emptySet();
+            }
+
+            return Collections.unmodifiableMap(properties).entrySet();
+        }
+
+        @Override
+        public String get(Object key) {
+            return properties == null ? null : properties.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return properties != null && properties.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return properties == null ? 0 : properties.size();
+        }
+
+    }
+
     @Override
     public int compareTo(ModelItem modelItem) {
         try {
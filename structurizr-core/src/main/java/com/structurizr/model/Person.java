@@ -23,7 +23,7 @@ public final class Person extends StaticStructureElement {
 
     @Override
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
     @Override
@@ -23,6 +23,9 @@ public final class Relationship extends ModelItem {
 
     private String linkedRelationshipId;
 
+    private String canonicalName;
+    private int canonicalNameVersion;
+
     Relationship() {
     }
 
@@ -45,11 +48,22 @@ public final class Relationship extends ModelItem {
 
     protected void setModel(Model model) {
         this.model = model;
+        this.canonicalName = null;
     }
 
     @Override
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        if (model == null) {
+            return new CanonicalNameGenerator().generate(this);
+        }
+
+        int version = model.getCanonicalNamesVersion();
+        if (canonicalName == null || canonicalNameVersion != version) {
+            canonicalName = new CanonicalNameGenerator().generate(this);
+            canonicalNameVersion = version;
+        }
+
+        return canonicalName;
     }
 
     @JsonIgnore
@@ -110,6 +124,10 @@ public final class Relationship extends ModelItem {
 
     void setDescription(String description) {
         this.description = description;
+
+        if (model != null) {
+            model.canonicalNamesChanged();
+        }
     }
 
     /**
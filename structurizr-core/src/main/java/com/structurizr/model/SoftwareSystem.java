@@ -158,7 +158,7 @@ public final class SoftwareSystem extends StaticStructureElement implements Docu
      */
     @Override
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
     @Override
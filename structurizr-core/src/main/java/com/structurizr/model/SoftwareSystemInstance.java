@@ -27,6 +27,8 @@ public final class SoftwareSystemInstance extends StaticStructureElementInstance
 
     void setSoftwareSystem(SoftwareSystem softwareSystem) {
         this.softwareSystem = softwareSystem;
+        canonicalNameChanged();
+        elementInstanceChanged();
     }
 
     @Override
@@ -54,7 +56,7 @@ public final class SoftwareSystemInstance extends StaticStructureElementInstance
     @Override
     @JsonIgnore
     public String getCanonicalName() {
-        return new CanonicalNameGenerator().generate(this);
+        return getCanonicalName(() -> new CanonicalNameGenerator().generate(this));
     }
 
 }
\ No newline at end of file
@@ -80,6 +80,18 @@ public abstract class StaticStructureElementInstance extends DeploymentElement {
         return allDeploymentGroups;
     }
 
+    @Override
+    void setEnvironment(String environment) {
+        super.setEnvironment(environment);
+        elementInstanceChanged();
+    }
+
+    void elementInstanceChanged() {
+        if (getModel() != null) {
+            getModel().elementInstancesChanged();
+        }
+    }
+
     boolean inSameDeploymentGroup(StaticStructureElementInstance ssei) {
         Set<String> otherDeploymentGroups = ssei.getAllDeploymentGroups();
         Set<String> myDeploymentGroups = getAllDeploymentGroups();
@@ -108,6 +120,7 @@ public abstract class StaticStructureElementInstance extends DeploymentElement {
 
     void setInstanceId(int instanceId) {
         this.instanceId = instanceId;
+        canonicalNameChanged();
     }
 
     @Override
@@ -0,0 +1,80 @@
+package com.structurizr.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * An immutable, ordered set of tags backed by an array; most model items only have a handful of tags,
+ * so this is considerably smaller than a LinkedHashSet.
+ */
+final class TagSet extends AbstractSet<String> {
+
+    static final String[] NO_TAGS = new String[0];
+
+    private final String[] tags;
+
+    TagSet(String[] tags) {
+        this.tags = tags;
+    }
+
+    /**
+     * Returns a copy of the given array of tags with the specified tag appended, or the same array if the tag exists already.
+     */
+    static String[] add(String[] tags, String tag) {
+        if (indexOf(tags, tag) > -1) {
+            return tags;
+        }
+
+        String[] result = Arrays.copyOf(tags, tags.length + 1);
+        result[tags.length] = tag.intern();
+
+        return result;
+    }
+
+    /**
+     * Returns a copy of the given array of tags with the specified tag removed, or the same array if the tag does not exist.
+     */
+    static String[] remove(String[] tags, String tag) {
+        int index = indexOf(tags, tag);
+        if (index == -1) {
+            return tags;
+        }
+
+        if (tags.length == 1) {
+            return NO_TAGS;
+        }
+
+        String[] result = new String[tags.length - 1];
+        System.arraycopy(tags, 0, result, 0, index);
+        System.arraycopy(tags, index + 1, result, index, tags.length - index - 1);
+
+        return result;
+    }
+
+    static int indexOf(String[] tags, String tag) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i].equals(tag)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String && indexOf(tags, (String)o) > -1;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return Arrays.asList(tags).iterator();
+    }
+
+    @Override
+    public int size() {
+        return tags.length;
+    }
+
+}
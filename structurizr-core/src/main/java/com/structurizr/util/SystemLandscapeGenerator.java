@@ -34,10 +34,10 @@ public class SystemLandscapeGenerator {
 
         // find all people and software systems
         for (Workspace workspace : workspaces) {
-            for (Person person : workspace.getModel().getPeople()) {
+            for (Person person : workspace.getModel().getPeopleView()) {
                 clone(person, systemLandscapeWorkspace);
             }
-            for (SoftwareSystem softwareSystem : workspace.getModel().getSoftwareSystems()) {
+            for (SoftwareSystem softwareSystem : workspace.getModel().getSoftwareSystemsView()) {
                 clone(softwareSystem, systemLandscapeWorkspace);
             }
         }
@@ -51,7 +51,7 @@ public class SystemLandscapeGenerator {
     }
 
     private void findAndCloneRelationships(Workspace source, Workspace destination) {
-        for (Relationship relationship : source.getModel().getRelationships()) {
+        for (Relationship relationship : source.getModel().getRelationshipsView()) {
             if (isPersonOrSoftwareSystem(relationship.getSource()) && isPersonOrSoftwareSystem(relationship.getDestination())) {
                 cloneRelationship(relationship, destination.getModel());
             }
@@ -102,12 +102,12 @@ public class SystemLandscapeGenerator {
     }
 
     private Element findElement(Element element, Model model) {
-        Optional<Person> person = model.getPeople().stream().filter(p -> p.getName().equals(element.getName())).findFirst();
+        Optional<Person> person = model.getPeopleView().stream().filter(p -> p.getName().equals(element.getName())).findFirst();
         if (person.isPresent()) {
             return person.get();
         }
 
-        Optional<SoftwareSystem> softwareSystem = model.getSoftwareSystems().stream().filter(ss -> ss.getName().equals(element.getName())).findFirst();
+        Optional<SoftwareSystem> softwareSystem = model.getSoftwareSystemsView().stream().filter(ss -> ss.getName().equals(element.getName())).findFirst();
         if (softwareSystem.isPresent()) {
             return softwareSystem.get();
         }
@@ -117,7 +117,7 @@ public class SystemLandscapeGenerator {
     }
 
     private SoftwareSystem findScopedSoftwareSystem(Workspace workspace) {
-        return workspace.getModel().getSoftwareSystems().stream().filter(ss -> !ss.getContainers().isEmpty()).findFirst().orElse(null);
+        return workspace.getModel().getSoftwareSystemsView().stream().filter(ss -> !ss.getContainers().isEmpty()).findFirst().orElse(null);
     }
 
     private void hyperlinkSoftwareSystem(Workspace workspace, Workspace systemLandscapeWorkspace) {
@@ -12,7 +12,7 @@ public class LandscapeWorkspaceScopeValidator implements WorkspaceScopeValidator
     @Override
     public void validate(Workspace workspace) throws WorkspaceScopeValidationException {
         Model model = workspace.getModel();
-        for (SoftwareSystem softwareSystem : model.getSoftwareSystems()) {
+        for (SoftwareSystem softwareSystem : model.getSoftwareSystemsView()) {
             if (softwareSystem.getContainers().size() > 0) {
                 throw new WorkspaceScopeValidationException("Workspace is landscape scoped, but the software system named " + softwareSystem.getName() + " has containers.");
             }
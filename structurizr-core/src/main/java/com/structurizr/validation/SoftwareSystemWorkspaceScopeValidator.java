@@ -11,7 +11,7 @@ public class SoftwareSystemWorkspaceScopeValidator implements WorkspaceScopeVali
     @Override
     public void validate(Workspace workspace) throws WorkspaceScopeValidationException {
         Model model = workspace.getModel();
-        long softwareSystemsWithContainersOrDocumentation = model.getSoftwareSystems().stream().filter(ss -> ss.getContainers().size() > 0 || !ss.getDocumentation().isEmpty()).count();
+        long softwareSystemsWithContainersOrDocumentation = model.getSoftwareSystemsView().stream().filter(ss -> ss.getContainers().size() > 0 || !ss.getDocumentation().isEmpty()).count();
 
         if (softwareSystemsWithContainersOrDocumentation > 1) {
             throw new WorkspaceScopeValidationException("Workspace is software system scoped, but multiple software systems have containers and/or documentation defined.");
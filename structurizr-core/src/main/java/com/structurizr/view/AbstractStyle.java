@@ -3,9 +3,7 @@ package com.structurizr.view;
 import com.structurizr.PropertyHolder;
 import com.structurizr.util.StringUtils;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 public abstract class AbstractStyle implements PropertyHolder, Comparable<AbstractStyle> {
 
@@ -13,6 +11,11 @@ public abstract class AbstractStyle implements PropertyHolder, Comparable<Abstra
     private ColorScheme colorScheme = null;
     private Map<String, String> properties = new HashMap<>();
 
+    // the Styles instances that this style belongs to (directly, or via a theme), which are notified of modifications
+    // so that the styles they have resolved for elements/relationships can be invalidated; a style can be shared by
+    // several Styles instances (e.g. via a theme), and they are weakly referenced so this doesn't keep them alive
+    private Set<Styles> owners;
+
     AbstractStyle() {
     }
 
@@ -35,6 +38,7 @@ public abstract class AbstractStyle implements PropertyHolder, Comparable<Abstra
     }
 
     void setTag(String tag) {
+        modified();
         this.tag = tag;
     }
 
@@ -53,6 +57,7 @@ public abstract class AbstractStyle implements PropertyHolder, Comparable<Abstra
      * @param colorScheme  a ColorScheme, or null if not specified (i.e. applies to light and dark).
      */
     void setColorScheme(ColorScheme colorScheme) {
+        modified();
         this.colorScheme = colorScheme;
     }
 
@@ -80,15 +85,38 @@ public abstract class AbstractStyle implements PropertyHolder, Comparable<Abstra
             throw new IllegalArgumentException("A property value must be specified.");
         }
 
+        modified();
         properties.put(name, value);
     }
 
     void setProperties(Map<String, String> properties) {
+        modified();
         if (properties != null) {
             this.properties = new HashMap<>(properties);
         }
     }
 
+    synchronized void addOwner(Styles styles) {
+        if (owners == null) {
+            owners = Collections.newSetFromMap(new WeakHashMap<>());
+        }
+
+        owners.add(styles);
+    }
+
+    void modified() {
+        List<Styles> stylesToNotify;
+        synchronized (this) {
+            if (owners == null) {
+                return;
+            }
+
+            stylesToNotify = new ArrayList<>(owners);
+        }
+
+        stylesToNotify.forEach(Styles::stylesChanged);
+    }
+
     @Override
     public String toString() {
         return this.tag + " (" + this.colorScheme + ")";
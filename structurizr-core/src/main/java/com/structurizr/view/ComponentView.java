@@ -165,23 +165,25 @@ public final class ComponentView extends StaticView {
      * @param greedy    true (add all relationships) or false (adds relationships to/from the components in the scoped container only)
      */
     public void addDefaultElements(boolean greedy) {
-        for (Component component : getContainer().getComponents()) {
-            add(component);
-
-            for (Container container : getSoftwareSystem().getContainers()) {
-                if (container.hasEfferentRelationshipWith(component) || component.hasEfferentRelationshipWith(container)) {
-                    add(container);
-                }
-            };
-
-            addNearestNeighbours(component, CustomElement.class);
-            addNearestNeighbours(component, Person.class);
-            addNearestNeighbours(component, SoftwareSystem.class);
-        }
+        batch(() -> {
+            for (Component component : getContainer().getComponents()) {
+                add(component);
+
+                for (Container container : getSoftwareSystem().getContainers()) {
+                    if (container.hasEfferentRelationshipWith(component) || component.hasEfferentRelationshipWith(container)) {
+                        add(container);
+                    }
+                };
+
+                addNearestNeighbours(component, CustomElement.class);
+                addNearestNeighbours(component, Person.class);
+                addNearestNeighbours(component, SoftwareSystem.class);
+            }
 
-        if (!greedy) {
-            removeRelationshipsNotConnectedToElements(getContainer().getComponents());
-        }
+            if (!greedy) {
+                removeRelationshipsNotConnectedToElements(getContainer().getComponents());
+            }
+        });
     }
 
     /**
@@ -189,10 +191,12 @@ public final class ComponentView extends StaticView {
      */
     @Override
     public void addAllElements() {
-        addAllSoftwareSystems();
-        addAllPeople();
-        addAllContainers();
-        addAllComponents();
+        batch(() -> {
+            addAllSoftwareSystems();
+            addAllPeople();
+            addAllContainers();
+            addAllComponents();
+        });
     }
 
     /**
@@ -227,7 +231,7 @@ public final class ComponentView extends StaticView {
                 .forEach(components::add);
 
         // add relationships of all other elements to or from our inside components
-        for (Relationship relationship : getContainer().getModel().getRelationships()) {
+        for (Relationship relationship : getContainer().getModel().getRelationshipsView()) {
             if (components.contains(relationship.getSource())) {
                 addExternalDependency(relationship.getDestination(), components);
             }
@@ -94,16 +94,18 @@ public final class ContainerView extends StaticView {
      * @param greedy    true (add all relationships) or false (adds relationships to/from the containers in the scoped software system only)
      */
     public void addDefaultElements(boolean greedy) {
-        for (Container container : getSoftwareSystem().getContainers()) {
-            add(container);
-            addNearestNeighbours(container, CustomElement.class);
-            addNearestNeighbours(container, Person.class);
-            addNearestNeighbours(container, SoftwareSystem.class);
-        }
+        batch(() -> {
+            for (Container container : getSoftwareSystem().getContainers()) {
+                add(container);
+                addNearestNeighbours(container, CustomElement.class);
+                addNearestNeighbours(container, Person.class);
+                addNearestNeighbours(container, SoftwareSystem.class);
+            }
 
-        if (!greedy) {
-            removeRelationshipsNotConnectedToElements(getSoftwareSystem().getContainers());
-        }
+            if (!greedy) {
+                removeRelationshipsNotConnectedToElements(getSoftwareSystem().getContainers());
+            }
+        });
     }
 
     /**
@@ -111,9 +113,11 @@ public final class ContainerView extends StaticView {
      */
     @Override
     public void addAllElements() {
-        addAllSoftwareSystems();
-        addAllPeople();
-        addAllContainers();
+        batch(() -> {
+            addAllSoftwareSystems();
+            addAllPeople();
+            addAllContainers();
+        });
     }
 
     /**
@@ -136,13 +140,13 @@ public final class ContainerView extends StaticView {
     public final void addAllInfluencers() {
 
         // add all software systems with incoming or outgoing dependencies
-        getModel().getSoftwareSystems()
+        getModel().getSoftwareSystemsView()
                 .stream()
                 .filter(softwareSystem -> softwareSystem.hasEfferentRelationshipWith(getSoftwareSystem()) || getSoftwareSystem().hasEfferentRelationshipWith(softwareSystem))
                 .forEach(this::add);
 
         // then add all people with incoming or outgoing dependencies
-        getModel().getPeople()
+        getModel().getPeopleView()
                 .stream()
                 .filter(person -> person.hasEfferentRelationshipWith(getSoftwareSystem()) || getSoftwareSystem().hasEfferentRelationshipWith(person))
                 .forEach(this::add);
@@ -180,7 +184,7 @@ public final class ContainerView extends StaticView {
      * {@link SoftwareSystem} of this {@link ContainerView}.
      */
     public final void addDependentSoftwareSystems() {
-        getModel().getSoftwareSystems().stream()
+        getModel().getSoftwareSystemsView().stream()
                 .filter(softwareSystem -> softwareSystem.hasEfferentRelationshipWith(this.getSoftwareSystem()))
                 .forEach(this::add);
     }
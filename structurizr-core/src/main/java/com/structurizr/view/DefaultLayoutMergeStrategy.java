@@ -7,8 +7,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * A default implementation of a LayoutMergeStrategy that:
@@ -37,11 +36,15 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         setPaperSizeIfNotSpecified(viewWithLayoutInformation, viewWithoutLayoutInformation);
         setDimensionsIfNotSpecified(viewWithLayoutInformation, viewWithoutLayoutInformation);
 
+        // index the source view, to avoid scanning it for every element/relationship in the destination view
+        // (the index is local to this merge, so the source view isn't modified and can be shared between merges)
+        Map<String, ElementView> elementViewsWithLayoutInformation = indexByCanonicalName(viewWithLayoutInformation);
+
         Map<ElementView, ElementView> elementViewMap = new HashMap<>();
         Map<Element, Element> elementMap = new HashMap<>();
 
         for (ElementView elementViewWithoutLayoutInformation : viewWithoutLayoutInformation.getElements()) {
-            ElementView elementViewWithLayoutInformation = findElementView(viewWithLayoutInformation, elementViewWithoutLayoutInformation.getElement());
+            ElementView elementViewWithLayoutInformation = findElementView(viewWithLayoutInformation, elementViewsWithLayoutInformation, elementViewWithoutLayoutInformation.getElement());
             if (elementViewWithLayoutInformation != null) {
                 elementViewMap.put(elementViewWithoutLayoutInformation, elementViewWithLayoutInformation);
                 elementMap.put(elementViewWithoutLayoutInformation.getElement(), elementViewWithLayoutInformation.getElement());
@@ -55,12 +58,20 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
             elementViewWithoutLayoutInformation.copyLayoutInformationFrom(elementViewWithLayoutInformation);
         }
 
+        Map<Element, Map<Element, List<RelationshipView>>> relationshipViewsWithLayoutInformation = new HashMap<>();
+        for (RelationshipView rv : viewWithLayoutInformation.getRelationships()) {
+            relationshipViewsWithLayoutInformation
+                    .computeIfAbsent(rv.getRelationship().getSource(), source -> new HashMap<>())
+                    .computeIfAbsent(rv.getRelationship().getDestination(), destination -> new ArrayList<>())
+                    .add(rv);
+        }
+
         for (RelationshipView relationshipViewWithoutLayoutInformation : viewWithoutLayoutInformation.getRelationships()) {
             RelationshipView relationshipViewWithLayoutInformation;
             if (viewWithoutLayoutInformation instanceof DynamicView) {
-                relationshipViewWithLayoutInformation = findRelationshipView(viewWithLayoutInformation, relationshipViewWithoutLayoutInformation, elementMap);
+                relationshipViewWithLayoutInformation = findRelationshipView(relationshipViewsWithLayoutInformation, relationshipViewWithoutLayoutInformation, elementMap);
             } else {
-                relationshipViewWithLayoutInformation = findRelationshipView(viewWithLayoutInformation, relationshipViewWithoutLayoutInformation.getRelationship(), elementMap);
+                relationshipViewWithLayoutInformation = findRelationshipView(relationshipViewsWithLayoutInformation, relationshipViewWithoutLayoutInformation.getRelationship(), elementMap);
             }
 
             if (relationshipViewWithLayoutInformation != null) {
@@ -82,15 +93,28 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
     }
 
     /**
-     * Finds an element. Override this to change the behaviour.
+     * Finds an element.
      *
      * @param viewWithLayoutInformation             the view to search
      * @param elementWithoutLayoutInformation       the Element to find
      * @return  an ElementView
      */
     protected ElementView findElementView(ModelView viewWithLayoutInformation, Element elementWithoutLayoutInformation) {
+        return findElementView(viewWithLayoutInformation, indexByCanonicalName(viewWithLayoutInformation), elementWithoutLayoutInformation);
+    }
+
+    /**
+     * Finds an element, using an index of the element views in the view to search (keyed by canonical name).
+     * Override this to change the behaviour.
+     *
+     * @param viewWithLayoutInformation             the view to search
+     * @param elementViewsByCanonicalName           the element views in the view to search, keyed by canonical name
+     * @param elementWithoutLayoutInformation       the Element to find
+     * @return  an ElementView
+     */
+    protected ElementView findElementView(ModelView viewWithLayoutInformation, Map<String, ElementView> elementViewsByCanonicalName, Element elementWithoutLayoutInformation) {
         // see if we can find an element with the same canonical name in the source view
-        ElementView elementView = viewWithLayoutInformation.getElements().stream().filter(ev -> ev.getElement().getCanonicalName().equals(elementWithoutLayoutInformation.getCanonicalName())).findFirst().orElse(null);
+        ElementView elementView = elementViewsByCanonicalName.get(elementWithoutLayoutInformation.getCanonicalName());
 
         if (elementView == null) {
             // no element was found, so try finding an element of the same type with the same name (in this situation, the parent element may have been renamed)
@@ -112,31 +136,35 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         return elementView;
     }
 
-    private RelationshipView findRelationshipView(ModelView viewWithLayoutInformation, Relationship relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
+    private Map<String, ElementView> indexByCanonicalName(ModelView view) {
+        // when multiple elements have the same canonical name, the element view with the lowest ID is used
+        Map<String, ElementView> elementViewsByCanonicalName = new HashMap<>();
+        for (ElementView elementView : view.getElements()) {
+            elementViewsByCanonicalName.putIfAbsent(elementView.getElement().getCanonicalName(), elementView);
+        }
+
+        return elementViewsByCanonicalName;
+    }
+
+    private RelationshipView findRelationshipView(Map<Element, Map<Element, List<RelationshipView>>> relationshipViewsWithLayoutInformation, Relationship relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
         if (!elementMap.containsKey(relationshipWithoutLayoutInformation.getSource()) || !elementMap.containsKey(relationshipWithoutLayoutInformation.getDestination())) {
             return null;
         }
 
+        // only relationship views between the same source and destination elements are candidates
         Element sourceElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getSource());
         Element destinationElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getDestination());
+        List<RelationshipView> candidates = findRelationshipViews(relationshipViewsWithLayoutInformation, sourceElementWithLayoutInformation, destinationElementWithLayoutInformation);
 
-        for (RelationshipView rv : viewWithLayoutInformation.getRelationships()) {
-            if (
-                rv.getRelationship().getSource().equals(sourceElementWithLayoutInformation) &&
-                rv.getRelationship().getDestination().equals(destinationElementWithLayoutInformation) &&
-                rv.getRelationship().getDescription().equals(relationshipWithoutLayoutInformation.getDescription())
-            ) {
+        for (RelationshipView rv : candidates) {
+            if (rv.getRelationship().getDescription().equals(relationshipWithoutLayoutInformation.getDescription())) {
                 return rv;
             }
         }
 
         // if we got this far, perhaps the relationship description was changed, so try matching on ID instead
-        for (RelationshipView rv : viewWithLayoutInformation.getRelationships()) {
-            if (
-                rv.getRelationship().getSource().equals(sourceElementWithLayoutInformation) &&
-                rv.getRelationship().getDestination().equals(destinationElementWithLayoutInformation) &&
-                rv.getRelationship().getId().equals(relationshipWithoutLayoutInformation.getId())
-            ) {
+        for (RelationshipView rv : candidates) {
+            if (rv.getRelationship().getId().equals(relationshipWithoutLayoutInformation.getId())) {
                 return rv;
             }
         }
@@ -144,18 +172,18 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         return null;
     }
 
-    private RelationshipView findRelationshipView(ModelView view, RelationshipView relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
+    private RelationshipView findRelationshipView(Map<Element, Map<Element, List<RelationshipView>>> relationshipViewsWithLayoutInformation, RelationshipView relationshipWithoutLayoutInformation, Map<Element,Element> elementMap) {
         if (!elementMap.containsKey(relationshipWithoutLayoutInformation.getRelationship().getSource()) || !elementMap.containsKey(relationshipWithoutLayoutInformation.getRelationship().getDestination())) {
             return null;
         }
 
+        // only relationship views between the same source and destination elements are candidates
         Element sourceElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getRelationship().getSource());
         Element destinationElementWithLayoutInformation = elementMap.get(relationshipWithoutLayoutInformation.getRelationship().getDestination());
+        List<RelationshipView> candidates = findRelationshipViews(relationshipViewsWithLayoutInformation, sourceElementWithLayoutInformation, destinationElementWithLayoutInformation);
 
-        for (RelationshipView rv : view.getRelationships()) {
+        for (RelationshipView rv : candidates) {
             if (
-                rv.getRelationship().getSource().equals(sourceElementWithLayoutInformation) &&
-                rv.getRelationship().getDestination().equals(destinationElementWithLayoutInformation) &&
                 rv.getDescription().equals(relationshipWithoutLayoutInformation.getDescription()) &&
                 rv.getOrder().equals(relationshipWithoutLayoutInformation.getOrder())) {
                     return rv;
@@ -163,10 +191,8 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         }
 
         // if we got this far, perhaps the relationship description was changed, so try matching on ID instead
-        for (RelationshipView rv : view.getRelationships()) {
+        for (RelationshipView rv : candidates) {
             if (
-                rv.getRelationship().getSource().equals(sourceElementWithLayoutInformation) &&
-                rv.getRelationship().getDestination().equals(destinationElementWithLayoutInformation) &&
                 rv.getRelationship().getId().equals(relationshipWithoutLayoutInformation.getId()) &&
                 rv.getOrder().equals(relationshipWithoutLayoutInformation.getOrder())) {
                     return rv;
@@ -176,4 +202,8 @@ public class DefaultLayoutMergeStrategy implements LayoutMergeStrategy {
         return null;
     }
 
-}
\ No newline at end of file
+    private List<RelationshipView> findRelationshipViews(Map<Element, Map<Element, List<RelationshipView>>> relationshipViews, Element source, Element destination) {
+        return relationshipViews.getOrDefault(source, Collections.emptyMap()).getOrDefault(destination, Collections.emptyList());
+    }
+
+}
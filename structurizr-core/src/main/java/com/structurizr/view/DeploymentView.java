@@ -49,16 +49,18 @@ public final class DeploymentView extends ModelView implements AnimatedView {
      * Adds the default set of elements to this view.
      */
     public void addDefaultElements() {
-        addAllDeploymentNodes();
+        batch(() -> {
+            addAllDeploymentNodes();
 
-        getElements().stream().map(ElementView::getElement).forEach(e -> addNearestNeighbours(e, CustomElement.class));
+            getElements().stream().map(ElementView::getElement).forEach(e -> addNearestNeighbours(e, CustomElement.class));
+        });
     }
 
     /**
      * Adds all of the top-level deployment nodes to this view, for the same deployment environment (if set).
      */
     public void addAllDeploymentNodes() {
-        for (DeploymentNode deploymentNode : getModel().getDeploymentNodes()) {
+        for (DeploymentNode deploymentNode : getModel().getDeploymentNodesView()) {
             if (deploymentNode.getParent() == null) {
                 if (this.getEnvironment() == null || this.getEnvironment().equals(deploymentNode.getEnvironment())) {
                     add(deploymentNode);
@@ -415,26 +417,22 @@ public final class DeploymentView extends ModelView implements AnimatedView {
     }
 
     private DeploymentNode findDeploymentNode(Element e) {
-        for (Element element : getModel().getElements()) {
-            if (element instanceof DeploymentNode) {
-                DeploymentNode deploymentNode = (DeploymentNode) element;
-
-                if (e instanceof SoftwareSystemInstance) {
-                    if (deploymentNode.getSoftwareSystemInstances().contains(e)) {
-                        return deploymentNode;
-                    }
+        for (DeploymentNode deploymentNode : getModel().getElementsOfType(DeploymentNode.class)) {
+            if (e instanceof SoftwareSystemInstance) {
+                if (deploymentNode.getSoftwareSystemInstances().contains(e)) {
+                    return deploymentNode;
                 }
+            }
 
-                if (e instanceof ContainerInstance) {
-                    if (deploymentNode.getContainerInstances().contains(e)) {
-                        return deploymentNode;
-                    }
+            if (e instanceof ContainerInstance) {
+                if (deploymentNode.getContainerInstances().contains(e)) {
+                    return deploymentNode;
                 }
+            }
 
-                if (e instanceof InfrastructureNode) {
-                    if (deploymentNode.getInfrastructureNodes().contains(e)) {
-                        return deploymentNode;
-                    }
+            if (e instanceof InfrastructureNode) {
+                if (deploymentNode.getInfrastructureNodes().contains(e)) {
+                    return deploymentNode;
                 }
             }
         }
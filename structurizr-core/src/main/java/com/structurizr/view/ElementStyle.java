@@ -87,6 +87,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setWidth(Integer width) {
+        modified();
         this.width = width;
     }
 
@@ -105,6 +106,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setHeight(Integer height) {
+        modified();
         this.height = height;
     }
 
@@ -123,6 +125,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setBackground(String color) {
+        modified();
         if (Color.isHexColorCode(color)) {
             this.background = color.toLowerCase();
         } else {
@@ -151,6 +154,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setStroke(String color) {
+        modified();
         if (Color.isHexColorCode(color)) {
             this.stroke = color.toLowerCase();
         } else {
@@ -179,6 +183,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setStrokeWidth(Integer strokeWidth) {
+        modified();
         if (strokeWidth == null) {
             this.strokeWidth = null;
         } else if (strokeWidth < 1) {
@@ -203,6 +208,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setColor(String color) {
+        modified();
         if (Color.isHexColorCode(color)) {
             this.color = color.toLowerCase();
         } else {
@@ -231,6 +237,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setFontSize(Integer fontSize) {
+        modified();
         this.fontSize = fontSize;
     }
 
@@ -249,6 +256,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setShape(Shape shape) {
+        modified();
         this.shape = shape;
     }
 
@@ -267,6 +275,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setIcon(String icon) {
+        modified();
         if (StringUtils.isNullOrEmpty(icon)) {
             this.icon = null;
         } else {
@@ -290,6 +299,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setIconPosition(IconPosition iconPosition) {
+        modified();
         this.iconPosition = iconPosition;
     }
 
@@ -308,6 +318,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setBorder(Border border) {
+        modified();
         this.border = border;
     }
 
@@ -326,6 +337,7 @@ public final class ElementStyle extends AbstractStyle {
     }
 
     public void setOpacity(Integer opacity) {
+        modified();
         if (opacity != null) {
             if (opacity < 0) {
                 this.opacity = 0;
@@ -357,6 +369,7 @@ public final class ElementStyle extends AbstractStyle {
      * @param metadata  true (shown), false (hidden) or null (not set)
      */
     public void setMetadata(Boolean metadata) {
+        modified();
         this.metadata = metadata;
     }
 
@@ -380,6 +393,7 @@ public final class ElementStyle extends AbstractStyle {
      * @param description   true (shown), false (hidden) or null (not set)
      */
     public void setDescription(Boolean description) {
+        modified();
         this.description = description;
     }
 
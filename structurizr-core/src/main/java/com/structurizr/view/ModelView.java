@@ -6,11 +6,7 @@ import com.structurizr.model.*;
 import com.structurizr.util.StringUtils;
 
 import javax.annotation.Nonnull;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.*;
 
 import static com.structurizr.view.AutomaticLayout.*;
 
@@ -33,8 +29,20 @@ public abstract class ModelView extends View {
     private AutomaticLayout automaticLayout = null;
     private boolean mergeFromRemote = true;
 
-    private Set<ElementView> elementViews = new TreeSet<>();
-    private Set<RelationshipView> relationshipViews = new TreeSet<>();
+    private TreeSet<ElementView> elementViews = new TreeSet<>();
+    private TreeSet<RelationshipView> relationshipViews = new TreeSet<>();
+
+    // indexes over the element and relationship views, keyed by element/relationship ID
+    private Map<String, ElementView> elementViewsById = new HashMap<>();
+    private Map<String, List<RelationshipView>> relationshipViewsById = new HashMap<>();
+
+    // the IDs of all ancestors (parents, grandparents, etc) of elements in this view, along with the number of
+    // elements they are an ancestor of (built on demand, since elements are not available until the view is hydrated)
+    private Map<String, Integer> ancestorIdsInView;
+
+    // elements added during a batch, whose relationships are yet to be added
+    private int batchDepth = 0;
+    private Set<Element> elementsWithPendingRelationships = new LinkedHashSet<>();
 
     private LayoutMergeStrategy layoutMergeStrategy = new DefaultLayoutMergeStrategy();
 
@@ -191,10 +199,14 @@ public abstract class ModelView extends View {
 
         if (getModel().contains(element)) {
             checkElementCanBeAdded(element);
-            elementViews.add(new ElementView(element));
+            addElementView(new ElementView(element));
 
             if (addRelationships) {
-                addRelationships(element);
+                if (batchDepth > 0) {
+                    elementsWithPendingRelationships.add(element);
+                } else {
+                    addRelationships(element);
+                }
             }
         } else {
             throw new IllegalArgumentException("The element named " + element.getName() + " does not exist in the model associated with this view.");
@@ -203,23 +215,126 @@ public abstract class ModelView extends View {
 
     protected abstract void checkElementCanBeAdded(Element element);
 
-    private void addRelationships(Element element) {
-        Set<Element> elements = getElements().stream()
-                .map(ElementView::getElement)
-                .collect(Collectors.toSet());
+    /**
+     * Runs the specified action as a batch, for use when adding a large number of elements to this view
+     * (e.g. via addAllElements() or addDefaultElements()). Rather than adding the relationships to/from each element
+     * as it's added, the relationships between all elements added during the batch are added in a single pass when
+     * the batch completes (or earlier, if the relationships in this view are queried or removed during the batch).
+     * The resulting view is the same as if the elements had been added individually.
+     *
+     * @param action    the action to run
+     */
+    public void batch(@Nonnull Runnable action) {
+        if (action == null) {
+            throw new IllegalArgumentException("An action must be specified.");
+        }
+
+        batchDepth++;
+        try {
+            action.run();
+        } finally {
+            batchDepth--;
+
+            if (batchDepth == 0) {
+                addPendingRelationships();
+            }
+        }
+    }
+
+    private void addPendingRelationships() {
+        if (!elementsWithPendingRelationships.isEmpty()) {
+            Set<Element> elements = elementsWithPendingRelationships;
+            elementsWithPendingRelationships = new LinkedHashSet<>();
+
+            for (Element element : elements) {
+                if (isElementInView(element)) {
+                    // add relationships where the destination exists in the view
+                    for (Relationship relationship : element.getRelationshipsView()) {
+                        if (isElementInView(relationship.getDestination())) {
+                            addRelationshipView(new RelationshipView(relationship));
+                        }
+                    }
 
+                    // add relationships where the source exists in the view, unless they've been added already
+                    for (Relationship relationship : getModel().getAfferentRelationships(element)) {
+                        if (!elements.contains(relationship.getSource()) && isElementInView(relationship.getSource())) {
+                            addRelationshipView(new RelationshipView(relationship));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void addRelationships(Element element) {
         // add relationships where the destination exists in the view already
-        for (Relationship relationship : element.getRelationships()) {
-            if (elements.contains(relationship.getDestination())) {
-                this.relationshipViews.add(new RelationshipView(relationship));
+        for (Relationship relationship : element.getRelationshipsView()) {
+            if (isElementInView(relationship.getDestination())) {
+                addRelationshipView(new RelationshipView(relationship));
             }
         }
 
         // add relationships where the source exists in the view already
-        for (Element e : elements) {
-            for (Relationship r : e.getRelationships()) {
-                if (r.getDestination().equals(element)) {
-                    this.relationshipViews.add(new RelationshipView(r));
+        for (Relationship relationship : getModel().getAfferentRelationships(element)) {
+            if (isElementInView(relationship.getSource())) {
+                addRelationshipView(new RelationshipView(relationship));
+            }
+        }
+    }
+
+    private void addElementView(ElementView elementView) {
+        if (elementViews.add(elementView)) {
+            elementViewsById.put(elementView.getId(), elementView);
+
+            if (ancestorIdsInView != null) {
+                addAncestorIds(elementView.getElement());
+            }
+        }
+    }
+
+    private void removeElementView(ElementView elementView) {
+        if (elementViews.remove(elementView)) {
+            elementViewsById.remove(elementView.getId());
+
+            if (ancestorIdsInView != null) {
+                removeAncestorIds(elementView.getElement());
+            }
+        }
+    }
+
+    private void addAncestorIds(Element element) {
+        Element parent = element.getParent();
+        while (parent != null) {
+            ancestorIdsInView.merge(parent.getId(), 1, Integer::sum);
+            parent = parent.getParent();
+        }
+    }
+
+    private void removeAncestorIds(Element element) {
+        Element parent = element.getParent();
+        while (parent != null) {
+            ancestorIdsInView.computeIfPresent(parent.getId(), (id, count) -> count > 1 ? count - 1 : null);
+            parent = parent.getParent();
+        }
+    }
+
+    private void addRelationshipView(RelationshipView relationshipView) {
+        if (relationshipViews.add(relationshipView)) {
+            relationshipViewsById.computeIfAbsent(relationshipView.getId(), id -> new ArrayList<>(1)).add(relationshipView);
+        }
+    }
+
+    private void removeRelationshipView(RelationshipView relationshipView) {
+        // find the instance that will be removed, so that it can be removed from the index too
+        RelationshipView existingRelationshipView = relationshipViews.ceiling(relationshipView);
+        if (existingRelationshipView != null && existingRelationshipView.compareTo(relationshipView) == 0) {
+            relationshipViews.remove(existingRelationshipView);
+
+            List<RelationshipView> relationshipViewsWithId = relationshipViewsById.get(existingRelationshipView.getId());
+            if (relationshipViewsWithId != null) {
+                relationshipViewsWithId.removeIf(rv -> rv == existingRelationshipView);
+                if (relationshipViewsWithId.isEmpty()) {
+                    relationshipViewsById.remove(existingRelationshipView.getId());
                 }
             }
         }
@@ -234,8 +349,12 @@ public abstract class ModelView extends View {
             throw new IllegalArgumentException("The element named '" + element.getName() + "' cannot be removed from this view.");
         }
 
-        ElementView elementView = new ElementView(element);
-        elementViews.remove(elementView);
+        addPendingRelationships();
+
+        ElementView elementView = elementViewsById.get(element.getId());
+        if (elementView != null) {
+            removeElementView(elementView);
+        }
 
         for (RelationshipView relationshipView : getRelationships()) {
             if (relationshipView.getRelationship().getSource().equals(element) ||
@@ -252,7 +371,7 @@ public abstract class ModelView extends View {
 
         if (isElementInView(relationship.getSource()) && isElementInView(relationship.getDestination())) {
             RelationshipView relationshipView = new RelationshipView(relationship);
-            relationshipViews.add(relationshipView);
+            addRelationshipView(relationshipView);
 
             return relationshipView;
         }
@@ -267,7 +386,12 @@ public abstract class ModelView extends View {
      * @return      true if the element exists in the view, false otherwise
      */
     public boolean isElementInView(Element element) {
-        return this.elementViews.stream().anyMatch(ev -> ev.getElement().equals(element));
+        if (element == null) {
+            return false;
+        }
+
+        ElementView elementView = elementViewsById.get(element.getId());
+        return elementView != null && element.equals(elementView.getElement());
     }
 
     /**
@@ -277,7 +401,13 @@ public abstract class ModelView extends View {
      * @return      true if the relationship exists in the view, false otherwise
      */
     public boolean isRelationshipInView(Relationship relationship) {
-        return this.relationshipViews.stream().anyMatch(rv -> rv.getRelationship().equals(relationship));
+        if (relationship == null) {
+            return false;
+        }
+
+        addPendingRelationships();
+        List<RelationshipView> relationshipViewsWithId = relationshipViewsById.get(relationship.getId());
+        return relationshipViewsWithId != null && relationshipViewsWithId.stream().anyMatch(rv -> relationship.equals(rv.getRelationship()));
     }
 
     /**
@@ -287,8 +417,8 @@ public abstract class ModelView extends View {
      */
     public void remove(Relationship relationship) {
         if (relationship != null) {
-            RelationshipView relationshipView = new RelationshipView(relationship);
-            relationshipViews.remove(relationshipView);
+            addPendingRelationships();
+            removeRelationshipView(new RelationshipView(relationship));
         }
     }
 
@@ -332,6 +462,9 @@ public abstract class ModelView extends View {
     void setElements(Set<ElementView> elementViews) {
         if (elementViews != null) {
             this.elementViews = new TreeSet<>(elementViews);
+            this.elementViewsById = new HashMap<>();
+            this.elementViews.forEach(ev -> elementViewsById.put(ev.getId(), ev));
+            this.ancestorIdsInView = null;
         }
     }
 
@@ -341,12 +474,15 @@ public abstract class ModelView extends View {
      * @return a Set of RelationshipView objects
      */
     public Set<RelationshipView> getRelationships() {
+        addPendingRelationships();
         return new TreeSet<>(this.relationshipViews);
     }
 
     void setRelationships(Set<RelationshipView> relationshipViews) {
         if (relationshipViews != null) {
             this.relationshipViews = new TreeSet<>(relationshipViews);
+            this.relationshipViewsById = new HashMap<>();
+            this.relationshipViews.forEach(rv -> relationshipViewsById.computeIfAbsent(rv.getId(), id -> new ArrayList<>(1)).add(rv));
         }
     }
 
@@ -398,8 +534,7 @@ public abstract class ModelView extends View {
      * @return  an ElementView object, or null if the element doesn't exist in the view
      */
     public ElementView getElementView(@Nonnull Element element) {
-        Optional<ElementView> elementView = this.elementViews.stream().filter(ev -> ev.getId().equals(element.getId())).findFirst();
-        return elementView.orElse(null);
+        return elementViewsById.get(element.getId());
     }
 
     /**
@@ -409,8 +544,16 @@ public abstract class ModelView extends View {
      * @return  a RelationshipView object, or null if the relationship doesn't exist in the view
      */
     public RelationshipView getRelationshipView(@Nonnull Relationship relationship) {
-        Optional<RelationshipView> relationshipView = this.relationshipViews.stream().filter(rv -> rv.getId().equals(relationship.getId())).findFirst();
-        return relationshipView.orElse(null);
+        addPendingRelationships();
+        List<RelationshipView> relationshipViewsWithId = relationshipViewsById.get(relationship.getId());
+        if (relationshipViewsWithId == null) {
+            return null;
+        } else if (relationshipViewsWithId.size() == 1) {
+            return relationshipViewsWithId.get(0);
+        } else {
+            // a relationship can appear more than once in a dynamic view
+            return this.relationshipViews.stream().filter(rv -> rv.getId().equals(relationship.getId())).findFirst().orElse(null);
+        }
     }
 
     void setViewSet(@Nonnull ViewSet viewSet) {
@@ -431,11 +574,9 @@ public abstract class ModelView extends View {
 
     final void checkParentAndChildrenHaveNotAlreadyBeenAdded(StaticStructureElement elementToBeAdded) {
         // check a parent hasn't been added already
-        Set<String> idsOfElementsInView = getElements().stream().map(ElementView::getElement).map(Element::getId).collect(Collectors.toSet());
-
         Element parent = elementToBeAdded.getParent();
         while (parent != null) {
-            if (idsOfElementsInView.contains(parent.getId())) {
+            if (elementViewsById.containsKey(parent.getId())) {
                 throw new ElementNotPermittedInViewException("A parent of " + elementToBeAdded.getName() + " is already in this view.");
             }
 
@@ -443,17 +584,12 @@ public abstract class ModelView extends View {
         }
 
         // and now check a child hasn't been added already
-        Set<String> elementParentIds = new HashSet<>();
-        for (ElementView elementView : getElements()) {
-            Element element = elementView.getElement();
-            parent = element.getParent();
-            while (parent != null) {
-                elementParentIds.add(parent.getId());
-                parent = parent.getParent();
-            }
+        if (ancestorIdsInView == null) {
+            ancestorIdsInView = new HashMap<>();
+            elementViews.forEach(ev -> addAncestorIds(ev.getElement()));
         }
 
-        if (elementParentIds.contains(elementToBeAdded.getId())) {
+        if (ancestorIdsInView.containsKey(elementToBeAdded.getId())) {
             throw new ElementNotPermittedInViewException("A child of " + elementToBeAdded.getName() + " is already in this view.");
         }
     }
@@ -466,8 +602,7 @@ public abstract class ModelView extends View {
         try {
             addElement(element, true);
 
-            Set<Relationship> relationships = getModel().getRelationships();
-            relationships.stream().filter(r -> r.getSource().equals(element) && typeOfElement.isInstance(r.getDestination()))
+            getModel().getEfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getDestination()))
                     .map(Relationship::getDestination)
                     .forEach(d -> {
                         try {
@@ -477,7 +612,7 @@ public abstract class ModelView extends View {
                         }
                     });
 
-            relationships.stream().filter(r -> r.getDestination().equals(element) && typeOfElement.isInstance(r.getSource()))
+            getModel().getAfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getSource()))
                     .map(Relationship::getSource)
                     .forEach(s -> {
                         try {
@@ -70,6 +70,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setThickness(Integer thickness) {
+        modified();
         this.thickness = thickness;
     }
 
@@ -83,6 +84,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setColor(String color) {
+        modified();
         if (Color.isHexColorCode(color)) {
             this.color = color.toLowerCase();
         } else {
@@ -106,6 +108,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setDashed(Boolean dashed) {
+        modified();
         this.dashed = dashed;
     }
 
@@ -119,6 +122,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setStyle(LineStyle style) {
+        modified();
         this.style = style;
     }
 
@@ -132,6 +136,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setRouting(Routing routing) {
+        modified();
         this.routing = routing;
     }
 
@@ -145,6 +150,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setJump(Boolean jump) {
+        modified();
         this.jump = jump;
     }
 
@@ -158,6 +164,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setFontSize(Integer fontSize) {
+        modified();
         this.fontSize = fontSize;
     }
 
@@ -171,6 +178,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setWidth(Integer width) {
+        modified();
         this.width = width;
     }
 
@@ -184,6 +192,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setPosition(Integer position) {
+        modified();
         if (position == null) {
             this.position = null;
         } else if (position < START_OF_LINE) {
@@ -210,6 +219,7 @@ public final class RelationshipStyle extends AbstractStyle {
     }
 
     public void setOpacity(Integer opacity) {
+        modified();
         if (opacity != null) {
             if (opacity < 0) {
                 this.opacity = 0;
@@ -241,6 +251,7 @@ public final class RelationshipStyle extends AbstractStyle {
      * @param metadata  true (shown), false (hidden) or null (not set)
      */
     public void setMetadata(Boolean metadata) {
+        modified();
         this.metadata = metadata;
     }
 
@@ -264,6 +275,7 @@ public final class RelationshipStyle extends AbstractStyle {
      * @param description   true (shown), false (hidden) or null (not set)
      */
     public void setDescription(Boolean description) {
+        modified();
         this.description = description;
     }
 
@@ -40,7 +40,7 @@ public abstract class StaticView extends ModelView implements AnimatedView {
      * Adds all software systems in the model to this view.
      */
     public void addAllSoftwareSystems() {
-        getModel().getSoftwareSystems().forEach(ss -> {
+        getModel().getSoftwareSystemsView().forEach(ss -> {
             try {
                 add(ss);
             } catch (ElementNotPermittedInViewException e) {
@@ -81,7 +81,7 @@ public abstract class StaticView extends ModelView implements AnimatedView {
      * Adds all people in the model to this view.
      */
     public void addAllPeople() {
-        getModel().getPeople().forEach(this::add);
+        getModel().getPeopleView().forEach(this::add);
     }
 
     /**
@@ -161,7 +161,7 @@ public abstract class StaticView extends ModelView implements AnimatedView {
 
             // check that we've not gone back to the starting point of the graph
             if (!element.hasEfferentRelationshipWith(startingElement)) {
-                element.getRelationships().forEach(r -> findElementsToShow(startingElement, r.getDestination(), elementsToShow, elementsVisited));
+                element.getRelationshipsView().forEach(r -> findElementsToShow(startingElement, r.getDestination(), elementsToShow, elementsVisited));
             }
         }
     }
@@ -0,0 +1,67 @@
+package com.structurizr.view;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * A collection of element/relationship styles that notifies its owner (a Styles or Theme instance) when styles are
+ * added or removed, including via the collection returned to callers and its iterator.
+ */
+final class StyleCollection<T extends AbstractStyle> extends AbstractCollection<T> {
+
+    private final Collection<T> styles;
+    private final Consumer<T> added;
+    private final Runnable removed;
+
+    StyleCollection(Collection<T> styles, Consumer<T> added, Runnable removed) {
+        this.styles = styles;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    @Override
+    public boolean add(T style) {
+        if (styles.add(style)) {
+            added.accept(style);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return styles.contains(o);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> iterator = styles.iterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                removed.run();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return styles.size();
+    }
+
+}
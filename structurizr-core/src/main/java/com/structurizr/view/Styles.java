@@ -5,6 +5,7 @@ import com.structurizr.util.StringUtils;
 import com.structurizr.util.TagUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Styles {
 
@@ -14,11 +15,17 @@ public final class Styles {
     public static final String DEFAULT_BACKGROUND_DARK = "#111111";
     public static final String DEFAULT_COLOR_DARK = "#cccccc";
 
-    private Collection<ElementStyle> elements = new TreeSet<>();
-    private Collection<RelationshipStyle> relationships = new TreeSet<>();
+    private Collection<ElementStyle> elements = new StyleCollection<>(new TreeSet<>(), this::styleAdded, this::stylesChanged);
+    private Collection<RelationshipStyle> relationships = new StyleCollection<>(new TreeSet<>(), this::styleAdded, this::stylesChanged);
 
     private final List<Theme> themes = new ArrayList<>();
 
+    // resolved element/relationship styles, keyed by color scheme and the (ordered) tags used to resolve them;
+    // these are replaced (rather than cleared) whenever a style or theme changes, so that a style being resolved
+    // concurrently with a change is only added to the discarded map
+    private volatile Map<String, ElementStyle> resolvedElementStyles = new ConcurrentHashMap<>();
+    private volatile Map<String, RelationshipStyle> resolvedRelationshipStyles = new ConcurrentHashMap<>();
+
     public Collection<ElementStyle> getElements() {
         return elements;
     }
@@ -56,14 +63,16 @@ public final class Styles {
      * Removes all element styles.
      */
     public void clearElementStyles() {
-        this.elements = new LinkedList<>();
+        this.elements = new StyleCollection<>(new LinkedList<>(), this::styleAdded, this::stylesChanged);
+        stylesChanged();
     }
 
     /**
      * Removes all relationship styles.
      */
     public void clearRelationshipStyles() {
-        this.relationships = new LinkedList<>();
+        this.relationships = new StyleCollection<>(new LinkedList<>(), this::styleAdded, this::stylesChanged);
+        stylesChanged();
     }
 
     public Collection<RelationshipStyle> getRelationships() {
@@ -270,20 +279,40 @@ public final class Styles {
      * @return  an ElementStyle object
      */
     public ElementStyle findElementStyle(Element element, ColorScheme colorScheme) {
+        if (element == null) {
+            return resolveElementStyle(null, colorScheme);
+        }
+
+        // the resolved style depends only upon the tags and color scheme, so is cached (a copy is returned, since styles are mutable)
+        String tags = getTagsUsedToResolveStyle(element);
+        ElementStyle resolvedStyle = resolvedElementStyles.computeIfAbsent(colorScheme + "/" + tags, key -> resolveElementStyle(tags, colorScheme));
+
+        ElementStyle style = new ElementStyle(resolvedStyle.getTag());
+        style.copyFrom(resolvedStyle);
+
+        return style;
+    }
+
+    private String getTagsUsedToResolveStyle(Element element) {
+        String tags = element.getTags();
+
+        if (element instanceof SoftwareSystemInstance) {
+            SoftwareSystem ss = ((SoftwareSystemInstance)element).getSoftwareSystem();
+            tags = ss.getTags() + "," + tags;
+        } else if (element instanceof ContainerInstance) {
+            Container c = ((ContainerInstance)element).getContainer();
+            tags = c.getTags() + "," + tags;
+        }
+
+        return tags;
+    }
+
+    private ElementStyle resolveElementStyle(String tags, ColorScheme colorScheme) {
         ElementStyle style = new ElementStyle(Tags.ELEMENT).shape(Shape.Box).fontSize(24).border(Border.Solid).opacity(100).metadata(true).description(true);
 
-        if (element != null) {
+        if (tags != null) {
             Set<String> tagsUsedToComposeStyle = new LinkedHashSet<>();
             tagsUsedToComposeStyle.add(Tags.ELEMENT);
-            String tags = element.getTags();
-
-            if (element instanceof SoftwareSystemInstance) {
-                SoftwareSystem ss = ((SoftwareSystemInstance)element).getSoftwareSystem();
-                tags = ss.getTags() + "," + tags;
-            } else if (element instanceof ContainerInstance) {
-                Container c = ((ContainerInstance)element).getContainer();
-                tags = c.getTags() + "," + tags;
-            }
 
             for (String tag : tags.split(",")) {
                 if (!StringUtils.isNullOrEmpty(tag)) {
@@ -348,22 +377,42 @@ public final class Styles {
      * @return      a RelationshipStyle object
      */
     public RelationshipStyle findRelationshipStyle(Relationship relationship, ColorScheme colorScheme) {
+        if (relationship == null) {
+            return resolveRelationshipStyle(null, colorScheme);
+        }
+
+        // the resolved style depends only upon the tags and color scheme, so is cached (a copy is returned, since styles are mutable)
+        String tags = getTagsUsedToResolveStyle(relationship);
+        RelationshipStyle resolvedStyle = resolvedRelationshipStyles.computeIfAbsent(colorScheme + "/" + tags, key -> resolveRelationshipStyle(tags, colorScheme));
+
+        RelationshipStyle style = new RelationshipStyle(resolvedStyle.getTag());
+        style.copyFrom(resolvedStyle);
+
+        return style;
+    }
+
+    private String getTagsUsedToResolveStyle(Relationship relationship) {
+        String tags = relationship.getTags();
+        String linkedRelationshipId = relationship.getLinkedRelationshipId();
+
+        while (!StringUtils.isNullOrEmpty(linkedRelationshipId)) {
+            // the "linked relationship ID" is used for:
+            // - container instance -> container instance relationships
+            // - implied relationships
+            Relationship linkedRelationship = relationship.getModel().getRelationship(linkedRelationshipId);
+            tags = linkedRelationship.getTags() + "," + tags;
+            linkedRelationshipId = linkedRelationship.getLinkedRelationshipId();
+        }
+
+        return tags;
+    }
+
+    private RelationshipStyle resolveRelationshipStyle(String tags, ColorScheme colorScheme) {
         RelationshipStyle style = new RelationshipStyle(Tags.RELATIONSHIP).thickness(2).style(LineStyle.Dashed).dashed(true).routing(Routing.Direct).fontSize(24).width(200).position(50).opacity(100);
 
-        if (relationship != null) {
+        if (tags != null) {
             Set<String> tagsUsedToComposeStyle = new LinkedHashSet<>();
             tagsUsedToComposeStyle.add(Tags.RELATIONSHIP);
-            String tags = relationship.getTags();
-            String linkedRelationshipId = relationship.getLinkedRelationshipId();
-
-            while (!StringUtils.isNullOrEmpty(linkedRelationshipId)) {
-                // the "linked relationship ID" is used for:
-                // - container instance -> container instance relationships
-                // - implied relationships
-                Relationship linkedRelationship = relationship.getModel().getRelationship(linkedRelationshipId);
-                tags = linkedRelationship.getTags() + "," + tags;
-                linkedRelationshipId = linkedRelationship.getLinkedRelationshipId();
-            }
 
             for (String tag : tags.split(",")) {
                 if (!StringUtils.isNullOrEmpty(tag)) {
@@ -396,8 +445,26 @@ public final class Styles {
      */
     public void addStylesFromTheme(Theme theme) {
         if (theme != null) {
+            theme.addOwner(this);
             themes.add(theme);
+            stylesChanged();
         }
     }
 
-}
\ No newline at end of file
+    private void styleAdded(AbstractStyle style) {
+        if (style != null) {
+            style.addOwner(this);
+        }
+
+        stylesChanged();
+    }
+
+    /**
+     * Called when a style used by this Styles instance (or the set of styles/themes) changes.
+     */
+    void stylesChanged() {
+        resolvedElementStyles = new ConcurrentHashMap<>();
+        resolvedRelationshipStyles = new ConcurrentHashMap<>();
+    }
+
+}
@@ -48,13 +48,15 @@ public final class SystemContextView extends StaticView {
      * @param greedy    true (add all relationships) or false (adds relationships to/from the scoped software system only)
      */
     public void addDefaultElements(boolean greedy) {
-        addNearestNeighbours(getSoftwareSystem(), CustomElement.class);
-        addNearestNeighbours(getSoftwareSystem(), Person.class);
-        addNearestNeighbours(getSoftwareSystem(), SoftwareSystem.class);
-
-        if (!greedy) {
-            removeRelationshipsNotConnectedToElement(getSoftwareSystem());
-        }
+        batch(() -> {
+            addNearestNeighbours(getSoftwareSystem(), CustomElement.class);
+            addNearestNeighbours(getSoftwareSystem(), Person.class);
+            addNearestNeighbours(getSoftwareSystem(), SoftwareSystem.class);
+
+            if (!greedy) {
+                removeRelationshipsNotConnectedToElement(getSoftwareSystem());
+            }
+        });
     }
 
     /**
@@ -62,8 +64,10 @@ public final class SystemContextView extends StaticView {
      */
     @Override
     public void addAllElements() {
-        addAllSoftwareSystems();
-        addAllPeople();
+        batch(() -> {
+            addAllSoftwareSystems();
+            addAllPeople();
+        });
     }
 
     /**
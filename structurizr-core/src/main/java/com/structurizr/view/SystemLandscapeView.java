@@ -63,10 +63,12 @@ public final class SystemLandscapeView extends StaticView {
      * @param greedy    true (add all relationships) or false (add all relationships)
      */
     public void addDefaultElements(boolean greedy) {
-        addAllSoftwareSystems();
-        addAllPeople();
+        batch(() -> {
+            addAllSoftwareSystems();
+            addAllPeople();
 
-        getElements().stream().map(ElementView::getElement).forEach(e -> addNearestNeighbours(e, CustomElement.class));
+            getElements().stream().map(ElementView::getElement).forEach(e -> addNearestNeighbours(e, CustomElement.class));
+        });
     }
 
     /**
@@ -74,8 +76,10 @@ public final class SystemLandscapeView extends StaticView {
          */
     @Override
     public void addAllElements() {
-        addAllSoftwareSystems();
-        addAllPeople();
+        batch(() -> {
+            addAllSoftwareSystems();
+            addAllPeople();
+        });
     }
 
     /**
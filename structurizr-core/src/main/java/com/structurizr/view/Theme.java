@@ -4,30 +4,33 @@ import com.fasterxml.jackson.annotation.JsonGetter;
 import com.structurizr.util.ImageUtils;
 import com.structurizr.util.StringUtils;
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.*;
 
 public final class Theme {
 
+    // the Styles instances this theme has been added to, which are notified when styles are added to or removed
+    // from this theme (weakly referenced, since a theme can be shared between workspaces)
+    private final Set<Styles> owners = Collections.newSetFromMap(new WeakHashMap<>());
+
     private String name;
     private String description;
-    private Collection<ElementStyle> elements = new LinkedList<>();
-    private Collection<RelationshipStyle> relationships = new LinkedList<>();
+    private Collection<ElementStyle> elements = createStyleCollection(null);
+    private Collection<RelationshipStyle> relationships = createStyleCollection(null);
     private String license;
 
     Theme() {
     }
 
     Theme(Collection<ElementStyle> elements, Collection<RelationshipStyle> relationships) {
-        this.elements = elements;
-        this.relationships = relationships;
+        this.elements = createStyleCollection(elements);
+        this.relationships = createStyleCollection(relationships);
     }
 
     Theme(String name, String description, Collection<ElementStyle> elements, Collection<RelationshipStyle> relationships) {
         this.name = name;
         this.description = description;
-        this.elements = elements;
-        this.relationships = relationships;
+        this.elements = createStyleCollection(elements);
+        this.relationships = createStyleCollection(relationships);
     }
 
     public String getName() {
@@ -52,7 +55,9 @@ public final class Theme {
     }
 
     void setElements(Collection<ElementStyle> elements) {
-        this.elements = elements;
+        this.elements = createStyleCollection(elements);
+        this.elements.forEach(this::addOwners);
+        stylesChanged();
     }
 
     @JsonGetter
@@ -61,7 +66,9 @@ public final class Theme {
     }
 
     void setRelationships(Collection<RelationshipStyle> relationships) {
-        this.relationships = relationships;
+        this.relationships = createStyleCollection(relationships);
+        this.relationships.forEach(this::addOwners);
+        stylesChanged();
     }
 
     public String getLicense() {
@@ -72,4 +79,46 @@ public final class Theme {
         this.license = license;
     }
 
+    void addOwner(Styles styles) {
+        synchronized (owners) {
+            owners.add(styles);
+        }
+
+        elements.forEach(style -> style.addOwner(styles));
+        relationships.forEach(style -> style.addOwner(styles));
+    }
+
+    private <T extends AbstractStyle> Collection<T> createStyleCollection(Collection<T> styles) {
+        Collection<T> collection = new StyleCollection<>(new LinkedList<>(), this::styleAdded, this::stylesChanged);
+        if (styles != null) {
+            // copied, so that styles can't be added to this theme without its owners being notified
+            for (T style : styles) {
+                collection.add(style);
+            }
+        }
+
+        return collection;
+    }
+
+    private void styleAdded(AbstractStyle style) {
+        addOwners(style);
+        stylesChanged();
+    }
+
+    private void addOwners(AbstractStyle style) {
+        if (style != null) {
+            getOwners().forEach(style::addOwner);
+        }
+    }
+
+    private void stylesChanged() {
+        getOwners().forEach(Styles::stylesChanged);
+    }
+
+    private List<Styles> getOwners() {
+        synchronized (owners) {
+            return new ArrayList<>(owners);
+        }
+    }
+
 }
\ No newline at end of file
@@ -8,9 +8,11 @@ import com.structurizr.util.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import javax.annotation.Nonnull;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.structurizr.util.StringUtils.isNullOrEmpty;
 
@@ -1065,78 +1067,71 @@ public final class ViewSet {
         return configuration;
     }
 
+    /**
+     * Attempts to copy the visual layout information (e.g. x,y coordinates) of elements and relationships
+     * from the views in the specified view set into the matching views in this view set.
+     * Views are matched by key, or by name and description if no view with the same key exists.
+     *
+     * @param source    the source ViewSet (e.g. the version stored by the Structurizr service)
+     */
     public void copyLayoutInformationFrom(ViewSet source) {
-        for (CustomView view : customViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                CustomView sourceView = findView(source.getCustomViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
-        }
+        mergeLayoutInformationFrom(source, null);
+    }
 
-        for (SystemLandscapeView view : systemLandscapeViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                SystemLandscapeView sourceView = findView(source.getSystemLandscapeViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
+    /**
+     * Attempts to copy the visual layout information (e.g. x,y coordinates) of elements and relationships
+     * from the views in the specified view set into the matching views in this view set, merging the views
+     * in parallel using the specified ForkJoinPool. The views are merged independently of each other, so this
+     * can significantly reduce the time taken to merge a large number of views.
+     *
+     * @param source            the source ViewSet (e.g. the version stored by the Structurizr service)
+     * @param forkJoinPool      the ForkJoinPool to merge views with
+     */
+    public void copyLayoutInformationFrom(ViewSet source, @Nonnull ForkJoinPool forkJoinPool) {
+        if (forkJoinPool == null) {
+            throw new IllegalArgumentException("A ForkJoinPool must be specified.");
         }
 
-        for (SystemContextView view : systemContextViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                SystemContextView sourceView = findView(source.getSystemContextViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
-        }
+        mergeLayoutInformationFrom(source, forkJoinPool);
+    }
 
-        for (ContainerView view : containerViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                ContainerView sourceView = findView(source.getContainerViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
-        }
+    private void mergeLayoutInformationFrom(ViewSet source, ForkJoinPool forkJoinPool) {
+        Map<ModelView, ModelView> viewsToMerge = new LinkedHashMap<>();
+        findViewsToMerge(customViews, source.getCustomViews(), viewsToMerge);
+        findViewsToMerge(systemLandscapeViews, source.getSystemLandscapeViews(), viewsToMerge);
+        findViewsToMerge(systemContextViews, source.getSystemContextViews(), viewsToMerge);
+        findViewsToMerge(containerViews, source.getContainerViews(), viewsToMerge);
+        findViewsToMerge(componentViews, source.getComponentViews(), viewsToMerge);
+        findViewsToMerge(dynamicViews, source.getDynamicViews(), viewsToMerge);
+        findViewsToMerge(deploymentViews, source.getDeploymentViews(), viewsToMerge);
 
-        for (ComponentView view : componentViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                ComponentView sourceView = findView(source.getComponentViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
-            }
+        if (forkJoinPool == null) {
+            viewsToMerge.forEach(ModelView::copyLayoutInformationFrom);
+        } else {
+            // canonical names are cached lazily, so generate them up front rather than concurrently
+            generateCanonicalNames(model);
+            generateCanonicalNames(source.model);
+
+            forkJoinPool.submit(() -> viewsToMerge.entrySet().parallelStream().forEach(e -> e.getKey().copyLayoutInformationFrom(e.getValue()))).join();
         }
+    }
 
-        for (DynamicView view : dynamicViews) {
-            if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                DynamicView sourceView = findView(source.getDynamicViews(), view);
-                if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
-                } else {
-                    log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
-                }
+    private <T extends ModelView> void findViewsToMerge(Collection<T> views, Collection<T> sourceViews, Map<ModelView, ModelView> viewsToMerge) {
+        // index the source views by key and name, rather than searching them for every view
+        Map<String, T> sourceViewsByKey = new HashMap<>();
+        Map<String, List<T>> sourceViewsByName = new HashMap<>();
+        for (T sourceView : sourceViews) {
+            if (sourceView.getKey() != null) {
+                sourceViewsByKey.putIfAbsent(sourceView.getKey(), sourceView);
             }
+            sourceViewsByName.computeIfAbsent(sourceView.getName(), name -> new ArrayList<>()).add(sourceView);
         }
 
-        for (DeploymentView view : deploymentViews) {
+        for (T view : views) {
             if (view.getAutomaticLayout() == null && view.getMergeFromRemote() == true) {
-                DeploymentView sourceView = findView(source.getDeploymentViews(), view);
+                T sourceView = findView(sourceViewsByKey, sourceViewsByName, view);
                 if (sourceView != null) {
-                    view.copyLayoutInformationFrom(sourceView);
+                    viewsToMerge.put(view, sourceView);
                 } else {
                     log.warn("Could not find a matching view for \"" + view.getName() + "\" ... diagram layout information may be lost.");
                 }
@@ -1144,28 +1139,31 @@ public final class ViewSet {
         }
     }
 
-    private <T extends View> T findView(Collection<T> views, T sourceView) {
-        for (T view : views) {
-            if (view.getKey() != null && view.getKey().equals(sourceView.getKey())) {
-                return view;
-            }
+    private <T extends View> T findView(Map<String, T> viewsByKey, Map<String, List<T>> viewsByName, T sourceView) {
+        T view = viewsByKey.get(sourceView.getKey());
+        if (view != null) {
+            return view;
         }
 
-        for (T view : views) {
-            if (view.getName().equals(sourceView.getName())) {
-                if (view.getDescription() != null) {
-                    if (view.getDescription().equals(sourceView.getDescription())) {
-                        return view;
-                    }
-                } else {
-                    return view;
+        for (T viewWithName : viewsByName.getOrDefault(sourceView.getName(), Collections.emptyList())) {
+            if (viewWithName.getDescription() != null) {
+                if (viewWithName.getDescription().equals(sourceView.getDescription())) {
+                    return viewWithName;
                 }
+            } else {
+                return viewWithName;
             }
         }
 
         return null;
     }
 
+    private void generateCanonicalNames(Model model) {
+        if (model != null) {
+            model.getElements().forEach(Element::getCanonicalName);
+        }
+    }
+
     @JsonIgnore
     public boolean isEmpty() {
         return customViews.isEmpty() && systemLandscapeViews.isEmpty() && systemContextViews.isEmpty() && containerViews.isEmpty() && componentViews.isEmpty() && dynamicViews.isEmpty() && deploymentViews.isEmpty() && filteredViews.isEmpty() && imageViews.isEmpty();
@@ -1193,8 +1191,8 @@ public final class ViewSet {
         SystemLandscapeView systemLandscapeView = createSystemLandscapeView("", "");
         systemLandscapeView.addDefaultElements();
 
-        if (!model.getSoftwareSystems().isEmpty()) {
-            List<SoftwareSystem> softwareSystems = new ArrayList<>(model.getSoftwareSystems());
+        if (!model.getSoftwareSystemsView().isEmpty()) {
+            List<SoftwareSystem> softwareSystems = new ArrayList<>(model.getSoftwareSystemsView());
             softwareSystems.sort(Comparator.comparing(Element::getName));
 
             // and a system context view plus container view for each software system
@@ -1222,7 +1220,7 @@ public final class ViewSet {
 
         // and deployment views for each environment and software system pair
         List<String> deploymentEnvironments = new ArrayList<>();
-        for (DeploymentNode deploymentNode : model.getDeploymentNodes()) {
+        for (DeploymentNode deploymentNode : model.getDeploymentNodesView()) {
             String environment = deploymentNode.getEnvironment();
             if (!deploymentEnvironments.contains(environment)) {
                 deploymentEnvironments.add(environment);
@@ -1232,7 +1230,7 @@ public final class ViewSet {
 
         for (String deploymentEnvironment : deploymentEnvironments) {
             List<SoftwareSystem> softwareSystems = new ArrayList<>();
-            for (DeploymentNode deploymentNode : model.getDeploymentNodes()) {
+            for (DeploymentNode deploymentNode : model.getDeploymentNodesView()) {
                 if (deploymentNode.getEnvironment().equals(deploymentEnvironment)) {
                     Set<ContainerInstance> containerInstances = getContainerInstances(deploymentNode);
                     for (ContainerInstance containerInstance : containerInstances) {
@@ -1246,7 +1244,7 @@ public final class ViewSet {
 
             if (softwareSystems.isEmpty()) {
                 // there are no container instances, but perhaps there are infrastructure nodes in this environment
-                if (model.getElements().stream().anyMatch(e -> e instanceof InfrastructureNode && ((InfrastructureNode)e).getEnvironment().equals(deploymentEnvironment))) {
+                if (model.getElementsOfType(InfrastructureNode.class).stream().anyMatch(in -> in.getEnvironment().equals(deploymentEnvironment))) {
                     DeploymentView deploymentView = createDeploymentView("", "");
                     deploymentView.setEnvironment(deploymentEnvironment);
                     deploymentView.addDefaultElements();
@@ -3,6 +3,8 @@ package com.structurizr.model;
 import com.structurizr.AbstractWorkspaceTestBase;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ElementTests extends AbstractWorkspaceTestBase {
@@ -122,6 +124,20 @@ public class ElementTests extends AbstractWorkspaceTestBase {
         assertSame(softwareSystem2, relationship.getDestination());
     }
 
+    @Test
+    void getRelationshipsView_ReturnsAnUnmodifiableLiveView() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("System 1", "");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("System 2", "");
+        Set<Relationship> relationships = softwareSystem1.getRelationshipsView();
+        assertTrue(relationships.isEmpty());
+
+        Relationship relationship = softwareSystem1.uses(softwareSystem2, "Uses");
+        assertEquals(1, relationships.size());
+        assertTrue(relationships.contains(relationship));
+
+        assertThrows(UnsupportedOperationException.class, relationships::clear);
+    }
+
     @Test
     void hasAfferentRelationships_ReturnsFalse_WhenThereAreNoIncomingRelationships() {
         SoftwareSystem softwareSystem1 = model.addSoftwareSystem("System 1", "");
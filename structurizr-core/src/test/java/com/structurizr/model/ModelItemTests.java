@@ -79,12 +79,52 @@ public class ModelItemTests extends AbstractWorkspaceTestBase {
         assertFalse(element.removeTag("Element"), "Remove a required tag returns false");
     }
 
+    @Test
+    void getTagsAsSet_ReflectsTagsThatHaveBeenAddedAndRemoved() {
+        Element element = model.addSoftwareSystem("Name", "Description");
+        assertEquals("[Element, Software System]", element.getTagsAsSet().toString());
+
+        element.addTags("tag1", "tag2");
+        assertEquals("[Element, Software System, tag1, tag2]", element.getTagsAsSet().toString());
+        assertEquals("Element,Software System,tag1,tag2", element.getTags());
+
+        element.removeTag("tag1");
+        assertEquals("[Element, Software System, tag2]", element.getTagsAsSet().toString());
+        assertEquals("Element,Software System,tag2", element.getTags());
+    }
+
+    @Test
+    void getTagsAsSet_ReturnsACopy() {
+        Element element = model.addSoftwareSystem("Name", "Description");
+        element.getTagsAsSet().add("tag");
+
+        assertFalse(element.hasTag("tag"));
+        assertEquals("Element,Software System", element.getTags());
+    }
+
     @Test
     void getProperties_ReturnsAnEmptyList_WhenNoPropertiesHaveBeenAdded() {
         Element element = model.addSoftwareSystem("Name", "Description");
         assertEquals(0, element.getProperties().size());
     }
 
+    @Test
+    void getProperties_ReturnsAnUnmodifiableLiveView() {
+        Element element = model.addSoftwareSystem("Name", "Description");
+        Map<String, String> properties = element.getProperties();
+
+        element.addProperty("name", "value");
+        assertEquals("value", properties.get("name"));
+        assertEquals(1, properties.size());
+
+        try {
+            properties.put("name", "another value");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
     @Test
     void addProperty_ThrowsAnException_WhenTheNameIsNull() {
         try {
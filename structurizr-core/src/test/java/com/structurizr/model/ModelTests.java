@@ -1,9 +1,11 @@
 package com.structurizr.model;
 
 import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.WorkspaceValidationException;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -476,6 +478,28 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertEquals("Uses", relationship.getDescription());
     }
 
+    @Test
+    void addElementInstance_DoesNotReplicateRelationshipsToElementInstancesThatHaveBeenRemoved() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System");
+        Container api = softwareSystem1.addContainer("API");
+        Container database = softwareSystem1.addContainer("Database");
+        api.uses(database, "Uses");
+
+        DeploymentNode liveDeploymentNode = model.addDeploymentNode("Live", "Deployment Node", "Description", "Technology");
+        ContainerInstance databaseInstance1 = liveDeploymentNode.add(database);
+        ContainerInstance databaseInstance2 = liveDeploymentNode.add(database);
+        ContainerInstance apiInstance1 = liveDeploymentNode.add(api);
+        assertEquals(2, apiInstance1.getRelationships().size());
+
+        model.remove(apiInstance1.getEfferentRelationshipWith(databaseInstance1));
+        model.remove(apiInstance1.getEfferentRelationshipWith(databaseInstance2));
+        model.remove(databaseInstance1);
+
+        ContainerInstance apiInstance2 = liveDeploymentNode.add(api);
+        assertEquals(1, apiInstance2.getRelationships().size());
+        assertNotNull(apiInstance2.getEfferentRelationshipWith(databaseInstance2));
+    }
+
     @Test
     void addElementInstance_AddsElementInstancesAndReplicatesRelationshipsWithinTheDeploymentEnvironmentAndSpecifiedGroup() {
         // in this test, container instances are added to two deployment groups: "Instance 1" and "Instance 2"
@@ -627,6 +651,91 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertSame(b, model.getElementWithCanonicalName("Container://A.B"));
     }
 
+    @Test
+    void getElementsOfType_ThrowsAnException_WhenANullTypeIsSpecified() {
+        try {
+            model.getElementsOfType(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A type must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void getElementsOfType() {
+        Person user = model.addPerson("User");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container");
+        DeploymentNode deploymentNode = model.addDeploymentNode("Deployment Node");
+        InfrastructureNode infrastructureNode = deploymentNode.addInfrastructureNode("Infrastructure Node");
+        ContainerInstance containerInstance = deploymentNode.add(container);
+
+        assertEquals(Set.of(user), model.getElementsOfType(Person.class));
+        assertEquals(Set.of(softwareSystem), model.getElementsOfType(SoftwareSystem.class));
+        assertEquals(Set.of(container), model.getElementsOfType(Container.class));
+        assertTrue(model.getElementsOfType(Component.class).isEmpty());
+        assertEquals(Set.of(user, softwareSystem, container), model.getElementsOfType(StaticStructureElement.class));
+        assertEquals(Set.of(deploymentNode, infrastructureNode, containerInstance), model.getElementsOfType(DeploymentElement.class));
+        assertEquals(model.getElementsView(), model.getElementsOfType(Element.class));
+
+        try {
+            model.getElementsOfType(Person.class).clear();
+            fail();
+        } catch (UnsupportedOperationException uoe) {
+            // expected
+        }
+
+        model.remove(containerInstance);
+        assertTrue(model.getElementsOfType(ContainerInstance.class).isEmpty());
+        assertEquals(Set.of(deploymentNode, infrastructureNode), model.getElementsOfType(DeploymentElement.class));
+    }
+
+    @Test
+    void getElementsOfType_ReturnsAReadOnlyViewForConcreteTypes() {
+        Person a = model.addPerson("A");
+        Set<Person> people = model.getElementsOfType(Person.class);
+        Set<StaticStructureElement> staticStructureElements = model.getElementsOfType(StaticStructureElement.class);
+
+        assertThrows(UnsupportedOperationException.class, () -> people.add(a));
+        assertThrows(UnsupportedOperationException.class, () -> staticStructureElements.clear());
+
+        // the set for a concrete type reflects subsequent changes to the model, the set for an abstract type doesn't
+        Person b = model.addPerson("B");
+        model.addSoftwareSystem("C");
+        assertEquals(Set.of(a, b), people);
+        assertEquals(Set.of(a), staticStructureElements);
+        assertEquals(3, model.getElementsOfType(StaticStructureElement.class).size());
+    }
+
+    @Test
+    void getElementWithCanonicalName_ReflectsElementsThatAreAddedRemovedAndRenamed() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        assertSame(a, model.getElementWithCanonicalName("SoftwareSystem://A"));
+
+        Container b = a.addContainer("B");
+        assertSame(b, model.getElementWithCanonicalName("Container://A.B"));
+
+        a.setName("X");
+        assertEquals("Container://X.B", b.getCanonicalName());
+        assertNull(model.getElementWithCanonicalName("SoftwareSystem://A"));
+        assertNull(model.getElementWithCanonicalName("Container://A.B"));
+        assertSame(a, model.getElementWithCanonicalName("SoftwareSystem://X"));
+        assertSame(b, model.getElementWithCanonicalName("Container://X.B"));
+
+        model.remove(b);
+        assertNull(model.getElementWithCanonicalName("Container://X.B"));
+    }
+
+    @Test
+    void getElementWithCanonicalName_ReturnsTheElementWithTheLowestId_WhenCanonicalNamesClash() {
+        SoftwareSystem a = model.addSoftwareSystem("A.B");
+        model.addSoftwareSystem("AB");
+
+        assertSame(a, model.getElementWithCanonicalName("SoftwareSystem://AB"));
+        model.addSoftwareSystem("A/B");
+        assertSame(a, model.getElementWithCanonicalName("SoftwareSystem://AB"));
+    }
+
     @Test
     void getRelationshipWithCanonicalName_ThrowsAnException_WhenANullCanonicalNameIsSpecified() {
         try {
@@ -659,6 +768,119 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertSame(r, model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://B (Uses)"));
     }
 
+    @Test
+    void getRelationshipWithCanonicalName_ReflectsRelationshipsThatAreAddedRemovedAndRenamed() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship r1 = a.uses(b, "Uses");
+        assertSame(r1, model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://B (Uses)"));
+
+        Relationship r2 = b.uses(a, "Uses");
+        assertSame(r2, model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://B -> SoftwareSystem://A (Uses)"));
+
+        b.setName("C");
+        assertNull(model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://B (Uses)"));
+        assertSame(r1, model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://C (Uses)"));
+
+        model.remove(r1);
+        assertNull(model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://C (Uses)"));
+    }
+
+    @Test
+    void getElementsView_ReturnsAnUnmodifiableLiveView() {
+        Set<Element> elements = model.getElementsView();
+        Set<SoftwareSystem> softwareSystems = model.getSoftwareSystemsView();
+        Set<Relationship> relationships = model.getRelationshipsView();
+
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        Relationship r = a.uses(b, "Uses");
+
+        assertEquals(2, elements.size());
+        assertSame(b, elements.iterator().next()); // ordered by ID
+        assertEquals(2, softwareSystems.size());
+        assertEquals(Set.of(r), relationships);
+
+        assertThrows(UnsupportedOperationException.class, elements::clear);
+        assertThrows(UnsupportedOperationException.class, () -> softwareSystems.remove(a));
+        assertThrows(UnsupportedOperationException.class, () -> model.getPeopleView().add(null));
+        assertThrows(UnsupportedOperationException.class, () -> model.getDeploymentNodesView().clear());
+        assertThrows(UnsupportedOperationException.class, () -> model.getCustomElementsView().clear());
+    }
+
+    @Test
+    void getAfferentRelationships_ThrowsAnException_WhenANullElementIsSpecified() {
+        try {
+            model.getAfferentRelationships(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("An element must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void getAfferentAndEfferentRelationships_ReturnUnmodifiableSets() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship ab = a.uses(b, "Uses");
+
+        assertThrows(UnsupportedOperationException.class, () -> model.getAfferentRelationships(b).remove(ab));
+        assertThrows(UnsupportedOperationException.class, () -> model.getEfferentRelationships(a).clear());
+        assertThrows(UnsupportedOperationException.class, () -> model.getEfferentRelationships(b).add(ab));
+    }
+
+    @Test
+    void getAfferentAndEfferentRelationships() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        SoftwareSystem c = model.addSoftwareSystem("C");
+        Relationship ab = a.uses(b, "Uses");
+        Relationship cb = c.uses(b, "Uses");
+        Relationship bc = b.uses(c, "Uses");
+
+        assertTrue(model.getAfferentRelationships(a).isEmpty());
+        assertEquals(Set.of(ab), model.getEfferentRelationships(a));
+        assertEquals(Set.of(ab, cb), model.getAfferentRelationships(b));
+        assertEquals(Set.of(bc), model.getEfferentRelationships(b));
+        assertEquals(Set.of(bc), model.getAfferentRelationships(c));
+        assertEquals(Set.of(cb), model.getEfferentRelationships(c));
+
+        model.remove(cb);
+        assertEquals(Set.of(ab), model.getAfferentRelationships(b));
+        assertTrue(model.getEfferentRelationships(c).isEmpty());
+
+        model.remove(ab);
+        assertFalse(a.hasRelationships());
+        model.remove(a);
+        assertTrue(model.getEfferentRelationships(a).isEmpty());
+    }
+
+    @Test
+    void getAfferentRelationships_IncludesHydratedRelationships() {
+        Person person = new Person();
+        person.setId("1");
+        person.setName("Person");
+        model.setPeople(Collections.singleton(person));
+
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setId("2");
+        softwareSystem.setName("Software System");
+        model.setSoftwareSystems(Collections.singleton(softwareSystem));
+
+        Relationship relationship = new Relationship();
+        relationship.setId("3");
+        relationship.setSourceId("1");
+        relationship.setDestinationId("2");
+        person.setRelationships(Collections.singleton(relationship));
+
+        model.hydrate();
+
+        assertEquals(Set.of(relationship), model.getAfferentRelationships(softwareSystem));
+        assertEquals(Set.of(relationship), model.getEfferentRelationships(person));
+        assertTrue(softwareSystem.hasAfferentRelationships());
+        assertFalse(person.hasAfferentRelationships());
+    }
+
     @Test
     void addDeploymentNode_ThrowsAnException_WhenADeploymentNodeWithTheSameNameAlreadyExists() {
         model.addDeploymentNode("Amazon AWS", "Description", "Technology");
@@ -808,6 +1030,178 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertEquals("9", element.getId());
     }
 
+    @Test
+    void hydrate_ThrowsAnException_WhenPeopleAndSoftwareSystemNamesAreNotUnique() {
+        Person person = new Person();
+        person.setId("1");
+        person.setName("Name");
+        model.setPeople(Set.of(person));
+
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setId("2");
+        softwareSystem.setName("Name");
+        model.setSoftwareSystems(Set.of(softwareSystem));
+
+        WorkspaceValidationException e = assertThrows(WorkspaceValidationException.class, () -> model.hydrate());
+        assertEquals("A person or software system named \"Name\" already exists.", e.getMessage());
+    }
+
+    @Test
+    void hydrate_ThrowsAnException_WhenContainerNamesAreNotUnique() {
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setId("1");
+        softwareSystem.setName("Software System");
+        model.setSoftwareSystems(Set.of(softwareSystem));
+
+        Container container1 = new Container();
+        container1.setId("2");
+        container1.setName("Container");
+        Container container2 = new Container();
+        container2.setId("3");
+        container2.setName("Container");
+        softwareSystem.setContainers(Set.of(container1, container2));
+
+        WorkspaceValidationException e = assertThrows(WorkspaceValidationException.class, () -> model.hydrate());
+        assertEquals("A container named \"Container\" already exists within \"Software System\".", e.getMessage());
+    }
+
+    @Test
+    void hydrate_ThrowsAnException_WhenComponentNamesAreNotUnique() {
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setId("1");
+        softwareSystem.setName("Software System");
+        model.setSoftwareSystems(Set.of(softwareSystem));
+
+        Container container = new Container();
+        container.setId("2");
+        container.setName("Container");
+        softwareSystem.setContainers(Set.of(container));
+
+        Component component1 = new Component();
+        component1.setId("3");
+        component1.setName("Component");
+        Component component2 = new Component();
+        component2.setId("4");
+        component2.setName("Component");
+        container.setComponents(Set.of(component1, component2));
+
+        WorkspaceValidationException e = assertThrows(WorkspaceValidationException.class, () -> model.hydrate());
+        assertEquals("A component named \"Component\" already exists within \"Container\".", e.getMessage());
+    }
+
+    @Test
+    void hydrate_ThrowsAnException_WhenTopLevelDeploymentNodeNamesAreNotUniqueWithinAnEnvironment() {
+        DeploymentNode deploymentNode1 = new DeploymentNode();
+        deploymentNode1.setId("1");
+        deploymentNode1.setName("Deployment Node");
+        deploymentNode1.setEnvironment("Live");
+        DeploymentNode deploymentNode2 = new DeploymentNode();
+        deploymentNode2.setId("2");
+        deploymentNode2.setName("Deployment Node");
+        deploymentNode2.setEnvironment("Live");
+        model.setDeploymentNodes(Set.of(deploymentNode1, deploymentNode2));
+
+        WorkspaceValidationException e = assertThrows(WorkspaceValidationException.class, () -> model.hydrate());
+        assertEquals("A top-level deployment node named \"Deployment Node\" already exists for the environment named \"Live\".", e.getMessage());
+    }
+
+    @Test
+    void hydrate_DoesNotThrowAnException_WhenTopLevelDeploymentNodeNamesAreUniqueWithinEachEnvironment() {
+        DeploymentNode deploymentNode1 = new DeploymentNode();
+        deploymentNode1.setId("1");
+        deploymentNode1.setName("Deployment Node");
+        deploymentNode1.setEnvironment("Development");
+        DeploymentNode deploymentNode2 = new DeploymentNode();
+        deploymentNode2.setId("2");
+        deploymentNode2.setName("Deployment Node");
+        deploymentNode2.setEnvironment("Live");
+        model.setDeploymentNodes(Set.of(deploymentNode1, deploymentNode2));
+
+        model.hydrate();
+        assertEquals(2, model.getDeploymentNodes().size());
+    }
+
+    @Test
+    void hydrate_ThrowsAnException_WhenChildDeploymentNodeNamesAreNotUnique() {
+        DeploymentNode parent = new DeploymentNode();
+        parent.setId("1");
+        parent.setName("Parent");
+        parent.setEnvironment("Live");
+        model.setDeploymentNodes(Set.of(parent));
+
+        DeploymentNode child1 = new DeploymentNode();
+        child1.setId("2");
+        child1.setName("Child");
+        child1.setEnvironment("Live");
+        DeploymentNode child2 = new DeploymentNode();
+        child2.setId("3");
+        child2.setName("Child");
+        child2.setEnvironment("Live");
+        parent.setChildren(Set.of(child1, child2));
+
+        WorkspaceValidationException e = assertThrows(WorkspaceValidationException.class, () -> model.hydrate());
+        assertEquals("A deployment node named \"Child\" already exists within \"Parent\".", e.getMessage());
+    }
+
+    @Test
+    void hydrate_ThrowsAnException_WhenRelationshipDescriptionsAreNotUnique() {
+        Person person = new Person();
+        person.setId("1");
+        person.setName("Person");
+        model.setPeople(Set.of(person));
+
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setId("2");
+        softwareSystem.setName("Software System");
+        model.setSoftwareSystems(Set.of(softwareSystem));
+
+        Relationship relationship1 = new Relationship();
+        relationship1.setId("3");
+        relationship1.setSourceId("1");
+        relationship1.setDestinationId("2");
+        relationship1.setDescription("Uses");
+        Relationship relationship2 = new Relationship();
+        relationship2.setId("4");
+        relationship2.setSourceId("1");
+        relationship2.setDestinationId("2");
+        relationship2.setDescription("Uses");
+        person.setRelationships(Set.of(relationship1, relationship2));
+
+        WorkspaceValidationException e = assertThrows(WorkspaceValidationException.class, () -> model.hydrate());
+        assertEquals("A relationship with the description \"Uses\" already exists between \"Person\" and \"Software System\".", e.getMessage());
+    }
+
+    @Test
+    void hydrate_DoesNotThrowAnException_WhenRelationshipDescriptionsAreUniquePerDestination() {
+        Person person = new Person();
+        person.setId("1");
+        person.setName("Person");
+        model.setPeople(Set.of(person));
+
+        SoftwareSystem softwareSystem1 = new SoftwareSystem();
+        softwareSystem1.setId("2");
+        softwareSystem1.setName("Software System 1");
+        SoftwareSystem softwareSystem2 = new SoftwareSystem();
+        softwareSystem2.setId("3");
+        softwareSystem2.setName("Software System 2");
+        model.setSoftwareSystems(Set.of(softwareSystem1, softwareSystem2));
+
+        Relationship relationship1 = new Relationship();
+        relationship1.setId("4");
+        relationship1.setSourceId("1");
+        relationship1.setDestinationId("2");
+        relationship1.setDescription("Uses");
+        Relationship relationship2 = new Relationship();
+        relationship2.setId("5");
+        relationship2.setSourceId("1");
+        relationship2.setDestinationId("3");
+        relationship2.setDescription("Uses");
+        person.setRelationships(Set.of(relationship1, relationship2));
+
+        model.hydrate();
+        assertEquals(2, model.getRelationships().size());
+    }
+
     @Test
     void impliedRelationshipStrategy() {
         // default strategy initially
@@ -0,0 +1,103 @@
+package com.structurizr.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TagSetTests {
+
+    @Test
+    void add_AppendsTheTag() {
+        String[] tags = TagSet.add(TagSet.NO_TAGS, "a");
+        tags = TagSet.add(tags, "b");
+
+        assertArrayEquals(new String[] { "a", "b" }, tags);
+        assertEquals(0, TagSet.NO_TAGS.length);
+    }
+
+    @Test
+    void add_InternsTheTag() {
+        String tag = new String("tag");
+        String[] tags = TagSet.add(TagSet.NO_TAGS, tag);
+
+        assertSame("tag", tags[0]);
+    }
+
+    @Test
+    void add_ReturnsTheSameArray_WhenTheTagExistsAlready() {
+        String[] tags = TagSet.add(TagSet.add(TagSet.NO_TAGS, "a"), "b");
+
+        assertSame(tags, TagSet.add(tags, "a"));
+        assertSame(tags, TagSet.add(tags, "b"));
+        assertEquals(2, tags.length);
+    }
+
+    @Test
+    void remove_RemovesTheTag() {
+        String[] tags = TagSet.add(TagSet.add(TagSet.add(TagSet.NO_TAGS, "a"), "b"), "c");
+
+        assertArrayEquals(new String[] { "a", "c" }, TagSet.remove(tags, "b"));
+        assertArrayEquals(new String[] { "b", "c" }, TagSet.remove(tags, "a"));
+        assertArrayEquals(new String[] { "a", "b" }, TagSet.remove(tags, "c"));
+        assertArrayEquals(new String[] { "a", "b", "c" }, tags);
+    }
+
+    @Test
+    void remove_ReturnsTheSameArray_WhenTheTagDoesNotExist() {
+        String[] tags = TagSet.add(TagSet.NO_TAGS, "a");
+
+        assertSame(tags, TagSet.remove(tags, "b"));
+        assertSame(TagSet.NO_TAGS, TagSet.remove(TagSet.NO_TAGS, "a"));
+    }
+
+    @Test
+    void remove_ReturnsNoTags_WhenTheLastTagIsRemoved() {
+        String[] tags = TagSet.add(TagSet.NO_TAGS, "a");
+
+        assertSame(TagSet.NO_TAGS, TagSet.remove(tags, "a"));
+    }
+
+    @Test
+    void iterator_ReturnsTagsInTheOrderTheyWereAdded() {
+        String[] tags = TagSet.NO_TAGS;
+        for (String tag : List.of("z", "a", "m", "a", "z")) {
+            tags = TagSet.add(tags, tag);
+        }
+        TagSet tagSet = new TagSet(tags);
+
+        assertEquals(List.of("z", "a", "m"), List.copyOf(tagSet));
+        assertEquals(3, tagSet.size());
+    }
+
+    @Test
+    void contains() {
+        TagSet tagSet = new TagSet(TagSet.add(TagSet.add(TagSet.NO_TAGS, "a"), "b"));
+
+        assertTrue(tagSet.contains("a"));
+        assertTrue(tagSet.contains("b"));
+        assertFalse(tagSet.contains("c"));
+        assertFalse(tagSet.contains(null));
+        assertFalse(new TagSet(TagSet.NO_TAGS).contains("a"));
+    }
+
+    @Test
+    void equals_ComparesTheTagsAsASet() {
+        TagSet tagSet = new TagSet(TagSet.add(TagSet.add(TagSet.NO_TAGS, "a"), "b"));
+
+        assertEquals(Set.of("a", "b"), tagSet);
+        assertEquals(Set.of("a", "b").hashCode(), tagSet.hashCode());
+    }
+
+    @Test
+    void isImmutable() {
+        TagSet tagSet = new TagSet(TagSet.add(TagSet.NO_TAGS, "a"));
+
+        assertThrows(UnsupportedOperationException.class, () -> tagSet.add("b"));
+        assertThrows(UnsupportedOperationException.class, () -> tagSet.remove("a"));
+        assertEquals(1, tagSet.size());
+    }
+
+}
@@ -423,4 +423,41 @@ public class ContainerViewTests extends AbstractWorkspaceTestBase {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void addSoftwareSystem_AddsTheSoftwareSystem_WhenChildContainersHaveBeenRemoved() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System 1");
+        Container container1 = softwareSystem1.addContainer("Container 1");
+
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Software System 2");
+        Container container2a = softwareSystem2.addContainer("Container 2a");
+        Container container2b = softwareSystem2.addContainer("Container 2b");
+        container1.uses(softwareSystem2, "Uses");
+
+        ContainerView view = views.createContainerView(softwareSystem1, "key", "Description");
+        view.add(container1);
+        view.add(container2a);
+        view.add(container2b);
+
+        view.remove(container2a);
+        try {
+            view.add(softwareSystem2);
+            fail();
+        } catch (ElementNotPermittedInViewException e) {
+            assertEquals("A child of Software System 2 is already in this view.", e.getMessage());
+        }
+
+        view.remove(container2b);
+        view.add(softwareSystem2);
+        assertTrue(view.isElementInView(softwareSystem2));
+        assertNotNull(view.getElementView(softwareSystem2));
+        assertTrue(view.isRelationshipInView(container1.getEfferentRelationshipWith(softwareSystem2)));
+        assertNotNull(view.getRelationshipView(container1.getEfferentRelationshipWith(softwareSystem2)));
+
+        view.remove(softwareSystem2);
+        assertFalse(view.isElementInView(softwareSystem2));
+        assertNull(view.getElementView(softwareSystem2));
+        assertFalse(view.isRelationshipInView(container1.getEfferentRelationshipWith(softwareSystem2)));
+        assertNull(view.getRelationshipView(container1.getEfferentRelationshipWith(softwareSystem2)));
+    }
+
+}
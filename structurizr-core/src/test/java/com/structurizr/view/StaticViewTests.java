@@ -1,6 +1,8 @@
 package com.structurizr.view;
 
 import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.model.Container;
+import com.structurizr.model.Person;
 import com.structurizr.model.Relationship;
 import com.structurizr.model.SoftwareSystem;
 import org.junit.jupiter.api.Test;
@@ -81,4 +83,83 @@ public class StaticViewTests extends AbstractWorkspaceTestBase {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void batch_ThrowsAnException_WhenNoActionIsSpecified() {
+        try {
+            SystemLandscapeView view = workspace.getViews().createSystemLandscapeView("key", "Description");
+            view.batch(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("An action must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void batch_AddsTheSameRelationshipsAsAddingElementsIndividually() {
+        Person user = model.addPerson("User");
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System 1");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Software System 2");
+        SoftwareSystem softwareSystem3 = model.addSoftwareSystem("Software System 3");
+        Relationship relationship1 = user.uses(softwareSystem1, "Uses");
+        Relationship relationship2 = softwareSystem1.uses(softwareSystem2, "Uses");
+        Relationship relationship3 = softwareSystem2.uses(softwareSystem1, "Uses");
+        softwareSystem2.uses(softwareSystem3, "Uses");
+
+        SystemLandscapeView view = workspace.getViews().createSystemLandscapeView("key", "Description");
+        view.batch(() -> {
+            view.add(softwareSystem2);
+            view.add(user);
+            view.add(softwareSystem1);
+        });
+
+        assertEquals(3, view.getElements().size());
+        assertEquals(3, view.getRelationships().size());
+        assertTrue(view.isRelationshipInView(relationship1));
+        assertTrue(view.isRelationshipInView(relationship2));
+        assertTrue(view.isRelationshipInView(relationship3));
+    }
+
+    @Test
+    void batch_AddsRelationshipsBeforeTheyAreQueriedOrRemoved() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System 1");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Software System 2");
+        SoftwareSystem softwareSystem3 = model.addSoftwareSystem("Software System 3");
+        Relationship relationship1 = softwareSystem1.uses(softwareSystem2, "Uses");
+        Relationship relationship2 = softwareSystem2.uses(softwareSystem3, "Uses");
+
+        SystemLandscapeView view = workspace.getViews().createSystemLandscapeView("key", "Description");
+        view.batch(() -> {
+            view.add(softwareSystem1);
+            view.add(softwareSystem2);
+            assertTrue(view.isRelationshipInView(relationship1));
+
+            view.add(softwareSystem3);
+            view.remove(relationship2);
+        });
+
+        assertEquals(1, view.getRelationships().size());
+        assertTrue(view.isRelationshipInView(relationship1));
+        assertFalse(view.isRelationshipInView(relationship2));
+    }
+
+    @Test
+    void batch_IgnoresElementsThatAreRemovedDuringTheBatch() {
+        SoftwareSystem softwareSystem1 = model.addSoftwareSystem("Software System 1");
+        SoftwareSystem softwareSystem2 = model.addSoftwareSystem("Software System 2");
+        Container container = softwareSystem2.addContainer("Container");
+        softwareSystem1.uses(softwareSystem2, "Uses");
+        Relationship relationship = softwareSystem1.uses(container, "Uses");
+
+        ContainerView view = workspace.getViews().createContainerView(softwareSystem2, "key", "Description");
+        view.batch(() -> {
+            view.add(softwareSystem1);
+            view.add(container);
+            view.remove(container);
+            view.add(container);
+        });
+
+        assertEquals(1, view.getRelationships().size());
+        assertTrue(view.isRelationshipInView(relationship));
+    }
+
+}
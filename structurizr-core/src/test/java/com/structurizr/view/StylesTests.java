@@ -129,6 +129,126 @@ public class StylesTests extends AbstractWorkspaceTestBase {
         assertEquals(true, style.getDescription());
     }
 
+    @Test
+    void findElementStyle_ReturnsTheCorrectStyle_WhenStylesAreModifiedAfterStylesHaveBeenFound() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        element.addTags("Some Tag");
+
+        ElementStyle softwareSystemStyle = styles.addElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+
+        // modify an existing style
+        softwareSystemStyle.setBackground("#00ff00");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+
+        // add a new style
+        styles.addElementStyle("Some Tag").background("#0000ff");
+        assertEquals("#0000ff", styles.findElementStyle(element).getBackground());
+
+        // change the element's tags
+        element.removeTag("Some Tag");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+
+        // remove all styles
+        styles.clearElementStyles();
+        assertEquals(Styles.DEFAULT_BACKGROUND_LIGHT, styles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    void findElementStyle_ReturnsTheCorrectStyle_WhenAStyleIsReplacedViaTheElementStylesCollection() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+
+        ElementStyle style = styles.addElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+
+        styles.getElements().remove(style);
+        ElementStyle replacement = new ElementStyle(Tags.SOFTWARE_SYSTEM);
+        styles.getElements().add(replacement);
+        assertEquals(Styles.DEFAULT_BACKGROUND_LIGHT, styles.findElementStyle(element).getBackground());
+
+        replacement.setBackground("#00ff00");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    void findElementStyle_ReturnsTheCorrectStyle_WhenAThemeStyleIsModifiedAfterStylesHaveBeenFound() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+
+        ElementStyle themeStyle = new ElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+        Theme theme = new Theme();
+        theme.setElements(List.of(themeStyle));
+        styles.addStylesFromTheme(theme);
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+
+        themeStyle.setBackground("#00ff00");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    void findElementStyle_ReturnsTheCorrectStyle_WhenAStyleIsAddedToAThemeAfterStylesHaveBeenFound() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+
+        Theme theme = new Theme();
+        styles.addStylesFromTheme(theme);
+        assertEquals(Styles.DEFAULT_BACKGROUND_LIGHT, styles.findElementStyle(element).getBackground());
+
+        ElementStyle themeStyle = new ElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+        theme.getElements().add(themeStyle);
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+
+        themeStyle.setBackground("#00ff00");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+
+        theme.getElements().clear();
+        assertEquals(Styles.DEFAULT_BACKGROUND_LIGHT, styles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    void findElementStyle_ReturnsTheCorrectStyle_WhenAThemeIsSharedByMultipleStylesInstances() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        Styles otherStyles = new Styles();
+
+        ElementStyle themeStyle = new ElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+        Theme theme = new Theme();
+        theme.setElements(List.of(themeStyle));
+        styles.addStylesFromTheme(theme);
+        otherStyles.addStylesFromTheme(theme);
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+        assertEquals("#ff0000", otherStyles.findElementStyle(element).getBackground());
+
+        themeStyle.setBackground("#00ff00");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+        assertEquals("#00ff00", otherStyles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    void findElementStyle_ReturnsTheCorrectStyle_WhenAStyleIsSharedByMultipleStylesInstances() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        Styles otherStyles = new Styles();
+
+        ElementStyle style = new ElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+        styles.add(style);
+        otherStyles.add(style);
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+        assertEquals("#ff0000", otherStyles.findElementStyle(element).getBackground());
+
+        style.setBackground("#00ff00");
+        assertEquals("#00ff00", styles.findElementStyle(element).getBackground());
+        assertEquals("#00ff00", otherStyles.findElementStyle(element).getBackground());
+    }
+
+    @Test
+    void findElementStyle_ReturnsANewStyleEachTime() {
+        SoftwareSystem element = model.addSoftwareSystem("Name", "Description");
+        styles.addElementStyle(Tags.SOFTWARE_SYSTEM).background("#ff0000");
+
+        ElementStyle style = styles.findElementStyle(element);
+        style.setBackground("#00ff00");
+
+        assertNotSame(style, styles.findElementStyle(element));
+        assertEquals("#ff0000", styles.findElementStyle(element).getBackground());
+    }
+
     @Test
     void findElementStyle_ReturnsTheCorrectStyleForAnElementInstance_WhenStylesAreDefined() {
         SoftwareSystem softwareSystem = model.addSoftwareSystem("Name");
@@ -219,6 +339,23 @@ public class StylesTests extends AbstractWorkspaceTestBase {
         assertEquals("value", style.getProperties().get("name"));
     }
 
+    @Test
+    void findRelationshipStyle_ReturnsTheCorrectStyle_WhenStylesAreModifiedAfterStylesHaveBeenFound() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Name", "Description");
+        Person person = model.addPerson("Name", "Description");
+        Relationship relationship = person.uses(softwareSystem, "Uses");
+
+        RelationshipStyle relationshipStyle = styles.addRelationshipStyle(Tags.RELATIONSHIP).color("#ff0000");
+        assertEquals("#ff0000", styles.findRelationshipStyle(relationship).getColor());
+
+        relationshipStyle.setColor("#00ff00");
+        assertEquals("#00ff00", styles.findRelationshipStyle(relationship).getColor());
+
+        relationship.addTags("Some Tag");
+        styles.addRelationshipStyle("Some Tag").color("#0000ff");
+        assertEquals("#0000ff", styles.findRelationshipStyle(relationship).getColor());
+    }
+
     @Test
     void findRelationshipStyle_ReturnsTheCorrectStyle_WhenThereIsALinkedRelationship() {
         SoftwareSystem softwareSystem = model.addSoftwareSystem("Name", "Description");
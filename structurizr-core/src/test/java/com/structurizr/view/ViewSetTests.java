@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -598,6 +599,52 @@ public class ViewSetTests {
         assertEquals(PaperSize.A3_Landscape, view2.getPaperSize());
     }
 
+    @Test
+    void copyLayoutInformationFrom_ThrowsAnException_WhenNoForkJoinPoolIsSpecified() {
+        Workspace workspace1 = createWorkspace();
+        Workspace workspace2 = createWorkspace();
+
+        try {
+            workspace2.getViews().copyLayoutInformationFrom(workspace1.getViews(), null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A ForkJoinPool must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void copyLayoutInformationFrom_WhenUsingAForkJoinPool() {
+        Workspace workspace1 = createWorkspace();
+        SoftwareSystem softwareSystem1 = workspace1.getModel().getSoftwareSystemWithName("Software System");
+        for (int i = 0; i < 10; i++) {
+            SystemContextView view = workspace1.getViews().createSystemContextView(softwareSystem1, "context" + i, "Description");
+            view.addAllElements();
+            view.getElements().forEach(ev -> ev.setX(100));
+            view.getRelationships().forEach(rv -> rv.setVertices(Collections.singletonList(new Vertex(123, 456))));
+        }
+
+        Workspace workspace2 = createWorkspace();
+        SoftwareSystem softwareSystem2 = workspace2.getModel().getSoftwareSystemWithName("Software System");
+        for (int i = 0; i < 10; i++) {
+            SystemContextView view = workspace2.getViews().createSystemContextView(softwareSystem2, "context" + i, "Description");
+            view.addAllElements();
+        }
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            workspace2.getViews().copyLayoutInformationFrom(workspace1.getViews(), forkJoinPool);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+
+        for (SystemContextView view : workspace2.getViews().getSystemContextViews()) {
+            assertEquals(2, view.getElements().size());
+            view.getElements().forEach(ev -> assertEquals(100, ev.getX()));
+            assertEquals(1, view.getRelationships().size());
+            view.getRelationships().forEach(rv -> assertEquals(123, rv.getVertices().iterator().next().getX()));
+        }
+    }
+
     @Test
     void copyLayoutInformationFrom_IgnoresThePaperSize_WhenThePaperSizeIsSet() {
         Workspace workspace1 = createWorkspace();
@@ -39,11 +39,11 @@ abstract class AbstractRelationshipParser extends AbstractParser {
     }
 
     protected Set<StaticStructureElementInstance> findSoftwareSystemInstances(SoftwareSystem softwareSystem, String deploymentEnvironment) {
-        return softwareSystem.getModel().getElements().stream().filter(e -> e instanceof SoftwareSystemInstance).map(e -> (SoftwareSystemInstance) e).filter(ssi -> ssi.getSoftwareSystem().equals(softwareSystem) && ssi.getEnvironment().equals(deploymentEnvironment)).collect(Collectors.toSet());
+        return softwareSystem.getModel().getElementsOfType(SoftwareSystemInstance.class).stream().filter(ssi -> ssi.getSoftwareSystem().equals(softwareSystem) && ssi.getEnvironment().equals(deploymentEnvironment)).collect(Collectors.toSet());
     }
 
     protected Set<StaticStructureElementInstance> findContainerInstances(Container container, String deploymentEnvironment) {
-        return container.getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance) e).filter(ci -> ci.getContainer().equals(container) && ci.getEnvironment().equals(deploymentEnvironment)).collect(Collectors.toSet());
+        return container.getModel().getElementsOfType(ContainerInstance.class).stream().filter(ci -> ci.getContainer().equals(container) && ci.getEnvironment().equals(deploymentEnvironment)).collect(Collectors.toSet());
     }
 
 }
\ No newline at end of file
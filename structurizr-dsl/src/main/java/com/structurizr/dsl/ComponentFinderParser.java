@@ -3,6 +3,8 @@ package com.structurizr.dsl;
 import com.structurizr.component.filter.ExcludeFullyQualifiedNameRegexFilter;
 import com.structurizr.component.filter.IncludeFullyQualifiedNameRegexFilter;
 
+import java.io.File;
+
 final class ComponentFinderParser extends AbstractParser {
 
     private static final String CLASSES_GRAMMAR = "classes <path>";
@@ -20,6 +22,7 @@ final class ComponentFinderParser extends AbstractParser {
             throw new RuntimeException("Too many tokens, expected: " + CLASSES_GRAMMAR);
         }
 
+        context.getDependencyGraph().addInput(new File(tokens.get(1)));
         context.getComponentFinderBuilder().fromClasses(tokens.get(1));
     }
 
@@ -30,6 +33,7 @@ final class ComponentFinderParser extends AbstractParser {
             throw new RuntimeException("Too many tokens, expected: " + SOURCE_GRAMMAR);
         }
 
+        context.getDependencyGraph().addInput(new File(tokens.get(1)));
         context.getComponentFinderBuilder().fromSource(tokens.get(1));
     }
 
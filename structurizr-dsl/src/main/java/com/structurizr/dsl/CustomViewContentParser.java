@@ -20,18 +20,20 @@ final class CustomViewContentParser extends ModelViewContentParser {
         CustomView view = context.getCustomView();
 
         // include <identifier> [identifier...]
-        for (int i = FIRST_IDENTIFIER_INDEX; i < tokens.size(); i++) {
-            String token = tokens.get(i);
-
-            if (token.equals(WILDCARD) || token.equals(ELEMENT_WILDCARD)) {
-                // include * or include element==*
-                view.addDefaultElements();
-            } else if (isExpression(token)) {
-                new CustomViewExpressionParser().parseExpression(token, context).forEach(mi -> addModelItemToView(mi, view, null));
-            } else {
-                new CustomViewExpressionParser().parseIdentifier(token, context).forEach(mi -> addModelItemToView(mi, view, token));
+        batch(view, () -> {
+            for (int i = FIRST_IDENTIFIER_INDEX; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+
+                if (token.equals(WILDCARD) || token.equals(ELEMENT_WILDCARD)) {
+                    // include * or include element==*
+                    view.addDefaultElements();
+                } else if (isExpression(token)) {
+                    new CustomViewExpressionParser().parseExpression(token, context).forEach(mi -> addModelItemToView(mi, view, null));
+                } else {
+                    new CustomViewExpressionParser().parseIdentifier(token, context).forEach(mi -> addModelItemToView(mi, view, token));
+                }
             }
-        }
+        });
     }
 
     void parseExclude(CustomViewDslContext context, Tokens tokens) {
@@ -17,7 +17,7 @@ final class CustomViewExpressionParser extends ExpressionParser {
         String type = expr.substring(ELEMENT_TYPE_EQUALS_EXPRESSION.length());
         switch (type.toLowerCase()) {
             case "custom":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof CustomElement).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(CustomElement.class));
                 break;
             default:
                 throw new RuntimeException("The element type of \"" + type + "\" is not valid for this view");
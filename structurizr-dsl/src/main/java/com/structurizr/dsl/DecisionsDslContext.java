@@ -48,6 +48,7 @@ class DecisionsDslContext extends DslContext {
     void end() {
         if (dslFile != null) {
             File decisionsPath = new File(dslFile.getParentFile(), path);
+            getDependencyGraph().addInput(decisionsPath);
 
             try {
                 Class<?> clazz = loadClass(fullyQualifiedClassName, dslFile);
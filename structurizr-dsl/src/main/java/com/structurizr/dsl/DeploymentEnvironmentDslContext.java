@@ -47,7 +47,7 @@ class DeploymentEnvironmentDslContext extends DslContext implements GroupableDsl
     }
 
     Set<Element> findInstancesOf(StaticStructureElement element) {
-        return getWorkspace().getModel().getElements().stream()
+        return getWorkspace().getModel().getElementsView().stream()
                 .filter(e -> e instanceof StaticStructureElementInstance)
                 .map(e -> (StaticStructureElementInstance)e)
                 .filter(e -> e.getEnvironment().equals(environment.getName()) && e.getElement().equals(element))
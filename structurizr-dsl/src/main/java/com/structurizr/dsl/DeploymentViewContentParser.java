@@ -19,18 +19,20 @@ final class DeploymentViewContentParser extends ModelViewContentParser {
 
         DeploymentView view = context.getView();
 
-        for (int i = FIRST_IDENTIFIER_INDEX; i < tokens.size(); i++) {
-            String token = tokens.get(i);
-
-            if (token.equals(WILDCARD) || token.equals(ELEMENT_WILDCARD)) {
-                // include * or include element==*
-                view.addDefaultElements();
-            } else if (isExpression(token)) {
-                new DeploymentViewExpressionParser().parseExpression(token, context).forEach(mi -> addModelItemToView(mi, view, null));
-            } else {
-                new DeploymentViewExpressionParser().parseIdentifier(token, context).forEach(mi -> addModelItemToView(mi, view, token));
+        batch(view, () -> {
+            for (int i = FIRST_IDENTIFIER_INDEX; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+
+                if (token.equals(WILDCARD) || token.equals(ELEMENT_WILDCARD)) {
+                    // include * or include element==*
+                    view.addDefaultElements();
+                } else if (isExpression(token)) {
+                    new DeploymentViewExpressionParser().parseExpression(token, context).forEach(mi -> addModelItemToView(mi, view, null));
+                } else {
+                    new DeploymentViewExpressionParser().parseIdentifier(token, context).forEach(mi -> addModelItemToView(mi, view, token));
+                }
             }
-        }
+        });
     }
 
     void parseExclude(DeploymentViewDslContext context, Tokens tokens) {
@@ -70,12 +72,12 @@ final class DeploymentViewContentParser extends ModelViewContentParser {
                 view.add((InfrastructureNode) element);
             } else if (element instanceof SoftwareSystem) {
                 // find instances of this software system
-                view.getModel().getElements().stream().filter(e -> e instanceof SoftwareSystemInstance).map(e -> (SoftwareSystemInstance)e).filter(ssi -> ssi.getSoftwareSystem().equals(element) && ssi.getEnvironment().equals(view.getEnvironment())).forEach(view::add);
+                view.getModel().getElementsOfType(SoftwareSystemInstance.class).stream().filter(ssi -> ssi.getSoftwareSystem().equals(element) && ssi.getEnvironment().equals(view.getEnvironment())).forEach(view::add);
             } else if (element instanceof SoftwareSystemInstance) {
                 view.add((SoftwareSystemInstance) element);
             } else if (element instanceof Container) {
                 // find instances of this container
-                view.getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance)e).filter(ci -> ci.getContainer().equals(element) && ci.getEnvironment().equals(view.getEnvironment())).forEach(view::add);
+                view.getModel().getElementsOfType(ContainerInstance.class).stream().filter(ci -> ci.getContainer().equals(element) && ci.getEnvironment().equals(view.getEnvironment())).forEach(view::add);
             } else if (element instanceof ContainerInstance) {
                 view.add((ContainerInstance) element);
             } else {
@@ -105,12 +107,12 @@ final class DeploymentViewContentParser extends ModelViewContentParser {
             view.remove((InfrastructureNode)element);
         } else if (element instanceof SoftwareSystem) {
             // find instances of this software system
-            view.getModel().getElements().stream().filter(e -> e instanceof SoftwareSystemInstance).map(e -> (SoftwareSystemInstance)e).filter(ssi -> ssi.getSoftwareSystem().equals(element) && ssi.getEnvironment().equals(view.getEnvironment())).forEach(view::remove);
+            view.getModel().getElementsOfType(SoftwareSystemInstance.class).stream().filter(ssi -> ssi.getSoftwareSystem().equals(element) && ssi.getEnvironment().equals(view.getEnvironment())).forEach(view::remove);
         } else if (element instanceof SoftwareSystemInstance) {
             view.remove((SoftwareSystemInstance)element);
         } else if (element instanceof Container) {
             // find instances of this container
-            view.getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance)e).filter(ci -> ci.getContainer().equals(element) && ci.getEnvironment().equals(view.getEnvironment())).forEach(view::remove);
+            view.getModel().getElementsOfType(ContainerInstance.class).stream().filter(ci -> ci.getContainer().equals(element) && ci.getEnvironment().equals(view.getEnvironment())).forEach(view::remove);
         } else if (element instanceof ContainerInstance) {
             view.remove((ContainerInstance)element);
         }
@@ -128,7 +130,7 @@ final class DeploymentViewContentParser extends ModelViewContentParser {
             if ((sourceElement instanceof SoftwareSystem || sourceElement instanceof Container) && (destinationElement instanceof SoftwareSystem || destinationElement instanceof Container)) {
                 String relationshipId = relationship.getId();
 
-                Set<Relationship> replicatedRelationships = view.getModel().getRelationships().stream().filter(r -> relationshipId.equals(r.getLinkedRelationshipId())).collect(Collectors.toSet());
+                Set<Relationship> replicatedRelationships = view.getModel().getRelationshipsView().stream().filter(r -> relationshipId.equals(r.getLinkedRelationshipId())).collect(Collectors.toSet());
                 for (Relationship replicatedRelationship : replicatedRelationships) {
                     if (view.isElementInView(replicatedRelationship.getSource()) && view.isElementInView(replicatedRelationship.getDestination())) {
                         view.add(replicatedRelationship);
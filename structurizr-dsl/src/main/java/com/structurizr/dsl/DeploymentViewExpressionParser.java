@@ -17,25 +17,25 @@ final class DeploymentViewExpressionParser extends ExpressionParser {
         String type = expr.substring(ELEMENT_TYPE_EQUALS_EXPRESSION.length());
         switch (type.toLowerCase()) {
             case "custom":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof CustomElement).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(CustomElement.class));
                 break;
             case "deploymentnode":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof DeploymentNode).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(DeploymentNode.class));
                 break;
             case "infrastructurenode":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof InfrastructureNode).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(InfrastructureNode.class));
                 break;
             case "softwaresystem":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystem).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(SoftwareSystem.class));
                 break;
             case "softwaresysteminstance":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystemInstance).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(SoftwareSystemInstance.class));
                 break;
             case "container":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class));
                 break;
             case "containerinstance":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class));
                 break;
             default:
                 throw new RuntimeException("The element type of \"" + type + "\" is not valid for this view");
@@ -49,10 +49,10 @@ final class DeploymentViewExpressionParser extends ExpressionParser {
         Set<Element> elements = new LinkedHashSet<>();
         for (Element element : super.getElements(identifier, context)) {
             if (element instanceof SoftwareSystem) {
-                Set<SoftwareSystemInstance> elementInstances = context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystemInstance).map(e -> (SoftwareSystemInstance) e).filter(ssi -> ssi.getSoftwareSystem().equals(element)).collect(Collectors.toSet());
+                Set<SoftwareSystemInstance> elementInstances = context.getWorkspace().getModel().getElementsOfType(SoftwareSystemInstance.class).stream().filter(ssi -> ssi.getSoftwareSystem().equals(element)).collect(Collectors.toSet());
                 elements.addAll(elementInstances);
             } else if (element instanceof Container) {
-                Set<ContainerInstance> elementInstances = context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance)e).filter(ci -> ci.getContainer().equals(element)).collect(Collectors.toSet());
+                Set<ContainerInstance> elementInstances = context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class).stream().filter(ci -> ci.getContainer().equals(element)).collect(Collectors.toSet());
                 elements.addAll(elementInstances);
             } else {
                 elements.add(element);
@@ -35,7 +35,7 @@ final class DeploymentViewParser extends AbstractViewParser {
 
         // check that the deployment environment exists in the model
         final String env = environment;
-        if (context.getWorkspace().getModel().getDeploymentNodes().stream().noneMatch(dn -> dn.getEnvironment().equals(env))) {
+        if (context.getWorkspace().getModel().getDeploymentNodesView().stream().noneMatch(dn -> dn.getEnvironment().equals(env))) {
             throw new RuntimeException("The environment \"" + environment + "\" does not exist");
         }
 
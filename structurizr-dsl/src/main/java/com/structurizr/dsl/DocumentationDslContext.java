@@ -48,6 +48,7 @@ class DocumentationDslContext extends DslContext {
     void end() {
         if (dslFile != null) {
             File docsPath = new File(dslFile.getParentFile(), path);
+            getDependencyGraph().addInput(docsPath);
 
             try {
                 Class<?> clazz = loadClass(fullyQualifiedClassName, dslFile);
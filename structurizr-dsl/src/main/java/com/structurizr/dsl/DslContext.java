@@ -24,6 +24,7 @@ abstract class DslContext {
 
     private Features features = new Features();
     private HttpClient httpClient = new HttpClient();
+    private DslDependencyGraph dependencyGraph = new DslDependencyGraph();
 
     Workspace getWorkspace() {
         return workspace;
@@ -136,11 +137,20 @@ abstract class DslContext {
         this.httpClient = httpClient;
     }
 
+    DslDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    void setDependencyGraph(DslDependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+    }
+
     protected <T> Class<? extends T> loadClass(String fqn, File dslFile) throws Exception {
         File pluginsDirectory = new File(dslFile.getParent(), PLUGINS_DIRECTORY_NAME);
         URL[] urls = new URL[0];
 
         if (pluginsDirectory.exists()) {
+            dependencyGraph.addInput(pluginsDirectory);
             File[] jarFiles = pluginsDirectory.listFiles((dir, name) -> name.endsWith(".jar"));
             if (jarFiles != null) {
                 urls = new URL[jarFiles.length];
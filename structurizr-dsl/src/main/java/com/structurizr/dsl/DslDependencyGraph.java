@@ -0,0 +1,468 @@
+package com.structurizr.dsl;
+
+import com.structurizr.util.Url;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * The graph of local DSL files read while parsing a workspace (the DSL file itself, plus the files and directories
+ * included via !include), along with a content hash of each file. This makes it possible to determine whether
+ * any of the DSL files have changed since they were parsed (and if so, which files are affected by the change),
+ * without parsing them again.
+ *
+ * The graph also records the other local inputs read by the parser (e.g. external scripts, themes, icons, images,
+ * documentation/decision directories, plugin directories, and the classes/source scanned by component finders),
+ * and the values of any environment variables referenced by the DSL. Inline scripts are only covered by their
+ * content (i.e. the DSL itself), so any files or environment variables that they read are not tracked.
+ */
+public final class DslDependencyGraph {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final String MISSING = "-";
+
+    private static final String ROOT_ENTRY = "root";
+    private static final String FILE_ENTRY = "file";
+    private static final String INCLUDE_ENTRY = "include";
+    private static final String DIRECTORY_ENTRY = "directory";
+    private static final String INPUT_ENTRY = "input";
+    private static final String ENVIRONMENT_VARIABLE_ENTRY = "environment";
+    private static final String SEPARATOR = "\t";
+
+    private File root;
+    private boolean remoteContentIncluded = false;
+
+    private final Map<File, Charset> charsets = new LinkedHashMap<>();
+    private final Map<File, String> contentHashes = new LinkedHashMap<>();
+    private final Map<File, Set<File>> includes = new LinkedHashMap<>();
+    private final Map<File, List<File>> includedDirectories = new LinkedHashMap<>();
+    private final Map<File, String> inputs = new LinkedHashMap<>();
+    private final Map<String, String> environmentVariables = new LinkedHashMap<>();
+
+    DslDependencyGraph() {
+    }
+
+    void setRoot(File file, Charset charset, List<String> lines) {
+        root = normalize(file);
+        addFile(root, charset, lines);
+    }
+
+    void addIncludes(File dslFile, String source, List<IncludedFile> includedFiles) {
+        if (Url.isUrl(source)) {
+            addRemoteContent();
+            return;
+        }
+
+        if (dslFile == null) {
+            return;
+        }
+
+        File from = normalize(dslFile);
+        File path = normalize(new File(dslFile.getParent(), source));
+        List<File> files = new ArrayList<>();
+        for (IncludedFile includedFile : includedFiles) {
+            File file = normalize(includedFile.getFile());
+            addFile(file, StandardCharsets.UTF_8, includedFile.getLines());
+            includes.computeIfAbsent(from, f -> new LinkedHashSet<>()).add(file);
+            files.add(file);
+        }
+
+        if (path.isDirectory()) {
+            // files added to (or removed from) the directory also change the workspace
+            includedDirectories.put(path, files);
+        }
+    }
+
+    void addExtendedWorkspace(File dslFile, DslDependencyGraph extended) {
+        // workspace extends <file>
+        for (File file : extended.contentHashes.keySet()) {
+            charsets.put(file, extended.charsets.get(file));
+            contentHashes.put(file, extended.contentHashes.get(file));
+        }
+        extended.includes.forEach((file, files) -> includes.computeIfAbsent(file, f -> new LinkedHashSet<>()).addAll(files));
+        includedDirectories.putAll(extended.includedDirectories);
+        extended.inputs.forEach(inputs::putIfAbsent);
+        extended.environmentVariables.forEach(environmentVariables::putIfAbsent);
+        remoteContentIncluded = remoteContentIncluded || !extended.isComplete();
+
+        if (extended.root != null) {
+            includes.computeIfAbsent(normalize(dslFile), f -> new LinkedHashSet<>()).add(extended.root);
+        }
+    }
+
+    void addExtendedFile(File dslFile, File file) throws IOException {
+        // workspace extends <file.json> ... this is called before the file is loaded, so that the hash is never newer than the workspace
+        File extendedFile = normalize(file);
+        addFile(extendedFile, StandardCharsets.UTF_8, Files.readAllLines(extendedFile.toPath(), StandardCharsets.UTF_8));
+        includes.computeIfAbsent(normalize(dslFile), f -> new LinkedHashSet<>()).add(extendedFile);
+    }
+
+    void addInput(File file) {
+        // a local file or directory (other than DSL) read by the parser ... this is called before the input is read
+        inputs.computeIfAbsent(normalize(file), DslDependencyGraph::hashInput);
+    }
+
+    void addEnvironmentVariable(String name, String value) {
+        environmentVariables.putIfAbsent(name, hash(value));
+    }
+
+    void copyFrom(DslDependencyGraph graph) {
+        root = graph.root;
+        remoteContentIncluded = graph.remoteContentIncluded;
+        charsets.putAll(graph.charsets);
+        contentHashes.putAll(graph.contentHashes);
+        graph.includes.forEach((file, files) -> includes.put(file, new LinkedHashSet<>(files)));
+        graph.includedDirectories.forEach((directory, files) -> includedDirectories.put(directory, new ArrayList<>(files)));
+        inputs.putAll(graph.inputs);
+        environmentVariables.putAll(graph.environmentVariables);
+    }
+
+    void addRemoteContent() {
+        // remote content can change without any local files changing
+        remoteContentIncluded = true;
+    }
+
+    private void addFile(File file, Charset charset, List<String> lines) {
+        charsets.put(file, charset);
+        contentHashes.put(file, hash(lines));
+    }
+
+    /**
+     * Gets the DSL file that was parsed.
+     *
+     * @return  a File, or null if DSL was parsed from a String
+     */
+    public File getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets all of the local DSL files that were parsed, in the order they were first parsed.
+     *
+     * @return  a Set of File objects
+     */
+    public Set<File> getFiles() {
+        return Collections.unmodifiableSet(contentHashes.keySet());
+    }
+
+    Charset getCharset(File file) {
+        return charsets.get(normalize(file));
+    }
+
+    /**
+     * Gets the local inputs (other than DSL files) that were read while parsing; e.g. scripts, themes, images,
+     * and documentation directories.
+     *
+     * @return  a Set of File objects
+     */
+    public Set<File> getInputs() {
+        return Collections.unmodifiableSet(inputs.keySet());
+    }
+
+    /**
+     * Gets the names of the environment variables referenced by the DSL.
+     *
+     * @return  a Set of names
+     */
+    public Set<String> getEnvironmentVariables() {
+        return Collections.unmodifiableSet(environmentVariables.keySet());
+    }
+
+    /**
+     * Gets the content hash of the specified file, as it was when parsed.
+     *
+     * @param file      a File
+     * @return          a lowercase, hex encoded SHA-256 hash, or null if the file wasn't parsed
+     */
+    public String getContentHash(File file) {
+        return contentHashes.get(normalize(file));
+    }
+
+    /**
+     * Gets the files directly included by the specified file.
+     *
+     * @param file      a File
+     * @return          a Set of File objects (empty if the file doesn't include any other files)
+     */
+    public Set<File> getIncludes(File file) {
+        return Collections.unmodifiableSet(includes.getOrDefault(normalize(file), Set.of()));
+    }
+
+    /**
+     * Gets the files that depend on the specified file (i.e. the files that include it, directly or indirectly).
+     *
+     * @param file      a File
+     * @return          a Set of File objects
+     */
+    public Set<File> getDependents(File file) {
+        Set<File> dependents = new LinkedHashSet<>();
+        Deque<File> queue = new ArrayDeque<>();
+        queue.add(normalize(file));
+
+        while (!queue.isEmpty()) {
+            File included = queue.poll();
+            for (Map.Entry<File, Set<File>> entry : includes.entrySet()) {
+                if (entry.getValue().contains(included) && dependents.add(entry.getKey())) {
+                    queue.add(entry.getKey());
+                }
+            }
+        }
+
+        return dependents;
+    }
+
+    /**
+     * Gets the files directly included by the DSL file (i.e. the root) that are, or include (directly or indirectly),
+     * any of the specified files; parsing is typically checkpointed before these files, because the files that
+     * changed since the last parse are likely to change again.
+     *
+     * @param files     a Collection of File objects (e.g. the changed files)
+     * @return          a Set of File objects (empty if none of the files are included by the DSL file)
+     */
+    public Set<File> getRootIncludes(Collection<File> files) {
+        Set<File> rootIncludes = new LinkedHashSet<>();
+        if (root == null) {
+            return rootIncludes;
+        }
+
+        Set<File> includedByRoot = includes.getOrDefault(root, Set.of());
+        for (File file : files) {
+            File normalizedFile = normalize(file);
+
+            // a directory that has had files added or removed is represented by the files that were included from it
+            List<File> candidates = new ArrayList<>(includedDirectories.getOrDefault(normalizedFile, List.of()));
+            candidates.add(normalizedFile);
+
+            for (File candidate : candidates) {
+                if (includedByRoot.contains(candidate)) {
+                    rootIncludes.add(candidate);
+                }
+
+                for (File dependent : getDependents(candidate)) {
+                    if (includedByRoot.contains(dependent)) {
+                        rootIncludes.add(dependent);
+                    }
+                }
+            }
+        }
+
+        return rootIncludes;
+    }
+
+    /**
+     * Determines whether the graph describes all of the DSL that was parsed; this is not the case when the DSL
+     * was parsed from a String, or when it includes content from a URL.
+     *
+     * @return  true if complete, false otherwise
+     */
+    public boolean isComplete() {
+        return root != null && !remoteContentIncluded;
+    }
+
+    /**
+     * Gets the files whose content has changed since they were parsed (including files that have been deleted),
+     * plus any included directories that have had files added or removed, and any other inputs that have changed.
+     *
+     * @return  a Set of File objects (empty if nothing has changed)
+     */
+    public Set<File> getChangedFiles() {
+        Set<File> changedFiles = new LinkedHashSet<>();
+
+        for (Map.Entry<File, String> entry : contentHashes.entrySet()) {
+            File file = entry.getKey();
+            try {
+                if (!file.isFile() || !entry.getValue().equals(hash(Files.readAllLines(file.toPath(), charsets.get(file))))) {
+                    changedFiles.add(file);
+                }
+            } catch (IOException e) {
+                changedFiles.add(file);
+            }
+        }
+
+        for (Map.Entry<File, List<File>> entry : includedDirectories.entrySet()) {
+            List<File> files = new ArrayList<>();
+            for (File file : IncludeParser.listFiles(entry.getKey())) {
+                files.add(normalize(file));
+            }
+
+            if (!files.equals(entry.getValue())) {
+                changedFiles.add(entry.getKey());
+            }
+        }
+
+        for (Map.Entry<File, String> entry : inputs.entrySet()) {
+            if (!entry.getValue().equals(hashInput(entry.getKey()))) {
+                changedFiles.add(entry.getKey());
+            }
+        }
+
+        return changedFiles;
+    }
+
+    /**
+     * Determines whether the parsed DSL may have changed; i.e. whether the graph is incomplete,
+     * any of the files have changed, or any of the referenced environment variables have changed.
+     *
+     * @return  true if the DSL may have changed, false if it definitely hasn't
+     */
+    public boolean hasChanged() {
+        if (!isComplete()) {
+            return true;
+        }
+
+        for (Map.Entry<String, String> entry : environmentVariables.entrySet()) {
+            if (!entry.getValue().equals(hash(System.getenv(entry.getKey())))) {
+                return true;
+            }
+        }
+
+        return !getChangedFiles().isEmpty();
+    }
+
+    void write(File file) throws IOException {
+        // one tab separated entry per line, with paths last (an incomplete graph can't be checked, so is never written)
+        if (!isComplete()) {
+            throw new IllegalStateException("An incomplete dependency graph cannot be written");
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writeEntry(writer, ROOT_ENTRY, root.getPath());
+            for (Map.Entry<File, String> entry : contentHashes.entrySet()) {
+                writeEntry(writer, FILE_ENTRY, charsets.get(entry.getKey()).name(), entry.getValue(), entry.getKey().getPath());
+            }
+            for (Map.Entry<File, Set<File>> entry : includes.entrySet()) {
+                for (File included : entry.getValue()) {
+                    writeEntry(writer, INCLUDE_ENTRY, included.getPath(), entry.getKey().getPath());
+                }
+            }
+            for (Map.Entry<File, List<File>> entry : includedDirectories.entrySet()) {
+                writeEntry(writer, DIRECTORY_ENTRY, entry.getKey().getPath());
+                for (File included : entry.getValue()) {
+                    writeEntry(writer, DIRECTORY_ENTRY, entry.getKey().getPath(), included.getPath());
+                }
+            }
+            for (Map.Entry<File, String> entry : inputs.entrySet()) {
+                writeEntry(writer, INPUT_ENTRY, entry.getValue(), entry.getKey().getPath());
+            }
+            for (Map.Entry<String, String> entry : environmentVariables.entrySet()) {
+                writeEntry(writer, ENVIRONMENT_VARIABLE_ENTRY, entry.getValue(), entry.getKey());
+            }
+        }
+    }
+
+    private static void writeEntry(BufferedWriter writer, String... values) throws IOException {
+        writer.write(String.join(SEPARATOR, values));
+        writer.newLine();
+    }
+
+    static DslDependencyGraph read(File file) throws IOException {
+        DslDependencyGraph graph = new DslDependencyGraph();
+
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            String[] values = line.split(SEPARATOR);
+            switch (values[0]) {
+                case ROOT_ENTRY:
+                    graph.root = new File(values[1]);
+                    break;
+                case FILE_ENTRY:
+                    graph.charsets.put(new File(values[3]), Charset.forName(values[1]));
+                    graph.contentHashes.put(new File(values[3]), values[2]);
+                    break;
+                case INCLUDE_ENTRY:
+                    graph.includes.computeIfAbsent(new File(values[2]), f -> new LinkedHashSet<>()).add(new File(values[1]));
+                    break;
+                case DIRECTORY_ENTRY:
+                    List<File> files = graph.includedDirectories.computeIfAbsent(new File(values[1]), f -> new ArrayList<>());
+                    if (values.length > 2) {
+                        files.add(new File(values[2]));
+                    }
+                    break;
+                case INPUT_ENTRY:
+                    graph.inputs.put(new File(values[2]), values[1]);
+                    break;
+                case ENVIRONMENT_VARIABLE_ENTRY:
+                    graph.environmentVariables.put(values[2], values[1]);
+                    break;
+                default:
+                    throw new IOException("Unexpected entry in " + file.getAbsolutePath() + ": " + line);
+            }
+        }
+
+        if (graph.root == null) {
+            throw new IOException("No root was found in " + file.getAbsolutePath());
+        }
+
+        return graph;
+    }
+
+    static File normalize(File file) {
+        return file.toPath().toAbsolutePath().normalize().toFile();
+    }
+
+    private static String hash(String value) {
+        return value != null ? hash(List.of(value)) : MISSING;
+    }
+
+    private static String hashInput(File file) {
+        // the bytes of a file, or the relative paths and bytes of all files in a directory
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(ALGORITHM);
+            Path path = file.toPath();
+            if (Files.isRegularFile(path)) {
+                update(messageDigest, path);
+            } else if (Files.isDirectory(path)) {
+                try (Stream<Path> stream = Files.walk(path)) {
+                    for (Path child : stream.filter(Files::isRegularFile).sorted().toList()) {
+                        messageDigest.update(path.relativize(child).toString().getBytes(StandardCharsets.UTF_8));
+                        messageDigest.update((byte)0);
+                        update(messageDigest, child);
+                        messageDigest.update((byte)0);
+                    }
+                }
+            } else {
+                return MISSING;
+            }
+
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (IOException e) {
+            return MISSING;
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void update(MessageDigest messageDigest, Path path) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String hash(List<String> lines) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(ALGORITHM);
+            for (String line : lines) {
+                messageDigest.update(line.getBytes(StandardCharsets.UTF_8));
+                messageDigest.update((byte)'\n');
+            }
+
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.structurizr.dsl;
+
+import java.util.*;
+
+/**
+ * Dispatches DSL statements to their handlers, based upon the type of the current context and the keyword
+ * (i.e. the first token, case-insensitive) of the statement.
+ *
+ * Rules are registered in order of precedence, and may apply to any keyword (e.g. relationships, which start with
+ * an identifier, or the lines inside a properties block) and/or any context. The first matching rule handles the
+ * statement. The candidate rules for each context type and keyword pair are resolved once, so dispatching a statement
+ * only evaluates the (few) rules that could apply to it, rather than every rule in turn.
+ */
+final class DslDispatchTable {
+
+    @FunctionalInterface
+    interface Condition {
+
+        boolean test(DslStatement statement) throws Exception;
+
+    }
+
+    @FunctionalInterface
+    interface Handler {
+
+        void handle(DslStatement statement) throws Exception;
+
+    }
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final Set<String> keywords = new HashSet<>();
+
+    // context type -> keyword (or null for any other token) -> candidate rules, in order of precedence
+    private final Map<Class<?>, Map<String, List<Rule>>> candidates = new HashMap<>();
+
+    /**
+     * Starts a rule for statements that start with one of the specified keywords.
+     */
+    RuleBuilder on(String... keywords) {
+        return new RuleBuilder(keywords);
+    }
+
+    /**
+     * Starts a rule for statements that start with any token.
+     */
+    RuleBuilder onAnyKeyword() {
+        return new RuleBuilder();
+    }
+
+    /**
+     * Dispatches a statement to the first matching rule.
+     *
+     * @param context       the current context (or null if there is no context)
+     * @param statement     the statement
+     * @return              true if the statement was handled, false if no rule matched
+     * @throws Exception    if the handler fails
+     */
+    boolean dispatch(DslContext context, DslStatement statement) throws Exception {
+        for (Rule rule : getCandidates(context == null ? null : context.getClass(), statement.getFirstToken())) {
+            if (rule.condition == null || rule.condition.test(statement)) {
+                rule.handler.handle(statement);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private List<Rule> getCandidates(Class<?> contextType, String token) {
+        String keyword = fold(token);
+        if (!keywords.contains(keyword)) {
+            // identifiers, property names, etc all share the same (any keyword) candidates
+            keyword = null;
+        }
+
+        Map<String, List<Rule>> candidatesByKeyword = candidates.computeIfAbsent(contextType, k -> new HashMap<>());
+        List<Rule> rulesForKeyword = candidatesByKeyword.get(keyword);
+        if (rulesForKeyword == null) {
+            rulesForKeyword = new ArrayList<>();
+            for (Rule rule : rules) {
+                if (rule.appliesTo(contextType, keyword)) {
+                    rulesForKeyword.add(rule);
+                }
+            }
+
+            candidatesByKeyword.put(keyword, rulesForKeyword);
+        }
+
+        return rulesForKeyword;
+    }
+
+    private void add(Rule rule) {
+        rules.add(rule);
+        keywords.addAll(rule.keywords);
+        candidates.clear();
+    }
+
+    /**
+     * Folds the case of a token, such that fold(a).equals(fold(b)) if and only if a.equalsIgnoreCase(b).
+     */
+    static String fold(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (Character.toLowerCase(Character.toUpperCase(c)) != c) {
+                char[] chars = token.toCharArray();
+                for (int j = i; j < chars.length; j++) {
+                    chars[j] = Character.toLowerCase(Character.toUpperCase(chars[j]));
+                }
+
+                return new String(chars);
+            }
+        }
+
+        // most keywords are already lowercase
+        return token;
+    }
+
+    final class RuleBuilder {
+
+        private final Set<String> keywords = new HashSet<>();
+        private final List<Class<?>> contextTypes = new ArrayList<>();
+        private Condition condition;
+
+        private RuleBuilder(String... keywords) {
+            for (String keyword : keywords) {
+                this.keywords.add(fold(keyword));
+            }
+        }
+
+        /**
+         * Restricts the rule to the specified context types (or their subtypes).
+         */
+        RuleBuilder in(Class<?>... contextTypes) {
+            this.contextTypes.addAll(Arrays.asList(contextTypes));
+
+            return this;
+        }
+
+        /**
+         * Restricts the rule to statements that match the specified condition.
+         */
+        RuleBuilder when(Condition condition) {
+            this.condition = condition;
+
+            return this;
+        }
+
+        /**
+         * Registers the rule, with the specified handler.
+         */
+        void handle(Handler handler) {
+            add(new Rule(keywords, contextTypes, condition, handler));
+        }
+
+    }
+
+    private static final class Rule {
+
+        private final Set<String> keywords;
+        private final List<Class<?>> contextTypes;
+        private final Condition condition;
+        private final Handler handler;
+
+        private Rule(Set<String> keywords, List<Class<?>> contextTypes, Condition condition, Handler handler) {
+            this.keywords = keywords;
+            this.contextTypes = contextTypes;
+            this.condition = condition;
+            this.handler = handler;
+        }
+
+        private boolean appliesTo(Class<?> contextType, String keyword) {
+            if (!keywords.isEmpty() && !keywords.contains(keyword)) {
+                return false;
+            }
+
+            if (contextTypes.isEmpty()) {
+                return true;
+            }
+
+            if (contextType == null) {
+                // there is no current context
+                return false;
+            }
+
+            for (Class<?> type : contextTypes) {
+                if (type.isAssignableFrom(contextType)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+    }
+
+}
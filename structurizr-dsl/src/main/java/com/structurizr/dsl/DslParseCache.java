@@ -0,0 +1,141 @@
+package com.structurizr.dsl;
+
+import com.structurizr.Workspace;
+import com.structurizr.util.WorkspaceUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * An on-disk cache of parsed workspaces, for tools (e.g. the CLI) that parse the same DSL file repeatedly.
+ * Each workspace is stored (as Smile) alongside the dependency graph recorded while parsing it, and a cached workspace
+ * is only returned if none of the inputs read by the parser have changed since; i.e. the DSL files, included
+ * directories, scripts, themes, images, documentation/decisions, plugins, component finder classes/source,
+ * and referenced environment variables (see {@link DslDependencyGraph}). Workspaces that include remote content,
+ * or that were parsed from a String, are never cached.
+ */
+public final class DslParseCache {
+
+    private static final Log log = LogFactory.getLog(DslParseCache.class);
+
+    private static final String WORKSPACE_FILE_EXTENSION = ".smile";
+    private static final String DEPENDENCY_GRAPH_FILE_EXTENSION = ".inputs";
+
+    private final File directory;
+    private final String version;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory     the directory in which to store parsed workspaces (created if it doesn't exist)
+     * @param version       the version of the tool doing the parsing, since cached workspaces are only valid for the
+     *                      version that parsed them
+     */
+    public DslParseCache(File directory, String version) {
+        if (directory == null) {
+            throw new IllegalArgumentException("A cache directory must be specified");
+        }
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalArgumentException(directory.getAbsolutePath() + " could not be created");
+        }
+
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException(directory.getAbsolutePath() + " is not a directory");
+        }
+
+        this.directory = directory;
+        this.version = version != null ? version : "";
+    }
+
+    /**
+     * Gets the directory used to store parsed workspaces.
+     *
+     * @return  a File representing a directory
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets a previously parsed workspace, providing that none of its inputs have changed.
+     *
+     * @param dslFile               the DSL file
+     * @param characterEncoding     the character encoding used to parse the DSL file
+     * @return                      a Workspace, or null if there is no cached workspace, or it's out of date
+     */
+    public Workspace get(File dslFile, Charset characterEncoding) {
+        String name = getCacheFileName(dslFile, characterEncoding);
+        File dependencyGraphFile = new File(directory, name + DEPENDENCY_GRAPH_FILE_EXTENSION);
+        File workspaceFile = new File(directory, name + WORKSPACE_FILE_EXTENSION);
+        if (!dependencyGraphFile.exists() || !workspaceFile.exists()) {
+            return null;
+        }
+
+        try {
+            DslDependencyGraph dependencyGraph = DslDependencyGraph.read(dependencyGraphFile);
+            if (dependencyGraph.hasChanged()) {
+                log.debug("Cached workspace for " + dslFile.getAbsolutePath() + " is out of date");
+                return null;
+            }
+
+            return WorkspaceUtils.loadWorkspaceFromSmile(workspaceFile);
+        } catch (Exception e) {
+            log.warn("Cached workspace for " + dslFile.getAbsolutePath() + " could not be read: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the workspace from the specified parser, along with its dependency graph.
+     *
+     * @param parser    a StructurizrDslParser, after a DSL file has been parsed
+     * @return          true if the workspace was cached, false otherwise
+     */
+    public boolean put(StructurizrDslParser parser) {
+        DslDependencyGraph dependencyGraph = parser.getDependencyGraph();
+        Workspace workspace = parser.getWorkspace();
+        if (workspace == null || !dependencyGraph.isComplete()) {
+            // there's no way to check whether remote content has changed
+            return false;
+        }
+
+        File dslFile = dependencyGraph.getRoot();
+        String name = getCacheFileName(dslFile, dependencyGraph.getCharset(dslFile));
+
+        try {
+            // write to temporary files and move them into place, so that concurrent readers never see partial content
+            File workspaceFile = File.createTempFile(name, WORKSPACE_FILE_EXTENSION, directory);
+            WorkspaceUtils.saveWorkspaceToSmile(workspace, workspaceFile);
+
+            File dependencyGraphFile = File.createTempFile(name, DEPENDENCY_GRAPH_FILE_EXTENSION, directory);
+            dependencyGraph.write(dependencyGraphFile);
+
+            Files.move(workspaceFile.toPath(), new File(directory, name + WORKSPACE_FILE_EXTENSION).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(dependencyGraphFile.toPath(), new File(directory, name + DEPENDENCY_GRAPH_FILE_EXTENSION).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return true;
+        } catch (Exception e) {
+            log.warn("Workspace from " + dslFile.getAbsolutePath() + " could not be cached: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private String getCacheFileName(File dslFile, Charset characterEncoding) {
+        try {
+            String key = version + "\n" + characterEncoding.name() + "\n" + dslFile.toPath().toAbsolutePath().normalize();
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.structurizr.dsl;
+
+import com.structurizr.model.ImpliedRelationshipsStrategy;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * The state of a StructurizrDslParser just before an !include statement in the DSL file (i.e. the root, rather than
+ * an included file). Parsing can be resumed from a checkpoint, so that when only the included files (or the content
+ * after them) change, the DSL before the !include statement doesn't need to be parsed again.
+ *
+ * A checkpoint isn't modified once it has been created, and can be used to resume parsing any number of times,
+ * provided that none of the files (or other inputs) read before the checkpoint have changed.
+ */
+public final class DslParserCheckpoint {
+
+    enum ContextType {
+
+        Workspace,
+        Model,
+        Views
+
+    }
+
+    private final File dslFile;
+    private final Charset characterEncoding;
+    private final int lineNumber;
+
+    private byte[] workspaceJson;
+    private ImpliedRelationshipsStrategy impliedRelationshipsStrategy;
+    private int lastId;
+    private boolean extendingWorkspace;
+
+    private IdentifierScope identifierScope;
+    private Map<String, String> elementIdsByIdentifier;
+    private Map<String, String> deploymentEnvironmentsByIdentifier;
+    private Map<String, String> relationshipIdsByIdentifier;
+
+    private Map<String, NameValuePair> constantsAndVariables;
+    private Map<String, Map<String, Archetype>> archetypes;
+    private Set<String> parsedTokens;
+    private List<String> dslSourceLines;
+    private boolean dslPortable;
+
+    private List<ContextType> contextTypes;
+    private List<Boolean> contextsDslPortable;
+
+    private DslDependencyGraph dependencyGraph;
+
+    DslParserCheckpoint(File dslFile, Charset characterEncoding, int lineNumber) {
+        this.dslFile = dslFile;
+        this.characterEncoding = characterEncoding;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Gets the DSL file that the checkpoint was taken from.
+     *
+     * @return  a File
+     */
+    public File getDslFile() {
+        return dslFile;
+    }
+
+    /**
+     * Gets the line number (in the DSL file) of the !include statement that parsing resumes from.
+     *
+     * @return  a line number (1 based)
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Determines whether any of the files, inputs, or environment variables read before the checkpoint have changed,
+     * in which case parsing can't be resumed from the checkpoint.
+     *
+     * @return  true if something has changed, false otherwise
+     */
+    public boolean hasChanged() {
+        return dependencyGraph.hasChanged();
+    }
+
+    Charset getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    byte[] getWorkspaceJson() {
+        return workspaceJson;
+    }
+
+    void setWorkspaceJson(byte[] workspaceJson) {
+        this.workspaceJson = workspaceJson;
+    }
+
+    ImpliedRelationshipsStrategy getImpliedRelationshipsStrategy() {
+        return impliedRelationshipsStrategy;
+    }
+
+    void setImpliedRelationshipsStrategy(ImpliedRelationshipsStrategy impliedRelationshipsStrategy) {
+        this.impliedRelationshipsStrategy = impliedRelationshipsStrategy;
+    }
+
+    int getLastId() {
+        return lastId;
+    }
+
+    void setLastId(int lastId) {
+        this.lastId = lastId;
+    }
+
+    boolean isExtendingWorkspace() {
+        return extendingWorkspace;
+    }
+
+    void setExtendingWorkspace(boolean extendingWorkspace) {
+        this.extendingWorkspace = extendingWorkspace;
+    }
+
+    IdentifierScope getIdentifierScope() {
+        return identifierScope;
+    }
+
+    void setIdentifierScope(IdentifierScope identifierScope) {
+        this.identifierScope = identifierScope;
+    }
+
+    Map<String, String> getElementIdsByIdentifier() {
+        return elementIdsByIdentifier;
+    }
+
+    void setElementIdsByIdentifier(Map<String, String> elementIdsByIdentifier) {
+        this.elementIdsByIdentifier = elementIdsByIdentifier;
+    }
+
+    Map<String, String> getDeploymentEnvironmentsByIdentifier() {
+        return deploymentEnvironmentsByIdentifier;
+    }
+
+    void setDeploymentEnvironmentsByIdentifier(Map<String, String> deploymentEnvironmentsByIdentifier) {
+        this.deploymentEnvironmentsByIdentifier = deploymentEnvironmentsByIdentifier;
+    }
+
+    Map<String, String> getRelationshipIdsByIdentifier() {
+        return relationshipIdsByIdentifier;
+    }
+
+    void setRelationshipIdsByIdentifier(Map<String, String> relationshipIdsByIdentifier) {
+        this.relationshipIdsByIdentifier = relationshipIdsByIdentifier;
+    }
+
+    Map<String, NameValuePair> getConstantsAndVariables() {
+        return constantsAndVariables;
+    }
+
+    void setConstantsAndVariables(Map<String, NameValuePair> constantsAndVariables) {
+        this.constantsAndVariables = constantsAndVariables;
+    }
+
+    Map<String, Map<String, Archetype>> getArchetypes() {
+        return archetypes;
+    }
+
+    void setArchetypes(Map<String, Map<String, Archetype>> archetypes) {
+        this.archetypes = archetypes;
+    }
+
+    Set<String> getParsedTokens() {
+        return parsedTokens;
+    }
+
+    void setParsedTokens(Set<String> parsedTokens) {
+        this.parsedTokens = parsedTokens;
+    }
+
+    List<String> getDslSourceLines() {
+        return dslSourceLines;
+    }
+
+    void setDslSourceLines(List<String> dslSourceLines) {
+        this.dslSourceLines = dslSourceLines;
+    }
+
+    boolean isDslPortable() {
+        return dslPortable;
+    }
+
+    void setDslPortable(boolean dslPortable) {
+        this.dslPortable = dslPortable;
+    }
+
+    List<ContextType> getContextTypes() {
+        return contextTypes;
+    }
+
+    void setContextTypes(List<ContextType> contextTypes) {
+        this.contextTypes = contextTypes;
+    }
+
+    List<Boolean> getContextsDslPortable() {
+        return contextsDslPortable;
+    }
+
+    void setContextsDslPortable(List<Boolean> contextsDslPortable) {
+        this.contextsDslPortable = contextsDslPortable;
+    }
+
+    DslDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    void setDependencyGraph(DslDependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+    }
+
+}
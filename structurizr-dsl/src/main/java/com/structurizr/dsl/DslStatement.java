@@ -0,0 +1,59 @@
+package com.structurizr.dsl;
+
+import java.io.File;
+
+/**
+ * Represents a tokenized line of DSL, after constants/variables have been substituted, and without the identifier
+ * (if any) that the statement is assigned to.
+ */
+final class DslStatement {
+
+    private final String source;
+    private final Tokens tokens;
+    private final String firstToken;
+    private final String identifier;
+    private final File dslFile;
+    private String trimmedSource;
+
+    DslStatement(String source, Tokens tokens, String identifier, File dslFile) {
+        this.source = source;
+        this.tokens = tokens;
+        this.firstToken = tokens.get(0);
+        this.identifier = identifier;
+        this.dslFile = dslFile;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    String getTrimmedSource() {
+        if (trimmedSource == null) {
+            trimmedSource = source.trim();
+        }
+
+        return trimmedSource;
+    }
+
+    Tokens getTokens() {
+        return tokens;
+    }
+
+    String getFirstToken() {
+        return firstToken;
+    }
+
+    String getIdentifier() {
+        return identifier;
+    }
+
+    File getDslFile() {
+        return dslFile;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+}
@@ -317,6 +317,7 @@ final class ElementStyleParser extends AbstractParser {
                 if (context.getFeatures().isEnabled(Features.FILE_SYSTEM)) {
                     File file = new File(context.getFile().getParent(), path);
                     if (file.exists() && !file.isDirectory()) {
+                        context.getDependencyGraph().addInput(file);
                         try {
                             style.setIcon(ImageUtils.getImageAsDataUri(file));
                             context.setDslPortable(false);
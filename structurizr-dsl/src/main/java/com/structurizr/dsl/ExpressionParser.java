@@ -78,14 +78,14 @@ class ExpressionParser {
 
             if (isExpression(expr)) {
                 Set<ModelItem> mi = evaluateExpression(expr, context);
-                context.getWorkspace().getModel().getElements().forEach(element -> {
+                context.getWorkspace().getModel().getElementsView().forEach(element -> {
                     if (!mi.contains(element)) {
                         modelItems.add(element);
                     }
                 });
             } else {
                 Set<ModelItem> mi = parseIdentifier(expr, context);
-                context.getWorkspace().getModel().getElements().forEach(element -> {
+                context.getWorkspace().getModel().getElementsView().forEach(element -> {
                     if (!mi.contains(element)) {
                         modelItems.add(element);
                     }
@@ -154,7 +154,7 @@ class ExpressionParser {
             String destinationExpression = RELATIONSHIP_DESTINATION_EQUALS_EXPRESSION + destinationIdentifier;
 
             if (WILDCARD.equals(sourceIdentifier) && WILDCARD.equals(destinationIdentifier)) {
-                modelItems.addAll(context.getWorkspace().getModel().getRelationships());
+                modelItems.addAll(context.getWorkspace().getModel().getRelationshipsView());
             } else if (WILDCARD.equals(destinationIdentifier)) {
                 modelItems.addAll(parseExpression(sourceExpression, context));
             } else if (WILDCARD.equals(sourceIdentifier)) {
@@ -168,7 +168,7 @@ class ExpressionParser {
             if (parentElement == null) {
                 throw new RuntimeException("The parent element \"" + parentIdentifier + "\" does not exist");
             } else {
-                context.getWorkspace().getModel().getElements().forEach(element -> {
+                context.getWorkspace().getModel().getElementsView().forEach(element -> {
                     if (element.getParent() == parentElement) {
                         modelItems.add(element);
                     }
@@ -178,58 +178,58 @@ class ExpressionParser {
             modelItems.addAll(evaluateElementTypeExpression(expr, context));
         } else if (expr.toLowerCase().startsWith(ELEMENT_TAG_EQUALS_EXPRESSION.toLowerCase())) {
             String[] tags = expr.substring(ELEMENT_TAG_EQUALS_EXPRESSION.length()).split(",");
-            context.getWorkspace().getModel().getElements().forEach(element -> {
+            context.getWorkspace().getModel().getElementsView().forEach(element -> {
                 if (hasAllTags(element, tags)) {
                     modelItems.add(element);
                 }
             });
         } else if (expr.toLowerCase().startsWith(ELEMENT_TAG_NOT_EQUALS_EXPRESSION)) {
             String[] tags = expr.substring(ELEMENT_TAG_NOT_EQUALS_EXPRESSION.length()).split(",");
-            context.getWorkspace().getModel().getElements().forEach(element -> {
+            context.getWorkspace().getModel().getElementsView().forEach(element -> {
                 if (!hasAllTags(element, tags)) {
                     modelItems.add(element);
                 }
             });
         } else if (expr.toLowerCase().startsWith(ELEMENT_TECHNOLOGY_EQUALS_EXPRESSION.toLowerCase())) {
             String technology = expr.substring(ELEMENT_TECHNOLOGY_EQUALS_EXPRESSION.length());
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).map(e -> (Container)e).filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Component).map(e -> (Component)e).filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).filter(dn -> technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof InfrastructureNode).map(e -> (InfrastructureNode)e).filter(in -> technology.equals(in.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance)e).filter(c -> technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class).stream().filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Component.class).stream().filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(DeploymentNode.class).stream().filter(dn -> technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(InfrastructureNode.class).stream().filter(in -> technology.equals(in.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class).stream().filter(c -> technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
         } else if (expr.toLowerCase().startsWith(ELEMENT_TECHNOLOGY_NOT_EQUALS_EXPRESSION)) {
             String technology = expr.substring(ELEMENT_TECHNOLOGY_NOT_EQUALS_EXPRESSION.length());
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).map(e -> (Container)e).filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Component).map(e -> (Component)e).filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).filter(dn -> !technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof InfrastructureNode).map(e -> (InfrastructureNode)e).filter(in -> !technology.equals(in.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance)e).filter(c -> !technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class).stream().filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Component.class).stream().filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(DeploymentNode.class).stream().filter(dn -> !technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(InfrastructureNode.class).stream().filter(in -> !technology.equals(in.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class).stream().filter(c -> !technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
         } else if (expr.matches(ELEMENT_PROPERTY_EQUALS_EXPRESSION)) {
             String propertyName = expr.substring(expr.indexOf("[")+1, expr.indexOf("]"));
             String propertyValue = expr.substring(expr.indexOf("==")+2);
 
-            context.getWorkspace().getModel().getElements().forEach(element -> {
+            context.getWorkspace().getModel().getElementsView().forEach(element -> {
                 if (hasProperty(element, propertyName, propertyValue)) {
                     modelItems.add(element);
                 }
             });
         } else if (expr.toLowerCase().startsWith(ELEMENT_GROUP_EQUALS_EXPRESSION.toLowerCase())) {
             String groupName = expr.substring(expr.indexOf("==")+2);
-            context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof GroupableElement).map(e -> (GroupableElement)e).forEach(element -> {
+            context.getWorkspace().getModel().getElementsOfType(GroupableElement.class).forEach(element -> {
                 if (groupName.equals(element.getGroup())) {
                     modelItems.add(element);
                 }
             });
         } else if (expr.startsWith(RELATIONSHIP_TAG_EQUALS_EXPRESSION)) {
             String[] tags = expr.substring(RELATIONSHIP_TAG_EQUALS_EXPRESSION.length()).split(",");
-            context.getWorkspace().getModel().getRelationships().forEach(relationship -> {
+            context.getWorkspace().getModel().getRelationshipsView().forEach(relationship -> {
                 if (hasAllTags(relationship, tags)) {
                     modelItems.add(relationship);
                 }
             });
         } else if (expr.startsWith(RELATIONSHIP_TAG_NOT_EQUALS_EXPRESSION)) {
             String[] tags = expr.substring(RELATIONSHIP_TAG_NOT_EQUALS_EXPRESSION.length()).split(",");
-            context.getWorkspace().getModel().getRelationships().forEach(relationship -> {
+            context.getWorkspace().getModel().getRelationshipsView().forEach(relationship -> {
                 if (!hasAllTags(relationship, tags)) {
                     modelItems.add(relationship);
                 }
@@ -238,7 +238,7 @@ class ExpressionParser {
             String propertyName = expr.substring(expr.indexOf("[")+1, expr.indexOf("]"));
             String propertyValue = expr.substring(expr.indexOf("==")+2);
 
-            context.getWorkspace().getModel().getRelationships().forEach(relationship -> {
+            context.getWorkspace().getModel().getRelationshipsView().forEach(relationship -> {
                 if (hasProperty(relationship, propertyName, propertyValue)) {
                     modelItems.add(relationship);
                 }
@@ -273,7 +273,7 @@ class ExpressionParser {
                 }
             }
 
-            context.getWorkspace().getModel().getRelationships().forEach(relationship -> {
+            context.getWorkspace().getModel().getRelationshipsView().forEach(relationship -> {
                 if (sourceElements.contains(relationship.getSource())) {
                     modelItems.add(relationship);
                 }
@@ -308,7 +308,7 @@ class ExpressionParser {
                 }
             }
 
-            context.getWorkspace().getModel().getRelationships().forEach(relationship -> {
+            context.getWorkspace().getModel().getRelationshipsView().forEach(relationship -> {
                 if (destinationElements.contains(relationship.getDestination())) {
                     modelItems.add(relationship);
                 }
@@ -330,31 +330,31 @@ class ExpressionParser {
         String type = expr.substring(ELEMENT_TYPE_EQUALS_EXPRESSION.length());
         switch (type.toLowerCase()) {
             case "custom":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof CustomElement).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(CustomElement.class));
                 break;
             case "person":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Person).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Person.class));
                 break;
             case "softwaresystem":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystem).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(SoftwareSystem.class));
                 break;
             case "container":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class));
                 break;
             case "component":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Component).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Component.class));
                 break;
             case "deploymentnode":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof DeploymentNode).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(DeploymentNode.class));
                 break;
             case "infrastructurenode":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof InfrastructureNode).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(InfrastructureNode.class));
                 break;
             case "softwaresysteminstance":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystemInstance).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(SoftwareSystemInstance.class));
                 break;
             case "containerinstance":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class));
                 break;
         }
 
@@ -418,8 +418,7 @@ class ExpressionParser {
     protected <T extends Element> Set<Element> findAfferentCouplings(Element element, Class<T> typeOfElement) {
         Set<Element> elements = new LinkedHashSet<>();
 
-        Set<Relationship> relationships = element.getModel().getRelationships();
-        relationships.stream().filter(r -> r.getDestination().equals(element) && typeOfElement.isInstance(r.getSource()))
+        element.getModel().getAfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getSource()))
                 .map(Relationship::getSource)
                 .forEach(elements::add);
 
@@ -433,8 +432,7 @@ class ExpressionParser {
     protected <T extends Element> Set<Element> findEfferentCouplings(Element element, Class<T> typeOfElement) {
         Set<Element> elements = new LinkedHashSet<>();
 
-        Set<Relationship> relationships = element.getModel().getRelationships();
-        relationships.stream().filter(r -> r.getSource().equals(element) && typeOfElement.isInstance(r.getDestination()))
+        element.getModel().getEfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getDestination()))
                 .map(Relationship::getDestination)
                 .forEach(elements::add);
 
@@ -454,7 +452,7 @@ class ExpressionParser {
             modelItems.add(relationship);
 
             // and also find all relationships linked to it (i.e. implied and replicated relationships)
-            relationship.getModel().getRelationships().stream().filter(r -> relationship.getId().equals(r.getLinkedRelationshipId())).forEach(modelItems::add);
+            relationship.getModel().getRelationshipsView().stream().filter(r -> relationship.getId().equals(r.getLinkedRelationshipId())).forEach(modelItems::add);
         }
 
         if (modelItems.isEmpty()) {
@@ -20,6 +20,7 @@ class ExternalScriptDslContext extends ScriptDslContext {
                 throw new RuntimeException("Script file " + scriptFile.getCanonicalPath() + " does not exist");
             }
 
+            getDependencyGraph().addInput(scriptFile);
             run(this, scriptFile);
         } catch (Exception e) {
             e.printStackTrace();
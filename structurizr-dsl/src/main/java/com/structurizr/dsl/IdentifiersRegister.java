@@ -5,7 +5,9 @@ import com.structurizr.model.Element;
 import com.structurizr.model.Relationship;
 import com.structurizr.util.StringUtils;
 
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -24,6 +26,12 @@ public class IdentifiersRegister {
 
     private final Map<String, Relationship> relationshipsByIdentifier = new HashMap<>();
 
+    // indexes, so that lookups don't need to scan all identifiers (identifiers are case-insensitive)
+    private final Map<String, Element> elementsByLowerCaseIdentifier = new HashMap<>();
+    private final Map<Element, String> identifiersByElement = new HashMap<>();
+    private final Map<String, Relationship> relationshipsByLowerCaseIdentifier = new HashMap<>();
+    private final Map<Relationship, String> identifiersByRelationship = new HashMap<>();
+
     IdentifiersRegister() {
     }
 
@@ -51,7 +59,7 @@ public class IdentifiersRegister {
      * @return  a Set of String identifiers
      */
     public Set<String> getElementIdentifiers() {
-        return elementsByIdentifier.keySet();
+        return new Identifiers<>(elementsByIdentifier, elementsByLowerCaseIdentifier, identifiersByElement);
     }
 
     /**
@@ -60,7 +68,7 @@ public class IdentifiersRegister {
      * @return  a Set of String identifiers
      */
     public Set<String> getRelationshipIdentifiers() {
-        return relationshipsByIdentifier.keySet();
+        return new Identifiers<>(relationshipsByIdentifier, relationshipsByLowerCaseIdentifier, identifiersByRelationship);
     }
 
     /**
@@ -70,13 +78,11 @@ public class IdentifiersRegister {
      * @return                  an Element, or null if one doesn't exist
      */
     public Element getElement(String identifier) {
-        for (String key : elementsByIdentifier.keySet()) {
-            if (key.equalsIgnoreCase(identifier)) {
-                return elementsByIdentifier.get(key);
-            }
+        if (identifier == null) {
+            return null;
         }
 
-        return null;
+        return elementsByLowerCaseIdentifier.get(identifier.toLowerCase());
     }
 
     /**
@@ -99,15 +105,12 @@ public class IdentifiersRegister {
         }
 
         // check whether this element has already been registered with another identifier
-        for (String id : elementsByIdentifier.keySet()) {
-            Element e = elementsByIdentifier.get(id);
-
-            if (e.equals(element) && !id.equalsIgnoreCase(identifier)) {
-                if (id.matches("[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}")) {
-                    throw new RuntimeException("Please assign an identifier to \"" + element.getCanonicalName() + "\" before using it");
-                } else {
-                    throw new RuntimeException("The element is already registered with an identifier of \"" + id + "\"");
-                }
+        String id = identifiersByElement.get(element);
+        if (id != null && !id.equalsIgnoreCase(identifier)) {
+            if (id.matches("[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}")) {
+                throw new RuntimeException("Please assign an identifier to \"" + element.getCanonicalName() + "\" before using it");
+            } else {
+                throw new RuntimeException("The element is already registered with an identifier of \"" + id + "\"");
             }
         }
 
@@ -116,6 +119,8 @@ public class IdentifiersRegister {
 
         if (e == null && r == null) {
             elementsByIdentifier.put(identifier, element);
+            elementsByLowerCaseIdentifier.put(identifier.toLowerCase(), element);
+            identifiersByElement.put(element, identifier);
         } else {
             throw new RuntimeException("The identifier \"" + identifier.toLowerCase() + "\" is already in use");
         }
@@ -128,13 +133,11 @@ public class IdentifiersRegister {
      * @return                  a Relationship, or null if one doesn't exist
      */
     public Relationship getRelationship(String identifier) {
-        for (String key : relationshipsByIdentifier.keySet()) {
-            if (key.equalsIgnoreCase(identifier)) {
-                return relationshipsByIdentifier.get(key);
-            }
+        if (identifier == null) {
+            return null;
         }
 
-        return null;
+        return relationshipsByLowerCaseIdentifier.get(identifier.toLowerCase());
     }
 
     /**
@@ -153,15 +156,12 @@ public class IdentifiersRegister {
         }
 
         // check whether this relationship has already been registered with another identifier
-        for (String id : relationshipsByIdentifier.keySet()) {
-            Relationship r = relationshipsByIdentifier.get(id);
-
-            if (r.equals(relationship) && !id.equalsIgnoreCase(identifier)) {
-                if (id.matches("[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}")) {
-                    throw new RuntimeException("Please assign an identifier to \"" + relationship.getCanonicalName() + "\" before using it");
-                } else {
-                    throw new RuntimeException("The relationship is already registered with an identifier of \"" + id + "\"");
-                }
+        String id = identifiersByRelationship.get(relationship);
+        if (id != null && !id.equalsIgnoreCase(identifier)) {
+            if (id.matches("[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}")) {
+                throw new RuntimeException("Please assign an identifier to \"" + relationship.getCanonicalName() + "\" before using it");
+            } else {
+                throw new RuntimeException("The relationship is already registered with an identifier of \"" + id + "\"");
             }
         }
 
@@ -170,11 +170,26 @@ public class IdentifiersRegister {
 
         if (e == null && r == null) {
             relationshipsByIdentifier.put(identifier, relationship);
+            relationshipsByLowerCaseIdentifier.put(identifier.toLowerCase(), relationship);
+            identifiersByRelationship.put(relationship, identifier);
         } else {
             throw new RuntimeException("The identifier \"" + identifier.toLowerCase() + "\" is already in use");
         }
     }
 
+    void restore(String identifier, Element element) {
+        // the identifier was calculated (and validated) when the element was originally registered
+        elementsByIdentifier.put(identifier, element);
+        elementsByLowerCaseIdentifier.put(identifier.toLowerCase(), element);
+        identifiersByElement.put(element, identifier);
+    }
+
+    void restore(String identifier, Relationship relationship) {
+        relationshipsByIdentifier.put(identifier, relationship);
+        relationshipsByLowerCaseIdentifier.put(identifier.toLowerCase(), relationship);
+        identifiersByRelationship.put(relationship, identifier);
+    }
+
     private String calculateHierarchicalIdentifier(String identifier, Element element) {
         if (element.getParent() == null) {
             if (element instanceof DeploymentNode) {
@@ -195,17 +210,11 @@ public class IdentifiersRegister {
      * @return  a String identifier (could be null if no identifier was explicitly specified)
      */
     public String findIdentifier(Element element) {
-        if (elementsByIdentifier.containsValue(element)) {
-            for (String identifier : elementsByIdentifier.keySet()) {
-                Element e = elementsByIdentifier.get(identifier);
-
-                if (e.equals(element)) {
-                    return identifier;
-                }
-            }
+        if (element == null) {
+            return null;
         }
 
-        return null;
+        return identifiersByElement.get(element);
     }
 
     /**
@@ -215,17 +224,11 @@ public class IdentifiersRegister {
      * @return  a String identifier (could be null if no identifier was explicitly specified, or for implied relationships)
      */
     public String findIdentifier(Relationship relationship) {
-        if (relationshipsByIdentifier.containsValue(relationship)) {
-            for (String identifier : relationshipsByIdentifier.keySet()) {
-                Relationship r = relationshipsByIdentifier.get(identifier);
-
-                if (r.equals(relationship)) {
-                    return identifier;
-                }
-            }
+        if (relationship == null) {
+            return null;
         }
 
-        return null;
+        return identifiersByRelationship.get(relationship);
     }
 
     void validateIdentifierName(String identifier) {
@@ -247,4 +250,72 @@ public class IdentifiersRegister {
         return identifierName;
     }
 
-}
\ No newline at end of file
+    /**
+     * A live view of the registered identifiers (like Map.keySet()), which also removes identifiers from the indexes.
+     */
+    private static final class Identifiers<T> extends AbstractSet<String> {
+
+        private final Map<String, T> byIdentifier;
+        private final Map<String, T> byLowerCaseIdentifier;
+        private final Map<T, String> identifiersByItem;
+
+        Identifiers(Map<String, T> byIdentifier, Map<String, T> byLowerCaseIdentifier, Map<T, String> identifiersByItem) {
+            this.byIdentifier = byIdentifier;
+            this.byLowerCaseIdentifier = byLowerCaseIdentifier;
+            this.identifiersByItem = identifiersByItem;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<Map.Entry<String, T>> iterator = byIdentifier.entrySet().iterator();
+
+            return new Iterator<>() {
+                private Map.Entry<String, T> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    current = iterator.next();
+                    return current.getKey();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    removeFromIndexes(current.getKey(), current.getValue());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return byIdentifier.size();
+        }
+
+        @Override
+        public boolean contains(Object identifier) {
+            return byIdentifier.containsKey(identifier);
+        }
+
+        @Override
+        public boolean remove(Object identifier) {
+            if (byIdentifier.containsKey(identifier)) {
+                removeFromIndexes((String)identifier, byIdentifier.remove(identifier));
+                return true;
+            }
+
+            return false;
+        }
+
+        private void removeFromIndexes(String identifier, T item) {
+            byLowerCaseIdentifier.remove(identifier.toLowerCase());
+            identifiersByItem.remove(item);
+        }
+
+    }
+
+}
@@ -77,6 +77,8 @@ final class ImageViewContentParser extends AbstractParser {
                             throw new FeatureNotEnabledException(Features.HTTP, "Image views via HTTP are not permitted");
                         }
 
+                        context.getDependencyGraph().addRemoteContent();
+
                         RemoteContent content = context.getHttpClient().get(source);
                         new PlantUMLImporter(context.getHttpClient()).importDiagram(context.getView(), content.getContentAsString(), colorScheme);
                         context.getView().setTitle(source.substring(source.lastIndexOf("/") + 1));
@@ -85,6 +87,7 @@ final class ImageViewContentParser extends AbstractParser {
                             File file = new File(dslFile.getParentFile(), source);
                             if (file.exists()) {
                                 context.setDslPortable(false);
+                                context.getDependencyGraph().addInput(file);
                                 new PlantUMLImporter(context.getHttpClient()).importDiagram(context.getView(), file, colorScheme);
                             } else {
                                 throw new RuntimeException("The file at " + file.getAbsolutePath() + " does not exist");
@@ -140,6 +143,8 @@ final class ImageViewContentParser extends AbstractParser {
                             throw new FeatureNotEnabledException(Features.HTTP, "Image views via HTTP are not permitted");
                         }
 
+                        context.getDependencyGraph().addRemoteContent();
+
                         RemoteContent content = context.getHttpClient().get(source);
                         new MermaidImporter(context.getHttpClient()).importDiagram(context.getView(), content.getContentAsString(), colorScheme);
                         context.getView().setTitle(source.substring(source.lastIndexOf("/") + 1));
@@ -148,6 +153,7 @@ final class ImageViewContentParser extends AbstractParser {
                             File file = new File(dslFile.getParentFile(), source);
                             if (file.exists()) {
                                 context.setDslPortable(false);
+                                context.getDependencyGraph().addInput(file);
                                 new MermaidImporter(context.getHttpClient()).importDiagram(context.getView(), file, colorScheme);
                             } else {
                                 throw new RuntimeException("The file at " + file.getAbsolutePath() + " does not exist");
@@ -191,6 +197,8 @@ final class ImageViewContentParser extends AbstractParser {
                         throw new FeatureNotEnabledException(Features.HTTP, "Image views via HTTP are not permitted");
                     }
 
+                    context.getDependencyGraph().addRemoteContent();
+
                     RemoteContent content = context.getHttpClient().get(source);
                     new KrokiImporter(context.getHttpClient()).importDiagram(context.getView(), format, content.getContentAsString(), colorScheme);
                     context.getView().setTitle(source.substring(source.lastIndexOf("/") + 1));
@@ -199,6 +207,7 @@ final class ImageViewContentParser extends AbstractParser {
                         File file = new File(dslFile.getParentFile(), source);
                         if (file.exists()) {
                             context.setDslPortable(false);
+                            context.getDependencyGraph().addInput(file);
                             new KrokiImporter(context.getHttpClient()).importDiagram(context.getView(), format, file, colorScheme);
                         } else {
                             throw new RuntimeException("The file at " + file.getAbsolutePath() + " does not exist");
@@ -236,12 +245,14 @@ final class ImageViewContentParser extends AbstractParser {
                     throw new FeatureNotEnabledException(Features.HTTP, "Image views via HTTP are not permitted");
                 }
 
+                context.getDependencyGraph().addRemoteContent();
                 new ImageImporter(context.getHttpClient()).importDiagram(context.getView(), source, colorScheme);
             } else {
                 if (context.getFeatures().isEnabled(Features.FILE_SYSTEM)) {
                     File file = new File(dslFile.getParentFile(), source);
                     if (file.exists()) {
                         context.setDslPortable(false);
+                        context.getDependencyGraph().addInput(file);
                         new ImageImporter(context.getHttpClient()).importDiagram(context.getView(), file, colorScheme);
                     } else {
                         throw new RuntimeException("The file at " + file.getAbsolutePath() + " does not exist");
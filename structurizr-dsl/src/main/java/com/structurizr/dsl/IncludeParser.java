@@ -1,5 +1,6 @@
 package com.structurizr.dsl;
 
+import com.structurizr.http.HttpClient;
 import com.structurizr.http.RemoteContent;
 import com.structurizr.util.FeatureNotEnabledException;
 import com.structurizr.util.Url;
@@ -11,6 +12,9 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 final class IncludeParser extends AbstractParser {
 
@@ -19,6 +23,10 @@ final class IncludeParser extends AbstractParser {
     private static final int SOURCE_INDEX = 1;
 
     List<IncludedFile> parse(DslContext context, File dslFile, Tokens tokens) {
+        return parse(context, dslFile, tokens, null);
+    }
+
+    List<IncludedFile> parse(DslContext context, File dslFile, Tokens tokens, IncludePrefetcher prefetcher) {
         // !include <file|directory|url>
 
         if (!context.getFeatures().isEnabled(Features.INCLUDE)) {
@@ -36,37 +44,25 @@ final class IncludeParser extends AbstractParser {
         }
 
         String source = tokens.get(SOURCE_INDEX);
+        List<IncludedFile> prefetchedFiles = prefetcher != null ? prefetcher.get(dslFile, source) : null;
+
         if (Url.isHttpsUrl(source)) {
             if (context.getFeatures().isEnabled(Features.HTTPS)) {
-                RemoteContent content = context.getHttpClient().get(source);
-                List<String> lines = Arrays.asList(content.getContentAsString().split("\n"));
-                includedFiles.add(new IncludedFile(dslFile, lines));
+                includedFiles.addAll(prefetchedFiles != null ? prefetchedFiles : readUrl(context.getHttpClient(), dslFile, source));
             } else {
                 throw new FeatureNotEnabledException(Features.HTTPS, "Includes via HTTPS are not permitted");
             }
         } else if (Url.isHttpUrl(source)) {
             if (context.getFeatures().isEnabled(Features.HTTP)) {
-                RemoteContent content = context.getHttpClient().get(source);
-                List<String> lines = Arrays.asList(content.getContentAsString().split("\n"));
-                includedFiles.add(new IncludedFile(dslFile, lines));
+                includedFiles.addAll(prefetchedFiles != null ? prefetchedFiles : readUrl(context.getHttpClient(), dslFile, source));
             } else {
                 throw new FeatureNotEnabledException(Features.HTTP, "Includes via HTTP are not permitted");
             }
         } else {
             if (context.getFeatures().isEnabled(Features.FILE_SYSTEM)) {
                 if (dslFile != null) {
-                    File path = new File(dslFile.getParent(), source);
-
-                    try {
-                        if (!path.exists()) {
-                            throw new RuntimeException(path.getCanonicalPath() + " could not be found");
-                        }
-
-                        includedFiles.addAll(readFiles(path));
-                        context.setDslPortable(false);
-                    } catch (IOException e) {
-                        throw new RuntimeException("Error including " + path.getAbsolutePath() + ": " + e.getMessage());
-                    }
+                    includedFiles.addAll(prefetchedFiles != null ? prefetchedFiles : readPath(dslFile, source));
+                    context.setDslPortable(false);
                 }
             } else {
                 throw new FeatureNotEnabledException(Features.FILE_SYSTEM, "!include <file> is not permitted");
@@ -76,32 +72,83 @@ final class IncludeParser extends AbstractParser {
         return includedFiles;
     }
 
-    private List<IncludedFile> readFiles(File path) throws IOException {
+    static List<IncludedFile> readUrl(HttpClient httpClient, File dslFile, String url) {
+        RemoteContent content = httpClient.get(url);
+        List<String> lines = Arrays.asList(content.getContentAsString().split("\n"));
+
+        return List.of(new IncludedFile(dslFile, lines));
+    }
+
+    static List<IncludedFile> readPath(File dslFile, String source) {
+        File path = new File(dslFile.getParent(), source);
+
+        try {
+            if (!path.exists()) {
+                throw new RuntimeException(path.getCanonicalPath() + " could not be found");
+            }
+
+            return readFiles(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Error including " + path.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    private static List<IncludedFile> readFiles(File path) throws IOException {
+        List<File> files = listFiles(path);
+        if (files.size() == 1) {
+            return List.of(readFile(files.get(0)));
+        }
+
+        // read the files in a directory concurrently, but return them (and report any errors) in order
+        List<Future<IncludedFile>> futures = new ArrayList<>();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (File file : files) {
+                futures.add(executorService.submit(() -> readFile(file)));
+            }
+        }
+
         List<IncludedFile> includedFiles = new ArrayList<>();
+        for (Future<IncludedFile> future : futures) {
+            includedFiles.add(IncludePrefetcher.getResult(future));
+        }
+
+        return includedFiles;
+    }
+
+    private static IncludedFile readFile(File file) {
+        try {
+            return new IncludedFile(file, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file at " + file.getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the files that are included by the given path, in the order they are parsed
+     * (directories are included recursively, in name order, ignoring hidden files and directories).
+     */
+    static List<File> listFiles(File path) {
+        List<File> files = new ArrayList<>();
 
         if (path.isHidden() || path.getName().startsWith(".")) {
             // ignore
-            return includedFiles;
+            return files;
         }
 
         if (path.isDirectory()) {
-            File[] files = path.listFiles();
-            if (files != null) {
-                Arrays.sort(files);
+            File[] children = path.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
 
-                for (File file : files) {
-                    includedFiles.addAll(readFiles(file));
+                for (File child : children) {
+                    files.addAll(listFiles(child));
                 }
             }
         } else {
-            try {
-                includedFiles.add(new IncludedFile(path, Files.readAllLines(path.toPath(), StandardCharsets.UTF_8)));
-            } catch (IOException e) {
-                throw new RuntimeException("Error reading file at " + path.getAbsolutePath() + ": " + e.getMessage());
-            }
+            files.add(path);
         }
 
-        return includedFiles;
+        return files;
     }
 
 }
\ No newline at end of file
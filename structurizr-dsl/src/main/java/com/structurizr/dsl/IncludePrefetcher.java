@@ -0,0 +1,130 @@
+package com.structurizr.dsl;
+
+import com.structurizr.http.HttpClient;
+import com.structurizr.util.Url;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the targets of !include statements (local files, directories and URLs) ahead of the parser, concurrently
+ * on virtual threads. The parser still processes includes in order, waiting for the content if necessary,
+ * and any errors are reported when the parser reaches the !include statement (i.e. with the original line number).
+ * Only includes with a literal source are prefetched; those that reference constants/variables are read when reached.
+ * Prefetching stops at the first !script or !plugin, since these can create or modify the files that are included
+ * later on (this also means that lines inside inline scripts are never treated as includes).
+ */
+final class IncludePrefetcher {
+
+    private static final ExecutorService EXECUTOR_SERVICE = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final String MULTI_LINE_COMMENT_START_TOKEN = "/*";
+    private static final String MULTI_LINE_COMMENT_END_TOKEN = "*/";
+    private static final String STRING_SUBSTITUTION_START = "${";
+
+    private final Tokenizer tokenizer = new Tokenizer();
+    private final Map<String, Future<List<IncludedFile>>> includes = new HashMap<>();
+
+    void prefetch(File dslFile, List<DslLine> lines, Features features, HttpClient httpClient) {
+        if (!features.isEnabled(Features.INCLUDE)) {
+            return;
+        }
+
+        boolean comment = false;
+        for (DslLine line : lines) {
+            String source = line.getSource().trim();
+
+            if (comment) {
+                comment = !source.endsWith(MULTI_LINE_COMMENT_END_TOKEN);
+            } else if (source.startsWith(MULTI_LINE_COMMENT_START_TOKEN)) {
+                comment = !source.endsWith(MULTI_LINE_COMMENT_END_TOKEN);
+            } else if (startsWith(source, StructurizrDslTokens.SCRIPT_TOKEN) || startsWith(source, StructurizrDslTokens.PLUGIN_TOKEN)) {
+                return;
+            } else if (startsWith(source, StructurizrDslTokens.INCLUDE_FILE_TOKEN)) {
+                Tokens tokens = new Tokens(tokenizer.tokenize(source));
+                if (tokens.size() == 2 && StructurizrDslTokens.INCLUDE_FILE_TOKEN.equalsIgnoreCase(tokens.get(0))) {
+                    prefetch(dslFile, tokens.get(1), features, httpClient);
+                }
+            }
+        }
+    }
+
+    private void prefetch(File dslFile, String source, Features features, HttpClient httpClient) {
+        String key = key(dslFile, source);
+        if (source.contains(STRING_SUBSTITUTION_START) || includes.containsKey(key)) {
+            return;
+        }
+
+        if (Url.isHttpsUrl(source)) {
+            if (features.isEnabled(Features.HTTPS)) {
+                includes.put(key, EXECUTOR_SERVICE.submit(() -> IncludeParser.readUrl(httpClient, dslFile, source)));
+            }
+        } else if (Url.isHttpUrl(source)) {
+            if (features.isEnabled(Features.HTTP)) {
+                includes.put(key, EXECUTOR_SERVICE.submit(() -> IncludeParser.readUrl(httpClient, dslFile, source)));
+            }
+        } else if (dslFile != null && features.isEnabled(Features.FILE_SYSTEM)) {
+            includes.put(key, EXECUTOR_SERVICE.submit(() -> IncludeParser.readPath(dslFile, source)));
+        }
+    }
+
+    private static boolean startsWith(String source, String token) {
+        return source.regionMatches(true, 0, token, 0, token.length());
+    }
+
+    /**
+     * Gets the prefetched content for an include, waiting for it to be read if necessary. The content is only
+     * returned once; the same include appearing again is read when reached.
+     *
+     * @return  a List of IncludedFile objects, or null if the include wasn't prefetched
+     */
+    List<IncludedFile> get(File dslFile, String source) {
+        Future<List<IncludedFile>> future = includes.remove(key(dslFile, source));
+        if (future == null) {
+            return null;
+        }
+
+        return getResult(future);
+    }
+
+    /**
+     * Cancels any includes that are still being read, and discards those that have not been used.
+     */
+    void cancel() {
+        for (Future<List<IncludedFile>> future : includes.values()) {
+            future.cancel(true);
+        }
+
+        includes.clear();
+    }
+
+    int size() {
+        return includes.size();
+    }
+
+    static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else {
+                throw new RuntimeException(e.getCause().getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    private static String key(File dslFile, String source) {
+        return (dslFile != null ? dslFile.getAbsolutePath() : "") + "|" + source;
+    }
+
+}
@@ -17,4 +17,13 @@ abstract class ModelViewContentParser extends AbstractParser {
         view.remove(relationship);
     }
 
+    protected void batch(ModelView view, Runnable action) {
+        if (view != null) {
+            // defer adding relationships until all elements have been included
+            view.batch(action);
+        } else {
+            action.run();
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.structurizr.dsl;
+
+import com.structurizr.model.Element;
+import com.structurizr.model.IdGenerator;
+import com.structurizr.model.Relationship;
+
+/**
+ * A sequential integer ID generator (like the default), that exposes the last ID, so that the same sequence can be
+ * resumed when parsing is resumed from a checkpoint (IDs are consumed by elements and relationships that are
+ * subsequently removed, so the last ID can't be determined from the model alone).
+ */
+final class ResumableIdGenerator implements IdGenerator {
+
+    private int lastId = 0;
+
+    @Override
+    public synchronized String generateId(Element element) {
+        return "" + ++lastId;
+    }
+
+    @Override
+    public synchronized String generateId(Relationship relationship) {
+        return "" + ++lastId;
+    }
+
+    @Override
+    public synchronized void found(String id) {
+        try {
+            int idAsInt = Integer.parseInt(id);
+            if (idAsInt > lastId) {
+                lastId = idAsInt;
+            }
+        } catch (NumberFormatException e) {
+            // ignore non-numeric IDs
+        }
+    }
+
+    synchronized int getLastId() {
+        return lastId;
+    }
+
+}
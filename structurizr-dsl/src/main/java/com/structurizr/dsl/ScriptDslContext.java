@@ -3,9 +3,9 @@ package com.structurizr.dsl;
 import com.structurizr.model.Element;
 import com.structurizr.model.Relationship;
 
-import javax.script.*;
+import javax.script.Bindings;
 import java.io.File;
-import java.io.FileReader;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,35 +43,14 @@ abstract class ScriptDslContext extends DslContext {
             script.append('\n');
         }
 
-        ScriptEngineManager manager = new ScriptEngineManager();
-        ScriptEngine engine = manager.getEngineByExtension(extension);
-
-        if (engine != null) {
-            Bindings bindings = engine.createBindings();
-            populateBindings(bindings, context);
-
-            engine.eval(script.toString(), bindings);
-        } else {
-            throw new RuntimeException("Could not load a scripting engine for extension \"" + extension + "\"");
-        }
+        dslParser.getScriptEngines().eval(extension, script.toString(), null, bindings -> populateBindings(bindings, context));
     }
 
     void run(DslContext context, File scriptFile) throws Exception {
         String extension = scriptFile.getName().substring(scriptFile.getName().lastIndexOf('.') + 1);
-        ScriptEngineManager manager = new ScriptEngineManager();
-        ScriptEngine engine = manager.getEngineByExtension(extension);
-
-        if (engine != null) {
-            Bindings bindings = engine.createBindings();
-            populateBindings(bindings, context);
-
-            ScriptContext scriptContext = new SimpleScriptContext();
-            scriptContext.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
-            scriptContext.setAttribute(ScriptEngine.FILENAME, scriptFile.getAbsolutePath(), ScriptContext.ENGINE_SCOPE);
-            engine.eval(new FileReader(scriptFile), scriptContext);
-        } else {
-            throw new RuntimeException("Could not load a scripting engine for extension \"" + extension + "\"");
-        }
+        String script = Files.readString(scriptFile.toPath());
+
+        dslParser.getScriptEngines().eval(extension, script, scriptFile.getAbsolutePath(), bindings -> populateBindings(bindings, context));
     }
 
     private void populateBindings(Bindings bindings, DslContext context) {
@@ -0,0 +1,123 @@
+package com.structurizr.dsl;
+
+import javax.script.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs scripts for a single parser. Finding a script engine factory (via ScriptEngineManager) scans the classpath,
+ * and creating a script engine is expensive, so engines are pooled per file extension (e.g. groovy, kts, rb) and
+ * parser, and scripts are compiled once where possible. Every execution gets its own script context and bindings
+ * though, and engines are reset before being returned to the pool, so that state (e.g. variables, or the Kotlin
+ * REPL history, which is stored in the bindings) doesn't leak from one script to the next.
+ */
+final class ScriptEngines {
+
+    private static final String GROOVY_KEEP_GLOBALS_ATTRIBUTE = "#jsr223.groovy.engine.keep.globals";
+    private static final String GROOVY_KEEP_GLOBALS_PHANTOM = "phantom";
+
+    // the languages whose compiled scripts can be evaluated with other bindings; the Groovy engine caches the classes
+    // it compiles anyway (and only applies the keep globals attribute when evaluating source), while a compiled
+    // Kotlin script is bound to the REPL state that it was compiled with
+    private static final Set<String> COMPILED_SCRIPT_LANGUAGES = Set.of("rb");
+
+    private final Map<String, ScriptEngineFactory> factories = new HashMap<>();
+    private final Map<String, Deque<ScriptEngine>> engines = new HashMap<>();
+
+    // language -> binding names and script -> compiled script
+    private final Map<String, Map<String, CompiledScript>> compiledScripts = new HashMap<>();
+
+    /**
+     * Evaluates a script, using a pooled engine for the given file extension.
+     *
+     * @param extension     the file extension identifying the scripting language (e.g. groovy, kts, rb)
+     * @param script        the script content
+     * @param filename      the name of the script file (or null for inline scripts)
+     * @param bindings      populates the bindings for this execution
+     * @throws ScriptException  if the script fails
+     */
+    void eval(String extension, String script, String filename, Consumer<Bindings> bindings) throws ScriptException {
+        String language = extension.toLowerCase();
+        ScriptEngine engine = acquire(language);
+
+        try {
+            ScriptContext scriptContext = new SimpleScriptContext();
+            Bindings engineBindings = engine.createBindings();
+            bindings.accept(engineBindings);
+            scriptContext.setBindings(engineBindings, ScriptContext.ENGINE_SCOPE);
+            if (filename != null) {
+                scriptContext.setAttribute(ScriptEngine.FILENAME, filename, ScriptContext.ENGINE_SCOPE);
+            }
+
+            // by default, the Groovy engine keeps the methods defined by a script (e.g. def secret() { ... })
+            // for subsequent scripts ... phantom references mean they're never retained
+            scriptContext.setAttribute(GROOVY_KEEP_GLOBALS_ATTRIBUTE, GROOVY_KEEP_GLOBALS_PHANTOM, ScriptContext.ENGINE_SCOPE);
+
+            if (COMPILED_SCRIPT_LANGUAGES.contains(language) && engine instanceof Compilable) {
+                compile(language, engine, script, scriptContext).eval(scriptContext);
+            } else {
+                engine.eval(script, scriptContext);
+            }
+        } finally {
+            release(language, engine);
+        }
+    }
+
+    private synchronized ScriptEngine acquire(String language) {
+        Deque<ScriptEngine> pool = engines.get(language);
+        if (pool != null && !pool.isEmpty()) {
+            return pool.pop();
+        }
+
+        // a script can run another script (e.g. by parsing DSL), so more than one engine per language may be in use
+        return getFactory(language).getScriptEngine();
+    }
+
+    private synchronized void release(String language, ScriptEngine engine) {
+        // reset the engine's default context, in case the script (or engine) has used it
+        engine.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+
+        engines.computeIfAbsent(language, l -> new ArrayDeque<>()).push(engine);
+    }
+
+    private synchronized CompiledScript compile(String language, ScriptEngine engine, String script, ScriptContext scriptContext) throws ScriptException {
+        // names are resolved as variables or methods when the script is compiled, so the compiled script is only
+        // reused with bindings that have the same names
+        String key = new TreeSet<>(scriptContext.getBindings(ScriptContext.ENGINE_SCOPE).keySet()) + "\n" + script;
+
+        Map<String, CompiledScript> compiledScriptsForLanguage = compiledScripts.computeIfAbsent(language, l -> new HashMap<>());
+        CompiledScript compiledScript = compiledScriptsForLanguage.get(key);
+        if (compiledScript == null) {
+            // engines compile scripts using their default context
+            ScriptContext defaultContext = engine.getContext();
+            try {
+                engine.setContext(scriptContext);
+                compiledScript = ((Compilable)engine).compile(script);
+            } finally {
+                engine.setContext(defaultContext);
+            }
+
+            compiledScriptsForLanguage.put(key, compiledScript);
+        }
+
+        return compiledScript;
+    }
+
+    private ScriptEngineFactory getFactory(String language) {
+        ScriptEngineFactory factory = factories.get(language);
+
+        if (factory == null) {
+            // engines are found via the current context class loader
+            ScriptEngine engine = new ScriptEngineManager().getEngineByExtension(language);
+            if (engine == null) {
+                throw new RuntimeException("Could not load a scripting engine for extension \"" + language + "\"");
+            }
+
+            factory = engine.getFactory();
+            factories.put(language, factory);
+        }
+
+        return factory;
+    }
+
+}
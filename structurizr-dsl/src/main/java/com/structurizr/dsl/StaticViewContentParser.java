@@ -20,21 +20,23 @@ final class StaticViewContentParser extends ModelViewContentParser {
         StaticView view = context.getView();
 
         // include <identifier|expression> [identifier|expression...]
-        for (int i = FIRST_IDENTIFIER_INDEX; i < tokens.size(); i++) {
-            String token = tokens.get(i);
-
-            if (token.equals(WILDCARD) || token.equals(ELEMENT_WILDCARD)) {
-                // include * or include element==*
-                view.addDefaultElements(true);
-            } else if (token.equals(WILDCARD_RELUCTANT)) {
-                // include *?
-                view.addDefaultElements(false);
-            } else if (isExpression(token)) {
-                new StaticViewExpressionParser().parseExpression(token, context).forEach(mi -> addModelItemToView(mi, view, null));
-            } else {
-                new StaticViewExpressionParser().parseIdentifier(token, context).forEach(mi -> addModelItemToView(mi, view, token));
+        batch(view, () -> {
+            for (int i = FIRST_IDENTIFIER_INDEX; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+
+                if (token.equals(WILDCARD) || token.equals(ELEMENT_WILDCARD)) {
+                    // include * or include element==*
+                    view.addDefaultElements(true);
+                } else if (token.equals(WILDCARD_RELUCTANT)) {
+                    // include *?
+                    view.addDefaultElements(false);
+                } else if (isExpression(token)) {
+                    new StaticViewExpressionParser().parseExpression(token, context).forEach(mi -> addModelItemToView(mi, view, null));
+                } else {
+                    new StaticViewExpressionParser().parseIdentifier(token, context).forEach(mi -> addModelItemToView(mi, view, token));
+                }
             }
-        }
+        });
     }
 
     void parseExclude(StaticViewDslContext context, Tokens tokens) {
@@ -16,19 +16,19 @@ final class StaticViewExpressionParser extends ExpressionParser {
         String type = expr.substring(ELEMENT_TYPE_EQUALS_EXPRESSION.length());
         switch (type.toLowerCase()) {
             case "custom":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof CustomElement).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(CustomElement.class));
                 break;
             case "person":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Person).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Person.class));
                 break;
             case "softwaresystem":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystem).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(SoftwareSystem.class));
                 break;
             case "container":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class));
                 break;
             case "component":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Component).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Component.class));
                 break;
             default:
                 throw new RuntimeException("The element type of \"" + type + "\" is not valid for this view");
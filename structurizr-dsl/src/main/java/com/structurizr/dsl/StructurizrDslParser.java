@@ -3,13 +3,18 @@ package com.structurizr.dsl;
 import com.structurizr.PropertyHolder;
 import com.structurizr.Workspace;
 import com.structurizr.http.HttpClient;
+import com.structurizr.io.json.JsonReader;
+import com.structurizr.io.json.JsonWriter;
 import com.structurizr.model.*;
 import com.structurizr.util.FeatureNotEnabledException;
 import com.structurizr.util.StringUtils;
+import com.structurizr.util.Url;
 import com.structurizr.view.*;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -18,7 +23,6 @@ import java.nio.file.Files;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Main DSL parser class - forms the API for using the parser.
@@ -29,9 +33,6 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
 
     private static final String BOM = "\uFEFF";
 
-    private static final Pattern EMPTY_LINE_PATTERN = Pattern.compile("^\\s*");
-
-    private static final Pattern COMMENT_PATTERN = Pattern.compile("^\\s*?(//|#).*$");
     private static final String MULTI_LINE_COMMENT_START_TOKEN = "/*";
     private static final String MULTI_LINE_COMMENT_END_TOKEN = "*/";
     private static final String MULTI_LINE_SEPARATOR = "\\";
@@ -39,12 +40,18 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
 
     private static final Pattern STRING_SUBSTITUTION_PATTERN = Pattern.compile("(\\$\\{[a-zA-Z0-9-_.]+?})");
     private static final String STRING_SUBSTITUTION_TEMPLATE = "${%s}";
+    private static final String STRING_SUBSTITUTION_START = "${";
 
     private static final String STRUCTURIZR_DSL_IDENTIFIER_PROPERTY_NAME = "structurizr.dsl.identifier";
 
     private Charset characterEncoding = StandardCharsets.UTF_8;
     private IdentifierScope identifierScope = IdentifierScope.Flat;
     private final Stack<DslContext> contextStack;
+    private final Tokenizer tokenizer = new Tokenizer();
+    private final DslDispatchTable dispatchTable = new DslDispatchTable();
+    private final DslDependencyGraph dependencyGraph = new DslDependencyGraph();
+    private final IncludePrefetcher includePrefetcher = new IncludePrefetcher();
+    private final ScriptEngines scriptEngines = new ScriptEngines();
     private final Set<String> parsedTokens = new HashSet<>();
     private final IdentifiersRegister identifiersRegister;
     private Map<String, NameValuePair> constantsAndVariables;
@@ -68,6 +75,10 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
     private Workspace workspace;
     private boolean extendingWorkspace = false;
 
+    private Set<File> checkpointFiles;
+    private DslParserCheckpoint checkpoint;
+    private ResumableIdGenerator idGenerator;
+
     /**
      * Creates a new instance of the parser.
      */
@@ -89,6 +100,8 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         features.enable(Features.DECISIONS);
 
         features.enable(Features.INCLUDE);
+
+        registerStatementHandlers();
     }
 
     void configureFrom(StructurizrDslParser parser) {
@@ -185,7 +198,9 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         }
 
         try {
-            parse(Files.readAllLines(dslFile.toPath(), characterEncoding), dslFile, false, true);
+            List<String> lines = Files.readAllLines(dslFile.toPath(), characterEncoding);
+            dependencyGraph.setRoot(dslFile, characterEncoding, lines);
+            parse(lines, dslFile, false, true);
         } catch (IOException e) {
             throw new StructurizrDslParserException(e.getMessage());
         }
@@ -223,6 +238,74 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         parse(lines, dslFile, false, true);
     }
 
+    /**
+     * Requests a checkpoint just before the first !include statement in the DSL file (i.e. not an included file)
+     * that includes one of the specified files, so that the next parse can be resumed from that point when only
+     * those files (or the DSL after them) have changed. A checkpoint is only created when the !include statement
+     * is directly inside the workspace, model, or views block, and everything parsed before it is local.
+     *
+     * @param files     a Collection of File objects (see DslDependencyGraph.getRootIncludes)
+     */
+    public void setCheckpointFiles(Collection<File> files) {
+        if (files == null) {
+            throw new IllegalArgumentException("A collection of files must be specified");
+        }
+
+        checkpointFiles = new HashSet<>();
+        for (File file : files) {
+            checkpointFiles.add(DslDependencyGraph.normalize(file));
+        }
+    }
+
+    /**
+     * Gets the checkpoint created while parsing (or the checkpoint that parsing was resumed from).
+     *
+     * @return  a DslParserCheckpoint, or null if no checkpoint was created
+     */
+    public DslParserCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Resumes parsing from the specified checkpoint; the result is the same as parsing the DSL file again,
+     * but without parsing the DSL before the checkpoint. This should be called on a new parser,
+     * configured in the same way as the parser that created the checkpoint.
+     *
+     * @param checkpoint    a DslParserCheckpoint
+     * @throws StructurizrDslParserException when something goes wrong, including when the DSL before the checkpoint has changed
+     */
+    public void resume(DslParserCheckpoint checkpoint) throws StructurizrDslParserException {
+        if (checkpoint == null) {
+            throw new StructurizrDslParserException("A checkpoint must be specified");
+        }
+
+        if (workspace != null) {
+            throw new StructurizrDslParserException("Parsing can only be resumed by a parser that hasn't parsed any DSL");
+        }
+
+        if (checkpoint.hasChanged()) {
+            throw new StructurizrDslParserException("The DSL before the checkpoint has changed");
+        }
+
+        File dslFile = checkpoint.getDslFile();
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(dslFile.toPath(), checkpoint.getCharacterEncoding());
+        } catch (IOException e) {
+            throw new StructurizrDslParserException(e.getMessage());
+        }
+
+        restore(checkpoint);
+
+        List<DslLine> dslLines = preProcessLines(lines);
+        int index = 0;
+        while (index < dslLines.size() && dslLines.get(index).getLineNumber() != checkpoint.getLineNumber()) {
+            index++;
+        }
+
+        parse(dslLines.subList(index, dslLines.size()), dslFile, false);
+    }
+
     void parse(List<String> lines, DslContext dslContext) throws StructurizrDslParserException {
         startContext(dslContext);
         parse(lines, null, true, false);
@@ -241,7 +324,11 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
             dslSourceLines.addAll(lines);
         }
 
-        List<DslLine> dslLines = preProcessLines(lines);
+        parse(preProcessLines(lines), dslFile, fragment);
+    }
+
+    private void parse(List<DslLine> dslLines, File dslFile, boolean fragment) throws StructurizrDslParserException {
+        includePrefetcher.prefetch(dslFile, dslLines, features, httpClient);
 
         for (DslLine dslLine : dslLines) {
             String line = dslLine.getSource();
@@ -252,9 +339,11 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
             }
 
             try {
-                if (EMPTY_LINE_PATTERN.matcher(line).matches()) {
+                List<Token> lexedTokens = tokenizer.lex(line);
+
+                if (lexedTokens.isEmpty()) {
                     // do nothing
-                } else if (COMMENT_PATTERN.matcher(line).matches()) {
+                } else if (lexedTokens.getFirst().isComment()) {
                     // do nothing
                 } else if (inContext(InlineScriptDslContext.class)) {
                     if (DslContext.CONTEXT_END_TOKEN.equals(line.trim())) {
@@ -263,8 +352,10 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
                         getContext(InlineScriptDslContext.class).addLine(line);
                     }
                 } else {
-                    List<String> listOfTokens = new Tokenizer().tokenize(line);
-                    listOfTokens = listOfTokens.stream().map(this::substituteStrings).collect(Collectors.toList());
+                    List<String> listOfTokens = new ArrayList<>(lexedTokens.size());
+                    for (Token token : lexedTokens) {
+                        listOfTokens.add(token.isSubstitutable() ? substituteStrings(token.getText()) : token.getText());
+                    }
 
                     Tokens tokens = new Tokens(listOfTokens);
 
@@ -276,1106 +367,1083 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
                         tokens = new Tokens(listOfTokens.subList(2, listOfTokens.size()));
                     }
 
-                    String firstToken = tokens.get(0);
-
-                    if (line.trim().startsWith(MULTI_LINE_COMMENT_START_TOKEN) && line.trim().endsWith(MULTI_LINE_COMMENT_END_TOKEN)) {
-                        // do nothing
-                    } else if (firstToken.startsWith(MULTI_LINE_COMMENT_START_TOKEN)) {
-                        startContext(new CommentDslContext());
-
-                    } else if (inContext(CommentDslContext.class) && line.trim().endsWith(MULTI_LINE_COMMENT_END_TOKEN)) {
-                        endContext();
-
-                    } else if (inContext(CommentDslContext.class)) {
-                        // do nothing
-
-                    } else if (DslContext.CONTEXT_END_TOKEN.equals(tokens.get(0))) {
-                        endContext();
+                    DslStatement statement = new DslStatement(line, tokens, identifier, dslFile);
+                    if (!fragment && isCheckpointRequested(statement)) {
+                        checkpoint = createCheckpoint(dslFile, dslLine.getLineNumber());
+                        checkpointFiles = null;
+                    }
 
-                    } else if (INCLUDE_FILE_TOKEN.equalsIgnoreCase(firstToken)) {
-                        String leadingSpace = line.substring(0, line.indexOf(INCLUDE_FILE_TOKEN));
-
-                        List<IncludedFile> files = new IncludeParser().parse(getContext(), dslFile, tokens);
-                        for (IncludedFile includedFile : files) {
-                            List<String> paddedLines = new ArrayList<>();
-                            for (String unpaddedLine : includedFile.getLines()) {
-                                if (unpaddedLine.startsWith(BOM)) {
-                                    // this caters for files encoded as "UTF-8 with BOM"
-                                    unpaddedLine = unpaddedLine.substring(1);
-                                }
-                                paddedLines.add(leadingSpace + unpaddedLine);
+                    if (!dispatchTable.dispatch(getContext(), statement)) {
+                        String[] expectedTokens;
+                        if (getContext() == null) {
+                            if (getWorkspace() == null) {
+                                // the workspace hasn't yet been created
+                                expectedTokens = new String[]{
+                                        StructurizrDslTokens.WORKSPACE_TOKEN
+                                };
+                            } else {
+                                expectedTokens = new String[0];
                             }
-
-                            parse(paddedLines, includedFile.getFile(), true, false);
+                        } else {
+                            expectedTokens = getContext().getPermittedTokens();
                         }
 
-                    } else if (PLUGIN_TOKEN.equalsIgnoreCase(firstToken)) {
-                        if (features.isEnabled(Features.PLUGINS)) {
-                            String fullyQualifiedClassName = new PluginParser().parse(getContext(), tokens.withoutContextStartToken());
-                            startContext(new PluginDslContext(fullyQualifiedClassName, dslFile, this));
-                            if (!shouldStartContext(tokens)) {
-                                // run the plugin immediately, without looking for parameters
-                                endContext();
+                        if (expectedTokens.length > 0) {
+                            StringBuilder buf = new StringBuilder();
+                            for (String expectedToken : expectedTokens) {
+                                buf.append(expectedToken);
+                                buf.append(", ");
                             }
+                            throw new StructurizrDslParserException("Unexpected tokens (expected: " + buf.substring(0, buf.length() - 2) + ")");
                         } else {
-                            throw new FeatureNotEnabledException(Features.PLUGINS, firstToken + " is not permitted");
+                            throw new StructurizrDslParserException("Unexpected tokens");
                         }
+                    }
+                }
+            } catch (Exception e) {
+                includePrefetcher.cancel();
 
-                    } else if (inContext(PluginDslContext.class)) {
-                        new PluginParser().parseParameter(getContext(PluginDslContext.class), tokens);
+                if (e.getMessage() != null) {
+                    throw new StructurizrDslParserException(e.getMessage(), dslFile, dslLine.getLineNumber(), line);
+                } else {
+                    throw new StructurizrDslParserException(e.getClass().getSimpleName(), dslFile, dslLine.getLineNumber(), line);
+                }
+            }
+        }
 
-                    } else if (SCRIPT_TOKEN.equalsIgnoreCase(firstToken)) {
-                        if (features.isEnabled(Features.SCRIPTS)) {
-                            ScriptParser scriptParser = new ScriptParser();
-                            if (scriptParser.isInlineScript(tokens)) {
-                                String language = scriptParser.parseInline(tokens.withoutContextStartToken());
-                                startContext(new InlineScriptDslContext(getContext(), dslFile, this, language));
-                            } else {
-                                String filename = scriptParser.parseExternal(tokens.withoutContextStartToken());
-                                startContext(new ExternalScriptDslContext(getContext(), dslFile, this, filename));
-
-                                if (shouldStartContext(tokens)) {
-                                    // we'll wait for parameters before executing the script
-                                } else {
-                                    endContext();
-                                }
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.SCRIPTS, firstToken + " is not permitted");
-                        }
+        if (!fragment) {
+            includePrefetcher.cancel();
 
-                    } else if (inContext(ExternalScriptDslContext.class)) {
-                        new ScriptParser().parseParameter(getContext(ExternalScriptDslContext.class), tokens);
+            if (!contextStack.empty()) {
+                throw new StructurizrDslParserException("Unexpected end of DSL content - are one or more closing curly braces missing?");
+            }
+        }
+    }
 
-                    } else if (tokens.size() >= 4 && tokens.get(1).equals(NO_RELATIONSHIP_TOKEN) && shouldStartContext(tokens) && inContext(DeploymentEnvironmentDslContext.class)) {
-                        // source -/> destination {
-                        // or
-                        // source -/> destination "description" {
+    /**
+     * Registers the handlers for each type of DSL statement, in order of precedence (e.g. relationships are
+     * matched before keywords, because the source of a relationship is an identifier).
+     */
+    private void registerStatementHandlers() {
+        dispatchTable.onAnyKeyword().when(statement -> statement.getTrimmedSource().startsWith(MULTI_LINE_COMMENT_START_TOKEN) && statement.getTrimmedSource().endsWith(MULTI_LINE_COMMENT_END_TOKEN)).handle(statement -> {
+            // do nothing
+        });
 
-                        // remove source -> destination (between instances) in the deployment model
-                        Set<Relationship> relationships = new NoRelationshipParser().parse(getContext(DeploymentEnvironmentDslContext.class), tokens.withoutContextStartToken());
+        dispatchTable.onAnyKeyword().when(statement -> statement.getFirstToken().startsWith(MULTI_LINE_COMMENT_START_TOKEN)).handle(statement -> startContext(new CommentDslContext()));
 
-                        // find the static element -> static element relationship that the removed relationships were based upon
-                        Relationship relationship = workspace.getModel().getRelationship(relationships.iterator().next().getLinkedRelationshipId());
+        dispatchTable.onAnyKeyword().in(CommentDslContext.class).when(statement -> statement.getTrimmedSource().endsWith(MULTI_LINE_COMMENT_END_TOKEN)).handle(statement -> endContext());
 
-                        startContext(new NoRelationshipInDeploymentEnvironmentDslContext(getContext(DeploymentEnvironmentDslContext.class), relationship));
+        dispatchTable.onAnyKeyword().in(CommentDslContext.class).handle(statement -> {
+            // do nothing
+        });
 
-                    } else if (tokens.size() > 2 && isRelationshipKeywordOrArchetype(tokens.get(1)) && (inContext(ModelDslContext.class) || inContext(DeploymentEnvironmentDslContext.class) || inContext(ElementDslContext.class))) {
-                        // explicit without archetype: a -> b
-                        // explicit with archetype: a --https-> b
-                        Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, tokens.get(1));
-                        Set<Relationship> relationships = new ExplicitRelationshipParser().parse(getContext(), tokens.withoutContextStartToken(), archetype);
+        dispatchTable.on(DslContext.CONTEXT_END_TOKEN).handle(statement -> endContext());
 
-                        if (relationships.size() == 1) {
-                            Relationship relationship = relationships.iterator().next();
-                            registerIdentifier(identifier, relationship);
+        dispatchTable.on(INCLUDE_FILE_TOKEN).handle(statement -> {
+            String leadingSpace = statement.getSource().substring(0, statement.getSource().indexOf(INCLUDE_FILE_TOKEN));
 
-                            if (shouldStartContext(tokens)) {
-                                startContext(new RelationshipDslContext(relationship));
-                            }
-                        } else {
-                            if (shouldStartContext(tokens)) {
-                                startContext(new RelationshipsDslContext(getContext(), relationships));
-                            }
-                        }
+            List<IncludedFile> files = new IncludeParser().parse(getContext(), statement.getDslFile(), statement.getTokens(), includePrefetcher);
+            dependencyGraph.addIncludes(statement.getDslFile(), statement.getTokens().get(1), files);
+            for (IncludedFile includedFile : files) {
+                List<String> paddedLines = new ArrayList<>();
+                for (String unpaddedLine : includedFile.getLines()) {
+                    if (unpaddedLine.startsWith(BOM)) {
+                        // this caters for files encoded as "UTF-8 with BOM"
+                        unpaddedLine = unpaddedLine.substring(1);
+                    }
+                    paddedLines.add(leadingSpace + unpaddedLine);
+                }
 
-                    } else if (tokens.size() >= 2 && isRelationshipKeywordOrArchetype(tokens.get(0)) && inContext(ElementDslContext.class)) {
-                        // implicit without archetype: -> this
-                        // implicit with archetype: --https-> this
-                        Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, tokens.get(0));
-                        Set<Relationship> relationships = new ImplicitRelationshipParser().parse(getContext(ElementDslContext.class), tokens.withoutContextStartToken(), archetype);
+                parse(paddedLines, includedFile.getFile(), true, false);
+            }
+        });
+
+        dispatchTable.on(PLUGIN_TOKEN).handle(statement -> {
+            if (features.isEnabled(Features.PLUGINS)) {
+                String fullyQualifiedClassName = new PluginParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+                startContext(new PluginDslContext(fullyQualifiedClassName, statement.getDslFile(), this));
+                if (!shouldStartContext(statement.getTokens())) {
+                    // run the plugin immediately, without looking for parameters
+                    endContext();
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.PLUGINS, statement.getFirstToken() + " is not permitted");
+            }
+        });
 
-                        if (relationships.size() == 1) {
-                            Relationship relationship = relationships.iterator().next();
-                            registerIdentifier(identifier, relationship);
+        dispatchTable.onAnyKeyword().in(PluginDslContext.class).handle(statement -> new PluginParser().parseParameter(getContext(PluginDslContext.class), statement.getTokens()));
 
-                            if (shouldStartContext(tokens)) {
-                                startContext(new RelationshipDslContext(relationship));
-                            }
-                        } else {
-                            if (shouldStartContext(tokens)) {
-                                startContext(new RelationshipsDslContext(getContext(), relationships));
-                            }
-                        }
+        dispatchTable.on(SCRIPT_TOKEN).handle(statement -> {
+            if (features.isEnabled(Features.SCRIPTS)) {
+                ScriptParser scriptParser = new ScriptParser();
+                if (scriptParser.isInlineScript(statement.getTokens())) {
+                    String language = scriptParser.parseInline(statement.getTokens().withoutContextStartToken());
+                    startContext(new InlineScriptDslContext(getContext(), statement.getDslFile(), this, language));
+                } else {
+                    String filename = scriptParser.parseExternal(statement.getTokens().withoutContextStartToken());
+                    startContext(new ExternalScriptDslContext(getContext(), statement.getDslFile(), this, filename));
 
-                    } else if (tokens.size() > 2 && isRelationshipKeywordOrArchetype(tokens.get(1)) && inContext(ElementsDslContext.class)) {
-                        Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, tokens.get(1));
-                        Set<Relationship> relationships = new ExplicitRelationshipParser().parse(getContext(ElementsDslContext.class), tokens.withoutContextStartToken(), archetype);
+                    if (shouldStartContext(statement.getTokens())) {
+                        // we'll wait for parameters before executing the script
+                    } else {
+                        endContext();
+                    }
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.SCRIPTS, statement.getFirstToken() + " is not permitted");
+            }
+        });
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new RelationshipsDslContext(getContext(), relationships));
-                        }
+        dispatchTable.onAnyKeyword().in(ExternalScriptDslContext.class).handle(statement -> new ScriptParser().parseParameter(getContext(ExternalScriptDslContext.class), statement.getTokens()));
 
-                    } else if (tokens.size() >= 2 && isRelationshipKeywordOrArchetype(tokens.get(0)) && inContext(ElementsDslContext.class)) {
-                        Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, tokens.get(1));
-                        Set<Relationship> relationships = new ImplicitRelationshipParser().parse(getContext(ElementsDslContext.class), tokens.withoutContextStartToken(), archetype);
+        dispatchTable.onAnyKeyword().in(DeploymentEnvironmentDslContext.class).when(statement -> statement.getTokens().size() >= 4 && statement.getTokens().get(1).equals(NO_RELATIONSHIP_TOKEN) && shouldStartContext(statement.getTokens())).handle(statement -> {
+            // source -/> destination {
+            // or
+            // source -/> destination "description" {
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new RelationshipsDslContext(getContext(), relationships));
-                        }
+            // remove source -> destination (between instances) in the deployment model
+            Set<Relationship> relationships = new NoRelationshipParser().parse(getContext(DeploymentEnvironmentDslContext.class), statement.getTokens().withoutContextStartToken());
 
-                    } else if ((FIND_ELEMENT_TOKEN.equalsIgnoreCase(firstToken) || FIND_RELATIONSHIP_TOKEN.equalsIgnoreCase(firstToken) || REF_TOKEN.equalsIgnoreCase(firstToken) || EXTEND_TOKEN.equalsIgnoreCase(firstToken)) && (inContext(ModelItemDslContext.class) || inContext(ModelDslContext.class))) {
-                        ModelItem modelItem = null;
-
-                        if (REF_TOKEN.equalsIgnoreCase(firstToken)) {
-                            throw new RuntimeException(REF_TOKEN + " was previously deprecated, and has now been removed - please use " + FIND_ELEMENT_TOKEN + " or " + FIND_RELATIONSHIP_TOKEN + " instead");
-                        } else if (EXTEND_TOKEN.equalsIgnoreCase(firstToken)) {
-                            throw new RuntimeException(EXTEND_TOKEN + " was previously deprecated, and has now been removed - please use " + FIND_ELEMENT_TOKEN + " or " + FIND_RELATIONSHIP_TOKEN + " instead");
-                        } else if (FIND_ELEMENT_TOKEN.equalsIgnoreCase(firstToken)) {
-                            modelItem = new FindElementParser().parse(getContext(), tokens.withoutContextStartToken());
-                        } else if (FIND_RELATIONSHIP_TOKEN.equalsIgnoreCase(firstToken)) {
-                            modelItem = new FindRelationshipParser().parse(getContext(), tokens.withoutContextStartToken());
-                        }
+            // find the static element -> static element relationship that the removed relationships were based upon
+            Relationship relationship = workspace.getModel().getRelationship(relationships.iterator().next().getLinkedRelationshipId());
 
-                        if (shouldStartContext(tokens)) {
-                            if (modelItem instanceof Person) {
-                                startContext(new PersonDslContext((Person)modelItem));
-                            } else if (modelItem instanceof SoftwareSystem) {
-                                startContext(new SoftwareSystemDslContext((SoftwareSystem)modelItem));
-                            } else if (modelItem instanceof Container) {
-                                startContext(new ContainerDslContext((Container) modelItem));
-                            } else if (modelItem instanceof Component) {
-                                startContext(new ComponentDslContext((Component)modelItem));
-                            } else if (modelItem instanceof DeploymentEnvironment) {
-                                startContext(new DeploymentEnvironmentDslContext(((DeploymentEnvironment)modelItem).getName()));
-                            } else if (modelItem instanceof DeploymentNode) {
-                                startContext(new DeploymentNodeDslContext((DeploymentNode)modelItem));
-                            } else if (modelItem instanceof InfrastructureNode) {
-                                startContext(new InfrastructureNodeDslContext((InfrastructureNode)modelItem));
-                            } else if (modelItem instanceof SoftwareSystemInstance) {
-                                startContext(new SoftwareSystemInstanceDslContext((SoftwareSystemInstance)modelItem));
-                            } else if (modelItem instanceof ContainerInstance) {
-                                startContext(new ContainerInstanceDslContext((ContainerInstance)modelItem));
-                            } else if (modelItem instanceof Relationship) {
-                                startContext(new RelationshipDslContext((Relationship)modelItem));
-                            }
-                        }
+            startContext(new NoRelationshipInDeploymentEnvironmentDslContext(getContext(DeploymentEnvironmentDslContext.class), relationship));
+        });
 
-                        if (!StringUtils.isNullOrEmpty(identifier)) {
-                            if (modelItem instanceof Element) {
-                                registerIdentifier(identifier, (Element)modelItem);
-                            } else if (modelItem instanceof Relationship) {
-                                registerIdentifier(identifier, (Relationship)modelItem);
-                            }
-                        }
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class, DeploymentEnvironmentDslContext.class, ElementDslContext.class).when(statement -> statement.getTokens().size() > 2 && isRelationshipKeywordOrArchetype(statement.getTokens().get(1))).handle(statement -> {
+            // explicit without archetype: a -> b
+            // explicit with archetype: a --https-> b
+            Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, statement.getTokens().get(1));
+            Set<Relationship> relationships = new ExplicitRelationshipParser().parse(getContext(), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (FIND_ELEMENTS_TOKEN.equalsIgnoreCase(firstToken) && (inContext(ModelDslContext.class) || inContext(DeploymentEnvironmentDslContext.class) || inContext(ElementDslContext.class))) {
-                        Set<Element> elements = new FindElementsParser().parse(getContext(), tokens.withoutContextStartToken());
+            if (relationships.size() == 1) {
+                Relationship relationship = relationships.iterator().next();
+                registerIdentifier(statement.getIdentifier(), relationship);
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ElementsDslContext(getContext(), elements));
-                        }
+                if (shouldStartContext(statement.getTokens())) {
+                    startContext(new RelationshipDslContext(relationship));
+                }
+            } else {
+                if (shouldStartContext(statement.getTokens())) {
+                    startContext(new RelationshipsDslContext(getContext(), relationships));
+                }
+            }
+        });
 
-                    } else if (FIND_RELATIONSHIPS_TOKEN.equalsIgnoreCase(firstToken) && (inContext(ModelDslContext.class) || inContext(DeploymentEnvironmentDslContext.class) || inContext(ElementDslContext.class))) {
-                        Set<Relationship> relationships = new FindRelationshipsParser().parse(getContext(), tokens.withoutContextStartToken());
+        dispatchTable.onAnyKeyword().in(ElementDslContext.class).when(statement -> statement.getTokens().size() >= 2 && isRelationshipKeywordOrArchetype(statement.getTokens().get(0))).handle(statement -> {
+            // implicit without archetype: -> this
+            // implicit with archetype: --https-> this
+            Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, statement.getTokens().get(0));
+            Set<Relationship> relationships = new ImplicitRelationshipParser().parse(getContext(ElementDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new RelationshipsDslContext(getContext(), relationships));
-                        }
+            if (relationships.size() == 1) {
+                Relationship relationship = relationships.iterator().next();
+                registerIdentifier(statement.getIdentifier(), relationship);
 
-                    } else if (isElementKeywordOrArchetype(firstToken, CUSTOM_ELEMENT_TOKEN) && (inContext(ModelDslContext.class))) {
-                        Archetype archetype = getArchetype(CUSTOM_ELEMENT_TOKEN, firstToken);
-                        CustomElement customElement = new CustomElementParser().parse(getContext(ModelDslContext.class), tokens.withoutContextStartToken(), archetype);
+                if (shouldStartContext(statement.getTokens())) {
+                    startContext(new RelationshipDslContext(relationship));
+                }
+            } else {
+                if (shouldStartContext(statement.getTokens())) {
+                    startContext(new RelationshipsDslContext(getContext(), relationships));
+                }
+            }
+        });
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new CustomElementDslContext(customElement));
-                        }
+        dispatchTable.onAnyKeyword().in(ElementsDslContext.class).when(statement -> statement.getTokens().size() > 2 && isRelationshipKeywordOrArchetype(statement.getTokens().get(1))).handle(statement -> {
+            Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, statement.getTokens().get(1));
+            Set<Relationship> relationships = new ExplicitRelationshipParser().parse(getContext(ElementsDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                        registerIdentifier(identifier, customElement);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new RelationshipsDslContext(getContext(), relationships));
+            }
+        });
 
-                    } else if (isElementKeywordOrArchetype(firstToken, PERSON_TOKEN) && (inContext(ModelDslContext.class))) {
-                        Archetype archetype = getArchetype(PERSON_TOKEN, firstToken);
-                        Person person = new PersonParser().parse(getContext(ModelDslContext.class), tokens.withoutContextStartToken(), archetype);
+        dispatchTable.onAnyKeyword().in(ElementsDslContext.class).when(statement -> statement.getTokens().size() >= 2 && isRelationshipKeywordOrArchetype(statement.getTokens().get(0))).handle(statement -> {
+            Archetype archetype = getArchetype(RELATIONSHIP_TOKEN, statement.getTokens().get(1));
+            Set<Relationship> relationships = new ImplicitRelationshipParser().parse(getContext(ElementsDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new PersonDslContext(person));
-                        }
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new RelationshipsDslContext(getContext(), relationships));
+            }
+        });
+
+        dispatchTable.on(FIND_ELEMENT_TOKEN, FIND_RELATIONSHIP_TOKEN, REF_TOKEN, EXTEND_TOKEN).in(ModelItemDslContext.class, ModelDslContext.class).handle(statement -> {
+            ModelItem modelItem = null;
+
+            if (REF_TOKEN.equalsIgnoreCase(statement.getFirstToken())) {
+                throw new RuntimeException(REF_TOKEN + " was previously deprecated, and has now been removed - please use " + FIND_ELEMENT_TOKEN + " or " + FIND_RELATIONSHIP_TOKEN + " instead");
+            } else if (EXTEND_TOKEN.equalsIgnoreCase(statement.getFirstToken())) {
+                throw new RuntimeException(EXTEND_TOKEN + " was previously deprecated, and has now been removed - please use " + FIND_ELEMENT_TOKEN + " or " + FIND_RELATIONSHIP_TOKEN + " instead");
+            } else if (FIND_ELEMENT_TOKEN.equalsIgnoreCase(statement.getFirstToken())) {
+                modelItem = new FindElementParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            } else if (FIND_RELATIONSHIP_TOKEN.equalsIgnoreCase(statement.getFirstToken())) {
+                modelItem = new FindRelationshipParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            }
 
-                        registerIdentifier(identifier, person);
+            if (shouldStartContext(statement.getTokens())) {
+                if (modelItem instanceof Person) {
+                    startContext(new PersonDslContext((Person)modelItem));
+                } else if (modelItem instanceof SoftwareSystem) {
+                    startContext(new SoftwareSystemDslContext((SoftwareSystem)modelItem));
+                } else if (modelItem instanceof Container) {
+                    startContext(new ContainerDslContext((Container) modelItem));
+                } else if (modelItem instanceof Component) {
+                    startContext(new ComponentDslContext((Component)modelItem));
+                } else if (modelItem instanceof DeploymentEnvironment) {
+                    startContext(new DeploymentEnvironmentDslContext(((DeploymentEnvironment)modelItem).getName()));
+                } else if (modelItem instanceof DeploymentNode) {
+                    startContext(new DeploymentNodeDslContext((DeploymentNode)modelItem));
+                } else if (modelItem instanceof InfrastructureNode) {
+                    startContext(new InfrastructureNodeDslContext((InfrastructureNode)modelItem));
+                } else if (modelItem instanceof SoftwareSystemInstance) {
+                    startContext(new SoftwareSystemInstanceDslContext((SoftwareSystemInstance)modelItem));
+                } else if (modelItem instanceof ContainerInstance) {
+                    startContext(new ContainerInstanceDslContext((ContainerInstance)modelItem));
+                } else if (modelItem instanceof Relationship) {
+                    startContext(new RelationshipDslContext((Relationship)modelItem));
+                }
+            }
 
-                    } else if (isElementKeywordOrArchetype(firstToken, SOFTWARE_SYSTEM_TOKEN) && (inContext(ModelDslContext.class))) {
-                        Archetype archetype = getArchetype(SOFTWARE_SYSTEM_TOKEN, firstToken);
-                        SoftwareSystem softwareSystem = new SoftwareSystemParser().parse(getContext(ModelDslContext.class), tokens.withoutContextStartToken(), archetype);
+            if (!StringUtils.isNullOrEmpty(statement.getIdentifier())) {
+                if (modelItem instanceof Element) {
+                    registerIdentifier(statement.getIdentifier(), (Element)modelItem);
+                } else if (modelItem instanceof Relationship) {
+                    registerIdentifier(statement.getIdentifier(), (Relationship)modelItem);
+                }
+            }
+        });
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new SoftwareSystemDslContext(softwareSystem));
-                        }
+        dispatchTable.on(FIND_ELEMENTS_TOKEN).in(ModelDslContext.class, DeploymentEnvironmentDslContext.class, ElementDslContext.class).handle(statement -> {
+            Set<Element> elements = new FindElementsParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
 
-                        registerIdentifier(identifier, softwareSystem);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ElementsDslContext(getContext(), elements));
+            }
+        });
 
-                    } else if (isElementKeywordOrArchetype(firstToken, CONTAINER_TOKEN) && inContext(SoftwareSystemDslContext.class)) {
-                        Archetype archetype = getArchetype(CONTAINER_TOKEN, firstToken);
-                        Container container = new ContainerParser().parse(getContext(SoftwareSystemDslContext.class), tokens.withoutContextStartToken(), archetype);
+        dispatchTable.on(FIND_RELATIONSHIPS_TOKEN).in(ModelDslContext.class, DeploymentEnvironmentDslContext.class, ElementDslContext.class).handle(statement -> {
+            Set<Relationship> relationships = new FindRelationshipsParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ContainerDslContext(container));
-                        }
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new RelationshipsDslContext(getContext(), relationships));
+            }
+        });
 
-                        registerIdentifier(identifier, container);
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), CUSTOM_ELEMENT_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(CUSTOM_ELEMENT_TOKEN, statement.getFirstToken());
+            CustomElement customElement = new CustomElementParser().parse(getContext(ModelDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (isElementKeywordOrArchetype(firstToken, COMPONENT_TOKEN) && inContext(ContainerDslContext.class)) {
-                        Archetype archetype = getArchetype(COMPONENT_TOKEN, firstToken);
-                        Component component = new ComponentParser().parse(getContext(ContainerDslContext.class), tokens.withoutContextStartToken(), archetype);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new CustomElementDslContext(customElement));
+            }
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ComponentDslContext(component));
-                        }
+            registerIdentifier(statement.getIdentifier(), customElement);
+        });
 
-                        registerIdentifier(identifier, component);
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), PERSON_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(PERSON_TOKEN, statement.getFirstToken());
+            Person person = new PersonParser().parse(getContext(ModelDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (COMPONENT_FINDER_TOKEN.equalsIgnoreCase(firstToken) && inContext(ContainerDslContext.class)) {
-                        if (features.isEnabled(Features.COMPONENT_FINDER)) {
-                            if (shouldStartContext(tokens)) {
-                                startContext(new ComponentFinderDslContext(this, getContext(ContainerDslContext.class)));
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.COMPONENT_FINDER, firstToken + " is not permitted");
-                        }
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new PersonDslContext(person));
+            }
 
-                    } else if (COMPONENT_FINDER_CLASSES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderDslContext.class)) {
-                        new ComponentFinderParser().parseClasses(getContext(ComponentFinderDslContext.class), tokens);
+            registerIdentifier(statement.getIdentifier(), person);
+        });
 
-                    } else if (COMPONENT_FINDER_SOURCE_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderDslContext.class)) {
-                        new ComponentFinderParser().parseSource(getContext(ComponentFinderDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), SOFTWARE_SYSTEM_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(SOFTWARE_SYSTEM_TOKEN, statement.getFirstToken());
+            SoftwareSystem softwareSystem = new SoftwareSystemParser().parse(getContext(ModelDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (COMPONENT_FINDER_FILTER_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderDslContext.class)) {
-                        new ComponentFinderParser().parseFilter(getContext(ComponentFinderDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new SoftwareSystemDslContext(softwareSystem));
+            }
 
-                    } else if (COMPONENT_FINDER_STRATEGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderDslContext.class)) {
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ComponentFinderStrategyDslContext(getContext(ComponentFinderDslContext.class)));
-                        }
+            registerIdentifier(statement.getIdentifier(), softwareSystem);
+        });
 
-                    } else if (COMPONENT_FINDER_STRATEGY_TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        new ComponentFinderStrategyParser().parseTechnology(getContext(ComponentFinderStrategyDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(SoftwareSystemDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), CONTAINER_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(CONTAINER_TOKEN, statement.getFirstToken());
+            Container container = new ContainerParser().parse(getContext(SoftwareSystemDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (COMPONENT_FINDER_STRATEGY_MATCHER_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        new ComponentFinderStrategyParser().parseMatcher(getContext(ComponentFinderStrategyDslContext.class), tokens, dslFile);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ContainerDslContext(container));
+            }
 
-                    } else if (COMPONENT_FINDER_STRATEGY_FILTER_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        new ComponentFinderStrategyParser().parseFilter(getContext(ComponentFinderStrategyDslContext.class), tokens, dslFile);
+            registerIdentifier(statement.getIdentifier(), container);
+        });
 
-                    } else if (COMPONENT_FINDER_STRATEGY_SUPPORTING_TYPES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        new ComponentFinderStrategyParser().parseSupportingTypes(getContext(ComponentFinderStrategyDslContext.class), tokens, dslFile);
+        dispatchTable.onAnyKeyword().in(ContainerDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), COMPONENT_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(COMPONENT_TOKEN, statement.getFirstToken());
+            Component component = new ComponentParser().parse(getContext(ContainerDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (COMPONENT_FINDER_STRATEGY_NAME_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        new ComponentFinderStrategyParser().parseName(getContext(ComponentFinderStrategyDslContext.class), tokens, dslFile);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ComponentDslContext(component));
+            }
 
-                    } else if (COMPONENT_FINDER_STRATEGY_DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        new ComponentFinderStrategyParser().parseDescription(getContext(ComponentFinderStrategyDslContext.class), tokens, dslFile);
+            registerIdentifier(statement.getIdentifier(), component);
+        });
 
-                    } else if (COMPONENT_FINDER_STRATEGY_URL_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        new ComponentFinderStrategyParser().parseUrl(getContext(ComponentFinderStrategyDslContext.class), tokens, dslFile);
+        dispatchTable.on(COMPONENT_FINDER_TOKEN).in(ContainerDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.COMPONENT_FINDER)) {
+                if (shouldStartContext(statement.getTokens())) {
+                    startContext(new ComponentFinderDslContext(this, getContext(ContainerDslContext.class)));
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.COMPONENT_FINDER, statement.getFirstToken() + " is not permitted");
+            }
+        });
 
-                    } else if (COMPONENT_FINDER_STRATEGY_FOREACH_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentFinderStrategyDslContext.class)) {
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ComponentFinderStrategyForEachDslContext(getContext(ComponentFinderStrategyDslContext.class), this));
-                        }
+        dispatchTable.on(COMPONENT_FINDER_CLASSES_TOKEN).in(ComponentFinderDslContext.class).handle(statement -> new ComponentFinderParser().parseClasses(getContext(ComponentFinderDslContext.class), statement.getTokens()));
 
-                    } else if (inContext(ComponentFinderStrategyForEachDslContext.class)) {
-                        getContext(ComponentFinderStrategyForEachDslContext.class).addLine(line);
+        dispatchTable.on(COMPONENT_FINDER_SOURCE_TOKEN).in(ComponentFinderDslContext.class).handle(statement -> new ComponentFinderParser().parseSource(getContext(ComponentFinderDslContext.class), statement.getTokens()));
 
-                    } else if (ENTERPRISE_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelDslContext.class)) {
-                        throw new RuntimeException("The enterprise keyword was previously deprecated, and has now been removed - please use group instead (https://docs.structurizr.com/dsl/language#group)");
+        dispatchTable.on(COMPONENT_FINDER_FILTER_TOKEN).in(ComponentFinderDslContext.class).handle(statement -> new ComponentFinderParser().parseFilter(getContext(ComponentFinderDslContext.class), statement.getTokens()));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, GROUP_TOKEN) && inContext(ModelDslContext.class)) {
-                        ElementGroup group = new GroupParser().parseContext(getContext(ModelDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_TOKEN).in(ComponentFinderDslContext.class).handle(statement -> {
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ComponentFinderStrategyDslContext(getContext(ComponentFinderDslContext.class)));
+            }
+        });
 
-                        startContext(new ModelDslContext(group));
-                        registerIdentifier(identifier, group);
-                    } else if (isElementKeywordOrArchetype(firstToken, GROUP_TOKEN) && inContext(SoftwareSystemDslContext.class)) {
-                        ElementGroup group = new GroupParser().parseContext(getContext(SoftwareSystemDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_TECHNOLOGY_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> new ComponentFinderStrategyParser().parseTechnology(getContext(ComponentFinderStrategyDslContext.class), statement.getTokens()));
 
-                        SoftwareSystem softwareSystem = getContext(SoftwareSystemDslContext.class).getSoftwareSystem();
-                        group.setParent(softwareSystem);
-                        startContext(new SoftwareSystemDslContext(softwareSystem, group));
-                        registerIdentifier(identifier, group);
-                    } else if (isElementKeywordOrArchetype(firstToken, GROUP_TOKEN) && inContext(ContainerDslContext.class)) {
-                        ElementGroup group = new GroupParser().parseContext(getContext(ContainerDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_MATCHER_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> new ComponentFinderStrategyParser().parseMatcher(getContext(ComponentFinderStrategyDslContext.class), statement.getTokens(), statement.getDslFile()));
 
-                        Container container = getContext(ContainerDslContext.class).getContainer();
-                        group.setParent(container);
-                        startContext(new ContainerDslContext(container, group));
-                        registerIdentifier(identifier, group);
-                    } else if (isElementKeywordOrArchetype(firstToken, GROUP_TOKEN) && inContext(DeploymentEnvironmentDslContext.class)) {
-                        ElementGroup group = new GroupParser().parseContext(getContext(DeploymentEnvironmentDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_FILTER_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> new ComponentFinderStrategyParser().parseFilter(getContext(ComponentFinderStrategyDslContext.class), statement.getTokens(), statement.getDslFile()));
 
-                        DeploymentEnvironment environment = getContext(DeploymentEnvironmentDslContext.class).getEnvironment();
-                        startContext(new DeploymentEnvironmentDslContext(environment.getName(), group));
-                        registerIdentifier(identifier, group);
-                    } else if (isElementKeywordOrArchetype(firstToken, GROUP_TOKEN) && inContext(DeploymentNodeDslContext.class)) {
-                        ElementGroup group = new GroupParser().parseContext(getContext(DeploymentNodeDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_SUPPORTING_TYPES_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> new ComponentFinderStrategyParser().parseSupportingTypes(getContext(ComponentFinderStrategyDslContext.class), statement.getTokens(), statement.getDslFile()));
 
-                        DeploymentNode deploymentNode = getContext(DeploymentNodeDslContext.class).getDeploymentNode();
-                        startContext(new DeploymentNodeDslContext(deploymentNode, group));
-                        registerIdentifier(identifier, group);
-                    } else if ((TAGS_TOKEN.equalsIgnoreCase(firstToken) || TAG_TOKEN.equalsIgnoreCase(firstToken)) && inContext(ModelItemDslContext.class) && !isGroup(getContext())) {
-                        new ModelItemParser().parseTags(getContext(ModelItemDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_NAME_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> new ComponentFinderStrategyParser().parseName(getContext(ComponentFinderStrategyDslContext.class), statement.getTokens(), statement.getDslFile()));
 
-                    } else if ((TAGS_TOKEN.equalsIgnoreCase(firstToken) || TAG_TOKEN.equalsIgnoreCase(firstToken)) && inContext(ModelItemsDslContext.class)) {
-                        new ModelItemsParser().parseTags(getContext(ModelItemsDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_DESCRIPTION_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> new ComponentFinderStrategyParser().parseDescription(getContext(ComponentFinderStrategyDslContext.class), statement.getTokens(), statement.getDslFile()));
 
-                    } else if (DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementDslContext.class) && !isGroup(getContext())) {
-                        new ModelItemParser().parseDescription(getContext(ElementDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_URL_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> new ComponentFinderStrategyParser().parseUrl(getContext(ComponentFinderStrategyDslContext.class), statement.getTokens(), statement.getDslFile()));
 
-                    } else if (DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementsDslContext.class)) {
-                        new ElementsParser().parseDescription(getContext(ElementsDslContext.class), tokens);
+        dispatchTable.on(COMPONENT_FINDER_STRATEGY_FOREACH_TOKEN).in(ComponentFinderStrategyDslContext.class).handle(statement -> {
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ComponentFinderStrategyForEachDslContext(getContext(ComponentFinderStrategyDslContext.class), this));
+            }
+        });
 
-                    } else if (TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ContainerDslContext.class) && !getContext(ContainerDslContext.class).hasGroup()) {
-                        new ContainerParser().parseTechnology(getContext(ContainerDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ComponentFinderStrategyForEachDslContext.class).handle(statement -> getContext(ComponentFinderStrategyForEachDslContext.class).addLine(statement.getSource()));
 
-                    } else if (TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentDslContext.class) && !getContext(ComponentDslContext.class).hasGroup()) {
-                        new ComponentParser().parseTechnology(getContext(ComponentDslContext.class), tokens);
+        dispatchTable.on(ENTERPRISE_TOKEN).in(ModelDslContext.class).handle(statement -> {
+            throw new RuntimeException("The enterprise keyword was previously deprecated, and has now been removed - please use group instead (https://docs.structurizr.com/dsl/language#group)");
+        });
 
-                    } else if (TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentNodeDslContext.class)) {
-                        new DeploymentNodeParser().parseTechnology(getContext(DeploymentNodeDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), GROUP_TOKEN)).handle(statement -> {
+            ElementGroup group = new GroupParser().parseContext(getContext(ModelDslContext.class), statement.getTokens());
 
-                    } else if (TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(InfrastructureNodeDslContext.class)) {
-                        new InfrastructureNodeParser().parseTechnology(getContext(InfrastructureNodeDslContext.class), tokens);
+            startContext(new ModelDslContext(group));
+            registerIdentifier(statement.getIdentifier(), group);
+        });
 
-                    } else if (TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementsDslContext.class)) {
-                        new ElementsParser().parseTechnology(getContext(ElementsDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(SoftwareSystemDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), GROUP_TOKEN)).handle(statement -> {
+            ElementGroup group = new GroupParser().parseContext(getContext(SoftwareSystemDslContext.class), statement.getTokens());
 
-                    } else if (TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipsDslContext.class)) {
-                        new RelationshipsParser().parseTechnology(getContext(RelationshipsDslContext.class), tokens);
+            SoftwareSystem softwareSystem = getContext(SoftwareSystemDslContext.class).getSoftwareSystem();
+            group.setParent(softwareSystem);
+            startContext(new SoftwareSystemDslContext(softwareSystem, group));
+            registerIdentifier(statement.getIdentifier(), group);
+        });
 
-                    } else if (INSTANCES_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentNodeDslContext.class)) {
-                        new DeploymentNodeParser().parseInstances(getContext(DeploymentNodeDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ContainerDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), GROUP_TOKEN)).handle(statement -> {
+            ElementGroup group = new GroupParser().parseContext(getContext(ContainerDslContext.class), statement.getTokens());
 
-                    } else if (URL_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelItemDslContext.class) && !isGroup(getContext())) {
-                        new ModelItemParser().parseUrl(getContext(ModelItemDslContext.class), tokens);
+            Container container = getContext(ContainerDslContext.class).getContainer();
+            group.setParent(container);
+            startContext(new ContainerDslContext(container, group));
+            registerIdentifier(statement.getIdentifier(), group);
+        });
 
-                    } else if (URL_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelItemsDslContext.class)) {
-                        new ModelItemsParser().parseUrl(getContext(ModelItemsDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(DeploymentEnvironmentDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), GROUP_TOKEN)).handle(statement -> {
+            ElementGroup group = new GroupParser().parseContext(getContext(DeploymentEnvironmentDslContext.class), statement.getTokens());
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(WorkspaceDslContext.class)) {
-                        startContext(new PropertiesDslContext(workspace));
+            DeploymentEnvironment environment = getContext(DeploymentEnvironmentDslContext.class).getEnvironment();
+            startContext(new DeploymentEnvironmentDslContext(environment.getName(), group));
+            registerIdentifier(statement.getIdentifier(), group);
+        });
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelDslContext.class)) {
-                        startContext(new PropertiesDslContext(workspace.getModel()));
+        dispatchTable.onAnyKeyword().in(DeploymentNodeDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), GROUP_TOKEN)).handle(statement -> {
+            ElementGroup group = new GroupParser().parseContext(getContext(DeploymentNodeDslContext.class), statement.getTokens());
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ConfigurationDslContext.class)) {
-                        startContext(new PropertiesDslContext(getContext(ConfigurationDslContext.class).getWorkspace()));
+            DeploymentNode deploymentNode = getContext(DeploymentNodeDslContext.class).getDeploymentNode();
+            startContext(new DeploymentNodeDslContext(deploymentNode, group));
+            registerIdentifier(statement.getIdentifier(), group);
+        });
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelItemDslContext.class) && !isGroup(getContext())) {
-                        startContext(new PropertiesDslContext(getContext(ModelItemDslContext.class).getModelItem()));
+        dispatchTable.on(TAGS_TOKEN, TAG_TOKEN).in(ModelItemDslContext.class).when(statement -> !isGroup(getContext())).handle(statement -> new ModelItemParser().parseTags(getContext(ModelItemDslContext.class), statement.getTokens()));
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelItemsDslContext.class)) {
-                        startContext(new PropertiesDslContext(getContext(ModelItemsDslContext.class).getModelItems().stream().map(mi -> (PropertyHolder)mi).toList()));
+        dispatchTable.on(TAGS_TOKEN, TAG_TOKEN).in(ModelItemsDslContext.class).handle(statement -> new ModelItemsParser().parseTags(getContext(ModelItemsDslContext.class), statement.getTokens()));
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        startContext(new PropertiesDslContext(workspace.getViews().getConfiguration()));
+        dispatchTable.on(DESCRIPTION_TOKEN).in(ElementDslContext.class).when(statement -> !isGroup(getContext())).handle(statement -> new ModelItemParser().parseDescription(getContext(ElementDslContext.class), statement.getTokens()));
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewDslContext.class)) {
-                        startContext(new PropertiesDslContext(getContext(ViewDslContext.class).getView()));
+        dispatchTable.on(DESCRIPTION_TOKEN).in(ElementsDslContext.class).handle(statement -> new ElementsParser().parseDescription(getContext(ElementsDslContext.class), statement.getTokens()));
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(DynamicViewRelationshipContext.class)) {
-                        startContext(new PropertiesDslContext(getContext((DynamicViewRelationshipContext.class)).getRelationshipView()));
+        dispatchTable.on(TECHNOLOGY_TOKEN).in(ContainerDslContext.class).when(statement -> !getContext(ContainerDslContext.class).hasGroup()).handle(statement -> new ContainerParser().parseTechnology(getContext(ContainerDslContext.class), statement.getTokens()));
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        startContext(new PropertiesDslContext(getContext((ElementStyleDslContext.class)).getStyle()));
+        dispatchTable.on(TECHNOLOGY_TOKEN).in(ComponentDslContext.class).when(statement -> !getContext(ComponentDslContext.class).hasGroup()).handle(statement -> new ComponentParser().parseTechnology(getContext(ComponentDslContext.class), statement.getTokens()));
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        startContext(new PropertiesDslContext(getContext((RelationshipStyleDslContext.class)).getStyle()));
+        dispatchTable.on(TECHNOLOGY_TOKEN).in(DeploymentNodeDslContext.class).handle(statement -> new DeploymentNodeParser().parseTechnology(getContext(DeploymentNodeDslContext.class), statement.getTokens()));
 
-                    } else if (inContext(PropertiesDslContext.class)) {
-                        new PropertyParser().parse(getContext(PropertiesDslContext.class), tokens);
+        dispatchTable.on(TECHNOLOGY_TOKEN).in(InfrastructureNodeDslContext.class).handle(statement -> new InfrastructureNodeParser().parseTechnology(getContext(InfrastructureNodeDslContext.class), statement.getTokens()));
 
-                    } else if (PERSPECTIVES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelItemDslContext.class) && !isGroup(getContext())) {
-                        startContext(new PerspectivesDslContext(getContext(ModelItemDslContext.class).getModelItem()));
+        dispatchTable.on(TECHNOLOGY_TOKEN).in(ElementsDslContext.class).handle(statement -> new ElementsParser().parseTechnology(getContext(ElementsDslContext.class), statement.getTokens()));
 
-                    } else if (PERSPECTIVES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelItemsDslContext.class)) {
-                        startContext(new PerspectivesDslContext(getContext(ModelItemsDslContext.class).getModelItems()));
+        dispatchTable.on(TECHNOLOGY_TOKEN).in(RelationshipsDslContext.class).handle(statement -> new RelationshipsParser().parseTechnology(getContext(RelationshipsDslContext.class), statement.getTokens()));
 
-                    } else if (PERSPECTIVE_TOKEN.equalsIgnoreCase(firstToken) && inContext(PerspectivesDslContext.class) && shouldStartContext(tokens) && tokens.size() == 3) {
-                        Perspective perspective = new PerspectiveParser().parse(tokens);
-                        startContext(new PerspectiveDslContext(perspective, getContext(PerspectivesDslContext.class)));
+        dispatchTable.on(INSTANCES_TOKEN).in(DeploymentNodeDslContext.class).handle(statement -> new DeploymentNodeParser().parseInstances(getContext(DeploymentNodeDslContext.class), statement.getTokens()));
 
-                    } else if (inContext(PerspectivesDslContext.class)) {
-                        new PerspectiveParser().parse(getContext(PerspectivesDslContext.class), tokens);
+        dispatchTable.on(URL_TOKEN).in(ModelItemDslContext.class).when(statement -> !isGroup(getContext())).handle(statement -> new ModelItemParser().parseUrl(getContext(ModelItemDslContext.class), statement.getTokens()));
 
-                    } else if (PERSPECTIVE_VALUE_TOKEN.equalsIgnoreCase(firstToken) && inContext(PerspectiveDslContext.class)) {
-                        new PerspectiveParser().parseValue(getContext(PerspectiveDslContext.class), tokens);
+        dispatchTable.on(URL_TOKEN).in(ModelItemsDslContext.class).handle(statement -> new ModelItemsParser().parseUrl(getContext(ModelItemsDslContext.class), statement.getTokens()));
 
-                    } else if (PERSPECTIVE_DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(PerspectiveDslContext.class)) {
-                        new PerspectiveParser().parseDescription(getContext(PerspectiveDslContext.class), tokens);
+        dispatchTable.on(PROPERTIES_TOKEN).in(WorkspaceDslContext.class).handle(statement -> startContext(new PropertiesDslContext(workspace)));
 
-                    } else if (PERSPECTIVE_URL_TOKEN.equalsIgnoreCase(firstToken) && inContext(PerspectiveDslContext.class)) {
-                        new PerspectiveParser().parseUrl(getContext(PerspectiveDslContext.class), tokens);
+        dispatchTable.on(PROPERTIES_TOKEN).in(ModelDslContext.class).handle(statement -> startContext(new PropertiesDslContext(workspace.getModel())));
 
-                    } else if (GROUP_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentDslContext.class)) {
-                        new GroupParser().parseProperty(getContext(ComponentDslContext.class), tokens);
+        dispatchTable.on(PROPERTIES_TOKEN).in(ConfigurationDslContext.class).handle(statement -> startContext(new PropertiesDslContext(getContext(ConfigurationDslContext.class).getWorkspace())));
 
-                    } else if (WORKSPACE_TOKEN.equalsIgnoreCase(firstToken) && contextStack.empty()) {
-                        if (parsedTokens.contains(WORKSPACE_TOKEN)) {
-                            throw new RuntimeException("Multiple workspaces are not permitted in a DSL definition");
-                        }
-                        DslParserContext dslParserContext = new DslParserContext(this, dslFile);
-                        dslParserContext.setIdentifierRegister(identifiersRegister);
-                        dslParserContext.setFeatures(features);
-                        dslParserContext.setHttpClient(httpClient);
-
-                        workspace = new WorkspaceParser().parse(dslParserContext, tokens.withoutContextStartToken());
-                        extendingWorkspace = !workspace.getModel().isEmpty();
-                        WorkspaceDslContext context = new WorkspaceDslContext(dslFile);
-                        context.setDslPortable(dslParserContext.isDslPortable());
-                        startContext(context);
-                        parsedTokens.add(WORKSPACE_TOKEN);
-
-                    } else if (IMPLIED_RELATIONSHIPS_TOKEN.equalsIgnoreCase(firstToken) || IMPLIED_RELATIONSHIPS_TOKEN.substring(1).equalsIgnoreCase(firstToken)) {
-                        new ImpliedRelationshipsParser().parse(getContext(), tokens, dslFile);
-
-                    } else if (NAME_TOKEN.equalsIgnoreCase(firstToken) && inContext(WorkspaceDslContext.class)) {
-                        new WorkspaceParser().parseName(getContext(), tokens);
-
-                    } else if (DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(WorkspaceDslContext.class)) {
-                        new WorkspaceParser().parseDescription(getContext(), tokens);
-
-                    } else if (MODEL_TOKEN.equalsIgnoreCase(firstToken) && inContext(WorkspaceDslContext.class)) {
-                        if (parsedTokens.contains(MODEL_TOKEN)) {
-                            throw new RuntimeException("Multiple models are not permitted in a DSL definition");
-                        }
+        dispatchTable.on(PROPERTIES_TOKEN).in(ModelItemDslContext.class).when(statement -> !isGroup(getContext())).handle(statement -> startContext(new PropertiesDslContext(getContext(ModelItemDslContext.class).getModelItem())));
 
-                        startContext(new ModelDslContext());
-                        parsedTokens.add(MODEL_TOKEN);
+        dispatchTable.on(PROPERTIES_TOKEN).in(ModelItemsDslContext.class).handle(statement -> startContext(new PropertiesDslContext(getContext(ModelItemsDslContext.class).getModelItems().stream().map(mi -> (PropertyHolder)mi).toList())));
 
-                    } else if (ARCHETYPES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelDslContext.class)) {
-                        startContext(new ArchetypesDslContext());
+        dispatchTable.on(PROPERTIES_TOKEN).in(ViewsDslContext.class).handle(statement -> startContext(new PropertiesDslContext(workspace.getViews().getConfiguration())));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, GROUP_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, GROUP_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(PROPERTIES_TOKEN).in(ViewDslContext.class).handle(statement -> startContext(new PropertiesDslContext(getContext(ViewDslContext.class).getView())));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, CUSTOM_ELEMENT_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, CUSTOM_ELEMENT_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(PROPERTIES_TOKEN).in(DynamicViewRelationshipContext.class).handle(statement -> startContext(new PropertiesDslContext(getContext((DynamicViewRelationshipContext.class)).getRelationshipView())));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new CustomElementArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(PROPERTIES_TOKEN).in(ElementStyleDslContext.class).handle(statement -> startContext(new PropertiesDslContext(getContext((ElementStyleDslContext.class)).getStyle())));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, PERSON_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, PERSON_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(PROPERTIES_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> startContext(new PropertiesDslContext(getContext((RelationshipStyleDslContext.class)).getStyle())));
 
+        dispatchTable.onAnyKeyword().in(PropertiesDslContext.class).handle(statement -> new PropertyParser().parse(getContext(PropertiesDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new PersonArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(PERSPECTIVES_TOKEN).in(ModelItemDslContext.class).when(statement -> !isGroup(getContext())).handle(statement -> startContext(new PerspectivesDslContext(getContext(ModelItemDslContext.class).getModelItem())));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, SOFTWARE_SYSTEM_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, SOFTWARE_SYSTEM_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(PERSPECTIVES_TOKEN).in(ModelItemsDslContext.class).handle(statement -> startContext(new PerspectivesDslContext(getContext(ModelItemsDslContext.class).getModelItems())));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new SoftwareSystemArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(PERSPECTIVE_TOKEN).in(PerspectivesDslContext.class).when(statement -> shouldStartContext(statement.getTokens()) && statement.getTokens().size() == 3).handle(statement -> {
+            Perspective perspective = new PerspectiveParser().parse(statement.getTokens());
+            startContext(new PerspectiveDslContext(perspective, getContext(PerspectivesDslContext.class)));
+        });
 
-                    } else if (isElementKeywordOrArchetype(firstToken, CONTAINER_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, CONTAINER_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.onAnyKeyword().in(PerspectivesDslContext.class).handle(statement -> new PerspectiveParser().parse(getContext(PerspectivesDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ContainerArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(PERSPECTIVE_VALUE_TOKEN).in(PerspectiveDslContext.class).handle(statement -> new PerspectiveParser().parseValue(getContext(PerspectiveDslContext.class), statement.getTokens()));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, COMPONENT_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, COMPONENT_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(PERSPECTIVE_DESCRIPTION_TOKEN).in(PerspectiveDslContext.class).handle(statement -> new PerspectiveParser().parseDescription(getContext(PerspectiveDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ComponentArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(PERSPECTIVE_URL_TOKEN).in(PerspectiveDslContext.class).handle(statement -> new PerspectiveParser().parseUrl(getContext(PerspectiveDslContext.class), statement.getTokens()));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, DEPLOYMENT_NODE_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, DEPLOYMENT_NODE_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(GROUP_TOKEN).in(ComponentDslContext.class).handle(statement -> new GroupParser().parseProperty(getContext(ComponentDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new DeploymentNodeArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(WORKSPACE_TOKEN).when(statement -> contextStack.empty()).handle(statement -> {
+            if (parsedTokens.contains(WORKSPACE_TOKEN)) {
+                throw new RuntimeException("Multiple workspaces are not permitted in a DSL definition");
+            }
+            DslParserContext dslParserContext = new DslParserContext(this, statement.getDslFile());
+            dslParserContext.setIdentifierRegister(identifiersRegister);
+            dslParserContext.setFeatures(features);
+            dslParserContext.setHttpClient(httpClient);
+
+            workspace = new WorkspaceParser().parse(dslParserContext, statement.getTokens().withoutContextStartToken());
+            extendingWorkspace = !workspace.getModel().isEmpty();
+            if (checkpointFiles != null) {
+                // the ID sequence needs to be resumable from a checkpoint
+                idGenerator = new ResumableIdGenerator();
+                workspace.getModel().getElements().forEach(element -> idGenerator.found(element.getId()));
+                workspace.getModel().getRelationships().forEach(relationship -> idGenerator.found(relationship.getId()));
+                workspace.getModel().setIdGenerator(idGenerator);
+            }
+            WorkspaceDslContext context = new WorkspaceDslContext(statement.getDslFile());
+            context.setDslPortable(dslParserContext.isDslPortable());
+            startContext(context);
+            parsedTokens.add(WORKSPACE_TOKEN);
+        });
 
-                    } else if (isElementKeywordOrArchetype(firstToken, INFRASTRUCTURE_NODE_TOKEN) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, INFRASTRUCTURE_NODE_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(IMPLIED_RELATIONSHIPS_TOKEN, IMPLIED_RELATIONSHIPS_TOKEN.substring(1)).handle(statement -> new ImpliedRelationshipsParser().parse(getContext(), statement.getTokens(), statement.getDslFile()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new InfrastructureNodeArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(NAME_TOKEN).in(WorkspaceDslContext.class).handle(statement -> new WorkspaceParser().parseName(getContext(), statement.getTokens()));
 
-                    } else if (isRelationshipKeywordOrArchetype(firstToken) && inContext(ArchetypesDslContext.class)) {
-                        Archetype archetype = new Archetype(identifier, RELATIONSHIP_TOKEN);
-                        extendArchetype(archetype, firstToken);
-                        addArchetype(archetype);
+        dispatchTable.on(DESCRIPTION_TOKEN).in(WorkspaceDslContext.class).handle(statement -> new WorkspaceParser().parseDescription(getContext(), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new RelationshipArchetypeDslContext(archetype));
-                        }
+        dispatchTable.on(MODEL_TOKEN).in(WorkspaceDslContext.class).handle(statement -> {
+            if (parsedTokens.contains(MODEL_TOKEN)) {
+                throw new RuntimeException("Multiple models are not permitted in a DSL definition");
+            }
 
-                    } else if (METADATA_TOKEN.equalsIgnoreCase(firstToken) && inContext(CustomElementArchetypeDslContext.class)) {
-                        new ArchetypeParser().parseMetadata(getContext(ArchetypeDslContext.class), tokens);
+            startContext(new ModelDslContext());
+            parsedTokens.add(MODEL_TOKEN);
+        });
 
-                    } else if (DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(ArchetypeDslContext.class)) {
-                        new ArchetypeParser().parseDescription(getContext(ArchetypeDslContext.class), tokens);
+        dispatchTable.on(ARCHETYPES_TOKEN).in(ModelDslContext.class).handle(statement -> startContext(new ArchetypesDslContext()));
 
-                    } else if (TECHNOLOGY_TOKEN.equalsIgnoreCase(firstToken) && (inContext(ContainerArchetypeDslContext.class) || inContext(ComponentArchetypeDslContext.class) || inContext(DeploymentNodeArchetypeDslContext.class) || inContext(InfrastructureNodeArchetypeDslContext.class) || inContext(RelationshipArchetypeDslContext.class))) {
-                        new ArchetypeParser().parseTechnology(getContext(ArchetypeDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), GROUP_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), GROUP_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
+        });
 
-                    } else if (TAG_TOKEN.equalsIgnoreCase(firstToken) && inContext(ArchetypeDslContext.class)) {
-                        new ArchetypeParser().parseTag(getContext(ArchetypeDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), CUSTOM_ELEMENT_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), CUSTOM_ELEMENT_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (TAGS_TOKEN.equalsIgnoreCase(firstToken) && inContext(ArchetypeDslContext.class)) {
-                        new ArchetypeParser().parseTags(getContext(ArchetypeDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new CustomElementArchetypeDslContext(archetype));
+            }
+        });
 
-                    } else if (PROPERTIES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ArchetypeDslContext.class)) {
-                        Archetype archetype = getContext(ArchetypeDslContext.class).getArchetype();
-                        startContext(new PropertiesDslContext(archetype));
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), PERSON_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), PERSON_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (PERSPECTIVES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ArchetypeDslContext.class)) {
-                        Archetype archetype = getContext(ArchetypeDslContext.class).getArchetype();
-                        startContext(new PerspectivesDslContext(archetype));
 
-                    } else if (VIEWS_TOKEN.equalsIgnoreCase(firstToken) && inContext(WorkspaceDslContext.class)) {
-                        if (parsedTokens.contains(VIEWS_TOKEN)) {
-                            throw new RuntimeException("Multiple view sets are not permitted in a DSL definition");
-                        }
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new PersonArchetypeDslContext(archetype));
+            }
+        });
 
-                        startContext(new ViewsDslContext());
-                        parsedTokens.add(VIEWS_TOKEN);
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), SOFTWARE_SYSTEM_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), SOFTWARE_SYSTEM_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (STYLES_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        startContext(new StylesDslContext());
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new SoftwareSystemArchetypeDslContext(archetype));
+            }
+        });
 
-                    } else if (LIGHT_COLOR_SCHEME_TOKEN.equalsIgnoreCase(firstToken) && inContext(StylesDslContext.class)) {
-                        startContext(new StylesDslContext(ColorScheme.Light));
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), CONTAINER_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), CONTAINER_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (DARK_COLOR_SCHEME_TOKEN.equalsIgnoreCase(firstToken) && inContext(StylesDslContext.class)) {
-                        startContext(new StylesDslContext(ColorScheme.Dark));
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ContainerArchetypeDslContext(archetype));
+            }
+        });
 
-                    } else if (ELEMENT_STYLE_TOKEN.equalsIgnoreCase(firstToken) && inContext(StylesDslContext.class)) {
-                        ElementStyle elementStyle = new ElementStyleParser().parseElementStyle(getContext(StylesDslContext.class), tokens.withoutContextStartToken());
-                        startContext(new ElementStyleDslContext(elementStyle, dslFile));
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), COMPONENT_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), COMPONENT_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (ELEMENT_STYLE_BACKGROUND_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseBackground(getContext(ElementStyleDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ComponentArchetypeDslContext(archetype));
+            }
+        });
 
-                    } else if ((ELEMENT_STYLE_COLOUR_TOKEN.equalsIgnoreCase(firstToken) || ELEMENT_STYLE_COLOR_TOKEN.equalsIgnoreCase(firstToken)) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseColour(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), DEPLOYMENT_NODE_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), DEPLOYMENT_NODE_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (ELEMENT_STYLE_STROKE_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseStroke(getContext(ElementStyleDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new DeploymentNodeArchetypeDslContext(archetype));
+            }
+        });
 
-                    } else if (ELEMENT_STYLE_STROKE_WIDTH_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseStrokeWidth(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), INFRASTRUCTURE_NODE_TOKEN)).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), INFRASTRUCTURE_NODE_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (ELEMENT_STYLE_SHAPE_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseShape(getContext(ElementStyleDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new InfrastructureNodeArchetypeDslContext(archetype));
+            }
+        });
 
-                    } else if (ELEMENT_STYLE_BORDER_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseBorder(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.onAnyKeyword().in(ArchetypesDslContext.class).when(statement -> isRelationshipKeywordOrArchetype(statement.getFirstToken())).handle(statement -> {
+            Archetype archetype = new Archetype(statement.getIdentifier(), RELATIONSHIP_TOKEN);
+            extendArchetype(archetype, statement.getFirstToken());
+            addArchetype(archetype);
 
-                    } else if (ELEMENT_STYLE_OPACITY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseOpacity(getContext(ElementStyleDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new RelationshipArchetypeDslContext(archetype));
+            }
+        });
 
-                    } else if (ELEMENT_STYLE_WIDTH_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseWidth(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.on(METADATA_TOKEN).in(CustomElementArchetypeDslContext.class).handle(statement -> new ArchetypeParser().parseMetadata(getContext(ArchetypeDslContext.class), statement.getTokens()));
 
-                    } else if (ELEMENT_STYLE_HEIGHT_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseHeight(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.on(DESCRIPTION_TOKEN).in(ArchetypeDslContext.class).handle(statement -> new ArchetypeParser().parseDescription(getContext(ArchetypeDslContext.class), statement.getTokens()));
 
-                    } else if (ELEMENT_STYLE_FONT_SIZE_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseFontSize(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.on(TECHNOLOGY_TOKEN).in(ContainerArchetypeDslContext.class, ComponentArchetypeDslContext.class, DeploymentNodeArchetypeDslContext.class, InfrastructureNodeArchetypeDslContext.class, RelationshipArchetypeDslContext.class).handle(statement -> new ArchetypeParser().parseTechnology(getContext(ArchetypeDslContext.class), statement.getTokens()));
 
-                    } else if (ELEMENT_STYLE_METADATA_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseMetadata(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.on(TAG_TOKEN).in(ArchetypeDslContext.class).handle(statement -> new ArchetypeParser().parseTag(getContext(ArchetypeDslContext.class), statement.getTokens()));
 
-                    } else if (ELEMENT_STYLE_DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseDescription(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.on(TAGS_TOKEN).in(ArchetypeDslContext.class).handle(statement -> new ArchetypeParser().parseTags(getContext(ArchetypeDslContext.class), statement.getTokens()));
 
-                    } else if (ELEMENT_STYLE_ICON_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseIcon(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.on(PROPERTIES_TOKEN).in(ArchetypeDslContext.class).handle(statement -> {
+            Archetype archetype = getContext(ArchetypeDslContext.class).getArchetype();
+            startContext(new PropertiesDslContext(archetype));
+        });
 
-                    } else if (ELEMENT_STYLE_ICON_POSITION_TOKEN.equalsIgnoreCase(firstToken) && inContext(ElementStyleDslContext.class)) {
-                        new ElementStyleParser().parseIconPosition(getContext(ElementStyleDslContext.class), tokens);
+        dispatchTable.on(PERSPECTIVES_TOKEN).in(ArchetypeDslContext.class).handle(statement -> {
+            Archetype archetype = getContext(ArchetypeDslContext.class).getArchetype();
+            startContext(new PerspectivesDslContext(archetype));
+        });
 
-                    } else if (RELATIONSHIP_STYLE_TOKEN.equalsIgnoreCase(firstToken) && inContext(StylesDslContext.class)) {
-                        RelationshipStyle relationshipStyle = new RelationshipStyleParser().parseRelationshipStyle(getContext(StylesDslContext.class), tokens.withoutContextStartToken());
-                        startContext(new RelationshipStyleDslContext(relationshipStyle));
+        dispatchTable.on(VIEWS_TOKEN).in(WorkspaceDslContext.class).handle(statement -> {
+            if (parsedTokens.contains(VIEWS_TOKEN)) {
+                throw new RuntimeException("Multiple view sets are not permitted in a DSL definition");
+            }
 
-                    } else if (RELATIONSHIP_STYLE_THICKNESS_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseThickness(getContext(RelationshipStyleDslContext.class), tokens);
+            startContext(new ViewsDslContext());
+            parsedTokens.add(VIEWS_TOKEN);
+        });
 
-                    } else if ((RELATIONSHIP_STYLE_COLOUR_TOKEN.equalsIgnoreCase(firstToken) || RELATIONSHIP_STYLE_COLOR_TOKEN.equalsIgnoreCase(firstToken)) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseColour(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(STYLES_TOKEN).in(ViewsDslContext.class).handle(statement -> startContext(new StylesDslContext()));
 
-                    } else if (RELATIONSHIP_STYLE_DASHED_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseDashed(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(LIGHT_COLOR_SCHEME_TOKEN).in(StylesDslContext.class).handle(statement -> startContext(new StylesDslContext(ColorScheme.Light)));
 
-                    } else if (RELATIONSHIP_STYLE_OPACITY_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseOpacity(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(DARK_COLOR_SCHEME_TOKEN).in(StylesDslContext.class).handle(statement -> startContext(new StylesDslContext(ColorScheme.Dark)));
 
-                    } else if (RELATIONSHIP_STYLE_WIDTH_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseWidth(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_TOKEN).in(StylesDslContext.class).handle(statement -> {
+            ElementStyle elementStyle = new ElementStyleParser().parseElementStyle(getContext(StylesDslContext.class), statement.getTokens().withoutContextStartToken());
+            startContext(new ElementStyleDslContext(elementStyle, statement.getDslFile()));
+        });
 
-                    } else if (RELATIONSHIP_STYLE_FONT_SIZE_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseFontSize(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_BACKGROUND_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseBackground(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (RELATIONSHIP_STYLE_POSITION_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parsePosition(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_COLOUR_TOKEN, ELEMENT_STYLE_COLOR_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseColour(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (RELATIONSHIP_STYLE_LINE_STYLE_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseLineStyle(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_STROKE_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseStroke(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (RELATIONSHIP_STYLE_ROUTING_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseRouting(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_STROKE_WIDTH_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseStrokeWidth(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (RELATIONSHIP_STYLE_JUMP_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseJump(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_SHAPE_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseShape(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (RELATIONSHIP_STYLE_METADATA_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseMetadata(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_BORDER_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseBorder(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (RELATIONSHIP_STYLE_DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(RelationshipStyleDslContext.class)) {
-                        new RelationshipStyleParser().parseDescription(getContext(RelationshipStyleDslContext.class), tokens);
+        dispatchTable.on(ELEMENT_STYLE_OPACITY_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseOpacity(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (DEPLOYMENT_ENVIRONMENT_TOKEN.equalsIgnoreCase(firstToken) && inContext(ModelDslContext.class)) {
-                        String environment = new DeploymentEnvironmentParser().parse(tokens.withoutContextStartToken());
+        dispatchTable.on(ELEMENT_STYLE_WIDTH_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseWidth(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new DeploymentEnvironmentDslContext(environment));
-                        }
+        dispatchTable.on(ELEMENT_STYLE_HEIGHT_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseHeight(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                        registerIdentifier(identifier, new DeploymentEnvironment(environment));
+        dispatchTable.on(ELEMENT_STYLE_FONT_SIZE_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseFontSize(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (DEPLOYMENT_GROUP_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentEnvironmentDslContext.class)) {
-                        String group = new DeploymentGroupParser().parse(tokens.withoutContextStartToken());
+        dispatchTable.on(ELEMENT_STYLE_METADATA_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseMetadata(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                        registerIdentifier(identifier, new DeploymentGroup(getContext(DeploymentEnvironmentDslContext.class).getEnvironment(), group));
+        dispatchTable.on(ELEMENT_STYLE_DESCRIPTION_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseDescription(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (DEPLOYMENT_GROUP_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentNodeDslContext.class)) {
-                        new DeploymentGroupParser().parse(getContext(DeploymentNodeDslContext.class), tokens.withoutContextStartToken());
+        dispatchTable.on(ELEMENT_STYLE_ICON_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseIcon(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                    } else if (isElementKeywordOrArchetype(firstToken, DEPLOYMENT_NODE_TOKEN) && inContext(DeploymentEnvironmentDslContext.class)) {
-                        Archetype archetype = getArchetype(DEPLOYMENT_NODE_TOKEN, firstToken);
-                        DeploymentNode deploymentNode = new DeploymentNodeParser().parse(getContext(DeploymentEnvironmentDslContext.class), tokens.withoutContextStartToken(), archetype);
+        dispatchTable.on(ELEMENT_STYLE_ICON_POSITION_TOKEN).in(ElementStyleDslContext.class).handle(statement -> new ElementStyleParser().parseIconPosition(getContext(ElementStyleDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new DeploymentNodeDslContext(deploymentNode));
-                        }
+        dispatchTable.on(RELATIONSHIP_STYLE_TOKEN).in(StylesDslContext.class).handle(statement -> {
+            RelationshipStyle relationshipStyle = new RelationshipStyleParser().parseRelationshipStyle(getContext(StylesDslContext.class), statement.getTokens().withoutContextStartToken());
+            startContext(new RelationshipStyleDslContext(relationshipStyle));
+        });
 
-                        registerIdentifier(identifier, deploymentNode);
-                    } else if (isElementKeywordOrArchetype(firstToken, DEPLOYMENT_NODE_TOKEN) && inContext(DeploymentNodeDslContext.class)) {
-                        Archetype archetype = getArchetype(DEPLOYMENT_NODE_TOKEN, firstToken);
-                        DeploymentNode deploymentNode = new DeploymentNodeParser().parse(getContext(DeploymentNodeDslContext.class), tokens.withoutContextStartToken(), archetype);
+        dispatchTable.on(RELATIONSHIP_STYLE_THICKNESS_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseThickness(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new DeploymentNodeDslContext(deploymentNode));
-                        }
+        dispatchTable.on(RELATIONSHIP_STYLE_COLOUR_TOKEN, RELATIONSHIP_STYLE_COLOR_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseColour(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        registerIdentifier(identifier, deploymentNode);
-                    } else if (isElementKeywordOrArchetype(firstToken, INFRASTRUCTURE_NODE_TOKEN) && inContext(DeploymentNodeDslContext.class)) {
-                        Archetype archetype = getArchetype(INFRASTRUCTURE_NODE_TOKEN, firstToken);
-                        InfrastructureNode infrastructureNode = new InfrastructureNodeParser().parse(getContext(DeploymentNodeDslContext.class), tokens.withoutContextStartToken(), archetype);
+        dispatchTable.on(RELATIONSHIP_STYLE_DASHED_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseDashed(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new InfrastructureNodeDslContext(infrastructureNode));
-                        }
+        dispatchTable.on(RELATIONSHIP_STYLE_OPACITY_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseOpacity(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        registerIdentifier(identifier, infrastructureNode);
+        dispatchTable.on(RELATIONSHIP_STYLE_WIDTH_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseWidth(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                    } else if (INSTANCE_OF_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentNodeDslContext.class)) {
-                        StaticStructureElementInstance instance = new InstanceOfParser().parse(getContext(DeploymentNodeDslContext.class), tokens.withoutContextStartToken());
+        dispatchTable.on(RELATIONSHIP_STYLE_FONT_SIZE_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseFontSize(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        if (instance instanceof SoftwareSystemInstance) {
-                            if (shouldStartContext(tokens)) {
-                                startContext(new SoftwareSystemInstanceDslContext((SoftwareSystemInstance)instance));
-                            }
-                        } else if (instance instanceof ContainerInstance) {
-                            if (shouldStartContext(tokens)) {
-                                startContext(new ContainerInstanceDslContext((ContainerInstance)instance));
-                            }
-                        }
+        dispatchTable.on(RELATIONSHIP_STYLE_POSITION_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parsePosition(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        registerIdentifier(identifier, instance);
+        dispatchTable.on(RELATIONSHIP_STYLE_LINE_STYLE_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseLineStyle(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                    } else if (SOFTWARE_SYSTEM_INSTANCE_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentNodeDslContext.class)) {
-                        SoftwareSystemInstance softwareSystemInstance = new SoftwareSystemInstanceParser().parse(getContext(DeploymentNodeDslContext.class), tokens.withoutContextStartToken());
+        dispatchTable.on(RELATIONSHIP_STYLE_ROUTING_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseRouting(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new SoftwareSystemInstanceDslContext(softwareSystemInstance));
-                        }
+        dispatchTable.on(RELATIONSHIP_STYLE_JUMP_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseJump(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        registerIdentifier(identifier, softwareSystemInstance);
+        dispatchTable.on(RELATIONSHIP_STYLE_METADATA_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseMetadata(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                    } else if (CONTAINER_INSTANCE_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentNodeDslContext.class)) {
-                        ContainerInstance containerInstance = new ContainerInstanceParser().parse(getContext(DeploymentNodeDslContext.class), tokens.withoutContextStartToken());
+        dispatchTable.on(RELATIONSHIP_STYLE_DESCRIPTION_TOKEN).in(RelationshipStyleDslContext.class).handle(statement -> new RelationshipStyleParser().parseDescription(getContext(RelationshipStyleDslContext.class), statement.getTokens()));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new ContainerInstanceDslContext(containerInstance));
-                        }
+        dispatchTable.on(DEPLOYMENT_ENVIRONMENT_TOKEN).in(ModelDslContext.class).handle(statement -> {
+            String environment = new DeploymentEnvironmentParser().parse(statement.getTokens().withoutContextStartToken());
 
-                        registerIdentifier(identifier, containerInstance);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new DeploymentEnvironmentDslContext(environment));
+            }
 
-                    } else if (HEALTH_CHECK_TOKEN.equalsIgnoreCase(firstToken) && inContext(StaticStructureElementInstanceDslContext.class)) {
-                        new HealthCheckParser().parse(getContext(StaticStructureElementInstanceDslContext.class), tokens.withoutContextStartToken());
-                    } else if (CUSTOM_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        CustomView view = new CustomViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new CustomViewDslContext(view));
+            registerIdentifier(statement.getIdentifier(), new DeploymentEnvironment(environment));
+        });
 
-                    } else if (SYSTEM_LANDSCAPE_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        SystemLandscapeView view = new SystemLandscapeViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new SystemLandscapeViewDslContext(view));
+        dispatchTable.on(DEPLOYMENT_GROUP_TOKEN).in(DeploymentEnvironmentDslContext.class).handle(statement -> {
+            String group = new DeploymentGroupParser().parse(statement.getTokens().withoutContextStartToken());
 
-                    } else if (SYSTEM_CONTEXT_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        SystemContextView view = new SystemContextViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new SystemContextViewDslContext(view));
+            registerIdentifier(statement.getIdentifier(), new DeploymentGroup(getContext(DeploymentEnvironmentDslContext.class).getEnvironment(), group));
+        });
 
-                    } else if (CONTAINER_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        ContainerView view = new ContainerViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new ContainerViewDslContext(view));
+        dispatchTable.on(DEPLOYMENT_GROUP_TOKEN).in(DeploymentNodeDslContext.class).handle(statement -> new DeploymentGroupParser().parse(getContext(DeploymentNodeDslContext.class), statement.getTokens().withoutContextStartToken()));
 
-                    } else if (COMPONENT_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        ComponentView view = new ComponentViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new ComponentViewDslContext(view));
+        dispatchTable.onAnyKeyword().in(DeploymentEnvironmentDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), DEPLOYMENT_NODE_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(DEPLOYMENT_NODE_TOKEN, statement.getFirstToken());
+            DeploymentNode deploymentNode = new DeploymentNodeParser().parse(getContext(DeploymentEnvironmentDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (DYNAMIC_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        DynamicView view = new DynamicViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new DynamicViewDslContext(view));
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new DeploymentNodeDslContext(deploymentNode));
+            }
 
-                    } else if (DEPLOYMENT_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        DeploymentView view = new DeploymentViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new DeploymentViewDslContext(view));
+            registerIdentifier(statement.getIdentifier(), deploymentNode);
+        });
 
-                    } else if (FILTERED_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        FilteredView view = new FilteredViewParser().parse(getContext(), tokens.withoutContextStartToken());
+        dispatchTable.onAnyKeyword().in(DeploymentNodeDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), DEPLOYMENT_NODE_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(DEPLOYMENT_NODE_TOKEN, statement.getFirstToken());
+            DeploymentNode deploymentNode = new DeploymentNodeParser().parse(getContext(DeploymentNodeDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new FilteredViewDslContext(view));
-                        }
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new DeploymentNodeDslContext(deploymentNode));
+            }
 
-                    } else if (IMAGE_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        ImageView view = new ImageViewParser().parse(getContext(), tokens.withoutContextStartToken());
-                        startContext(new ImageViewDslContext(view));
+            registerIdentifier(statement.getIdentifier(), deploymentNode);
+        });
 
-                    } else if (DslContext.CONTEXT_START_TOKEN.equalsIgnoreCase(firstToken) && inContext(DynamicViewDslContext.class)) {
-                        startContext(new DynamicViewParallelSequenceDslContext(getContext(DynamicViewDslContext.class)));
+        dispatchTable.onAnyKeyword().in(DeploymentNodeDslContext.class).when(statement -> isElementKeywordOrArchetype(statement.getFirstToken(), INFRASTRUCTURE_NODE_TOKEN)).handle(statement -> {
+            Archetype archetype = getArchetype(INFRASTRUCTURE_NODE_TOKEN, statement.getFirstToken());
+            InfrastructureNode infrastructureNode = new InfrastructureNodeParser().parse(getContext(DeploymentNodeDslContext.class), statement.getTokens().withoutContextStartToken(), archetype);
 
-                    } else if (INCLUDE_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(CustomViewDslContext.class)) {
-                        new CustomViewContentParser().parseInclude(getContext(CustomViewDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new InfrastructureNodeDslContext(infrastructureNode));
+            }
 
-                    } else if (EXCLUDE_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(CustomViewDslContext.class)) {
-                        new CustomViewContentParser().parseExclude(getContext(CustomViewDslContext.class), tokens);
+            registerIdentifier(statement.getIdentifier(), infrastructureNode);
+        });
 
-                    } else if (ANIMATION_STEP_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(CustomViewDslContext.class)) {
-                        new CustomViewAnimationStepParser().parse(getContext(CustomViewDslContext.class), tokens);
+        dispatchTable.on(INSTANCE_OF_TOKEN).in(DeploymentNodeDslContext.class).handle(statement -> {
+            StaticStructureElementInstance instance = new InstanceOfParser().parse(getContext(DeploymentNodeDslContext.class), statement.getTokens().withoutContextStartToken());
 
-                    } else if (ANIMATION_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(CustomViewDslContext.class)) {
-                        startContext(new CustomViewAnimationDslContext(getContext(CustomViewDslContext.class).getCustomView()));
+            if (instance instanceof SoftwareSystemInstance) {
+                if (shouldStartContext(statement.getTokens())) {
+                    startContext(new SoftwareSystemInstanceDslContext((SoftwareSystemInstance)instance));
+                }
+            } else if (instance instanceof ContainerInstance) {
+                if (shouldStartContext(statement.getTokens())) {
+                    startContext(new ContainerInstanceDslContext((ContainerInstance)instance));
+                }
+            }
 
-                    } else if (inContext(CustomViewAnimationDslContext.class)) {
-                        new CustomViewAnimationStepParser().parse(getContext(CustomViewAnimationDslContext.class), tokens);
+            registerIdentifier(statement.getIdentifier(), instance);
+        });
 
-                    } else if (INCLUDE_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(StaticViewDslContext.class)) {
-                        new StaticViewContentParser().parseInclude(getContext(StaticViewDslContext.class), tokens);
+        dispatchTable.on(SOFTWARE_SYSTEM_INSTANCE_TOKEN).in(DeploymentNodeDslContext.class).handle(statement -> {
+            SoftwareSystemInstance softwareSystemInstance = new SoftwareSystemInstanceParser().parse(getContext(DeploymentNodeDslContext.class), statement.getTokens().withoutContextStartToken());
 
-                    } else if (EXCLUDE_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(StaticViewDslContext.class)) {
-                        new StaticViewContentParser().parseExclude(getContext(StaticViewDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new SoftwareSystemInstanceDslContext(softwareSystemInstance));
+            }
 
-                    } else if (ANIMATION_STEP_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(StaticViewDslContext.class)) {
-                        new StaticViewAnimationStepParser().parse(getContext(StaticViewDslContext.class), tokens);
+            registerIdentifier(statement.getIdentifier(), softwareSystemInstance);
+        });
 
-                    } else if (ANIMATION_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(StaticViewDslContext.class)) {
-                        startContext(new StaticViewAnimationDslContext(getContext(StaticViewDslContext.class).getView()));
+        dispatchTable.on(CONTAINER_INSTANCE_TOKEN).in(DeploymentNodeDslContext.class).handle(statement -> {
+            ContainerInstance containerInstance = new ContainerInstanceParser().parse(getContext(DeploymentNodeDslContext.class), statement.getTokens().withoutContextStartToken());
 
-                    } else if (inContext(StaticViewAnimationDslContext.class)) {
-                        new StaticViewAnimationStepParser().parse(getContext(StaticViewAnimationDslContext.class), tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new ContainerInstanceDslContext(containerInstance));
+            }
 
-                    } else if (INCLUDE_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentViewDslContext.class)) {
-                        new DeploymentViewContentParser().parseInclude(getContext(DeploymentViewDslContext.class), tokens);
+            registerIdentifier(statement.getIdentifier(), containerInstance);
+        });
 
-                    } else if (EXCLUDE_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentViewDslContext.class)) {
-                        new DeploymentViewContentParser().parseExclude(getContext(DeploymentViewDslContext.class), tokens);
+        dispatchTable.on(HEALTH_CHECK_TOKEN).in(StaticStructureElementInstanceDslContext.class).handle(statement -> new HealthCheckParser().parse(getContext(StaticStructureElementInstanceDslContext.class), statement.getTokens().withoutContextStartToken()));
 
-                    } else if (ANIMATION_STEP_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentViewDslContext.class)) {
-                        new DeploymentViewAnimationStepParser().parse(getContext(DeploymentViewDslContext.class), tokens);
+        dispatchTable.on(CUSTOM_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            CustomView view = new CustomViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new CustomViewDslContext(view));
+        });
 
-                    } else if (ANIMATION_IN_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(DeploymentViewDslContext.class)) {
-                        startContext(new DeploymentViewAnimationDslContext(getContext(DeploymentViewDslContext.class).getView()));
+        dispatchTable.on(SYSTEM_LANDSCAPE_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            SystemLandscapeView view = new SystemLandscapeViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new SystemLandscapeViewDslContext(view));
+        });
 
-                    } else if (inContext(DeploymentViewAnimationDslContext.class)) {
-                        new DeploymentViewAnimationStepParser().parse(getContext(DeploymentViewAnimationDslContext.class), tokens);
+        dispatchTable.on(SYSTEM_CONTEXT_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            SystemContextView view = new SystemContextViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new SystemContextViewDslContext(view));
+        });
 
-                    } else if (AUTOLAYOUT_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewDslContext.class)) {
-                        new AutoLayoutParser().parse(getContext(ModelViewDslContext.class), tokens);
+        dispatchTable.on(CONTAINER_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            ContainerView view = new ContainerViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new ContainerViewDslContext(view));
+        });
 
-                    } else if (DEFAULT_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewDslContext.class)) {
-                        new DefaultViewParser().parse(getContext(ViewDslContext.class));
+        dispatchTable.on(COMPONENT_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            ComponentView view = new ComponentViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new ComponentViewDslContext(view));
+        });
 
-                    } else if (VIEW_TITLE_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewDslContext.class)) {
-                        new ViewParser().parseTitle(getContext(ViewDslContext.class), tokens);
+        dispatchTable.on(DYNAMIC_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            DynamicView view = new DynamicViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new DynamicViewDslContext(view));
+        });
 
-                    } else if (VIEW_DESCRIPTION_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewDslContext.class)) {
-                        new ViewParser().parseDescription(getContext(ViewDslContext.class), tokens);
+        dispatchTable.on(DEPLOYMENT_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            DeploymentView view = new DeploymentViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new DeploymentViewDslContext(view));
+        });
 
-                    } else if (PLANTUML_TOKEN.equalsIgnoreCase(firstToken) && inContext(ImageViewDslContext.class)) {
-                        new ImageViewContentParser().parsePlantUML(getContext(ImageViewDslContext.class), dslFile, tokens);
+        dispatchTable.on(FILTERED_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            FilteredView view = new FilteredViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
 
-                    } else if (MERMAID_TOKEN.equalsIgnoreCase(firstToken) && inContext(ImageViewDslContext.class)) {
-                        new ImageViewContentParser().parseMermaid(getContext(ImageViewDslContext.class), dslFile, tokens);
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new FilteredViewDslContext(view));
+            }
+        });
 
-                    } else if (KROKI_TOKEN.equalsIgnoreCase(firstToken) && inContext(ImageViewDslContext.class)) {
-                        new ImageViewContentParser().parseKroki(getContext(ImageViewDslContext.class), dslFile, tokens);
+        dispatchTable.on(IMAGE_VIEW_TOKEN).in(ViewsDslContext.class).handle(statement -> {
+            ImageView view = new ImageViewParser().parse(getContext(), statement.getTokens().withoutContextStartToken());
+            startContext(new ImageViewDslContext(view));
+        });
 
-                    } else if (IMAGE_VIEW_TOKEN.equalsIgnoreCase(firstToken) && inContext(ImageViewDslContext.class)) {
-                        new ImageViewContentParser().parseImage(getContext(ImageViewDslContext.class), dslFile, tokens);
+        dispatchTable.on(DslContext.CONTEXT_START_TOKEN).in(DynamicViewDslContext.class).handle(statement -> startContext(new DynamicViewParallelSequenceDslContext(getContext(DynamicViewDslContext.class))));
 
-                    } else if (LIGHT_COLOR_SCHEME_TOKEN.equalsIgnoreCase(firstToken) && inContext(ImageViewDslContext.class) && shouldStartContext(tokens)) {
-                        ImageViewDslContext context = getContext(ImageViewDslContext.class);
-                        context.setColorScheme(ColorScheme.Light);
-                        startContext(context);
+        dispatchTable.on(INCLUDE_IN_VIEW_TOKEN).in(CustomViewDslContext.class).handle(statement -> new CustomViewContentParser().parseInclude(getContext(CustomViewDslContext.class), statement.getTokens()));
 
-                    } else if (DARK_COLOR_SCHEME_TOKEN.equalsIgnoreCase(firstToken) && inContext(ImageViewDslContext.class) && shouldStartContext(tokens)) {
-                        ImageViewDslContext context = getContext(ImageViewDslContext.class);
-                        context.setColorScheme(ColorScheme.Dark);
-                        startContext(context);
+        dispatchTable.on(EXCLUDE_IN_VIEW_TOKEN).in(CustomViewDslContext.class).handle(statement -> new CustomViewContentParser().parseExclude(getContext(CustomViewDslContext.class), statement.getTokens()));
 
-                    } else if (inContext(DynamicViewDslContext.class)) {
-                        RelationshipView relationshipView = new DynamicViewContentParser().parseRelationship(getContext(DynamicViewDslContext.class), tokens);
+        dispatchTable.on(ANIMATION_STEP_IN_VIEW_TOKEN).in(CustomViewDslContext.class).handle(statement -> new CustomViewAnimationStepParser().parse(getContext(CustomViewDslContext.class), statement.getTokens()));
 
-                        if (inContext(DynamicViewParallelSequenceDslContext.class)) {
-                            getContext(DynamicViewParallelSequenceDslContext.class).hasRelationships(true);
-                        }
+        dispatchTable.on(ANIMATION_IN_VIEW_TOKEN).in(CustomViewDslContext.class).handle(statement -> startContext(new CustomViewAnimationDslContext(getContext(CustomViewDslContext.class).getCustomView())));
 
-                        if (shouldStartContext(tokens)) {
-                            startContext(new DynamicViewRelationshipContext(relationshipView));
-                        }
+        dispatchTable.onAnyKeyword().in(CustomViewAnimationDslContext.class).handle(statement -> new CustomViewAnimationStepParser().parse(getContext(CustomViewAnimationDslContext.class), statement.getTokens()));
 
-                    } else if (URL_TOKEN.equalsIgnoreCase(firstToken) && inContext(DynamicViewRelationshipContext.class)) {
-                        new DynamicViewRelationshipParser().parseUrl(getContext(DynamicViewRelationshipContext.class), tokens.withoutContextStartToken());
+        dispatchTable.on(INCLUDE_IN_VIEW_TOKEN).in(StaticViewDslContext.class).handle(statement -> new StaticViewContentParser().parseInclude(getContext(StaticViewDslContext.class), statement.getTokens()));
 
-                    } else if (THEME_TOKEN.equalsIgnoreCase(firstToken) && (inContext(ViewsDslContext.class) || inContext(StylesDslContext.class))) {
-                        new ThemeParser().parseTheme(getContext(), dslFile, tokens);
+        dispatchTable.on(EXCLUDE_IN_VIEW_TOKEN).in(StaticViewDslContext.class).handle(statement -> new StaticViewContentParser().parseExclude(getContext(StaticViewDslContext.class), statement.getTokens()));
 
-                    } else if (THEMES_TOKEN.equalsIgnoreCase(firstToken) && (inContext(ViewsDslContext.class) || inContext(StylesDslContext.class))) {
-                        new ThemeParser().parseThemes(getContext(), dslFile, tokens);
+        dispatchTable.on(ANIMATION_STEP_IN_VIEW_TOKEN).in(StaticViewDslContext.class).handle(statement -> new StaticViewAnimationStepParser().parse(getContext(StaticViewDslContext.class), statement.getTokens()));
 
-                    } else if (TERMINOLOGY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ViewsDslContext.class)) {
-                        startContext(new TerminologyDslContext());
+        dispatchTable.on(ANIMATION_IN_VIEW_TOKEN).in(StaticViewDslContext.class).handle(statement -> startContext(new StaticViewAnimationDslContext(getContext(StaticViewDslContext.class).getView())));
 
-                    } else if (PERSON_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parsePerson(getContext(), tokens);
+        dispatchTable.onAnyKeyword().in(StaticViewAnimationDslContext.class).handle(statement -> new StaticViewAnimationStepParser().parse(getContext(StaticViewAnimationDslContext.class), statement.getTokens()));
 
-                    } else if (SOFTWARE_SYSTEM_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parseSoftwareSystem(getContext(), tokens);
+        dispatchTable.on(INCLUDE_IN_VIEW_TOKEN).in(DeploymentViewDslContext.class).handle(statement -> new DeploymentViewContentParser().parseInclude(getContext(DeploymentViewDslContext.class), statement.getTokens()));
 
-                    } else if (CONTAINER_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parseContainer(getContext(), tokens);
+        dispatchTable.on(EXCLUDE_IN_VIEW_TOKEN).in(DeploymentViewDslContext.class).handle(statement -> new DeploymentViewContentParser().parseExclude(getContext(DeploymentViewDslContext.class), statement.getTokens()));
 
-                    } else if (COMPONENT_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parseComponent(getContext(), tokens);
+        dispatchTable.on(ANIMATION_STEP_IN_VIEW_TOKEN).in(DeploymentViewDslContext.class).handle(statement -> new DeploymentViewAnimationStepParser().parse(getContext(DeploymentViewDslContext.class), statement.getTokens()));
 
-                    } else if (DEPLOYMENT_NODE_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parseDeploymentNode(getContext(), tokens);
+        dispatchTable.on(ANIMATION_IN_VIEW_TOKEN).in(DeploymentViewDslContext.class).handle(statement -> startContext(new DeploymentViewAnimationDslContext(getContext(DeploymentViewDslContext.class).getView())));
 
-                    } else if (INFRASTRUCTURE_NODE_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parseInfrastructureNode(getContext(), tokens);
+        dispatchTable.onAnyKeyword().in(DeploymentViewAnimationDslContext.class).handle(statement -> new DeploymentViewAnimationStepParser().parse(getContext(DeploymentViewAnimationDslContext.class), statement.getTokens()));
 
-                    } else if (TERMINOLOGY_RELATIONSHIP_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parseRelationship(getContext(), tokens);
+        dispatchTable.on(AUTOLAYOUT_VIEW_TOKEN).in(ViewDslContext.class).handle(statement -> new AutoLayoutParser().parse(getContext(ModelViewDslContext.class), statement.getTokens()));
 
-                    } else if (METADATA_SYMBOLS_TOKEN.equalsIgnoreCase(firstToken) && inContext(TerminologyDslContext.class)) {
-                        new TerminologyParser().parseMetadataSymbols(getContext(), tokens);
+        dispatchTable.on(DEFAULT_VIEW_TOKEN).in(ViewDslContext.class).handle(statement -> new DefaultViewParser().parse(getContext(ViewDslContext.class)));
 
-                    } else if (CONFIGURATION_TOKEN.equalsIgnoreCase(firstToken) && inContext(WorkspaceDslContext.class)) {
-                        startContext(new ConfigurationDslContext());
+        dispatchTable.on(VIEW_TITLE_TOKEN).in(ViewDslContext.class).handle(statement -> new ViewParser().parseTitle(getContext(ViewDslContext.class), statement.getTokens()));
 
-                    } else if (SCOPE_TOKEN.equalsIgnoreCase(firstToken) && inContext(ConfigurationDslContext.class)) {
-                        new ConfigurationParser().parseScope(getContext(), tokens);
+        dispatchTable.on(VIEW_DESCRIPTION_TOKEN).in(ViewDslContext.class).handle(statement -> new ViewParser().parseDescription(getContext(ViewDslContext.class), statement.getTokens()));
 
-                    } else if (VISIBILITY_TOKEN.equalsIgnoreCase(firstToken) && inContext(ConfigurationDslContext.class)) {
-                        new ConfigurationParser().parseVisibility(getContext(), tokens);
+        dispatchTable.on(PLANTUML_TOKEN).in(ImageViewDslContext.class).handle(statement -> new ImageViewContentParser().parsePlantUML(getContext(ImageViewDslContext.class), statement.getDslFile(), statement.getTokens()));
 
-                    } else if (USERS_TOKEN.equalsIgnoreCase(firstToken) && inContext(ConfigurationDslContext.class)) {
-                        startContext(new UsersDslContext());
+        dispatchTable.on(MERMAID_TOKEN).in(ImageViewDslContext.class).handle(statement -> new ImageViewContentParser().parseMermaid(getContext(ImageViewDslContext.class), statement.getDslFile(), statement.getTokens()));
 
-                    } else if (inContext(UsersDslContext.class)) {
-                        new UserRoleParser().parse(getContext(), tokens);
+        dispatchTable.on(KROKI_TOKEN).in(ImageViewDslContext.class).handle(statement -> new ImageViewContentParser().parseKroki(getContext(ImageViewDslContext.class), statement.getDslFile(), statement.getTokens()));
 
-                    } else if (DOCS_TOKEN.equalsIgnoreCase(firstToken) && inContext(WorkspaceDslContext.class)) {
-                        if (features.isEnabled(Features.DOCUMENTATION)) {
-                            DocumentationDslContext context = new DocumentationDslContext(getContext(WorkspaceDslContext.class).getWorkspace(), dslFile);
-                            new DocsParser().parse(context, tokens.withoutContextStartToken());
+        dispatchTable.on(IMAGE_VIEW_TOKEN).in(ImageViewDslContext.class).handle(statement -> new ImageViewContentParser().parseImage(getContext(ImageViewDslContext.class), statement.getDslFile(), statement.getTokens()));
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DOCUMENTATION, firstToken + " is not permitted");
-                        }
+        dispatchTable.on(LIGHT_COLOR_SCHEME_TOKEN).in(ImageViewDslContext.class).when(statement -> shouldStartContext(statement.getTokens())).handle(statement -> {
+            ImageViewDslContext context = getContext(ImageViewDslContext.class);
+            context.setColorScheme(ColorScheme.Light);
+            startContext(context);
+        });
 
-                    } else if (DOCS_TOKEN.equalsIgnoreCase(firstToken) && inContext(SoftwareSystemDslContext.class)) {
-                        if (features.isEnabled(Features.DOCUMENTATION)) {
-                            DocumentationDslContext context = new DocumentationDslContext(getContext(SoftwareSystemDslContext.class).getSoftwareSystem(), dslFile);
-                            new DocsParser().parse(context, tokens.withoutContextStartToken());
+        dispatchTable.on(DARK_COLOR_SCHEME_TOKEN).in(ImageViewDslContext.class).when(statement -> shouldStartContext(statement.getTokens())).handle(statement -> {
+            ImageViewDslContext context = getContext(ImageViewDslContext.class);
+            context.setColorScheme(ColorScheme.Dark);
+            startContext(context);
+        });
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DOCUMENTATION, firstToken + " is not permitted");
-                        }
+        dispatchTable.onAnyKeyword().in(DynamicViewDslContext.class).handle(statement -> {
+            RelationshipView relationshipView = new DynamicViewContentParser().parseRelationship(getContext(DynamicViewDslContext.class), statement.getTokens());
 
-                    } else if (DOCS_TOKEN.equalsIgnoreCase(firstToken) && inContext(ContainerDslContext.class)) {
-                        if (features.isEnabled(Features.DOCUMENTATION)) {
-                            DocumentationDslContext context = new DocumentationDslContext(getContext(ContainerDslContext.class).getContainer(), dslFile);
-                            new DocsParser().parse(context, tokens.withoutContextStartToken());
+            if (inContext(DynamicViewParallelSequenceDslContext.class)) {
+                getContext(DynamicViewParallelSequenceDslContext.class).hasRelationships(true);
+            }
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DOCUMENTATION, firstToken + " is not permitted");
-                        }
+            if (shouldStartContext(statement.getTokens())) {
+                startContext(new DynamicViewRelationshipContext(relationshipView));
+            }
+        });
 
-                    } else if (DOCS_TOKEN.equalsIgnoreCase(firstToken) && inContext(ComponentDslContext.class)) {
-                        if (features.isEnabled(Features.DOCUMENTATION)) {
-                            DocumentationDslContext context = new DocumentationDslContext(getContext(ComponentDslContext.class).getComponent(), dslFile);
-                            new DocsParser().parse(context, tokens.withoutContextStartToken());
+        dispatchTable.on(URL_TOKEN).in(DynamicViewRelationshipContext.class).handle(statement -> new DynamicViewRelationshipParser().parseUrl(getContext(DynamicViewRelationshipContext.class), statement.getTokens().withoutContextStartToken()));
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DOCUMENTATION, firstToken + " is not permitted");
-                        }
+        dispatchTable.on(THEME_TOKEN).in(ViewsDslContext.class, StylesDslContext.class).handle(statement -> new ThemeParser().parseTheme(getContext(), statement.getDslFile(), statement.getTokens()));
 
-                    } else if (DOCS_EXCLUDE.equalsIgnoreCase(firstToken) && inContext(DocumentationDslContext.class)) {
-                        new DocsParser().parseExclude(getContext(DocumentationDslContext.class), tokens);
+        dispatchTable.on(THEMES_TOKEN).in(ViewsDslContext.class, StylesDslContext.class).handle(statement -> new ThemeParser().parseThemes(getContext(), statement.getDslFile(), statement.getTokens()));
 
-                    } else if ((ADRS_TOKEN.equalsIgnoreCase(firstToken) || DECISIONS_TOKEN.equalsIgnoreCase(firstToken)) && inContext(WorkspaceDslContext.class)) {
-                        if (features.isEnabled(Features.DECISIONS)) {
-                            DecisionsDslContext context = new DecisionsDslContext(getContext(WorkspaceDslContext.class).getWorkspace(), dslFile);
-                            new DecisionsParser().parse(context, tokens.withoutContextStartToken());
+        dispatchTable.on(TERMINOLOGY_TOKEN).in(ViewsDslContext.class).handle(statement -> startContext(new TerminologyDslContext()));
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DECISIONS, firstToken + " is not permitted");
-                        }
+        dispatchTable.on(PERSON_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parsePerson(getContext(), statement.getTokens()));
 
-                    } else if ((ADRS_TOKEN.equalsIgnoreCase(firstToken) || DECISIONS_TOKEN.equalsIgnoreCase(firstToken)) && inContext(SoftwareSystemDslContext.class)) {
-                        if (features.isEnabled(Features.DECISIONS)) {
-                            DecisionsDslContext context = new DecisionsDslContext(getContext(SoftwareSystemDslContext.class).getSoftwareSystem(), dslFile);
-                            new DecisionsParser().parse(context, tokens.withoutContextStartToken());
+        dispatchTable.on(SOFTWARE_SYSTEM_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parseSoftwareSystem(getContext(), statement.getTokens()));
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DECISIONS, firstToken + " is not permitted");
-                        }
+        dispatchTable.on(CONTAINER_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parseContainer(getContext(), statement.getTokens()));
 
-                    } else if ((ADRS_TOKEN.equalsIgnoreCase(firstToken) || DECISIONS_TOKEN.equalsIgnoreCase(firstToken)) && inContext(ContainerDslContext.class)) {
-                        if (features.isEnabled(Features.DECISIONS)) {
-                            DecisionsDslContext context = new DecisionsDslContext(getContext(ContainerDslContext.class).getContainer(), dslFile);
-                            new DecisionsParser().parse(context, tokens.withoutContextStartToken());
+        dispatchTable.on(COMPONENT_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parseComponent(getContext(), statement.getTokens()));
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DECISIONS, firstToken + " is not permitted");
-                        }
+        dispatchTable.on(DEPLOYMENT_NODE_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parseDeploymentNode(getContext(), statement.getTokens()));
 
-                    } else if ((ADRS_TOKEN.equalsIgnoreCase(firstToken) || DECISIONS_TOKEN.equalsIgnoreCase(firstToken)) && inContext(ComponentDslContext.class)) {
-                        if (features.isEnabled(Features.DECISIONS)) {
-                            DecisionsDslContext context = new DecisionsDslContext(getContext(ComponentDslContext.class).getComponent(), dslFile);
-                            new DecisionsParser().parse(context, tokens.withoutContextStartToken());
+        dispatchTable.on(INFRASTRUCTURE_NODE_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parseInfrastructureNode(getContext(), statement.getTokens()));
 
-                            startContext(context);
-                            if (!shouldStartContext(tokens)) {
-                                endContext();
-                            }
-                        } else {
-                            throw new FeatureNotEnabledException(Features.DECISIONS, firstToken + " is not permitted");
-                        }
+        dispatchTable.on(TERMINOLOGY_RELATIONSHIP_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parseRelationship(getContext(), statement.getTokens()));
 
-                    } else if (DECISIONS_EXCLUDE.equalsIgnoreCase(firstToken) && inContext(DecisionsDslContext.class)) {
-                        new DecisionsParser().parseExclude(getContext(DecisionsDslContext.class), tokens);
+        dispatchTable.on(METADATA_SYMBOLS_TOKEN).in(TerminologyDslContext.class).handle(statement -> new TerminologyParser().parseMetadataSymbols(getContext(), statement.getTokens()));
 
-                    } else if (CONSTANT_TOKEN.equalsIgnoreCase(firstToken)) {
-                        throw new RuntimeException("!constant was previously deprecated, and has now been removed - please use !const or !var instead");
+        dispatchTable.on(CONFIGURATION_TOKEN).in(WorkspaceDslContext.class).handle(statement -> startContext(new ConfigurationDslContext()));
 
-                    } else if (CONST_TOKEN.equalsIgnoreCase(firstToken)) {
-                        NameValuePair nameValuePair = new NameValueParser().parseConstant(tokens);
-                        try {
-                            addConstant(nameValuePair);
-                        } catch (IllegalArgumentException e) {
-                            throw new StructurizrDslParserException(e.getMessage());
-                        }
+        dispatchTable.on(SCOPE_TOKEN).in(ConfigurationDslContext.class).handle(statement -> new ConfigurationParser().parseScope(getContext(), statement.getTokens()));
 
-                    } else if (VAR_TOKEN.equalsIgnoreCase(firstToken)) {
-                        NameValuePair nameValuePair = new NameValueParser().parseVariable(tokens);
-                        addVariable(nameValuePair);
+        dispatchTable.on(VISIBILITY_TOKEN).in(ConfigurationDslContext.class).handle(statement -> new ConfigurationParser().parseVisibility(getContext(), statement.getTokens()));
 
-                    } else if (IDENTIFIERS_TOKEN.equalsIgnoreCase(firstToken) && (inContext(WorkspaceDslContext.class) || inContext(ModelDslContext.class))) {
-                        setIdentifierScope(new IdentifierScopeParser().parse(getContext(), tokens));
+        dispatchTable.on(USERS_TOKEN).in(ConfigurationDslContext.class).handle(statement -> startContext(new UsersDslContext()));
 
-                    } else {
-                        String[] expectedTokens;
-                        if (getContext() == null) {
-                            if (getWorkspace() == null) {
-                                // the workspace hasn't yet been created
-                                expectedTokens = new String[]{
-                                        StructurizrDslTokens.WORKSPACE_TOKEN
-                                };
-                            } else {
-                                expectedTokens = new String[0];
-                            }
-                        } else {
-                            expectedTokens = getContext().getPermittedTokens();
-                        }
+        dispatchTable.onAnyKeyword().in(UsersDslContext.class).handle(statement -> new UserRoleParser().parse(getContext(), statement.getTokens()));
 
-                        if (expectedTokens.length > 0) {
-                            StringBuilder buf = new StringBuilder();
-                            for (String expectedToken : expectedTokens) {
-                                buf.append(expectedToken);
-                                buf.append(", ");
-                            }
-                            throw new StructurizrDslParserException("Unexpected tokens (expected: " + buf.substring(0, buf.length() - 2) + ")");
-                        } else {
-                            throw new StructurizrDslParserException("Unexpected tokens");
-                        }
-                    }
+        dispatchTable.on(DOCS_TOKEN).in(WorkspaceDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DOCUMENTATION)) {
+                DocumentationDslContext context = new DocumentationDslContext(getContext(WorkspaceDslContext.class).getWorkspace(), statement.getDslFile());
+                new DocsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
                 }
-            } catch (Exception e) {
-                if (e.getMessage() != null) {
-                    throw new StructurizrDslParserException(e.getMessage(), dslFile, dslLine.getLineNumber(), line);
-                } else {
-                    throw new StructurizrDslParserException(e.getClass().getSimpleName(), dslFile, dslLine.getLineNumber(), line);
+            } else {
+                throw new FeatureNotEnabledException(Features.DOCUMENTATION, statement.getFirstToken() + " is not permitted");
+            }
+        });
+
+        dispatchTable.on(DOCS_TOKEN).in(SoftwareSystemDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DOCUMENTATION)) {
+                DocumentationDslContext context = new DocumentationDslContext(getContext(SoftwareSystemDslContext.class).getSoftwareSystem(), statement.getDslFile());
+                new DocsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
                 }
+            } else {
+                throw new FeatureNotEnabledException(Features.DOCUMENTATION, statement.getFirstToken() + " is not permitted");
             }
-        }
+        });
 
-        if (!fragment && !contextStack.empty()) {
-            throw new StructurizrDslParserException("Unexpected end of DSL content - are one or more closing curly braces missing?");
-        }
+        dispatchTable.on(DOCS_TOKEN).in(ContainerDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DOCUMENTATION)) {
+                DocumentationDslContext context = new DocumentationDslContext(getContext(ContainerDslContext.class).getContainer(), statement.getDslFile());
+                new DocsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.DOCUMENTATION, statement.getFirstToken() + " is not permitted");
+            }
+        });
+
+        dispatchTable.on(DOCS_TOKEN).in(ComponentDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DOCUMENTATION)) {
+                DocumentationDslContext context = new DocumentationDslContext(getContext(ComponentDslContext.class).getComponent(), statement.getDslFile());
+                new DocsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.DOCUMENTATION, statement.getFirstToken() + " is not permitted");
+            }
+        });
+
+        dispatchTable.on(DOCS_EXCLUDE).in(DocumentationDslContext.class).handle(statement -> new DocsParser().parseExclude(getContext(DocumentationDslContext.class), statement.getTokens()));
+
+        dispatchTable.on(ADRS_TOKEN, DECISIONS_TOKEN).in(WorkspaceDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DECISIONS)) {
+                DecisionsDslContext context = new DecisionsDslContext(getContext(WorkspaceDslContext.class).getWorkspace(), statement.getDslFile());
+                new DecisionsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.DECISIONS, statement.getFirstToken() + " is not permitted");
+            }
+        });
+
+        dispatchTable.on(ADRS_TOKEN, DECISIONS_TOKEN).in(SoftwareSystemDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DECISIONS)) {
+                DecisionsDslContext context = new DecisionsDslContext(getContext(SoftwareSystemDslContext.class).getSoftwareSystem(), statement.getDslFile());
+                new DecisionsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.DECISIONS, statement.getFirstToken() + " is not permitted");
+            }
+        });
+
+        dispatchTable.on(ADRS_TOKEN, DECISIONS_TOKEN).in(ContainerDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DECISIONS)) {
+                DecisionsDslContext context = new DecisionsDslContext(getContext(ContainerDslContext.class).getContainer(), statement.getDslFile());
+                new DecisionsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.DECISIONS, statement.getFirstToken() + " is not permitted");
+            }
+        });
+
+        dispatchTable.on(ADRS_TOKEN, DECISIONS_TOKEN).in(ComponentDslContext.class).handle(statement -> {
+            if (features.isEnabled(Features.DECISIONS)) {
+                DecisionsDslContext context = new DecisionsDslContext(getContext(ComponentDslContext.class).getComponent(), statement.getDslFile());
+                new DecisionsParser().parse(context, statement.getTokens().withoutContextStartToken());
+
+                startContext(context);
+                if (!shouldStartContext(statement.getTokens())) {
+                    endContext();
+                }
+            } else {
+                throw new FeatureNotEnabledException(Features.DECISIONS, statement.getFirstToken() + " is not permitted");
+            }
+        });
+
+        dispatchTable.on(DECISIONS_EXCLUDE).in(DecisionsDslContext.class).handle(statement -> new DecisionsParser().parseExclude(getContext(DecisionsDslContext.class), statement.getTokens()));
+
+        dispatchTable.on(CONSTANT_TOKEN).handle(statement -> {
+            throw new RuntimeException("!constant was previously deprecated, and has now been removed - please use !const or !var instead");
+        });
+
+        dispatchTable.on(CONST_TOKEN).handle(statement -> {
+            NameValuePair nameValuePair = new NameValueParser().parseConstant(statement.getTokens());
+            try {
+                addConstant(nameValuePair);
+            } catch (IllegalArgumentException e) {
+                throw new StructurizrDslParserException(e.getMessage());
+            }
+        });
+
+        dispatchTable.on(VAR_TOKEN).handle(statement -> {
+            NameValuePair nameValuePair = new NameValueParser().parseVariable(statement.getTokens());
+            addVariable(nameValuePair);
+        });
+
+        dispatchTable.on(IDENTIFIERS_TOKEN).in(WorkspaceDslContext.class, ModelDslContext.class).handle(statement -> setIdentifierScope(new IdentifierScopeParser().parse(getContext(), statement.getTokens())));
     }
 
     private List<DslLine> preProcessLines(List<String> lines) {
@@ -1412,10 +1480,10 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
                         buf.append("\n");
                     }
                 }
-            } else if (!COMMENT_PATTERN.matcher(line).matches() && line.endsWith(MULTI_LINE_SEPARATOR)) {
+            } else if (!Tokenizer.isComment(line) && line.endsWith(MULTI_LINE_SEPARATOR)) {
                 buf.append(line, 0, line.length() - 1);
                 lineComplete = false;
-            } else if (!COMMENT_PATTERN.matcher(line).matches() && line.endsWith(TEXT_BLOCK_MARKER)) {
+            } else if (!Tokenizer.isComment(line) && line.endsWith(TEXT_BLOCK_MARKER)) {
                 buf.append(line, 0, line.length());
                 lineComplete = false;
                 textBlock = true;
@@ -1453,6 +1521,11 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
     }
 
     private String substituteStrings(String token) {
+        if (!token.contains(STRING_SUBSTITUTION_START)) {
+            // most tokens don't reference a constant/variable, so skip the regex
+            return token;
+        }
+
         Matcher m = STRING_SUBSTITUTION_PATTERN.matcher(token);
         while (m.find()) {
             String before = m.group(0);
@@ -1469,6 +1542,7 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
             } else {
                 if (getFeatures().isEnabled(Features.ENVIRONMENT)) {
                     String environmentVariable = System.getenv().get(name);
+                    dependencyGraph.addEnvironmentVariable(name, environmentVariable);
                     if (environmentVariable != null) {
                         after = environmentVariable;
                     }
@@ -1493,6 +1567,7 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         context.setExtendingWorkspace(extendingWorkspace);
         context.setFeatures(features);
         context.setHttpClient(httpClient);
+        context.setDependencyGraph(dependencyGraph);
         contextStack.push(context);
     }
 
@@ -1597,6 +1672,173 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         archetype.addTags(parentArchetype.getTags().toArray(new String[0]));
     }
 
+    /**
+     * Gets the graph of DSL files that have been parsed (the DSL file, plus any included files), along with their
+     * content hashes; this can be used to determine whether a workspace needs to be parsed again.
+     *
+     * @return      a DslDependencyGraph object
+     */
+    public DslDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    private boolean isCheckpointRequested(DslStatement statement) {
+        if (checkpointFiles == null || checkpoint != null || statement.getDslFile() == null) {
+            return false;
+        }
+
+        if (!INCLUDE_FILE_TOKEN.equalsIgnoreCase(statement.getFirstToken()) || statement.getTokens().size() != 2) {
+            return false;
+        }
+
+        String source = statement.getTokens().get(1);
+        if (Url.isUrl(source)) {
+            return false;
+        }
+
+        for (File file : IncludeParser.listFiles(new File(statement.getDslFile().getParent(), source))) {
+            if (checkpointFiles.contains(DslDependencyGraph.normalize(file))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private DslParserCheckpoint createCheckpoint(File dslFile, int lineNumber) {
+        if (workspace == null || idGenerator == null || !dependencyGraph.isComplete()) {
+            return null;
+        }
+
+        // only the contexts that can be recreated without any state (other than the workspace) are supported
+        List<DslParserCheckpoint.ContextType> contextTypes = new ArrayList<>();
+        List<Boolean> contextsDslPortable = new ArrayList<>();
+        for (DslContext context : contextStack) {
+            if (context instanceof WorkspaceDslContext) {
+                contextTypes.add(DslParserCheckpoint.ContextType.Workspace);
+            } else if (context instanceof ModelDslContext && !isGroup(context)) {
+                contextTypes.add(DslParserCheckpoint.ContextType.Model);
+            } else if (context instanceof ViewsDslContext) {
+                contextTypes.add(DslParserCheckpoint.ContextType.Views);
+            } else {
+                return null;
+            }
+            contextsDslPortable.add(context.isDslPortable());
+        }
+
+        // identifiers are restored by ID, so every registered element and relationship needs to be in the model
+        Map<String, String> elementIdsByIdentifier = new HashMap<>();
+        Map<String, String> deploymentEnvironmentsByIdentifier = new HashMap<>();
+        for (String identifier : identifiersRegister.getElementIdentifiers()) {
+            Element element = identifiersRegister.getElement(identifier);
+            if (element instanceof DeploymentEnvironment) {
+                deploymentEnvironmentsByIdentifier.put(identifier, element.getName());
+            } else if (workspace.getModel().getElement(element.getId()) == element) {
+                elementIdsByIdentifier.put(identifier, element.getId());
+            } else {
+                return null;
+            }
+        }
+
+        Map<String, String> relationshipIdsByIdentifier = new HashMap<>();
+        for (String identifier : identifiersRegister.getRelationshipIdentifiers()) {
+            Relationship relationship = identifiersRegister.getRelationship(identifier);
+            if (workspace.getModel().getRelationship(relationship.getId()) == relationship) {
+                relationshipIdsByIdentifier.put(identifier, relationship.getId());
+            } else {
+                return null;
+            }
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            new JsonWriter(false).writeToStream(workspace, outputStream);
+        } catch (Exception e) {
+            log.warn("Could not create a checkpoint at line " + lineNumber + " of " + dslFile.getAbsolutePath(), e);
+            return null;
+        }
+
+        Map<String, Map<String, Archetype>> archetypesCopy = new HashMap<>();
+        archetypes.forEach((type, archetypesByName) -> archetypesCopy.put(type, new HashMap<>(archetypesByName)));
+
+        DslDependencyGraph dependencyGraphCopy = new DslDependencyGraph();
+        dependencyGraphCopy.copyFrom(dependencyGraph);
+
+        DslParserCheckpoint checkpoint = new DslParserCheckpoint(dslFile, characterEncoding, lineNumber);
+        checkpoint.setWorkspaceJson(outputStream.toByteArray());
+        checkpoint.setImpliedRelationshipsStrategy(workspace.getModel().getImpliedRelationshipsStrategy());
+        checkpoint.setLastId(idGenerator.getLastId());
+        checkpoint.setExtendingWorkspace(extendingWorkspace);
+        checkpoint.setIdentifierScope(identifierScope);
+        checkpoint.setElementIdsByIdentifier(elementIdsByIdentifier);
+        checkpoint.setDeploymentEnvironmentsByIdentifier(deploymentEnvironmentsByIdentifier);
+        checkpoint.setRelationshipIdsByIdentifier(relationshipIdsByIdentifier);
+        checkpoint.setConstantsAndVariables(new HashMap<>(constantsAndVariables));
+        checkpoint.setArchetypes(archetypesCopy);
+        checkpoint.setParsedTokens(new HashSet<>(parsedTokens));
+        checkpoint.setDslSourceLines(new ArrayList<>(dslSourceLines));
+        checkpoint.setDslPortable(dslPortable);
+        checkpoint.setContextTypes(contextTypes);
+        checkpoint.setContextsDslPortable(contextsDslPortable);
+        checkpoint.setDependencyGraph(dependencyGraphCopy);
+
+        return checkpoint;
+    }
+
+    private void restore(DslParserCheckpoint checkpoint) throws StructurizrDslParserException {
+        idGenerator = new ResumableIdGenerator();
+        try {
+            JsonReader jsonReader = new JsonReader();
+            jsonReader.setIdGenerator(idGenerator);
+            workspace = jsonReader.readFromStream(new ByteArrayInputStream(checkpoint.getWorkspaceJson()));
+        } catch (Exception e) {
+            throw new StructurizrDslParserException(e.getMessage());
+        }
+
+        // IDs consumed by elements/relationships that have since been removed aren't reused
+        idGenerator.found(String.valueOf(checkpoint.getLastId()));
+        workspace.getModel().setImpliedRelationshipsStrategy(checkpoint.getImpliedRelationshipsStrategy());
+        extendingWorkspace = checkpoint.isExtendingWorkspace();
+
+        setIdentifierScope(checkpoint.getIdentifierScope());
+        checkpoint.getElementIdsByIdentifier().forEach((identifier, id) -> identifiersRegister.restore(identifier, workspace.getModel().getElement(id)));
+        checkpoint.getDeploymentEnvironmentsByIdentifier().forEach((identifier, name) -> identifiersRegister.restore(identifier, new DeploymentEnvironment(name)));
+        checkpoint.getRelationshipIdsByIdentifier().forEach((identifier, id) -> identifiersRegister.restore(identifier, workspace.getModel().getRelationship(id)));
+
+        constantsAndVariables = new HashMap<>(checkpoint.getConstantsAndVariables());
+        archetypes = new HashMap<>();
+        checkpoint.getArchetypes().forEach((type, archetypesByName) -> archetypes.put(type, new HashMap<>(archetypesByName)));
+        parsedTokens.addAll(checkpoint.getParsedTokens());
+        dslSourceLines.addAll(checkpoint.getDslSourceLines());
+        dslPortable = checkpoint.isDslPortable();
+        characterEncoding = checkpoint.getCharacterEncoding();
+        dependencyGraph.copyFrom(checkpoint.getDependencyGraph());
+
+        for (int i = 0; i < checkpoint.getContextTypes().size(); i++) {
+            DslContext context;
+            switch (checkpoint.getContextTypes().get(i)) {
+                case Workspace:
+                    context = new WorkspaceDslContext(checkpoint.getDslFile());
+                    break;
+                case Model:
+                    context = new ModelDslContext();
+                    break;
+                default:
+                    context = new ViewsDslContext();
+                    break;
+            }
+
+            startContext(context);
+            context.setDslPortable(checkpoint.getContextsDslPortable().get(i));
+        }
+
+        this.checkpoint = checkpoint;
+    }
+
+    ScriptEngines getScriptEngines() {
+        return scriptEngines;
+    }
+
     /**
      * Gets the identifier register in use (this is the mapping of DSL identifiers to elements/relationships).
      *
@@ -56,6 +56,7 @@ final class ThemeParser extends AbstractParser {
                 File file = new File(dslFile.getParentFile(), theme);
                 if (file.exists()) {
                     if (file.isFile()) {
+                        context.getDependencyGraph().addInput(file);
                         try {
                             ThemeUtils.inlineAllStylesFromTheme(context.getWorkspace(), file);
                         } catch (Exception e) {
@@ -0,0 +1,61 @@
+package com.structurizr.dsl;
+
+/**
+ * A token from a line of DSL, as produced by the Tokenizer.
+ */
+final class Token {
+
+    enum Type {
+
+        /**
+         * An unquoted token (e.g. a keyword, identifier, or operator).
+         */
+        Word,
+
+        /**
+         * A quoted string (without the surrounding quotes).
+         */
+        QuotedString,
+
+        /**
+         * A single line comment (this is the only token on the line).
+         */
+        Comment
+
+    }
+
+    private final Type type;
+    private final String text;
+    private final boolean substitutable;
+
+    Token(Type type, String text, boolean substitutable) {
+        this.type = type;
+        this.text = text;
+        this.substitutable = substitutable;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    boolean isComment() {
+        return type == Type.Comment;
+    }
+
+    /**
+     * Determines whether this token references a constant/variable (i.e. it contains ${...}).
+     */
+    boolean isSubstitutable() {
+        return substitutable;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
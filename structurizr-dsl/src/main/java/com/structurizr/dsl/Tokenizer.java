@@ -5,28 +5,66 @@ import java.util.List;
 
 class Tokenizer {
 
+    private static final String SINGLE_LINE_COMMENT_TOKEN = "//";
+    private static final char HASH_COMMENT_TOKEN = '#';
+
+    // reused between lines, to avoid allocating a new buffer for every token
+    private final StringBuilder token = new StringBuilder();
+
     List<String> tokenize(String line) {
         List<String> tokens = new ArrayList<>();
-        line = line.trim();
+        for (Token token : lex(line, false)) {
+            tokens.add(token.getText());
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Converts a line of DSL into typed tokens, in a single pass. An empty line has no tokens, and a single line
+     * comment is returned as a single Comment token.
+     */
+    List<Token> lex(String line) {
+        return lex(line, true);
+    }
+
+    private List<Token> lex(String line, boolean detectComments) {
+        List<Token> tokens = new ArrayList<>();
+
+        // equivalent to line.trim(), without creating a new string
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
 
         boolean tokenStarted = false;
         boolean quoted = false;
-        StringBuilder token = new StringBuilder();
+        boolean substitutable = false;
 
-        for (int i = 0; i < line.length(); i++) {
+        for (int i = start; i < end; i++) {
             char c = line.charAt(i);
 
             if (!tokenStarted) {
                 if (c == '"') {
                     quoted = true;
                     tokenStarted = true;
-                    token = new StringBuilder();
+                    substitutable = false;
+                    token.setLength(0);
                 } else if (Character.isWhitespace(c)) {
                     // skip
+                } else if (detectComments && tokens.isEmpty() && (c == HASH_COMMENT_TOKEN || line.startsWith(SINGLE_LINE_COMMENT_TOKEN, i))) {
+                    // the rest of the line is a comment
+                    tokens.add(new Token(Token.Type.Comment, line.substring(i, end), false));
+                    return tokens;
                 } else {
                     quoted = false;
                     tokenStarted = true;
-                    token = new StringBuilder();
+                    substitutable = false;
+                    token.setLength(0);
                     token.append(c);
                 }
             } else {
@@ -35,24 +73,57 @@ class Tokenizer {
                     token.append(c);
                 } else if (quoted && c == '"') {
                     // this is the end of the token
-                    tokens.add(token.toString());
+                    tokens.add(new Token(Token.Type.QuotedString, token.toString(), substitutable));
                     tokenStarted = false;
                     quoted = false;
                 } else if (!quoted && Character.isWhitespace(c)) {
-                    tokens.add(token.toString());
+                    tokens.add(new Token(Token.Type.Word, token.toString(), substitutable));
                     tokenStarted = false;
                     quoted = false;
                 } else {
+                    if (c == '{' && !token.isEmpty() && token.charAt(token.length() - 1) == '$') {
+                        substitutable = true;
+                    }
                     token.append(c);
                 }
             }
         }
 
         if (tokenStarted) {
-            tokens.add(token.toString());
+            tokens.add(new Token(quoted ? Token.Type.QuotedString : Token.Type.Word, token.toString(), substitutable));
         }
 
         return tokens;
     }
 
-}
\ No newline at end of file
+    /**
+     * Determines whether a line is empty, or contains only whitespace.
+     */
+    static boolean isEmpty(String line) {
+        return skipWhitespace(line) == line.length();
+    }
+
+    /**
+     * Determines whether a line is a single line comment (i.e. starts with // or #, ignoring leading whitespace).
+     */
+    static boolean isComment(String line) {
+        int i = skipWhitespace(line);
+
+        return i < line.length() && (line.charAt(i) == HASH_COMMENT_TOKEN || line.startsWith(SINGLE_LINE_COMMENT_TOKEN, i));
+    }
+
+    private static int skipWhitespace(String line) {
+        int i = 0;
+        while (i < line.length() && isWhitespace(line.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static boolean isWhitespace(char c) {
+        // the same characters as \s in a regular expression
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+}
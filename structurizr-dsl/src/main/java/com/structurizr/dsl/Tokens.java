@@ -11,7 +11,13 @@ final class Tokens {
     }
 
     String get(int index) {
-        return tokens.get(index).replaceAll("\\\\\"", "\"").replaceAll("\\\\n", "\n");
+        String token = tokens.get(index);
+        if (token.indexOf('\\') == -1) {
+            // nothing to unescape
+            return token;
+        }
+
+        return token.replace("\\\"", "\"").replace("\\n", "\n");
     }
 
     void remove(int index) {
@@ -48,6 +48,7 @@ final class WorkspaceParser extends AbstractParser {
                             }
 
                             RemoteContent remoteContent = context.getHttpClient().get(source);
+                            context.getParser().getDependencyGraph().addRemoteContent();
 
                             if (source.toLowerCase().endsWith(".json") || remoteContent.getContentType().startsWith(RemoteContent.CONTENT_TYPE_JSON)) {
                                 String json = remoteContent.getContentAsString();
@@ -78,6 +79,7 @@ final class WorkspaceParser extends AbstractParser {
                                 }
 
                                 if (source.toLowerCase().endsWith(".json")) {
+                                    context.getParser().getDependencyGraph().addExtendedFile(context.getFile(), file);
                                     workspace = WorkspaceUtils.loadWorkspaceFromJson(file);
                                     registerIdentifiers(workspace, context);
                                 } else {
@@ -86,6 +88,7 @@ final class WorkspaceParser extends AbstractParser {
 
                                     workspace = structurizrDslParser.getWorkspace();
                                     context.getParser().configureFrom(structurizrDslParser);
+                                    context.getParser().getDependencyGraph().addExtendedWorkspace(context.getFile(), structurizrDslParser.getDependencyGraph());
                                 }
 
                                 DslUtils.clearDsl(workspace);
@@ -121,14 +124,14 @@ final class WorkspaceParser extends AbstractParser {
     }
 
     private void registerIdentifiers(Workspace workspace, DslParserContext context) {
-        for (Element element : workspace.getModel().getElements()) {
+        for (Element element : workspace.getModel().getElementsView()) {
             if (element.getProperties().containsKey(STRUCTURIZR_DSL_IDENTIFIER_PROPERTY_NAME)) {
                 String identifier = element.getProperties().get(STRUCTURIZR_DSL_IDENTIFIER_PROPERTY_NAME);
                 context.identifiersRegister.register(identifier, element);
             }
         }
 
-        for (Relationship relationship : workspace.getModel().getRelationships()) {
+        for (Relationship relationship : workspace.getModel().getRelationshipsView()) {
             if (relationship.getProperties().containsKey(STRUCTURIZR_DSL_IDENTIFIER_PROPERTY_NAME)) {
                 String identifier = relationship.getProperties().get(STRUCTURIZR_DSL_IDENTIFIER_PROPERTY_NAME);
                 context.identifiersRegister.register(identifier, relationship);
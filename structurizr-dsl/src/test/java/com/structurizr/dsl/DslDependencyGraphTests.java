@@ -0,0 +1,152 @@
+package com.structurizr.dsl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DslDependencyGraphTests extends AbstractTests {
+
+    @TempDir
+    File directory;
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), content);
+
+        return file;
+    }
+
+    @Test
+    void test_dependencyGraph_WhenParsingAString() throws Exception {
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse("workspace {\n}");
+
+        DslDependencyGraph graph = parser.getDependencyGraph();
+        assertNull(graph.getRoot());
+        assertFalse(graph.isComplete());
+        assertTrue(graph.hasChanged());
+    }
+
+    @Test
+    void test_dependencyGraph_WhenParsingFilesAndDirectories() throws Exception {
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    model {\n        !include model.dsl\n        !include systems\n    }\n}");
+        File modelDsl = write("model.dsl", "user = person \"User\"\n!include people/admin.dsl");
+        File adminDsl = write("people/admin.dsl", "admin = person \"Admin\"");
+        File aDsl = write("systems/a.dsl", "a = softwareSystem \"A\"");
+        File bDsl = write("systems/b.dsl", "b = softwareSystem \"B\"");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+        assertEquals(4, parser.getWorkspace().getModel().getElements().size());
+
+        DslDependencyGraph graph = parser.getDependencyGraph();
+        assertEquals(workspaceDsl.getCanonicalFile(), graph.getRoot().getCanonicalFile());
+        assertTrue(graph.isComplete());
+        assertEquals(5, graph.getFiles().size());
+        assertEquals(64, graph.getContentHash(modelDsl).length());
+        assertEquals(Set.of(graph.getRoot()), graph.getDependents(modelDsl));
+        assertEquals(2, graph.getDependents(adminDsl).size());
+        assertEquals(1, graph.getIncludes(modelDsl).size());
+        assertTrue(graph.getIncludes(adminDsl).isEmpty());
+        assertTrue(graph.getChangedFiles().isEmpty());
+        assertFalse(graph.hasChanged());
+
+        // rewriting a file with the same content isn't a change
+        write("people/admin.dsl", "admin = person \"Admin\"");
+        assertFalse(graph.hasChanged());
+
+        write("people/admin.dsl", "admin = person \"Administrator\"");
+        assertEquals(List.of(adminDsl.toPath().toAbsolutePath().normalize().toFile()), List.copyOf(graph.getChangedFiles()));
+
+        write("people/admin.dsl", "admin = person \"Admin\"");
+        assertFalse(graph.hasChanged());
+
+        // adding a file to an included directory is a change
+        write("systems/c.dsl", "c = softwareSystem \"C\"");
+        assertEquals(1, graph.getChangedFiles().size());
+        assertTrue(graph.hasChanged());
+
+        new File(directory, "systems/c.dsl").delete();
+        assertFalse(graph.hasChanged());
+
+        // and so is deleting one
+        bDsl.delete();
+        assertEquals(2, graph.getChangedFiles().size());
+        assertNotNull(graph.getContentHash(aDsl));
+    }
+
+    @Test
+    void test_dependencyGraph_WhenParsingOtherInputs() throws Exception {
+        File workspaceDsl = write("workspace.dsl", "workspace \"${STRUCTURIZR_DSL_DEPENDENCY_GRAPH_TESTS}\" {\n    !docs docs\n    model {\n        a = softwareSystem \"A\"\n    }\n    views {\n        styles {\n            element \"Element\" {\n                icon icon.png\n            }\n        }\n    }\n}");
+        write("docs/01-introduction.md", "## Introduction");
+        File icon = new File(directory, "icon.png");
+        Files.copy(new File("src/test/resources/dsl/logo.png").toPath(), icon.toPath());
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        DslDependencyGraph graph = parser.getDependencyGraph();
+        assertEquals(Set.of(new File(directory, "docs").toPath().toAbsolutePath().normalize().toFile(), icon.toPath().toAbsolutePath().normalize().toFile()), graph.getInputs());
+        assertEquals(Set.of("STRUCTURIZR_DSL_DEPENDENCY_GRAPH_TESTS"), graph.getEnvironmentVariables());
+        assertFalse(graph.hasChanged());
+
+        // adding a file to a documentation directory is a change
+        write("docs/02-context.md", "## Context");
+        assertEquals(1, graph.getChangedFiles().size());
+        assertTrue(graph.hasChanged());
+
+        new File(directory, "docs/02-context.md").delete();
+        assertFalse(graph.hasChanged());
+    }
+
+    @Test
+    void test_writeAndRead() throws Exception {
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    model {\n        !include systems\n    }\n}");
+        write("systems/a.dsl", "a = softwareSystem \"A\"");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        File file = new File(directory, "workspace.inputs");
+        parser.getDependencyGraph().write(file);
+
+        DslDependencyGraph graph = DslDependencyGraph.read(file);
+        assertEquals(parser.getDependencyGraph().getRoot(), graph.getRoot());
+        assertEquals(parser.getDependencyGraph().getFiles(), graph.getFiles());
+        assertEquals(parser.getDependencyGraph().getIncludes(workspaceDsl), graph.getIncludes(workspaceDsl));
+        assertFalse(graph.hasChanged());
+
+        write("systems/b.dsl", "b = softwareSystem \"B\"");
+        assertTrue(graph.hasChanged());
+    }
+
+    @Test
+    void test_getRootIncludes() throws Exception {
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    model {\n        !include model.dsl\n        !include systems\n    }\n}");
+        File modelDsl = write("model.dsl", "user = person \"User\"\n!include people/admin.dsl");
+        File adminDsl = write("people/admin.dsl", "admin = person \"Admin\"");
+        File aDsl = write("systems/a.dsl", "a = softwareSystem \"A\"");
+        write("systems/b.dsl", "b = softwareSystem \"B\"");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        DslDependencyGraph graph = parser.getDependencyGraph();
+        File normalizedModelDsl = modelDsl.toPath().toAbsolutePath().normalize().toFile();
+        File normalizedADsl = aDsl.toPath().toAbsolutePath().normalize().toFile();
+
+        assertEquals(Set.of(normalizedModelDsl), graph.getRootIncludes(List.of(modelDsl)));
+        assertEquals(Set.of(normalizedModelDsl), graph.getRootIncludes(List.of(adminDsl)));
+        assertEquals(Set.of(normalizedModelDsl, normalizedADsl), graph.getRootIncludes(List.of(adminDsl, aDsl)));
+        assertEquals(2, graph.getRootIncludes(List.of(new File(directory, "systems"))).size());
+        assertTrue(graph.getRootIncludes(List.of(workspaceDsl)).isEmpty());
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.structurizr.dsl;
+
+import com.structurizr.Workspace;
+import com.structurizr.model.Person;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DslDispatchTableTests extends AbstractTests {
+
+    private final DslDispatchTable dispatchTable = new DslDispatchTable();
+    private final List<String> handled = new ArrayList<>();
+
+    private DslStatement statement(String line) {
+        return new DslStatement(line, new Tokens(new Tokenizer().tokenize(line)), null, new File("."));
+    }
+
+    @Test
+    void dispatch_ReturnsFalse_WhenNoRuleMatches() throws Exception {
+        dispatchTable.on("model").in(ModelDslContext.class).handle(statement -> handled.add("model"));
+
+        assertFalse(dispatchTable.dispatch(new ModelDslContext(), statement("views {")));
+        assertFalse(dispatchTable.dispatch(null, statement("model {")));
+        assertTrue(handled.isEmpty());
+    }
+
+    @Test
+    void dispatch_MatchesKeywordsCaseInsensitively() throws Exception {
+        dispatchTable.on("softwareSystem").in(ModelDslContext.class).handle(statement -> handled.add(statement.getFirstToken()));
+
+        assertTrue(dispatchTable.dispatch(new ModelDslContext(), statement("SOFTWARESYSTEM \"Name\"")));
+        assertTrue(dispatchTable.dispatch(new ModelDslContext(), statement("softwaresystem \"Name\"")));
+        assertEquals(List.of("SOFTWARESYSTEM", "softwaresystem"), handled);
+    }
+
+    @Test
+    void dispatch_MatchesSubtypesOfTheContextType() throws Exception {
+        Person person = new Workspace("Name", "Description").getModel().addPerson("User");
+        dispatchTable.on("description").in(ElementDslContext.class).handle(statement -> handled.add("element"));
+
+        assertTrue(dispatchTable.dispatch(new PersonDslContext(person), statement("description \"Description\"")));
+        assertFalse(dispatchTable.dispatch(new ModelDslContext(), statement("description \"Description\"")));
+        assertEquals(List.of("element"), handled);
+    }
+
+    @Test
+    void dispatch_UsesTheFirstMatchingRule_InTheOrderTheyWereRegistered() throws Exception {
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class).when(statement -> statement.getTokens().size() > 2 && statement.getTokens().get(1).equals("->")).handle(statement -> handled.add("relationship"));
+        dispatchTable.on("person").in(ModelDslContext.class).when(statement -> statement.getTokens().size() > 1).handle(statement -> handled.add("person"));
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class).handle(statement -> handled.add("any"));
+
+        dispatchTable.dispatch(new ModelDslContext(), statement("person -> b"));
+        dispatchTable.dispatch(new ModelDslContext(), statement("person \"User\""));
+        dispatchTable.dispatch(new ModelDslContext(), statement("person"));
+        dispatchTable.dispatch(new ModelDslContext(), statement("identifier"));
+
+        assertEquals(List.of("relationship", "person", "any", "any"), handled);
+    }
+
+    @Test
+    void dispatch_OnlyMatchesRulesWithoutAContextType_WhenThereIsNoContext() throws Exception {
+        dispatchTable.on("workspace").handle(statement -> handled.add("workspace"));
+        dispatchTable.onAnyKeyword().in(ModelDslContext.class).handle(statement -> handled.add("any"));
+
+        assertTrue(dispatchTable.dispatch(null, statement("workspace {")));
+        assertFalse(dispatchTable.dispatch(null, statement("model {")));
+        assertEquals(List.of("workspace"), handled);
+    }
+
+    @Test
+    void fold() {
+        assertEquals("softwaresystem", DslDispatchTable.fold("softwareSystem"));
+        assertEquals("!include", DslDispatchTable.fold("!INCLUDE"));
+        assertEquals("->", DslDispatchTable.fold("->"));
+        assertEquals(DslDispatchTable.fold("k"), DslDispatchTable.fold("K")); // Kelvin sign, as per equalsIgnoreCase
+    }
+
+}
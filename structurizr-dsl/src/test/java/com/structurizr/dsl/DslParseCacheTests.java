@@ -0,0 +1,91 @@
+package com.structurizr.dsl;
+
+import com.structurizr.Workspace;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DslParseCacheTests extends AbstractTests {
+
+    @TempDir
+    File directory;
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), content);
+
+        return file;
+    }
+
+    private StructurizrDslParser parse(File dslFile) throws Exception {
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(dslFile);
+
+        return parser;
+    }
+
+    @Test
+    void test_construction_ThrowsAnException_WhenTheDirectoryIsAFile() throws Exception {
+        File file = write("file.txt", "");
+
+        try {
+            new DslParseCache(file, "1.0");
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals(file.getAbsolutePath() + " is not a directory", iae.getMessage());
+        }
+    }
+
+    @Test
+    void test_get_ReturnsNull_WhenNothingHasBeenCached() throws Exception {
+        DslParseCache cache = new DslParseCache(new File(directory, "cache"), "1.0");
+        assertNull(cache.get(write("workspace.dsl", "workspace {\n}"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void test_get_ReturnsTheCachedWorkspace_UntilAnInputChanges() throws Exception {
+        DslParseCache cache = new DslParseCache(new File(directory, "cache"), "1.0");
+        File workspaceDsl = write("workspace.dsl", "workspace \"Name\" {\n    !docs docs\n    model {\n        !include model.dsl\n    }\n}");
+        write("model.dsl", "user = person \"User\"");
+        write("docs/01-introduction.md", "## Introduction");
+
+        assertTrue(cache.put(parse(workspaceDsl)));
+
+        Workspace workspace = cache.get(workspaceDsl, StandardCharsets.UTF_8);
+        assertEquals("Name", workspace.getName());
+        assertNotNull(workspace.getModel().getPersonWithName("User"));
+        assertEquals(1, workspace.getDocumentation().getSections().size());
+
+        // a different version or character encoding is a different entry
+        assertNull(new DslParseCache(new File(directory, "cache"), "2.0").get(workspaceDsl, StandardCharsets.UTF_8));
+        assertNull(cache.get(workspaceDsl, StandardCharsets.ISO_8859_1));
+
+        // changing an included file invalidates the entry
+        write("model.dsl", "user = person \"Customer\"");
+        assertNull(cache.get(workspaceDsl, StandardCharsets.UTF_8));
+
+        assertTrue(cache.put(parse(workspaceDsl)));
+        assertNotNull(cache.get(workspaceDsl, StandardCharsets.UTF_8).getModel().getPersonWithName("Customer"));
+
+        // as does changing the documentation
+        write("docs/01-introduction.md", "## Introduction to the system");
+        assertNull(cache.get(workspaceDsl, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void test_put_DoesNotCacheTheWorkspace_WhenTheDslWasParsedFromAString() throws Exception {
+        DslParseCache cache = new DslParseCache(new File(directory, "cache"), "1.0");
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse("workspace {\n}");
+
+        assertFalse(cache.put(parser));
+        assertEquals(0, new File(directory, "cache").listFiles().length);
+    }
+
+}
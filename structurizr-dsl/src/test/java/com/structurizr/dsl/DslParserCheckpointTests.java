@@ -0,0 +1,249 @@
+package com.structurizr.dsl;
+
+import com.structurizr.Workspace;
+import com.structurizr.util.WorkspaceUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DslParserCheckpointTests extends AbstractTests {
+
+    private static final String UUID_PATTERN = "[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}";
+
+    @TempDir
+    File directory;
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), content);
+
+        return file;
+    }
+
+    private File writeWorkspace() throws Exception {
+        File workspaceDsl = write("workspace.dsl", """
+                !const ORGANISATION "Example"
+
+                workspace "Name" "Description" {
+
+                    !identifiers hierarchical
+
+                    model {
+                        archetypes {
+                            application = container {
+                                technology "Java"
+                            }
+                        }
+
+                        user = person "User"
+                        ss = softwareSystem "${ORGANISATION} System" {
+                            ui = container "UI"
+                            backend = application "Backend"
+
+                            ui -> backend "Makes API requests to"
+                        }
+                        user -> ss.ui "Uses"
+
+                        live = deploymentEnvironment "Live" {
+                            deploymentNode "Web" {
+                                instanceOf ss.ui
+                            }
+                            dc = deploymentNode "Data Center" {
+                                lb = infrastructureNode "Load Balancer"
+                                deploymentNode "Server" {
+                                    instanceOf ss.backend
+                                }
+                            }
+
+                            ss.ui -/> ss.backend {
+                                ss.ui -> dc.lb
+                                dc.lb -> ss.backend "Forwards API requests to" ""
+                            }
+                        }
+
+                        !include model/other.dsl
+                        !include model/relationships.dsl
+                    }
+
+                    views {
+                        !include views
+                    }
+
+                }""");
+
+        write("model/other.dsl", """
+                other = softwareSystem "Other"
+                !include people.dsl""");
+        write("model/people.dsl", """
+                admin = person "Admin"
+                """);
+        write("model/relationships.dsl", """
+                user -> other "Uses"
+                other -> ss.backend "Makes API requests to"
+                """);
+        write("views/landscape.dsl", """
+                systemLandscape {
+                    include *
+                    autoLayout
+                }""");
+        write("views/styles.dsl", """
+                styles {
+                    element "Person" {
+                        shape person
+                    }
+                }""");
+
+        return workspaceDsl;
+    }
+
+    private String toJson(Workspace workspace) throws Exception {
+        // elements without an identifier are assigned a random identifier
+        return WorkspaceUtils.toJson(workspace, false).replaceAll(UUID_PATTERN, "");
+    }
+
+    private List<String> identifiers(StructurizrDslParser parser) {
+        List<String> identifiers = new ArrayList<>();
+        for (String identifier : parser.getIdentifiersRegister().getElementIdentifiers()) {
+            identifiers.add(identifier.replaceAll(UUID_PATTERN, ""));
+        }
+        for (String identifier : parser.getIdentifiersRegister().getRelationshipIdentifiers()) {
+            identifiers.add(identifier.replaceAll(UUID_PATTERN, ""));
+        }
+        Collections.sort(identifiers);
+
+        return identifiers;
+    }
+
+    private DslParserCheckpoint createCheckpoint(File workspaceDsl, File changedFile) throws Exception {
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        StructurizrDslParser checkpointingParser = new StructurizrDslParser();
+        checkpointingParser.setCheckpointFiles(parser.getDependencyGraph().getRootIncludes(List.of(changedFile)));
+        checkpointingParser.parse(workspaceDsl);
+
+        // the checkpoint doesn't change the result of the parse
+        assertEquals(toJson(parser.getWorkspace()), toJson(checkpointingParser.getWorkspace()));
+
+        return checkpointingParser.getCheckpoint();
+    }
+
+    @Test
+    void test_resume_ProducesTheSameWorkspaceAsParsingAgain() throws Exception {
+        File workspaceDsl = writeWorkspace();
+        DslParserCheckpoint checkpoint = createCheckpoint(workspaceDsl, new File(directory, "model/people.dsl"));
+        assertNotNull(checkpoint);
+        assertEquals(40, checkpoint.getLineNumber());
+        assertFalse(checkpoint.hasChanged());
+
+        write("model/people.dsl", """
+                admin = person "Administrator"
+                admin -> ss.ui "Administers"
+                admin -> other "Administers"
+                """);
+
+        StructurizrDslParser resumingParser = new StructurizrDslParser();
+        resumingParser.resume(checkpoint);
+        assertSame(checkpoint, resumingParser.getCheckpoint());
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        Workspace workspace = resumingParser.getWorkspace();
+        assertEquals(toJson(parser.getWorkspace()), toJson(workspace));
+        assertEquals("Administrator", workspace.getModel().getPersonWithName("Administrator").getName());
+        assertEquals(identifiers(parser), identifiers(resumingParser));
+        assertEquals(parser.getDependencyGraph().getFiles(), resumingParser.getDependencyGraph().getFiles());
+        assertFalse(resumingParser.getDependencyGraph().hasChanged());
+
+        // the same checkpoint can be used again
+        write("model/people.dsl", """
+                admin = person "Admin"
+                admin -> ss.backend "Administers"
+                """);
+
+        resumingParser = new StructurizrDslParser();
+        resumingParser.resume(checkpoint);
+
+        parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+        assertEquals(toJson(parser.getWorkspace()), toJson(resumingParser.getWorkspace()));
+    }
+
+    @Test
+    void test_resume_ThrowsAnException_WhenTheDslBeforeTheCheckpointHasChanged() throws Exception {
+        File workspaceDsl = writeWorkspace();
+        DslParserCheckpoint checkpoint = createCheckpoint(workspaceDsl, new File(directory, "model/relationships.dsl"));
+        assertNotNull(checkpoint);
+        assertEquals(41, checkpoint.getLineNumber());
+
+        // a file included before the checkpoint
+        write("model/people.dsl", "admin = person \"Administrator\"");
+        assertTrue(checkpoint.hasChanged());
+
+        try {
+            new StructurizrDslParser().resume(checkpoint);
+            fail();
+        } catch (StructurizrDslParserException e) {
+            assertEquals("The DSL before the checkpoint has changed", e.getMessage());
+        }
+    }
+
+    @Test
+    void test_resume_ThrowsAnException_WhenTheParserHasAlreadyParsedDsl() throws Exception {
+        File workspaceDsl = writeWorkspace();
+        DslParserCheckpoint checkpoint = createCheckpoint(workspaceDsl, new File(directory, "views/styles.dsl"));
+        assertNotNull(checkpoint);
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        try {
+            parser.resume(checkpoint);
+            fail();
+        } catch (StructurizrDslParserException e) {
+            assertEquals("Parsing can only be resumed by a parser that hasn't parsed any DSL", e.getMessage());
+        }
+    }
+
+    @Test
+    void test_checkpoint_IsNotCreated_WhenTheIncludeIsInsideAGroup() throws Exception {
+        File workspaceDsl = write("workspace.dsl", """
+                workspace {
+                    model {
+                        group "Group" {
+                            !include model.dsl
+                        }
+                    }
+                }""");
+        File modelDsl = write("model.dsl", "user = person \"User\"");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.setCheckpointFiles(Set.of(modelDsl));
+        parser.parse(workspaceDsl);
+
+        assertEquals(1, parser.getWorkspace().getModel().getPeople().size());
+        assertNull(parser.getCheckpoint());
+    }
+
+    @Test
+    void test_checkpoint_IsNotCreated_WhenTheFileIsNotIncluded() throws Exception {
+        File workspaceDsl = writeWorkspace();
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.setCheckpointFiles(Set.of(new File(directory, "model/missing.dsl")));
+        parser.parse(workspaceDsl);
+
+        assertNull(parser.getCheckpoint());
+    }
+
+}
@@ -4,6 +4,8 @@ import com.structurizr.model.Relationship;
 import com.structurizr.model.SoftwareSystem;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class IdentifierRegisterTests extends AbstractTests {
@@ -109,6 +111,45 @@ class IdentifierRegisterTests extends AbstractTests {
         assertSame(rel, register.getRelationship("REL"));
     }
 
+    @Test
+    void test_findIdentifier() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship rel = a.uses(b, "Uses");
+        register.register("SoftwareSystemA", a);
+        register.register("Rel", rel);
+
+        assertEquals("SoftwareSystemA", register.findIdentifier(a));
+        assertNull(register.findIdentifier(b));
+        assertEquals("Rel", register.findIdentifier(rel));
+        assertNull(register.getElement("Rel"));
+        assertNull(register.getRelationship("softwaresystema"));
+        assertEquals(1, register.getElementIdentifiers().size());
+        assertTrue(register.getElementIdentifiers().contains("SoftwareSystemA"));
+    }
+
+    @Test
+    void test_getElementIdentifiers_ReturnsALiveView() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship rel = a.uses(b, "Uses");
+        Set<String> elementIdentifiers = register.getElementIdentifiers();
+        register.register("SoftwareSystemA", a);
+        register.register("Rel", rel);
+        assertEquals(1, elementIdentifiers.size());
+
+        // removing an identifier also removes it from the indexes
+        assertTrue(elementIdentifiers.remove("SoftwareSystemA"));
+        assertNull(register.getElement("softwaresystema"));
+        assertNull(register.findIdentifier(a));
+        register.register("a", a);
+        assertSame(a, register.getElement("A"));
+
+        register.getRelationshipIdentifiers().removeIf(identifier -> identifier.equals("Rel"));
+        assertNull(register.getRelationship("rel"));
+        assertNull(register.findIdentifier(rel));
+    }
+
     @Test
     void test_register_ThrowsAnException_WhenTheRelationshipHasAlreadyBeenRegisteredWithADifferentIdentifier() {
         SoftwareSystem a = model.addSoftwareSystem("A");
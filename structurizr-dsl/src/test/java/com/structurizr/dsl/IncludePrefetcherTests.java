@@ -0,0 +1,151 @@
+package com.structurizr.dsl;
+
+import com.structurizr.model.SoftwareSystem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncludePrefetcherTests extends AbstractTests {
+
+    @TempDir
+    File directory;
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), content);
+
+        return file;
+    }
+
+    @Test
+    void test_parse_IncludesDirectoriesInOrder() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            write(String.format("systems/%03d.dsl", i), "softwareSystem \"Software System " + i + "\"");
+        }
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    model {\n        !include systems\n    }\n}");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        List<SoftwareSystem> softwareSystems = new ArrayList<>(parser.getWorkspace().getModel().getSoftwareSystems());
+        assertEquals(100, softwareSystems.size());
+        softwareSystems.sort((a, b) -> Integer.parseInt(a.getId()) - Integer.parseInt(b.getId()));
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Software System " + i, softwareSystems.get(i).getName());
+        }
+    }
+
+    @Test
+    void test_parse_ReportsErrorsAtTheLineOfTheInclude() throws Exception {
+        write("a.dsl", "a = softwareSystem \"A\"");
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    model {\n        !include a.dsl\n        !include b.dsl\n    }\n}");
+
+        try {
+            StructurizrDslParser parser = new StructurizrDslParser();
+            parser.parse(workspaceDsl);
+            fail();
+        } catch (StructurizrDslParserException e) {
+            assertEquals(new File(directory, "b.dsl").getCanonicalPath() + " could not be found at line 4 of " + workspaceDsl.getAbsolutePath() + ": !include b.dsl", e.getMessage());
+        }
+    }
+
+    @Test
+    void test_parse_DoesNotPrefetchIncludesWhenTheFeatureIsNotEnabled() throws Exception {
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    model {\n        !include a.dsl\n    }\n}");
+
+        try {
+            StructurizrDslParser parser = new StructurizrDslParser();
+            parser.getFeatures().disable(Features.FILE_SYSTEM);
+            parser.parse(workspaceDsl);
+            fail();
+        } catch (StructurizrDslParserException e) {
+            assertTrue(e.getMessage().startsWith("!include <file> is not permitted"));
+        }
+    }
+
+    @Test
+    void test_parse_IncludesFilesReferencedViaConstants() throws Exception {
+        write("a.dsl", "a = softwareSystem \"A\"");
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    !const FILE a.dsl\n    model {\n        !include ${FILE}\n        // !include b.dsl\n        /*\n        !include c.dsl\n        */\n    }\n}");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        assertNotNull(parser.getWorkspace().getModel().getSoftwareSystemWithName("A"));
+    }
+
+    private List<DslLine> lines(String... lines) {
+        List<DslLine> dslLines = new ArrayList<>();
+        for (int i = 0; i < lines.length; i++) {
+            dslLines.add(new DslLine(lines[i], i + 1));
+        }
+
+        return dslLines;
+    }
+
+    @Test
+    void test_prefetch_StopsAtTheFirstScriptOrPlugin() throws Exception {
+        write("a.dsl", "a = softwareSystem \"A\"");
+        write("b.dsl", "b = softwareSystem \"B\"");
+        File workspaceDsl = new File(directory, "workspace.dsl");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        IncludePrefetcher prefetcher = new IncludePrefetcher();
+        prefetcher.prefetch(workspaceDsl, lines("!include a.dsl", "!script groovy {", "!include b.dsl", "}"), parser.getFeatures(), parser.getHttpClient());
+        assertEquals(1, prefetcher.size());
+        assertNull(prefetcher.get(workspaceDsl, "b.dsl"));
+
+        prefetcher = new IncludePrefetcher();
+        prefetcher.prefetch(workspaceDsl, lines("!PLUGIN com.example.Plugin", "!include a.dsl"), parser.getFeatures(), parser.getHttpClient());
+        assertEquals(0, prefetcher.size());
+    }
+
+    @Test
+    void test_prefetch_IgnoresIncludesInTextBlocks() throws Exception {
+        write("a.dsl", "a = softwareSystem \"A\"");
+        File workspaceDsl = write("workspace.dsl", "workspace {\n    model {\n        a = softwareSystem \"A\" \"\"\"\n            !include a.dsl\n            \"\"\"\n    }\n}");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceDsl);
+
+        assertEquals("!include a.dsl", parser.getWorkspace().getModel().getSoftwareSystemWithName("A").getDescription());
+        assertEquals(1, parser.getWorkspace().getModel().getSoftwareSystems().size());
+    }
+
+    @Test
+    void test_get_ReturnsThePrefetchedContentOnce() throws Exception {
+        write("a.dsl", "a = softwareSystem \"A\"");
+        File workspaceDsl = new File(directory, "workspace.dsl");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        IncludePrefetcher prefetcher = new IncludePrefetcher();
+        prefetcher.prefetch(workspaceDsl, lines("!include a.dsl", "!include a.dsl"), parser.getFeatures(), parser.getHttpClient());
+        assertEquals(1, prefetcher.size());
+
+        assertEquals(List.of("a = softwareSystem \"A\""), prefetcher.get(workspaceDsl, "a.dsl").get(0).getLines());
+        assertEquals(0, prefetcher.size());
+        assertNull(prefetcher.get(workspaceDsl, "a.dsl"));
+    }
+
+    @Test
+    void test_cancel_DiscardsThePrefetchedContent() throws Exception {
+        write("a.dsl", "a = softwareSystem \"A\"");
+        File workspaceDsl = new File(directory, "workspace.dsl");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        IncludePrefetcher prefetcher = new IncludePrefetcher();
+        prefetcher.prefetch(workspaceDsl, lines("!include a.dsl"), parser.getFeatures(), parser.getHttpClient());
+        prefetcher.cancel();
+
+        assertEquals(0, prefetcher.size());
+        assertNull(prefetcher.get(workspaceDsl, "a.dsl"));
+    }
+
+}
@@ -12,7 +12,7 @@ class InlineScriptDslContextTests extends AbstractTests {
     @Test
     void test_end_ThrowsAnException_WhenAnUnsupportedLanguageIsSpecified() {
         try {
-            InlineScriptDslContext context = new InlineScriptDslContext(new WorkspaceDslContext(), new File("workspace.dsl"), null, "java");
+            InlineScriptDslContext context = new InlineScriptDslContext(new WorkspaceDslContext(), new File("workspace.dsl"), new StructurizrDslParser(), "java");
             context.end();
             fail();
         } catch (Exception e) {
@@ -0,0 +1,88 @@
+package com.structurizr.dsl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptEnginesTests extends AbstractTests {
+
+    private final ScriptEngines scriptEngines = new ScriptEngines();
+
+    private Map<String, String> eval(String extension, String script) throws Exception {
+        Map<String, String> result = new HashMap<>();
+        scriptEngines.eval(extension, script, null, bindings -> bindings.put("result", result));
+
+        return result;
+    }
+
+    @Test
+    void test_eval_ThrowsAnException_WhenTheExtensionIsNotSupported() {
+        try {
+            eval("java", "");
+            fail();
+        } catch (Exception e) {
+            assertEquals("Could not load a scripting engine for extension \"java\"", e.getMessage());
+        }
+    }
+
+    @Test
+    void test_eval_IsolatesBindingsBetweenExecutions_WhenUsingGroovy() throws Exception {
+        assertEquals("1", eval("groovy", "x = 1\nresult.put('x', x.toString())").get("x"));
+        assertEquals("isolated", eval("groovy", "result.put('x', binding.hasVariable('x') ? 'leaked' : 'isolated')").get("x"));
+    }
+
+    @Test
+    void test_eval_IsolatesFunctionsBetweenExecutions_WhenUsingGroovy() throws Exception {
+        assertEquals("secret", eval("groovy", "def secret() { 'secret' }\nresult.put('value', secret())").get("value"));
+
+        try {
+            eval("groovy", "result.put('value', secret())");
+            fail();
+        } catch (Exception e) {
+            assertTrue(e.getMessage().contains("secret"));
+        }
+    }
+
+    @Test
+    void test_eval_IsolatesFunctionsBetweenExecutions_WhenUsingKotlin() throws Exception {
+        assertEquals("secret", eval("kts", "fun secret() = \"secret\"\n(result as MutableMap<String, String>).put(\"value\", secret())").get("value"));
+
+        try {
+            eval("kts", "(result as MutableMap<String, String>).put(\"value\", secret())");
+            fail();
+        } catch (Exception e) {
+            assertTrue(e.getMessage().contains("secret"));
+        }
+    }
+
+    @Test
+    void test_eval_RunsTheSameScriptMoreThanOnce_WhenUsingKotlin() throws Exception {
+        String script = "(result as MutableMap<String, String>).put(\"value\", \"kotlin\")";
+        assertEquals("kotlin", eval("kts", script).get("value"));
+        assertEquals("kotlin", eval("kts", script).get("value"));
+    }
+
+    @Test
+    void test_eval_RunsTheSameScriptMoreThanOnce_WhenUsingRuby() throws Exception {
+        String script = "result.put('value', 'ruby')";
+        assertEquals("ruby", eval("rb", script).get("value"));
+        assertEquals("ruby", eval("rb", script).get("value"));
+    }
+
+    @Test
+    void test_eval_RunsTheSameScriptWithDifferentBindings_WhenUsingRuby() throws Exception {
+        String script = "result.put('value', defined?(x) ? x : 'none')";
+        assertEquals("none", eval("rb", script).get("value"));
+
+        Map<String, String> result = new HashMap<>();
+        scriptEngines.eval("rb", script, null, bindings -> {
+            bindings.put("result", result);
+            bindings.put("x", "x");
+        });
+        assertEquals("x", result.get("value"));
+    }
+
+}
@@ -7,7 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class TokenizerTests extends AbstractTests {
 
@@ -68,4 +68,85 @@ class TokenizerTests extends AbstractTests {
         assertEquals("User", tokens.get(3));
     }
 
-}
\ No newline at end of file
+    @Test
+    void tokenize_CanBeReused() {
+        Tokenizer tokenizer = new Tokenizer();
+        assertEquals(List.of("Hello", "World"), tokenizer.tokenize("  \"Hello\" World  "));
+        assertEquals(List.of("user", "=", "person", "User"), tokenizer.tokenize("user = person \"User\""));
+    }
+
+    @Test
+    void lex_ReturnsNoTokens_WhenTheLineIsEmpty() {
+        assertTrue(new Tokenizer().lex("").isEmpty());
+        assertTrue(new Tokenizer().lex(" \t ").isEmpty());
+    }
+
+    @Test
+    void lex_ReturnsASingleCommentToken_WhenTheLineIsAComment() {
+        List<Token> tokens = new Tokenizer().lex("  // a = person \"User\"");
+        assertEquals(1, tokens.size());
+        assertEquals(Token.Type.Comment, tokens.get(0).getType());
+        assertEquals("// a = person \"User\"", tokens.get(0).getText());
+
+        tokens = new Tokenizer().lex("# comment");
+        assertEquals(1, tokens.size());
+        assertTrue(tokens.get(0).isComment());
+    }
+
+    @Test
+    void lex_DoesNotTreatQuotedTokensOrLaterTokensAsComments() {
+        List<Token> tokens = new Tokenizer().lex("\"# not a comment\" #tag //path");
+        assertEquals(3, tokens.size());
+        assertEquals(Token.Type.QuotedString, tokens.get(0).getType());
+        assertEquals("# not a comment", tokens.get(0).getText());
+        assertEquals(Token.Type.Word, tokens.get(1).getType());
+        assertEquals("#tag", tokens.get(1).getText());
+        assertEquals(Token.Type.Word, tokens.get(2).getType());
+        assertEquals("//path", tokens.get(2).getText());
+    }
+
+    @Test
+    void lex_ReturnsTypedTokens() {
+        List<Token> tokens = new Tokenizer().lex("user = person \"User\" {");
+        assertEquals(5, tokens.size());
+        assertEquals(Token.Type.Word, tokens.get(0).getType());
+        assertEquals(Token.Type.Word, tokens.get(1).getType());
+        assertEquals(Token.Type.Word, tokens.get(2).getType());
+        assertEquals(Token.Type.QuotedString, tokens.get(3).getType());
+        assertEquals("User", tokens.get(3).getText());
+        assertEquals(Token.Type.Word, tokens.get(4).getType());
+    }
+
+    @Test
+    void lex_IdentifiesTokensThatReferenceConstantsOrVariables() {
+        List<Token> tokens = new Tokenizer().lex("softwareSystem \"${NAME}\" ${DESCRIPTION} $ {x} \"$5\"");
+        assertEquals(6, tokens.size());
+        assertFalse(tokens.get(0).isSubstitutable());
+        assertTrue(tokens.get(1).isSubstitutable());
+        assertTrue(tokens.get(2).isSubstitutable());
+        assertFalse(tokens.get(3).isSubstitutable());
+        assertFalse(tokens.get(4).isSubstitutable());
+        assertFalse(tokens.get(5).isSubstitutable());
+    }
+
+    @Test
+    void isEmpty() {
+        assertTrue(Tokenizer.isEmpty(""));
+        assertTrue(Tokenizer.isEmpty("   "));
+        assertTrue(Tokenizer.isEmpty(" \t \f\r"));
+        assertFalse(Tokenizer.isEmpty("  x  "));
+    }
+
+    @Test
+    void isComment() {
+        assertTrue(Tokenizer.isComment("// comment"));
+        assertTrue(Tokenizer.isComment("   // comment"));
+        assertTrue(Tokenizer.isComment("\t# comment"));
+        assertTrue(Tokenizer.isComment("#"));
+        assertFalse(Tokenizer.isComment(""));
+        assertFalse(Tokenizer.isComment("   /"));
+        assertFalse(Tokenizer.isComment("/* comment */"));
+        assertFalse(Tokenizer.isComment("a = person \"User\" // comment"));
+    }
+
+}
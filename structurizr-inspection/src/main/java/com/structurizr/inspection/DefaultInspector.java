@@ -47,7 +47,7 @@ public class DefaultInspector extends Inspector {
         add(new MultipleSoftwareSystemsDetailedInspection(this).run());
         ElementNotIncludedInAnyViewsInspection elementNotIncludedInAnyViewsCheck = new ElementNotIncludedInAnyViewsInspection(this);
         DisconnectedElementInspection disconnectedElementCheck = new DisconnectedElementInspection(this);
-        for (Element element : getWorkspace().getModel().getElements()) {
+        for (Element element : getWorkspace().getModel().getElementsView()) {
             if (element instanceof Person) {
                 add(new PersonDescriptionInspection(this).run(element));
             }
@@ -88,7 +88,7 @@ public class DefaultInspector extends Inspector {
             add(disconnectedElementCheck.run(element));
             add(elementNotIncludedInAnyViewsCheck.run(element));
 
-            for (Relationship relationship : element.getRelationships()) {
+            for (Relationship relationship : element.getRelationshipsView()) {
                 add(new RelationshipDescriptionInspection(this).run(relationship));
                 add(new RelationshipTechnologyInspection(this).run(relationship));
             }
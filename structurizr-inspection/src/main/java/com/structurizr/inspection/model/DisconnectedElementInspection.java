@@ -16,7 +16,7 @@ public class DisconnectedElementInspection extends AbstractElementInspection {
     public DisconnectedElementInspection(Inspector inspector) {
         super(inspector);
 
-        for (Relationship relationship : getWorkspace().getModel().getRelationships()) {
+        for (Relationship relationship : getWorkspace().getModel().getRelationshipsView()) {
             elementsWithRelationships.add(relationship.getSourceId());
             elementsWithRelationships.add(relationship.getDestinationId());
         }